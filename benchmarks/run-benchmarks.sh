@@ -0,0 +1,7 @@
+#!/bin/sh
+# Build the benchmarks and compare their scores with baseline.csv, the arguments are the regexps of the benchmarks to run (all by default).
+# -Dthreshold=<%> and -DupdateBaseline=true can be passed in JAVA_OPTS.
+set -e
+cd "$(dirname "$0")"
+mvn -B -q -f ../pom.xml -pl benchmarks -am package -DskipTests
+java $JAVA_OPTS -cp target/benchmarks.jar com.ignite.utilities.benchmarks.BenchmarkRunner "$@"
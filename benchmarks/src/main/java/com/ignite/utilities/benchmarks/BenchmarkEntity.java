@@ -0,0 +1,52 @@
+package com.ignite.utilities.benchmarks;
+
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteTable;
+
+/**
+ * Entity written and loaded by the store benchmarks, one field of each accessor kind
+ */
+@IgniteTable(cacheName = "benchmarkCache", name = "BENCHMARK_ENTITY")
+public class BenchmarkEntity {
+
+	@IgniteId
+	@IgniteColumn(name = "ID")
+	private Long id;
+
+	@IgniteColumn(name = "NAME")
+	private String name;
+
+	@IgniteColumn(name = "AGE")
+	private int age;
+
+	@IgniteColumn(name = "SCORE")
+	private double score;
+
+	@IgniteColumn(name = "ACTIVE")
+	private boolean active;
+
+	@IgniteColumn(name = "VERSION")
+	private long version;
+
+	public BenchmarkEntity() {
+	}
+
+	public BenchmarkEntity(long id) {
+		this.id = id;
+		this.name = "name" + id;
+		this.age = (int) (id % 100);
+		this.score = id / 3d;
+		this.active = id % 2 == 0;
+		this.version = id;
+	}
+
+	/**
+	 * DDL of the table in H2
+	 *
+	 * @return
+	 */
+	public static String createTable() {
+		return "CREATE TABLE BENCHMARK_ENTITY (ID BIGINT PRIMARY KEY, NAME VARCHAR(64), AGE INT, SCORE DOUBLE, ACTIVE BOOLEAN, VERSION BIGINT)";
+	}
+}
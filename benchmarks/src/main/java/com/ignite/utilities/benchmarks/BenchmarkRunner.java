@@ -0,0 +1,191 @@
+package com.ignite.utilities.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler and compares the scores with the committed baseline, the exit code is 1 if any of them got worse
+ * than the threshold.<br>
+ * <br>
+ * Arguments: the regexps of the benchmarks to run, all of them if none. System properties:
+ * <ul>
+ * <li>baseline: CSV file to compare with, <code>baseline.csv</code> by default</li>
+ * <li>results: CSV file where the scores of the run are written, <code>target/results.csv</code> by default</li>
+ * <li>threshold: max % a score can get worse, 10 by default</li>
+ * <li>updateBaseline: write the scores of the run as the new baseline</li>
+ * </ul>
+ */
+public class BenchmarkRunner {
+
+	/** Secondary result of the GC profiler with the bytes allocated per operation */
+	private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+	private static final String HEADER = "benchmark,mode,score,error,unit";
+
+	public static void main(String[] args) throws Exception {
+		Path baselineFile = Paths.get(System.getProperty("baseline", "baseline.csv"));
+		Path resultsFile = Paths.get(System.getProperty("results", "target/results.csv"));
+		double threshold = Double.parseDouble(System.getProperty("threshold", "10"));
+
+		OptionsBuilder options = new OptionsBuilder();
+		if (args.length == 0) {
+			options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+		}
+		for (String include : args) {
+			options.include(include);
+		}
+		options.addProfiler(GCProfiler.class);
+
+		Map<String, Score> scores = scores(new Runner(options.build()).run());
+		write(resultsFile, scores);
+		System.out.println("Results written to " + resultsFile.toAbsolutePath());
+
+		if (Boolean.getBoolean("updateBaseline")) {
+			write(baselineFile, scores);
+			System.out.println("Baseline updated " + baselineFile.toAbsolutePath());
+			return;
+		}
+
+		if (!Files.exists(baselineFile)) {
+			System.out.println("No baseline found at " + baselineFile.toAbsolutePath());
+			return;
+		}
+
+		if (compare(read(baselineFile), scores, threshold) > 0) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Print the change of each score against the baseline
+	 *
+	 * @param baseline
+	 * @param scores
+	 * @param threshold
+	 * @return Number of regressions
+	 */
+	private static int compare(Map<String, Score> baseline, Map<String, Score> scores, double threshold) {
+		int regressions = 0;
+
+		System.out.println();
+		System.out.println(String.format(Locale.ROOT, "%-90s %14s %14s %9s", "Benchmark", "Baseline", "Current", "Change"));
+		for (Map.Entry<String, Score> entry : scores.entrySet()) {
+			Score base = baseline.get(entry.getKey());
+			Score current = entry.getValue();
+			if (base == null) {
+				System.out.println(String.format(Locale.ROOT, "%-90s %14s %14.3f %9s", entry.getKey(), "-", current.score, "new"));
+				continue;
+			}
+
+			// Less than one unit (e.g. 0 bytes allocated) is compared as one, so it does not divide by zero
+			double change = (current.score - base.score) / Math.max(Math.abs(base.score), 1) * 100;
+			double worse = current.isHigherBetter() ? -change : change;
+			boolean regression = worse > threshold;
+			if (regression) {
+				regressions++;
+			}
+
+			System.out.println(String.format(Locale.ROOT, "%-90s %14.3f %14.3f %+8.1f%% %s", entry.getKey(), base.score, current.score, change,
+					regression ? "REGRESSION" : ""));
+		}
+
+		System.out.println();
+		System.out.println(regressions + " regressions over " + threshold + "%");
+		return regressions;
+	}
+
+	/**
+	 * Get the primary score and the allocation per operation of each benchmark, keyed by its name and params
+	 *
+	 * @param results
+	 * @return
+	 */
+	private static Map<String, Score> scores(Collection<RunResult> results) {
+		Map<String, Score> scores = new LinkedHashMap<>();
+		for (RunResult result : results) {
+			BenchmarkParams params = result.getParams();
+			String name = params.getBenchmark().substring(BenchmarkRunner.class.getPackage().getName().length() + 1);
+			for (String key : params.getParamsKeys()) {
+				name += " " + key + "=" + params.getParam(key);
+			}
+
+			String mode = params.getMode().shortLabel();
+			Result<?> primary = result.getPrimaryResult();
+			scores.put(name, new Score(mode, primary.getScore(), primary.getScoreError(), primary.getScoreUnit()));
+
+			for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+				if (secondary.getKey().endsWith(ALLOC_NORM)) {
+					Result<?> alloc = secondary.getValue();
+					scores.put(name + " " + ALLOC_NORM, new Score(mode, alloc.getScore(), alloc.getScoreError(), alloc.getScoreUnit()));
+				}
+			}
+		}
+		return scores;
+	}
+
+	private static void write(Path file, Map<String, Score> scores) throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add(HEADER);
+		for (Map.Entry<String, Score> entry : scores.entrySet()) {
+			Score score = entry.getValue();
+			lines.add(String.format(Locale.ROOT, "%s,%s,%.3f,%.3f,%s", entry.getKey(), score.mode, score.score, Double.isNaN(score.error) ? 0 : score.error,
+					score.unit));
+		}
+
+		if (file.toAbsolutePath().getParent() != null) {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+		}
+		Files.write(file, lines, StandardCharsets.UTF_8);
+	}
+
+	private static Map<String, Score> read(Path file) throws IOException {
+		Map<String, Score> scores = new LinkedHashMap<>();
+		for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			if (line.isEmpty() || line.equals(HEADER)) {
+				continue;
+			}
+			String[] columns = line.split(",");
+			scores.put(columns[0], new Score(columns[1], Double.parseDouble(columns[2]), Double.parseDouble(columns[3]), columns[4]));
+		}
+		return scores;
+	}
+
+	private static class Score {
+		private final String mode;
+		private final double score;
+		private final double error;
+		private final String unit;
+
+		Score(String mode, double score, double error, String unit) {
+			this.mode = mode;
+			this.score = score;
+			this.error = error;
+			this.unit = unit;
+		}
+
+		/**
+		 * Only the throughput is better when higher, the times and the allocations are better when lower
+		 *
+		 * @return
+		 */
+		boolean isHigherBetter() {
+			return "thrpt".equals(mode) && !unit.startsWith("B/");
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.ignite.utilities.benchmarks;
+
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ignite.utilities.GenerateStatements;
+import com.ignite.utilities.ProcessAnnotationsDTO;
+import com.ignite.utilities.accessor.EntityAccessor;
+import com.ignite.utilities.accessor.FieldAccessor;
+import com.ignite.utilities.dto.ColumnDTO;
+import com.ignite.utilities.dto.TableDTO;
+
+/**
+ * Cost of setting the parameters of the merge statement from a value, without executing it. Run with <code>-prof gc</code> to see the bytes
+ * allocated per row of each binding path:
+ * <ul>
+ * <li>reflection: <code>Field.get</code> and <code>setObject</code>, as the store did before the accessors</li>
+ * <li>accessor: the method handle accessors of the objects of the class</li>
+ * <li>binary: the accessors of the binary objects</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BindingBenchmark {
+
+	private static final long KEY = 42L;
+
+	private StoreFixture fixture;
+	private PreparedStatement ps;
+
+	private ColumnDTO[] params;
+	private Field[] fields;
+	private FieldAccessor[] accessors;
+	private FieldAccessor[] binaryAccessors;
+
+	private Object entity;
+	private Object binaryEntity;
+
+	@Setup(Level.Trial)
+	public void prepare() throws Exception {
+		fixture = new StoreFixture("binding", true);
+
+		TableDTO table = new ProcessAnnotationsDTO().loadClassData(BenchmarkEntity.class);
+		table.setStatements(GenerateStatements.createStatements(table));
+		params = table.getStatements().getInsertParams();
+		ps = fixture.getConnection().prepareStatement(table.getStatements().getInsertQuery());
+
+		fields = new Field[params.length];
+		for (int i = 0; i < params.length; i++) {
+			fields[i] = BenchmarkEntity.class.getDeclaredField(params[i].getFieldName());
+			fields[i].setAccessible(true);
+		}
+		accessors = EntityAccessor.forTable(table).getInsertAccessors();
+
+		entity = new BenchmarkEntity(KEY);
+		binaryEntity = fixture.value(KEY);
+		binaryAccessors = new FieldAccessor[params.length];
+		for (int i = 0; i < params.length; i++) {
+			binaryAccessors[i] = FieldAccessor.ofBinary(params[i].getFieldName(), params[i].getFieldType());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void close() throws Exception {
+		ps.close();
+		fixture.close();
+	}
+
+	@Benchmark
+	public PreparedStatement reflection() throws Exception {
+		for (int i = 0; i < params.length; i++) {
+			if (params[i].isKey()) {
+				ps.setObject(i + 1, KEY);
+			} else {
+				ps.setObject(i + 1, fields[i].get(entity));
+			}
+		}
+		return ps;
+	}
+
+	@Benchmark
+	public PreparedStatement accessor() throws Exception {
+		return bind(accessors, entity);
+	}
+
+	@Benchmark
+	public PreparedStatement binary() throws Exception {
+		return bind(binaryAccessors, binaryEntity);
+	}
+
+	/**
+	 * Same loop of the store
+	 */
+	private PreparedStatement bind(FieldAccessor[] fieldAccessors, Object value) throws Exception {
+		for (int i = 0; i < params.length; i++) {
+			if (params[i].isKey()) {
+				fieldAccessors[i].bindValue(ps, i + 1, KEY);
+			} else {
+				fieldAccessors[i].bind(ps, i + 1, value);
+			}
+		}
+		return ps;
+	}
+}
@@ -0,0 +1,62 @@
+package com.ignite.utilities.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ignite.cache.store.jdbc.dialect.H2Dialect;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ignite.utilities.IgniteAutoConfig;
+
+/**
+ * Time to map the entity classes with addClass and to generate the cache configuration of all of them, as done on the node startup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigurationBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	private int classCount;
+
+	private List<Class<?>> classes;
+	private StoreFixture.H2DataSourceFactory dataSourceFactory;
+
+	@Setup(Level.Trial)
+	public void generateClasses() {
+		classes = EntityClasses.generate(classCount);
+		dataSourceFactory = new StoreFixture.H2DataSourceFactory("jdbc:h2:mem:configuration");
+		IgniteAutoConfig.setCacheStore(true);
+	}
+
+	@Benchmark
+	public List<String> addClass() throws Exception {
+		IgniteAutoConfig.reset();
+		for (Class<?> entityClass : classes) {
+			IgniteAutoConfig.addClass(entityClass);
+		}
+		return IgniteAutoConfig.getCacheNames();
+	}
+
+	@Benchmark
+	public Map<String, CacheConfiguration<?, ?>> generateCacheConfiguration() throws Exception {
+		addClass();
+		return IgniteAutoConfig.generateCacheConfiguration(dataSourceFactory, new H2Dialect());
+	}
+}
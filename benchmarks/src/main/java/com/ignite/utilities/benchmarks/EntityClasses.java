@@ -0,0 +1,67 @@
+package com.ignite.utilities.benchmarks;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteIndex;
+import com.ignite.utilities.annotations.IgniteTable;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+/**
+ * Synthetic @IgniteTable classes, generated so the configuration benchmarks can map any number of entities
+ */
+public class EntityClasses {
+
+	private EntityClasses() {
+	}
+
+	/**
+	 * Generate the classes, each one with its own cache and 8 columns of different types, one of them indexed
+	 *
+	 * @param count
+	 * @return
+	 */
+	public static List<Class<?>> generate(int count) {
+		List<Class<?>> classes = new ArrayList<>(count);
+		ClassLoader loader = EntityClasses.class.getClassLoader();
+
+		for (int i = 0; i < count; i++) {
+			classes.add(new ByteBuddy()
+					.subclass(Object.class)
+					.name("com.ignite.utilities.benchmarks.generated.Entity" + i)
+					.annotateType(AnnotationDescription.Builder.ofType(IgniteTable.class).define("cacheName", "cache" + i).build())
+					.defineField("id", Long.class, Visibility.PRIVATE).annotateField(id(), column("ID"))
+					.defineField("name", String.class, Visibility.PRIVATE).annotateField(column("NAME"), index())
+					.defineField("age", int.class, Visibility.PRIVATE).annotateField(column("AGE"))
+					.defineField("score", double.class, Visibility.PRIVATE).annotateField(column("SCORE"))
+					.defineField("active", boolean.class, Visibility.PRIVATE).annotateField(column("ACTIVE"))
+					.defineField("version", long.class, Visibility.PRIVATE).annotateField(column("VERSION"))
+					.defineField("created", Timestamp.class, Visibility.PRIVATE).annotateField(column("CREATED"))
+					.defineField("description", String.class, Visibility.PRIVATE).annotateField(column("DESCRIPTION"))
+					.make()
+					.load(loader, ClassLoadingStrategy.Default.WRAPPER)
+					.getLoaded());
+		}
+
+		return classes;
+	}
+
+	private static AnnotationDescription id() {
+		return AnnotationDescription.Builder.ofType(IgniteId.class).build();
+	}
+
+	private static AnnotationDescription column(String name) {
+		return AnnotationDescription.Builder.ofType(IgniteColumn.class).define("name", name).build();
+	}
+
+	private static AnnotationDescription index() {
+		return AnnotationDescription.Builder.ofType(IgniteIndex.class).build();
+	}
+}
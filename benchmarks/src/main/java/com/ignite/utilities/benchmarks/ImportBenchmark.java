@@ -0,0 +1,104 @@
+package com.ignite.utilities.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ignite.utilities.GenerateStatements;
+import com.ignite.utilities.ProcessAnnotationsDTO;
+import com.ignite.utilities.bulk.FileImporter;
+import com.ignite.utilities.dto.ImportConfigDTO;
+import com.ignite.utilities.dto.TableDTO;
+
+/**
+ * Time to import a generated CSV export of {@link BenchmarkEntity} into the empty cache of an embedded node, one import per iteration
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportBenchmark {
+
+	/** Rows of the file */
+	public static final int ROWS = 1_000_000;
+
+	private Path file;
+	private Ignite ignite;
+	private IgniteCache<Object, Object> cache;
+	private FileImporter importer;
+
+	@Setup(Level.Trial)
+	public void prepare() throws Exception {
+		file = Files.createTempFile("benchmark_entity", ".csv");
+		writeFile(file);
+
+		IgniteConfiguration cfg = new IgniteConfiguration();
+		cfg.setIgniteInstanceName("import");
+		cfg.setGridLogger(new NullLogger());
+		cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(new TcpDiscoveryVmIpFinder(true)));
+		DataStorageConfiguration storage = new DataStorageConfiguration();
+		storage.getDefaultDataRegionConfiguration().setInitialSize(512L << 20).setMaxSize(512L << 20);
+		cfg.setDataStorageConfiguration(storage);
+		ignite = Ignition.start(cfg);
+		cache = ignite.getOrCreateCache(new CacheConfiguration<>("benchmarkCache"));
+
+		TableDTO table = new ProcessAnnotationsDTO().loadClassData(BenchmarkEntity.class);
+		table.setStatements(GenerateStatements.createStatements(table));
+		importer = new FileImporter(ignite, table, new ImportConfigDTO());
+	}
+
+	@Setup(Level.Iteration)
+	public void clear() {
+		cache.clear();
+	}
+
+	@TearDown(Level.Trial)
+	public void close() throws IOException {
+		ignite.close();
+		Files.delete(file);
+	}
+
+	@Benchmark
+	public long importFile() throws Exception {
+		return importer.importFile(file);
+	}
+
+	/**
+	 * Rows with the same values the fixture of the store inserts
+	 */
+	private static void writeFile(Path file) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write("ID,NAME,AGE,SCORE,ACTIVE,VERSION\n");
+			for (long id = 1; id <= ROWS; id++) {
+				writer.write(id + ",name" + id + ',' + id % 100 + ',' + id / 3d + ',' + (id % 2 == 0) + ',' + id + '\n');
+			}
+		}
+	}
+}
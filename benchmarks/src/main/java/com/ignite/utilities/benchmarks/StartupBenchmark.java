@@ -0,0 +1,106 @@
+package com.ignite.utilities.benchmarks;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.store.jdbc.dialect.H2Dialect;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ignite.utilities.IgniteAutoConfig;
+import com.ignite.utilities.lazy.LazyCacheRegistry;
+
+/**
+ * Time to start an embedded node with the caches of all the entity classes, against a node that only starts the hot ones with the lazy
+ * registry
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+	/** Caches started with the node by the lazy registry */
+	public static final int HOT_CACHES = 10;
+
+	@Param({ "100" })
+	private int classCount;
+
+	private StoreFixture.H2DataSourceFactory dataSourceFactory;
+	private Ignite ignite;
+
+	@Setup(Level.Trial)
+	public void addClasses() throws Exception {
+		List<Class<?>> classes = EntityClasses.generate(classCount);
+		dataSourceFactory = new StoreFixture.H2DataSourceFactory("jdbc:h2:mem:startup");
+		IgniteAutoConfig.setCacheStore(true);
+		// The generated classes are not on the class path of the node, the stores only use their binary objects
+		IgniteAutoConfig.setStoreKeepBinary(true);
+
+		IgniteAutoConfig.reset();
+		for (Class<?> entityClass : classes) {
+			IgniteAutoConfig.addClass(entityClass);
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void stopNode() {
+		ignite.close();
+	}
+
+	@Benchmark
+	public Collection<String> eager() throws Exception {
+		IgniteConfiguration cfg = nodeConfiguration();
+		cfg.setCacheConfiguration(IgniteAutoConfig.generateCacheConfiguration(dataSourceFactory, new H2Dialect()).values().toArray(
+				new CacheConfiguration[0]));
+		ignite = Ignition.start(cfg);
+		return ignite.cacheNames();
+	}
+
+	@Benchmark
+	public Collection<String> lazy() throws Exception {
+		ignite = Ignition.start(nodeConfiguration());
+
+		String[] hotCaches = new String[HOT_CACHES];
+		for (int i = 0; i < hotCaches.length; i++) {
+			hotCaches[i] = "cache" + i;
+		}
+		LazyCacheRegistry registry = IgniteAutoConfig.startLazyCaches(ignite, dataSourceFactory, new H2Dialect(), hotCaches);
+		return registry.getStartedCaches();
+	}
+
+	private static IgniteConfiguration nodeConfiguration() {
+		IgniteConfiguration cfg = new IgniteConfiguration();
+		cfg.setIgniteInstanceName("startup");
+		cfg.setGridLogger(new NullLogger());
+		cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(new TcpDiscoveryVmIpFinder(true)));
+
+		// Every partition of every cache takes pages of the region
+		DataStorageConfiguration storage = new DataStorageConfiguration();
+		storage.getDefaultDataRegionConfiguration().setMaxSize(2L << 30);
+		cfg.setDataStorageConfiguration(storage);
+		return cfg;
+	}
+}
@@ -0,0 +1,212 @@
+package com.ignite.utilities.benchmarks;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.cache.configuration.Factory;
+import javax.sql.DataSource;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.store.CacheStoreSession;
+import org.apache.ignite.cache.store.jdbc.dialect.H2Dialect;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.apache.ignite.transactions.Transaction;
+import org.h2.jdbcx.JdbcDataSource;
+
+import com.ignite.utilities.GenerateCacheStore;
+import com.ignite.utilities.GenerateCacheStoreFactory;
+import com.ignite.utilities.GenerateStatements;
+import com.ignite.utilities.ProcessAnnotationsDTO;
+import com.ignite.utilities.dto.StoreConfigDTO;
+import com.ignite.utilities.dto.TableDTO;
+
+/**
+ * Embedded H2 table of {@link BenchmarkEntity} with a store over it, created the same way the generated cache configuration does.<br>
+ * A node is started to convert the values between the objects of the class and the binary objects kept in the cache
+ */
+public class StoreFixture {
+
+	/** Rows inserted before each trial */
+	public static final int ROWS = 100_000;
+
+	private final Connection conn;
+	private final GenerateCacheStore store;
+	private final Ignite ignite;
+
+	/**
+	 * Create the table and its store
+	 *
+	 * @param dbName
+	 *            Name of the in-memory DB, unique per fixture
+	 * @param keepBinary
+	 *            Set the store on keep-binary mode
+	 * @throws Exception
+	 */
+	public StoreFixture(String dbName, boolean keepBinary) throws Exception {
+		H2DataSourceFactory dataSourceFactory = new H2DataSourceFactory("jdbc:h2:mem:" + dbName + ";DB_CLOSE_DELAY=-1");
+		conn = dataSourceFactory.create().getConnection();
+		try (Statement st = conn.createStatement()) {
+			st.execute(BenchmarkEntity.createTable());
+			st.execute("INSERT INTO BENCHMARK_ENTITY SELECT X, 'name' || X, MOD(X, 100), X / 3.0, MOD(X, 2) = 0, X FROM SYSTEM_RANGE(1, " + ROWS + ")");
+		}
+
+		TableDTO table = new ProcessAnnotationsDTO().loadClassData(BenchmarkEntity.class);
+		table.setStatements(GenerateStatements.createStatements(table));
+
+		StoreConfigDTO storeConfig = new StoreConfigDTO();
+		storeConfig.setKeepBinary(keepBinary);
+		H2Dialect dialect = new H2Dialect();
+		GenerateStatements.createDialectQueries(table, dialect, storeConfig);
+
+		GenerateCacheStoreFactory storeFactory = new GenerateCacheStoreFactory();
+		storeFactory.setTable(table);
+		storeFactory.setDialect(dialect);
+		storeFactory.setStoreConfig(storeConfig);
+		storeFactory.setDataSourceFactory(dataSourceFactory);
+		store = storeFactory.create();
+
+		// The resources that Ignite injects on the server nodes
+		inject(store, "ses", new Session(conn));
+		ignite = startNode(dbName);
+		inject(store, "ignite", ignite);
+	}
+
+	/**
+	 * Value of the row as it is kept in the cache
+	 *
+	 * @param id
+	 * @return
+	 */
+	public BinaryObject value(long id) {
+		return ignite.binary().toBinary(new BenchmarkEntity(id));
+	}
+
+	/**
+	 * Convert a loaded value to the way it is kept in the cache, as Ignite does when the store is not on keep-binary mode
+	 *
+	 * @param value
+	 * @return
+	 */
+	public Object toCache(Object value) {
+		return value instanceof BinaryObject ? value : ignite.binary().toBinary(value);
+	}
+
+	public GenerateCacheStore getStore() {
+		return store;
+	}
+
+	public Connection getConnection() {
+		return conn;
+	}
+
+	/**
+	 * Drop the DB and stop the node
+	 *
+	 * @throws SQLException
+	 */
+	public void close() throws SQLException {
+		try (Statement st = conn.createStatement()) {
+			st.execute("DROP ALL OBJECTS");
+		}
+		conn.close();
+		ignite.close();
+	}
+
+	private static Ignite startNode(String name) {
+		IgniteConfiguration cfg = new IgniteConfiguration();
+		cfg.setIgniteInstanceName(name);
+		cfg.setGridLogger(new NullLogger());
+		cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(new TcpDiscoveryVmIpFinder(true)));
+
+		DataStorageConfiguration storage = new DataStorageConfiguration();
+		storage.getDefaultDataRegionConfiguration().setInitialSize(64L << 20).setMaxSize(64L << 20);
+		cfg.setDataStorageConfiguration(storage);
+
+		return Ignition.start(cfg);
+	}
+
+	private static void inject(Object target, String fieldName, Object value) throws Exception {
+		Field field = target.getClass().getDeclaredField(fieldName);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+
+	/**
+	 * DataSource of the embedded DB
+	 */
+	public static class H2DataSourceFactory implements Factory<DataSource> {
+
+		private static final long serialVersionUID = 2710420155227457325L;
+
+		private final String url;
+
+		public H2DataSourceFactory(String url) {
+			this.url = url;
+		}
+
+		@Override
+		public DataSource create() {
+			JdbcDataSource dataSource = new JdbcDataSource();
+			dataSource.setURL(url);
+			return dataSource;
+		}
+	}
+
+	/**
+	 * Session outside of a transaction with the connection attached, as a session listener would leave it
+	 */
+	private static class Session implements CacheStoreSession {
+
+		private final Map<?, ?> properties = new HashMap<>();
+		private Object attachment;
+
+		Session(Connection conn) {
+			this.attachment = conn;
+		}
+
+		@Override
+		public Transaction transaction() {
+			return null;
+		}
+
+		@Override
+		public boolean isWithinTransaction() {
+			return false;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> T attach(Object attachment) {
+			Object previous = this.attachment;
+			this.attachment = attachment;
+			return (T) previous;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> T attachment() {
+			return (T) attachment;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <K, V> Map<K, V> properties() {
+			return (Map<K, V>) properties;
+		}
+
+		@Override
+		public String cacheName() {
+			return "benchmarkCache";
+		}
+	}
+}
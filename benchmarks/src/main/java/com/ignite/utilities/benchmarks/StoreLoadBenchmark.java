@@ -0,0 +1,72 @@
+package com.ignite.utilities.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the read-through of a single key and of a batch of keys from the embedded H2 until the values are as kept in the cache, the
+ * pojo mode serializes the loaded objects as Ignite does without keep-binary
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreLoadBenchmark {
+
+	/** Keys per loadAll */
+	private static final int KEYS = 100;
+
+	@Param({ "pojo", "binary" })
+	private String mode;
+
+	private StoreFixture fixture;
+
+	@Setup(Level.Trial)
+	public void createStore() throws Exception {
+		fixture = new StoreFixture("load_" + mode, "binary".equals(mode));
+	}
+
+	@TearDown(Level.Trial)
+	public void close() throws Exception {
+		fixture.close();
+	}
+
+	@Benchmark
+	public Object load() {
+		return fixture.toCache(fixture.getStore().load(randomKey()));
+	}
+
+	@Benchmark
+	public Map<Object, Object> loadAll() {
+		List<Long> keys = new ArrayList<>(KEYS);
+		for (int i = 0; i < KEYS; i++) {
+			keys.add(randomKey());
+		}
+		Map<Object, Object> loaded = fixture.getStore().loadAll(keys);
+		loaded.replaceAll((key, value) -> fixture.toCache(value));
+		return loaded;
+	}
+
+	private static long randomKey() {
+		return ThreadLocalRandom.current().nextLong(1, StoreFixture.ROWS + 1);
+	}
+}
@@ -0,0 +1,120 @@
+package com.ignite.utilities.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.Cache.Entry;
+
+import org.apache.ignite.binary.BinaryObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rows per second written by the store to the embedded H2, one entry per call as write-through does and whole batches as the write-behind
+ * flush does.<br>
+ * The values are kept as binary objects as in the cache, the pojo mode deserializes each of them before the store as Ignite does without
+ * keep-binary
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreWriteBenchmark {
+
+	/** Entries per writeAll, the default write-behind batch size */
+	private static final int BATCH = 512;
+
+	@Param({ "pojo", "binary" })
+	private String mode;
+
+	private StoreFixture fixture;
+	private List<Entry<Long, Object>> entries;
+	private boolean deserialize;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void createStore() throws Exception {
+		fixture = new StoreFixture("write_" + mode, "binary".equals(mode));
+		deserialize = !"binary".equals(mode);
+
+		// Existing rows, so the rows are updated as on a running cache
+		entries = new ArrayList<>(StoreFixture.ROWS);
+		for (long id = 1; id <= StoreFixture.ROWS; id++) {
+			entries.add(new Row(id, fixture.value(id)));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void close() throws Exception {
+		fixture.close();
+	}
+
+	@Benchmark
+	public void write() {
+		fixture.getStore().write(toStore(entries.get(next)));
+		next = (next + 1) % entries.size();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void writeAll() {
+		if (next + BATCH > entries.size()) {
+			next = 0;
+		}
+		// writeAll removes the written entries from the collection
+		List<Entry<?, ?>> batch = new ArrayList<>(BATCH);
+		for (int i = next; i < next + BATCH; i++) {
+			batch.add(toStore(entries.get(i)));
+		}
+		fixture.getStore().writeAll(batch);
+		next += BATCH;
+	}
+
+	private Entry<Long, Object> toStore(Entry<Long, Object> entry) {
+		return deserialize ? new Row(entry.getKey(), ((BinaryObject) entry.getValue()).deserialize()) : entry;
+	}
+
+	/**
+	 * Entry of the cache as the store receives it
+	 */
+	private static class Row implements Entry<Long, Object> {
+
+		private final Long key;
+		private final Object value;
+
+		Row(Long key, Object value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public Long getKey() {
+			return key;
+		}
+
+		@Override
+		public Object getValue() {
+			return value;
+		}
+
+		@Override
+		public <T> T unwrap(Class<T> clazz) {
+			throw new IllegalArgumentException("Unwrapping to " + clazz + " is not supported");
+		}
+	}
+}
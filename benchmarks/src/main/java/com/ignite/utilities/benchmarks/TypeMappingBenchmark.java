@@ -0,0 +1,150 @@
+package com.ignite.utilities.benchmarks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ignite.utilities.GenerateStatements;
+import com.ignite.utilities.ProcessAnnotationsDTO;
+import com.ignite.utilities.accessor.EntityAccessor;
+import com.ignite.utilities.accessor.FieldAccessor;
+import com.ignite.utilities.dto.ColumnDTO;
+import com.ignite.utilities.dto.TableDTO;
+
+/**
+ * Cost of the column types on the rows of {@link WideEntity}, one field of each built-in type. Run with <code>-prof gc</code> to see the
+ * bytes allocated per row:
+ * <ul>
+ * <li>bindObject, readObject: <code>setObject</code> and <code>getObject(index, type)</code>, as the accessors did before the column
+ * types</li>
+ * <li>bindTyped, readTyped: the typed JDBC calls of the column types, the ones the store uses</li>
+ * </ul>
+ * The reads go over the {@link #ROWS} rows of the table on each invocation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeMappingBenchmark {
+
+	/** Rows read on each invocation */
+	public static final int ROWS = 100;
+
+	private Connection conn;
+	private PreparedStatement bindStatement;
+	private PreparedStatement readStatement;
+
+	private ColumnDTO[] params;
+	private FieldAccessor[] accessors;
+	private ColumnDTO[] columns;
+	private FieldAccessor[] selectAccessors;
+	private EntityAccessor entityAccessor;
+
+	private Object entity;
+
+	@Setup(Level.Trial)
+	public void prepare() throws Exception {
+		conn = new StoreFixture.H2DataSourceFactory("jdbc:h2:mem:types;DB_CLOSE_DELAY=-1").create().getConnection();
+		try (Statement st = conn.createStatement()) {
+			st.execute(WideEntity.createTable());
+		}
+
+		TableDTO table = new ProcessAnnotationsDTO().loadClassData(WideEntity.class);
+		table.setStatements(GenerateStatements.createStatements(table));
+		entityAccessor = EntityAccessor.forTable(table);
+
+		params = table.getStatements().getInsertParams();
+		accessors = entityAccessor.getInsertAccessors();
+		bindStatement = conn.prepareStatement(table.getStatements().getInsertQuery());
+		for (long id = 1; id <= ROWS; id++) {
+			bind(new WideEntity(id));
+			bindStatement.addBatch();
+		}
+		bindStatement.executeBatch();
+
+		columns = table.getStatements().getSelectColumns();
+		selectAccessors = entityAccessor.getSelectAccessors();
+		StringBuilder query = new StringBuilder("SELECT ");
+		for (int i = 0; i < columns.length; i++) {
+			query.append(i == 0 ? "" : ", ").append(columns[i].getColumnName());
+		}
+		readStatement = conn.prepareStatement(query.append(" FROM ").append(table.getTableName()).toString());
+
+		entity = new WideEntity(ROWS + 1);
+	}
+
+	@TearDown(Level.Trial)
+	public void close() throws Exception {
+		bindStatement.close();
+		readStatement.close();
+		try (Statement st = conn.createStatement()) {
+			st.execute("DROP ALL OBJECTS");
+		}
+		conn.close();
+	}
+
+	@Benchmark
+	public PreparedStatement bindObject() throws Exception {
+		for (int i = 0; i < params.length; i++) {
+			bindStatement.setObject(i + 1, accessors[i].get(entity));
+		}
+		return bindStatement;
+	}
+
+	@Benchmark
+	public PreparedStatement bindTyped() throws Exception {
+		return bind(entity);
+	}
+
+	@Benchmark
+	public Object readObject() throws Exception {
+		Object last = null;
+		try (ResultSet rs = readStatement.executeQuery()) {
+			while (rs.next()) {
+				last = entityAccessor.newInstance();
+				for (int i = 0; i < columns.length; i++) {
+					selectAccessors[i].set(last, rs.getObject(i + 1, columns[i].getFieldType()));
+				}
+			}
+		}
+		return last;
+	}
+
+	@Benchmark
+	public Object readTyped() throws Exception {
+		Object last = null;
+		try (ResultSet rs = readStatement.executeQuery()) {
+			while (rs.next()) {
+				last = entityAccessor.readRow(rs);
+			}
+		}
+		return last;
+	}
+
+	/**
+	 * The key is bound from the value, the store binds it from the cache key with the same column type
+	 */
+	private PreparedStatement bind(Object value) throws Exception {
+		for (int i = 0; i < params.length; i++) {
+			accessors[i].bind(bindStatement, i + 1, value);
+		}
+		return bindStatement;
+	}
+}
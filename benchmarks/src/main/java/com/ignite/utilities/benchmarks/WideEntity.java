@@ -0,0 +1,88 @@
+package com.ignite.utilities.benchmarks;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteTable;
+
+/**
+ * Entity read and bound by the type mapping benchmark, one field of each built-in column type that is not a primitive
+ */
+@IgniteTable(cacheName = "wideCache", name = "WIDE_ENTITY")
+public class WideEntity {
+
+	@IgniteId
+	@IgniteColumn(name = "ID")
+	private Long id;
+
+	@IgniteColumn(name = "QUANTITY")
+	private Integer quantity;
+
+	@IgniteColumn(name = "RANK")
+	private Short rank;
+
+	@IgniteColumn(name = "PRICE")
+	private BigDecimal price;
+
+	@IgniteColumn(name = "RATIO")
+	private Double ratio;
+
+	@IgniteColumn(name = "WEIGHT")
+	private Float weight;
+
+	@IgniteColumn(name = "ACTIVE")
+	private Boolean active;
+
+	@IgniteColumn(name = "NAME")
+	private String name;
+
+	@IgniteColumn(name = "PAYLOAD")
+	private byte[] payload;
+
+	@IgniteColumn(name = "REF")
+	private UUID ref;
+
+	@IgniteColumn(name = "BORN")
+	private LocalDate born;
+
+	@IgniteColumn(name = "UPDATED")
+	private LocalDateTime updated;
+
+	@IgniteColumn(name = "CREATED")
+	private Timestamp created;
+
+	public WideEntity() {
+	}
+
+	public WideEntity(long id) {
+		this.id = id;
+		this.quantity = (int) (id % 1000);
+		this.rank = (short) (id % 100);
+		this.price = BigDecimal.valueOf(id, 2);
+		this.ratio = id / 3d;
+		this.weight = id / 7f;
+		this.active = id % 2 == 0;
+		this.name = "name" + id;
+		this.payload = ByteBuffer.allocate(16).putLong(id).putLong(~id).array();
+		this.ref = new UUID(id, ~id);
+		this.born = LocalDate.of(2000, 1, 1).plusDays(id % 10_000);
+		this.updated = LocalDateTime.of(2020, 1, 1, 0, 0).plusSeconds(id);
+		this.created = Timestamp.valueOf(this.updated.minusDays(1));
+	}
+
+	/**
+	 * DDL of the table in H2
+	 *
+	 * @return
+	 */
+	public static String createTable() {
+		return "CREATE TABLE WIDE_ENTITY (ID BIGINT PRIMARY KEY, QUANTITY INT, RANK SMALLINT, PRICE DECIMAL(20, 2), RATIO DOUBLE, WEIGHT REAL, "
+				+ "ACTIVE BOOLEAN, NAME VARCHAR(64), PAYLOAD VARBINARY(16), REF UUID, BORN DATE, UPDATED TIMESTAMP, CREATED TIMESTAMP)";
+	}
+}
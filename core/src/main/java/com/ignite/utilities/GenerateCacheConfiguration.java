@@ -0,0 +1,636 @@
+package com.ignite.utilities;
+
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.configuration.Factory;
+import javax.cache.expiry.Duration;
+import javax.cache.expiry.ModifiedExpiryPolicy;
+import javax.cache.expiry.TouchedExpiryPolicy;
+import javax.sql.DataSource;
+
+import org.apache.ignite.cache.CacheKeyConfiguration;
+import org.apache.ignite.cache.CacheMode;
+import org.apache.ignite.cache.QueryEntity;
+import org.apache.ignite.cache.affinity.AffinityFunction;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cache.eviction.lru.LruEvictionPolicyFactory;
+import org.apache.ignite.cache.store.CacheStoreSessionListener;
+import org.apache.ignite.cache.store.jdbc.CacheJdbcPojoStoreFactory;
+import org.apache.ignite.cache.store.jdbc.JdbcType;
+import org.apache.ignite.cache.store.jdbc.dialect.JdbcDialect;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataPageEvictionMode;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.NearCacheConfiguration;
+
+import com.ignite.utilities.affinity.ModuloAffinityFunction;
+import com.ignite.utilities.dto.CacheSettingsDTO;
+import com.ignite.utilities.dto.ColumnDTO;
+import com.ignite.utilities.dto.StoreConfigDTO;
+import com.ignite.utilities.dto.TableDTO;
+import com.ignite.utilities.pool.PooledDataSourceFactory;
+import com.ignite.utilities.session.StoreSessionListenerFactory;
+import com.ignite.utilities.types.ColumnTypes;
+
+public class GenerateCacheConfiguration {
+
+	private static final String CLASSNAME = "[GenerateCacheConfiguration]";
+
+	/** Map Key: cacheName, Value: Tables with that cache */
+	private static Map<String, List<TableDTO>> cacheTables = new HashMap<>();
+
+	/** List of the caches created */
+	private static List<String> cacheNames = new ArrayList<>();
+
+	/** Will define if the configuration is based on the CacheStore object */
+	private static boolean isCacheStore;
+
+	/** Settings of the generated CacheStore */
+	private static StoreConfigDTO storeConfig;
+	
+	public static void init(boolean isCacheStore, StoreConfigDTO storeConfig, Map<String, List<TableDTO>> cacheTables, List<String> cacheNames) {
+		GenerateCacheConfiguration.isCacheStore = isCacheStore;
+		GenerateCacheConfiguration.storeConfig = storeConfig;
+		GenerateCacheConfiguration.cacheTables = cacheTables;
+		GenerateCacheConfiguration.cacheNames = cacheNames;
+	}
+	
+	/**
+	 * Generate the configurations of all the caches
+	 * 
+	 * @param dataSource
+	 * @param dialect
+	 * @return Map Key: cacheName, Value: its configuration
+	 * @throws Exception
+	 *             If the parents of the tables are not valid or the tables of a cache can not share it
+	 */
+	public static Map<String, CacheConfiguration<?, ?>> generateCacheConfiguration(Factory<DataSource> dataSource, JdbcDialect dialect)
+			throws Exception {
+		Map<String, CacheConfiguration<?, ?>> cacheConfigs = new HashMap<>();
+
+		relateTables();
+		dataSource = storeDataSource(dataSource);
+
+		for (String cacheName : cacheNames) {
+			// Add the cacheConfiguration created to a list
+			cacheConfigs.put(cacheName, generateCacheConfiguration(cacheName, dataSource, dialect));
+		}
+
+		return cacheConfigs;
+	}
+
+	/**
+	 * Generate the configuration of a single cache, used to start the caches on demand. The tables should be related first with
+	 * {@link #relateTables()} and the factory be the one of {@link #storeDataSource(Factory)}, so all the caches share its pool
+	 * 
+	 * @param cacheName
+	 * @param dataSource
+	 * @param dialect
+	 * @return
+	 * @throws Exception
+	 *             If the tables of the cache can not share it
+	 */
+	public static CacheConfiguration<?, ?> generateCacheConfiguration(String cacheName, Factory<DataSource> dataSource, JdbcDialect dialect)
+			throws Exception {
+		List<TableDTO> tablesPerCache = cacheTables.get(cacheName);
+		if (tablesPerCache == null) {
+			throw new Exception(CLASSNAME + " [generateCacheConfiguration] No table is mapped to the cache " + cacheName);
+		}
+
+		// Generate a cacheConfiguration per cacheName
+		CacheConfiguration<Object, ?> cacheConfig = new CacheConfiguration<>();
+		cacheConfig.setReadThrough(true);
+		cacheConfig.setWriteThrough(true);
+
+		cacheConfig.setName(cacheName);
+		checkKeyTypes(cacheName, tablesPerCache);
+		// The keys with several columns are binary objects without class
+		cacheConfig.setStoreKeepBinary(storeConfig.isKeepBinary() || hasKeyType(tablesPerCache));
+		cacheConfig.setKeyConfiguration(getKeyConfigurations(tablesPerCache));
+		applyCacheSettings(cacheConfig, getCacheSettings(tablesPerCache));
+
+		if (isCacheStore) {
+			generateCacheStore(cacheConfig, dataSource, dialect, tablesPerCache);
+		} else {
+			generateJDBCStore(cacheConfig, dataSource, dialect, tablesPerCache);
+		}
+
+		AffinityFunction rootAffinity = rootAffinity(cacheName);
+		if (rootAffinity != null) {
+			cacheConfig.setAffinity(rootAffinity);
+		}
+		return cacheConfig;
+	}
+
+	/**
+	 * Get the factory given to the stores, wrapped with the pool shared by all the caches if the stores use it
+	 * 
+	 * @param dataSource
+	 * @return
+	 * @throws Exception
+	 *             If the pool is smaller than the connections of a loadCache
+	 */
+	public static Factory<DataSource> storeDataSource(Factory<DataSource> dataSource) throws Exception {
+		return storeConfig.isConnectionPool() ? pooledDataSource(dataSource) : dataSource;
+	}
+
+	/**
+	 * Generate the data regions declared with @IgniteCache, to be added to the DataStorageConfiguration of the IgniteConfiguration
+	 * 
+	 * @return Map Key: region name, Value: region
+	 * @throws Exception
+	 *             If the caches of a region declare different region settings
+	 */
+	public static Map<String, DataRegionConfiguration> generateDataRegionConfigurations() throws Exception {
+		// Map Key: region name, Value: Settings of the first cache of the region
+		Map<String, CacheSettingsDTO> regionSettings = new HashMap<>();
+		Map<String, DataRegionConfiguration> regions = new HashMap<>();
+
+		for (String cacheName : cacheNames) {
+			CacheSettingsDTO settings = getCacheSettings(cacheTables.get(cacheName));
+			if (settings.getDataRegion().isEmpty()) {
+				continue;
+			}
+
+			CacheSettingsDTO declared = regionSettings.putIfAbsent(settings.getDataRegion(), settings);
+			if (declared == null) {
+				regions.put(settings.getDataRegion(), createDataRegion(settings));
+			} else if (!sameDataRegion(declared, settings)) {
+				throw new Exception(CLASSNAME + " [generateDataRegionConfigurations] Cache " + cacheName + " declares other settings for the region "
+						+ settings.getDataRegion());
+			}
+		}
+		return regions;
+	}
+
+	/**
+	 * Generate the DataStorageConfiguration with the data regions declared with @IgniteCache, the region named "default" replaces the default
+	 * region
+	 * 
+	 * @return
+	 * @throws Exception
+	 *             If the caches of a region declare different region settings
+	 */
+	public static DataStorageConfiguration generateDataStorageConfiguration() throws Exception {
+		DataStorageConfiguration dataStorage = new DataStorageConfiguration();
+		List<DataRegionConfiguration> regions = new ArrayList<>();
+
+		for (DataRegionConfiguration region : generateDataRegionConfigurations().values()) {
+			if (DataStorageConfiguration.DFLT_DATA_REG_DEFAULT_NAME.equals(region.getName())) {
+				dataStorage.setDefaultDataRegionConfiguration(region);
+			} else {
+				regions.add(region);
+			}
+		}
+
+		if (!regions.isEmpty()) {
+			dataStorage.setDataRegionConfigurations(regions.toArray(new DataRegionConfiguration[regions.size()]));
+		}
+		return dataStorage;
+	}
+
+	/**
+	 * Create the data region of the settings, the sizes are declared in MB
+	 * 
+	 * @param settings
+	 * @return
+	 */
+	private static DataRegionConfiguration createDataRegion(CacheSettingsDTO settings) {
+		DataRegionConfiguration region = new DataRegionConfiguration();
+		region.setName(settings.getDataRegion());
+
+		long maxSize = settings.getDataRegionMaxSize() * 1024 * 1024;
+		long initialSize = settings.getDataRegionInitialSize() * 1024 * 1024;
+		if (maxSize > 0) {
+			region.setMaxSize(maxSize);
+			// Ignite fails to start a region with a max size lower than the default initial size
+			if (initialSize == 0 && maxSize < DataStorageConfiguration.DFLT_DATA_REGION_INITIAL_SIZE) {
+				initialSize = maxSize;
+			}
+		}
+		if (initialSize > 0) {
+			region.setInitialSize(initialSize);
+		}
+
+		region.setPersistenceEnabled(settings.isPersistenceEnabled());
+		// The persisted pages are replaced from disk, the page eviction is only for the regions in memory
+		region.setPageEvictionMode(settings.isPersistenceEnabled() ? DataPageEvictionMode.DISABLED : settings.getPageEvictionMode());
+		return region;
+	}
+
+	/**
+	 * Check if two caches declare the same settings for their region
+	 * 
+	 * @param settings
+	 * @param other
+	 * @return
+	 */
+	private static boolean sameDataRegion(CacheSettingsDTO settings, CacheSettingsDTO other) {
+		return settings.getDataRegionInitialSize() == other.getDataRegionInitialSize() && settings.getDataRegionMaxSize() == other
+				.getDataRegionMaxSize() && settings.getPageEvictionMode() == other.getPageEvictionMode() && settings.isPersistenceEnabled() == other
+						.isPersistenceEnabled();
+	}
+
+	/**
+	 * Set on each table the caches of its child tables, declared with @IgniteParent
+	 * 
+	 * @throws Exception
+	 *             If the parent is not mapped or its key has several columns
+	 */
+	public static void relateTables() throws Exception {
+		for (String cacheName : cacheNames) {
+			for (TableDTO tableData : cacheTables.get(cacheName)) {
+				tableData.setChildCaches(new ArrayList<>());
+			}
+		}
+
+		for (String cacheName : cacheNames) {
+			for (TableDTO tableData : cacheTables.get(cacheName)) {
+				TableDTO parentTable = getParentTable(tableData);
+				if (parentTable == null) {
+					continue;
+				}
+				if (parentTable.getKeyTypeName() != null) {
+					throw new Exception(CLASSNAME + " [relateTables] Parent " + parentTable.getTypeName() + " of " + tableData.getTypeName()
+							+ " should have a single @IgniteId");
+				}
+				if (parentTable.getCacheName().equals(cacheName)) {
+					throw new Exception(CLASSNAME + " [relateTables] " + tableData.getTypeName() + " should have another cache than its parent");
+				}
+				if (!parentTable.getChildCaches().contains(cacheName)) {
+					parentTable.getChildCaches().add(cacheName);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the parent table of the table
+	 * 
+	 * @param tableData
+	 * @return null if the table has no parent
+	 * @throws Exception
+	 *             If the parent is not mapped
+	 */
+	private static TableDTO getParentTable(TableDTO tableData) throws Exception {
+		for (ColumnDTO column : tableData.getColumns()) {
+			if (column.getParentTypeName() == null) {
+				continue;
+			}
+			for (String cacheName : cacheNames) {
+				for (TableDTO parentTable : cacheTables.get(cacheName)) {
+					if (parentTable.getTypeName().equals(column.getParentTypeName())) {
+						return parentTable;
+					}
+				}
+			}
+			throw new Exception(CLASSNAME + " [getParentTable] Parent " + column.getParentTypeName() + " of " + tableData.getTypeName()
+					+ " should be added too");
+		}
+		return null;
+	}
+
+	/**
+	 * Get the affinity function of the cache of the root table of a child cache, so a key and the keys of its children with the same affinity
+	 * value are on the same partition and node. It is created from the settings of the root cache, so the child can be generated without it
+	 * 
+	 * @param cacheName
+	 * @return null if the tables of the cache have no parent
+	 * @throws Exception
+	 *             If the parents have cycles
+	 */
+	private static AffinityFunction rootAffinity(String cacheName) throws Exception {
+		TableDTO rootTable = null;
+		Set<String> visited = new HashSet<>();
+		visited.add(cacheName);
+		for (TableDTO parentTable = getParentTable(cacheTables.get(cacheName).get(0)); parentTable != null; parentTable = getParentTable(
+				parentTable)) {
+			if (!visited.add(parentTable.getCacheName())) {
+				throw new Exception(CLASSNAME + " [rootAffinity] The parents of cache " + cacheName + " should not have cycles");
+			}
+			rootTable = parentTable;
+		}
+		if (rootTable == null) {
+			return null;
+		}
+
+		// The function generateCacheStore gives to the root cache
+		int partitions = getCacheSettings(cacheTables.get(rootTable.getCacheName())).getPartitions();
+		return isCacheStore && storeConfig.isPartitionAwareLoad() ? new ModuloAffinityFunction(false, partitions)
+				: new RendezvousAffinityFunction(false, partitions);
+	}
+
+	/**
+	 * Wrap the factory with the pool shared by all the caches. By default the pool has a connection per load thread plus the one of the
+	 * session of loadCache, one per write-behind flush thread of the caches and per worker of their write pipelines, so the flushers never
+	 * wait for each other, one per store session and one per cache with child caches, whose store loads the children of the rows read
+	 * through on a thread of its own
+	 * 
+	 * @param dataSource
+	 * @return
+	 * @throws Exception
+	 *             If the size is below the connections of a single loadCache
+	 */
+	private static Factory<DataSource> pooledDataSource(Factory<DataSource> dataSource) throws Exception {
+		// loadCache keeps the connection of its session while each range borrows one
+		int minSize = storeConfig.getLoadThreads() + 1;
+		int poolSize = storeConfig.getPoolSize();
+		if (poolSize == 0) {
+			poolSize = minSize;
+			Set<String> parentCaches = new HashSet<>();
+			for (String cacheName : cacheNames) {
+				CacheSettingsDTO settings = getCacheSettings(cacheTables.get(cacheName));
+				if (settings.isWriteBehindEnabled()) {
+					poolSize += settings.getWriteBehindFlushThreadCount();
+					if (storeConfig.isPipelinedWrites()) {
+						poolSize += storeConfig.getPipelineWorkers();
+					}
+				}
+				for (TableDTO tableData : cacheTables.get(cacheName)) {
+					TableDTO parentTable = getParentTable(tableData);
+					if (parentTable != null) {
+						parentCaches.add(parentTable.getCacheName());
+					}
+				}
+			}
+			poolSize += storeConfig.getStoreSessions() + parentCaches.size();
+
+		} else if (poolSize < minSize) {
+			throw new Exception(CLASSNAME + " [pooledDataSource] The pool size " + poolSize + " should be at least the load threads plus one, "
+					+ minSize);
+		}
+
+		return new PooledDataSourceFactory(dataSource, poolSize, storeConfig.getStatementCacheSize(), storeConfig.getPoolValidationIdle(),
+				storeConfig.getPoolBorrowTimeout());
+	}
+
+	/**
+	 * Get the settings declared with @IgniteCache by any of the tables of the cache, the defaults if none declares them
+	 * 
+	 * @param tablesPerCache
+	 * @return
+	 */
+	private static CacheSettingsDTO getCacheSettings(List<TableDTO> tablesPerCache) {
+		for (TableDTO tableData : tablesPerCache) {
+			if (tableData.getCacheSettings() != null) {
+				return tableData.getCacheSettings();
+			}
+		}
+		return new CacheSettingsDTO();
+	}
+
+	/**
+	 * Check that the tables sharing the cache have keys of different types, the loads and deletes only have the key to find the table
+	 * 
+	 * @param cacheName
+	 * @param tablesPerCache
+	 * @throws Exception
+	 *             If two tables have keys of the same type
+	 */
+	private static void checkKeyTypes(String cacheName, List<TableDTO> tablesPerCache) throws Exception {
+		// Map Key: key type, Value: type of the table
+		Map<String, String> keyTypes = new HashMap<>();
+		for (TableDTO tableData : tablesPerCache) {
+			String keyType = tableData.getKeyTypeName();
+			if (keyType == null) {
+				for (ColumnDTO column : tableData.getColumns()) {
+					if (column.isKey()) {
+						keyType = MethodType.methodType(column.getFieldType()).wrap().returnType().getName();
+					}
+				}
+			}
+
+			String other = keyTypes.put(keyType, tableData.getTypeName());
+			if (other != null) {
+				throw new Exception(CLASSNAME + " [checkKeyTypes] " + other + " and " + tableData.getTypeName() + " share cache " + cacheName
+						+ " with keys of the same type " + keyType);
+			}
+		}
+	}
+
+	/**
+	 * Check if any of the tables of the cache has a key with several columns
+	 * 
+	 * @param tablesPerCache
+	 * @return
+	 */
+	private static boolean hasKeyType(List<TableDTO> tablesPerCache) {
+		for (TableDTO tableData : tablesPerCache) {
+			if (tableData.getKeyTypeName() != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the affinity field of the key types declared with @IgniteAffinityKey, so the keys with the same affinity value are on the same
+	 * partition
+	 * 
+	 * @param tablesPerCache
+	 * @return
+	 */
+	private static CacheKeyConfiguration[] getKeyConfigurations(List<TableDTO> tablesPerCache) {
+		List<CacheKeyConfiguration> keyConfigs = new ArrayList<>();
+		for (TableDTO tableData : tablesPerCache) {
+			if (tableData.getKeyTypeName() == null) {
+				continue;
+			}
+			for (ColumnDTO column : tableData.getColumns()) {
+				if (column.isAffinityKey()) {
+					keyConfigs.add(new CacheKeyConfiguration(tableData.getKeyTypeName(), column.getFieldName()));
+				}
+			}
+		}
+		return keyConfigs.toArray(new CacheKeyConfiguration[keyConfigs.size()]);
+	}
+
+	/**
+	 * Set the atomicity, distribution, write-behind, rebalance, memory and expiry settings
+	 * 
+	 * @param cacheConfig
+	 * @param settings
+	 */
+	private static <K, V> void applyCacheSettings(CacheConfiguration<K, V> cacheConfig, CacheSettingsDTO settings) {
+		cacheConfig.setAtomicityMode(settings.getAtomicityMode());
+		cacheConfig.setCacheMode(settings.getCacheMode());
+		cacheConfig.setBackups(settings.getBackups());
+		cacheConfig.setAffinity(new RendezvousAffinityFunction(false, settings.getPartitions()));
+
+		cacheConfig.setWriteBehindEnabled(settings.isWriteBehindEnabled());
+		cacheConfig.setWriteBehindBatchSize(settings.getWriteBehindBatchSize());
+		cacheConfig.setWriteBehindFlushThreadCount(settings.getWriteBehindFlushThreadCount());
+		cacheConfig.setWriteBehindFlushSize(settings.getWriteBehindFlushSize());
+		cacheConfig.setWriteBehindFlushFrequency(settings.getWriteBehindFlushFrequency());
+		cacheConfig.setWriteBehindCoalescing(settings.isWriteBehindCoalescing());
+
+		cacheConfig.setRebalanceMode(settings.getRebalanceMode());
+		cacheConfig.setRebalanceBatchSize(settings.getRebalanceBatchSize());
+		cacheConfig.setRebalanceThrottle(settings.getRebalanceThrottle());
+		cacheConfig.setRebalanceDelay(settings.getRebalanceDelay());
+
+		if (!settings.getDataRegion().isEmpty()) {
+			cacheConfig.setDataRegionName(settings.getDataRegion());
+		}
+
+		if (settings.getOnheapCacheMaxSize() > 0) {
+			cacheConfig.setOnheapCacheEnabled(true);
+			cacheConfig.setEvictionPolicyFactory(new LruEvictionPolicyFactory<K, V>(settings.getOnheapCacheMaxSize()));
+		}
+
+		// The replicated caches have all their entries on each node
+		if (settings.getNearCacheMaxSize() > 0 && settings.getCacheMode() == CacheMode.PARTITIONED) {
+			NearCacheConfiguration<K, V> nearConfig = new NearCacheConfiguration<>();
+			nearConfig.setNearEvictionPolicyFactory(new LruEvictionPolicyFactory<K, V>(settings.getNearCacheMaxSize()));
+			cacheConfig.setNearConfiguration(nearConfig);
+		}
+
+		if (settings.getExpiryTtl() > 0) {
+			Duration ttl = new Duration(TimeUnit.MILLISECONDS, settings.getExpiryTtl());
+			cacheConfig.setExpiryPolicyFactory(settings.isExpiryOnAccess() ? TouchedExpiryPolicy.factoryOf(ttl) : ModifiedExpiryPolicy.factoryOf(ttl));
+		}
+	}
+
+	/**
+	 * 
+	 * @param cacheConfig
+	 * @param dataSource
+	 * @param dialect
+	 * @throws Exception 
+	 */
+	private static void generateCacheStore(CacheConfiguration<Object, ?> cacheConfig, Factory<DataSource> dataSource, JdbcDialect dialect,
+			List<TableDTO> tablesPerCache) throws Exception {
+		Collection<QueryEntity> queryEntities = new ArrayList<>();
+
+		for (TableDTO tableData : tablesPerCache) {
+			GenerateStatements.createDialectQueries(tableData, dialect, storeConfig);
+
+			// QueryEntity with the fields and indexes of the table
+			GenerateMapping gm = new GenerateMapping();
+			gm.createTableSchema(tableData.getCacheName(), tableData);
+			queryEntities.add(gm.getQueryEntity());
+		}
+
+		// On keep-binary mode the classes are not sent to the server nodes
+		List<TableDTO> storeTables = new ArrayList<>();
+		for (TableDTO tableData : tablesPerCache) {
+			storeTables.add(cacheConfig.isStoreKeepBinary() ? binaryTable(tableData) : tableData);
+		}
+
+		GenerateCacheStoreFactory storeFactory = new GenerateCacheStoreFactory();
+		storeFactory.setTables(storeTables);
+		storeFactory.setDialect(dialect);
+		storeFactory.setStoreConfig(storeConfig);
+		storeFactory.setDataSourceFactory(dataSource);
+
+		// Partitions that the DB can compute, so each node loads only its own rows
+		if (storeConfig.isPartitionAwareLoad()) {
+			for (TableDTO tableData : tablesPerCache) {
+				checkPartitionColumn(tableData);
+			}
+			int partitions = getCacheSettings(tablesPerCache).getPartitions();
+			cacheConfig.setAffinity(new ModuloAffinityFunction(false, partitions));
+		}
+
+		cacheConfig.setCacheStoreFactory(storeFactory);
+		// Connection per session, a transaction commits all its writes at once.
+		// Passed as an array, the generic varargs of the setter can not be created without an unchecked conversion
+		@SuppressWarnings("unchecked")
+		Factory<? extends CacheStoreSessionListener>[] listenerFactories = (Factory<? extends CacheStoreSessionListener>[]) new Factory<?>[] {
+				new StoreSessionListenerFactory(dataSource) };
+		cacheConfig.setCacheStoreSessionListenerFactories(listenerFactories);
+		cacheConfig.setQueryEntities(queryEntities);
+	}
+
+	/**
+	 * Check that the DB can compute the partitions of the table with <code>MOD</code>, the {@link ModuloAffinityFunction} only maps the
+	 * integer keys to <code>key mod partitions</code>
+	 *
+	 * @param tableData
+	 * @throws Exception
+	 *             If the key column, or the affinity key column of a key with several columns, is not an integer
+	 */
+	private static void checkPartitionColumn(TableDTO tableData) throws Exception {
+		List<ColumnDTO> keyColumns = new ArrayList<>();
+		ColumnDTO partitionColumn = null;
+		for (ColumnDTO column : tableData.getColumns()) {
+			if (column.isKey()) {
+				keyColumns.add(column);
+				if (column.isAffinityKey()) {
+					partitionColumn = column;
+				}
+			}
+		}
+		if (keyColumns.size() == 1) {
+			partitionColumn = keyColumns.get(0);
+		}
+
+		// Without affinity key the table is loaded whole
+		if (partitionColumn != null && !ColumnTypes.isIntegral(partitionColumn.getFieldType())) {
+			throw new Exception(CLASSNAME + " [checkPartitionColumn] partitionAwareLoad needs an integer key, the partitions of table "
+					+ tableData.getTableName() + " are chosen by column " + partitionColumn.getColumnName() + " of type "
+					+ partitionColumn.getFieldType().getSimpleName());
+		}
+	}
+
+	/**
+	 * Copy of the table without its class, the store only uses the binary type name
+	 * 
+	 * @param tableData
+	 * @return
+	 */
+	private static TableDTO binaryTable(TableDTO tableData) {
+		TableDTO binaryTable = new TableDTO();
+		binaryTable.setTableName(tableData.getTableName());
+		binaryTable.setCacheName(tableData.getCacheName());
+		binaryTable.setTypeName(tableData.getTypeName());
+		binaryTable.setKeyTypeName(tableData.getKeyTypeName());
+		binaryTable.setChildCaches(tableData.getChildCaches());
+		binaryTable.setColumns(tableData.getColumns());
+		binaryTable.setIndexes(tableData.getIndexes());
+		binaryTable.setStatements(tableData.getStatements());
+		binaryTable.setCacheSettings(tableData.getCacheSettings());
+		return binaryTable;
+	}
+
+	/**
+	 * 
+	 * @param cacheConfig
+	 * @param dataSource
+	 * @param dialect
+	 * @throws Exception 
+	 */
+	private static void generateJDBCStore(CacheConfiguration<?, ?> cacheConfig, Factory<DataSource> dataSource, JdbcDialect dialect, List<TableDTO> tablesPerCache) throws Exception {
+		Collection<QueryEntity> queryEntities = new ArrayList<>();
+		List<JdbcType> jdbcTypes = new ArrayList<>();
+
+		// One store factory per cacheConfig with the data of each Table
+		CacheJdbcPojoStoreFactory<Object, Object> storeFactory = new CacheJdbcPojoStoreFactory<>();
+		storeFactory.setDataSourceFactory(dataSource);
+		storeFactory.setDialect(dialect);
+
+		for (TableDTO tableData : tablesPerCache) {
+			// Generates the JdbcType data and QueryEntity for the table
+			GenerateMapping gm = new GenerateMapping();
+			gm.createTableSchema(tableData.getCacheName(), tableData);
+
+			jdbcTypes.add(gm.getJdbcType());
+			queryEntities.add(gm.getQueryEntity());
+		}
+
+		// The store finds the type of each entry by the type of its key
+		storeFactory.setTypes(jdbcTypes.toArray(new JdbcType[jdbcTypes.size()]));
+
+		cacheConfig.setCacheStoreFactory(storeFactory);
+		cacheConfig.setQueryEntities(queryEntities);
+	}
+}
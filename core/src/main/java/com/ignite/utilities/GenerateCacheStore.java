@@ -0,0 +1,1543 @@
+package com.ignite.utilities;
+
+import java.lang.invoke.MethodType;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.cache.Cache.Entry;
+import javax.cache.CacheException;
+import javax.cache.configuration.Factory;
+import javax.cache.integration.CacheLoaderException;
+import javax.cache.integration.CacheWriterException;
+import javax.sql.DataSource;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteBinary;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cache.store.CacheStoreAdapter;
+import org.apache.ignite.cache.store.CacheStoreSession;
+import org.apache.ignite.cache.store.jdbc.dialect.JdbcDialect;
+import org.apache.ignite.cache.store.jdbc.dialect.SQLServerDialect;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.lang.IgniteBiInClosure;
+import org.apache.ignite.lifecycle.LifecycleAware;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.resources.CacheStoreSessionResource;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.apache.ignite.resources.LoggerResource;
+
+import com.ignite.utilities.accessor.EntityAccessor;
+import com.ignite.utilities.affinity.ModuloAffinityFunction;
+import com.ignite.utilities.accessor.FieldAccessor;
+import com.ignite.utilities.dto.ColumnDTO;
+import com.ignite.utilities.dto.StoreConfigDTO;
+import com.ignite.utilities.dto.TableDTO;
+import com.ignite.utilities.dto.TableStatementsDTO;
+import com.ignite.utilities.fingerprint.FingerprintMap;
+import com.ignite.utilities.fingerprint.Fingerprints;
+import com.ignite.utilities.metrics.NoopStoreMetrics;
+import com.ignite.utilities.metrics.TableMetrics;
+import com.ignite.utilities.pipeline.PipelineBatch;
+import com.ignite.utilities.pipeline.WritePipeline;
+import com.ignite.utilities.pool.PooledDataSourceFactory;
+import com.ignite.utilities.session.SessionBuffer;
+import com.ignite.utilities.session.StoreSessionListener;
+import com.ignite.utilities.types.ColumnType;
+import com.ignite.utilities.types.ColumnTypes;
+
+/**
+ * CacheStore of the tables of a cache, the values are the objects of the mapped class or its binary objects on keep-binary mode.<br>
+ * The times of each statement and the rows of each operation are recorded on the {@link TableMetrics} of the table
+ */
+public class GenerateCacheStore extends CacheStoreAdapter<Object, Object> implements LifecycleAware {
+
+	/**
+	 * First argument of <code>loadCache(null, CHILDREN_OF, parentTypeName, parentKeys)</code>, loads the rows of a list of parents of the
+	 * table. Used by the stores of the parents to load the children with them
+	 */
+	public static final String CHILDREN_OF = GenerateCacheStore.class.getName() + ".childrenOf";
+
+	/** Child loads waiting for the loader of the store, the ones over it are left to the read-through of the children */
+	private static final int QUEUED_CHILD_LOADS = 1024;
+
+	/** Store session. */
+	@CacheStoreSessionResource
+	private CacheStoreSession ses;
+
+	/** Local node, used to know its partitions on loadCache */
+	@IgniteInstanceResource
+	private Ignite ignite;
+
+	@LoggerResource
+	private IgniteLogger log = new NullLogger();
+
+	/** Tables of the cache, the entries are written to the table of their value and loaded or deleted from the table of their key */
+	private TableDTO[] tables = new TableDTO[0];
+	private String cacheName;
+	/** Any of the tables has a key with several columns, so the cache is on keep-binary mode */
+	private boolean keyTypes;
+
+	/** Map Key: class of the values, Value: its table. Its subclasses get the table of the class */
+	private final ClassValue<TableDTO> valueTables = new ClassValue<TableDTO>() {
+		@Override
+		protected TableDTO computeValue(Class<?> type) {
+			for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+				for (TableDTO tableData : tables) {
+					if (c.getName().equals(tableData.getTypeName())) {
+						return tableData;
+					}
+				}
+			}
+			return null;
+		}
+	};
+	/** Map Key: binary type name of the values and of the keys with several columns, Value: its table */
+	private Map<String, TableDTO> binaryTables = Collections.emptyMap();
+	/** Map Key: class of the keys with a single column, Value: its table */
+	private Map<Class<?>, TableDTO> keyTables = Collections.emptyMap();
+
+	private JdbcDialect dialect;
+	private StoreConfigDTO storeConfig = new StoreConfigDTO();
+
+	/** Map Key: binary type name, Value: accessors of its binary objects, used on keep-binary mode */
+	private final Map<String, EntityAccessor> binaryAccessors = new ConcurrentHashMap<>();
+
+	/** Map Key: table name, Value: its metrics */
+	private final Map<String, TableMetrics> tableMetrics = new ConcurrentHashMap<>();
+
+	/** Map Key: table name, Value: fingerprints of the rows last written or loaded by this node, used to skip the unchanged writes */
+	private final Map<String, FingerprintMap> fingerprintMaps = new ConcurrentHashMap<>();
+	/** Topology of the fingerprints, they are dropped when it changes as the keys can be written by other nodes meanwhile */
+	private volatile long fingerprintsTopology;
+	/** Map Key: table name, Value: if all its column types have a fingerprint, the writes of the other tables are never skipped */
+	private final Map<String, Boolean> skippedTables = new ConcurrentHashMap<>();
+
+	/** Loads the children of the rows read through once their load returns, null until the first one */
+	private ExecutorService childLoader;
+
+	/** Writes the write-behind flushes on pipelined mode, null until the first one */
+	private WritePipeline pipeline;
+	private boolean pipelineChecked;
+
+	/** Used to open the connections of the parallel loadCache and of the write pipeline, the other operations use the one of the session */
+	private Factory<DataSource> dataSourceFactory;
+	private DataSource dataSource;
+
+	@Override
+	public Object load(Object key) throws CacheLoaderException {
+		TableDTO tableData = tableForKey(key);
+		Connection conn = ses.attachment();
+		EntityAccessor accessor = accessor(tableData);
+		TableMetrics metrics = metrics(tableData);
+		PreparedStatement ps = null;
+
+		try {
+			long start = System.nanoTime();
+			ps = conn.prepareStatement(tableData.getStatements().getSelectQuery());
+			metrics.onPrepare(System.nanoTime() - start);
+			bindKey(ps, 0, accessor, key);
+
+			start = System.nanoTime();
+			try (ResultSet rs = ps.executeQuery()) {
+				metrics.onExecute(System.nanoTime() - start);
+				if (!rs.next()) {
+					return null;
+				}
+				metrics.onLoad(1);
+				Object value = accessor.readRow(rs);
+				FingerprintMap known = loadedFingerprints(tableData);
+				if (known != null) {
+					known.putIfAbsent(Fingerprints.ofKey(accessor, key),
+							Fingerprints.of(tableData.getStatements().getInsertParams(), accessor.getInsertAccessors(), value));
+				}
+				loadChildren(tableData, Collections.singletonList(key));
+				return value;
+			}
+
+		} catch (Exception ex) {
+			metrics.onError("load");
+			throw new CacheLoaderException("Failed to load object [table=" + tableData.getTableName() + ", key=" + key + ']', ex);
+
+		} finally {
+			closeStatement(ps);
+		}
+	}
+
+	/**
+	 * Load the keys grouped by table with <code>WHERE key IN (...)</code> queries of up to <code>batchSize</code> keys each.<br>
+	 * The last chunk repeats its last key to fill the list, so all the chunks use the same statement
+	 */
+	@Override
+	public Map<Object, Object> loadAll(Iterable<?> keys) throws CacheLoaderException {
+		Map<Object, Object> loaded = new HashMap<>();
+
+		Map<TableDTO, List<Object>> keysPerTable = new IdentityHashMap<>();
+		for (Object key : keys) {
+			keysPerTable.computeIfAbsent(tableForKey(key), t -> new ArrayList<>()).add(key);
+		}
+
+		for (Map.Entry<TableDTO, List<Object>> tableKeys : keysPerTable.entrySet()) {
+			Map<Object, Object> tableLoaded = loadKeys(tableKeys.getKey(), tableKeys.getValue());
+			loadChildren(tableKeys.getKey(), tableLoaded.keySet());
+			loaded.putAll(tableLoaded);
+		}
+		return loaded;
+	}
+
+	/**
+	 * Load the keys of a single table
+	 *
+	 * @param tableData
+	 * @param pending
+	 * @return Map Key: cache key, Value: loaded value
+	 */
+	private Map<Object, Object> loadKeys(TableDTO tableData, List<Object> pending) {
+		Map<Object, Object> loaded = new HashMap<>();
+		TableStatementsDTO statements = tableData.getStatements();
+		int keyCount = statements.getLoadAllKeyCount();
+		Connection conn = ses.attachment();
+		EntityAccessor accessor = accessor(tableData);
+		int keyColumns = statements.getKeyColumns().length;
+		TableMetrics metrics = metrics(tableData);
+		FingerprintMap known = loadedFingerprints(tableData);
+		PreparedStatement ps = null;
+
+		try {
+			long start = System.nanoTime();
+			ps = conn.prepareStatement(statements.getLoadAllQuery());
+			metrics.onPrepare(System.nanoTime() - start);
+			ps.setFetchSize(fetchSize());
+
+			for (int from = 0; from < pending.size(); from += keyCount) {
+				int to = Math.min(from + keyCount, pending.size());
+
+				for (int i = 0; i < keyCount; i++) {
+					bindKey(ps, i * keyColumns, accessor, pending.get(Math.min(from + i, to - 1)));
+				}
+
+				start = System.nanoTime();
+				try (ResultSet rs = ps.executeQuery()) {
+					metrics.onExecute(System.nanoTime() - start);
+					while (rs.next()) {
+						Object value = accessor.readRow(rs);
+						Object key = accessor.cacheKey(value, binary());
+						loaded.put(key, value);
+						if (known != null) {
+							known.putIfAbsent(Fingerprints.ofKey(accessor, key),
+									Fingerprints.of(statements.getInsertParams(), accessor.getInsertAccessors(), value));
+						}
+					}
+				}
+			}
+			metrics.onLoad(loaded.size());
+
+		} catch (Exception ex) {
+			metrics.onError("loadAll");
+			throw new CacheLoaderException("Failed to load objects [table=" + tableData.getTableName() + ", keys=" + pending.size() + ']', ex);
+
+		} finally {
+			closeStatement(ps);
+		}
+		return loaded;
+	}
+
+	/**
+	 * Load the whole tables splitting the key range of each one in <code>loadThreads</code> ranges, each one streamed on its own thread and
+	 * connection. The tables whose key is not a single integer column are loaded with a single query.<br>
+	 * With <code>partitionAwareLoad</code> the queries only select the rows of the partitions of the local node.<br>
+	 * With the {@link #CHILDREN_OF} arguments it only loads the rows of the parents
+	 */
+	@Override
+	public void loadCache(IgniteBiInClosure<Object, Object> clo, Object... args) throws CacheLoaderException {
+		if (args != null && args.length == 3 && CHILDREN_OF.equals(args[0])) {
+			loadChildrenOf((String) args[1], (List<?>) args[2], clo);
+			return;
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(storeConfig.getLoadThreads());
+		TableDTO loading = null;
+
+		try {
+			// Map Key: range being loaded, Value: its table
+			Map<Future<?>, TableDTO> ranges = new LinkedHashMap<>();
+			for (TableDTO tableData : tables) {
+				String rangeQuery = tableData.getStatements().getLoadRangeQuery();
+				if (storeConfig.isPartitionAwareLoad()) {
+					rangeQuery = localPartitionsQuery(tableData, rangeQuery);
+				}
+
+				String query = rangeQuery;
+				for (long[] range : keyRanges(tableData)) {
+					ranges.put(pool.submit(() -> {
+						loadRange(tableData, query, range, clo);
+						return null;
+					}), tableData);
+				}
+			}
+
+			for (Map.Entry<Future<?>, TableDTO> range : ranges.entrySet()) {
+				loading = range.getValue();
+				range.getKey().get();
+			}
+
+		} catch (ExecutionException ex) {
+			metrics(loading).onError("loadCache");
+			throw new CacheLoaderException("Failed to load cache [table=" + loading.getTableName() + ']', ex.getCause());
+
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CacheLoaderException("Interrupted while loading cache [cache=" + cacheName + ']', ex);
+
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Queue the load of the rows of the child tables of the loaded rows into the caches of the children, with a query per batch of parents
+	 * instead of a read-through per child. The children are on the partitions of their parents so they are loaded on this node.<br>
+	 * They are loaded on the thread of the child loader once the read-through returns, so the store thread never waits for a nested cache
+	 * operation. If the loader is behind or the load fails the children are left to their read-through
+	 *
+	 * @param tableData
+	 *            Table of the loaded rows
+	 * @param parentKeys
+	 */
+	private void loadChildren(TableDTO tableData, Collection<?> parentKeys) {
+		if (ignite == null || tableData.getChildCaches() == null || parentKeys.isEmpty()) {
+			return;
+		}
+
+		List<Object> keys = new ArrayList<>(parentKeys);
+		try {
+			childLoader().execute(() -> {
+				for (String childCache : tableData.getChildCaches()) {
+					try {
+						ignite.cache(childCache).localLoadCache(null, CHILDREN_OF, tableData.getTypeName(), keys);
+					} catch (RuntimeException ex) {
+						log.warning("Failed to load the children of " + keys.size() + " rows [table=" + tableData.getTableName() + ", childCache="
+								+ childCache + ']', ex);
+					}
+				}
+			});
+		} catch (RejectedExecutionException ex) {
+			metrics(tableData).onError("loadChildren");
+		}
+	}
+
+	/**
+	 * Get the single thread that loads the children, created on the first read-through of a parent
+	 *
+	 * @return
+	 */
+	private synchronized ExecutorService childLoader() {
+		if (childLoader == null) {
+			childLoader = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUED_CHILD_LOADS), r -> {
+				Thread thread = new Thread(r, "store-children-" + cacheName);
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return childLoader;
+	}
+
+	/**
+	 * Stream the rows whose parent is one of the keys into the closure, with <code>WHERE parent IN (...)</code> queries of up to
+	 * <code>batchSize</code> parents each
+	 *
+	 * @param parentTypeName
+	 * @param parentKeys
+	 * @param clo
+	 */
+	private void loadChildrenOf(String parentTypeName, List<?> parentKeys, IgniteBiInClosure<Object, Object> clo) {
+		TableDTO tableData = childTable(parentTypeName);
+		TableStatementsDTO statements = tableData.getStatements();
+		ColumnDTO partitionColumn = partitionColumn(tableData);
+
+		int keyCount = statements.getParentKeyCount();
+		@SuppressWarnings("unchecked")
+		ColumnType<Object> parentType = (ColumnType<Object>) ColumnTypes.of(partitionColumn.getFieldType());
+		EntityAccessor accessor = accessor(tableData);
+		TableMetrics metrics = metrics(tableData);
+		FingerprintMap known = loadedFingerprints(tableData);
+		int rows = 0;
+
+		// The children are loaded by the session of the child cache, the pool would need a third connection for a parent read-through
+		Connection sesConn = sessionConnection();
+		Connection conn = null;
+		try {
+			conn = sesConn != null ? sesConn : dataSource().getConnection();
+			long start = System.nanoTime();
+			try (PreparedStatement ps = conn.prepareStatement(statements.getParentQuery())) {
+				metrics.onPrepare(System.nanoTime() - start);
+				ps.setFetchSize(fetchSize());
+
+				for (int from = 0; from < parentKeys.size(); from += keyCount) {
+					int to = Math.min(from + keyCount, parentKeys.size());
+					// The last chunk repeats its last parent, so all of them use the same statement
+					for (int i = 0; i < keyCount; i++) {
+						parentType.set(ps, i + 1, parentKeys.get(Math.min(from + i, to - 1)));
+					}
+
+					start = System.nanoTime();
+					try (ResultSet rs = ps.executeQuery()) {
+						metrics.onExecute(System.nanoTime() - start);
+						while (rs.next()) {
+							Object value = accessor.readRow(rs);
+							Object key = accessor.cacheKey(value, binary());
+							clo.apply(key, value);
+							if (known != null) {
+								known.putIfAbsent(Fingerprints.ofKey(accessor, key),
+										Fingerprints.of(statements.getInsertParams(), accessor.getInsertAccessors(), value));
+							}
+							rows++;
+						}
+					}
+				}
+			}
+
+		} catch (SQLException ex) {
+			metrics.onError("loadCache");
+			throw new CacheLoaderException("Failed to load the children [table=" + tableData.getTableName() + ", parents=" + parentKeys.size() + ']',
+					ex);
+
+		} finally {
+			metrics.onLoad(rows);
+			if (conn != sesConn) {
+				closeConnection(conn);
+			}
+		}
+	}
+
+	/**
+	 * Get the table of the cache whose rows have the key of the parent in their partition column
+	 *
+	 * @param parentTypeName
+	 * @return
+	 */
+	private TableDTO childTable(String parentTypeName) {
+		for (TableDTO tableData : tables) {
+			ColumnDTO partitionColumn = partitionColumn(tableData);
+			if (tableData.getStatements().getParentQuery() != null && partitionColumn != null && parentTypeName.equals(partitionColumn
+					.getParentTypeName())) {
+				return tableData;
+			}
+		}
+		throw new CacheLoaderException("No table of cache " + cacheName + " is a child of " + parentTypeName);
+	}
+
+	/**
+	 * Add to the range query the filter of the partitions owned by the local node, primary and backups.<br>
+	 * Only possible if the cache uses the {@link ModuloAffinityFunction}, otherwise the query is not changed
+	 *
+	 * @param table
+	 * @param rangeQuery
+	 * @return
+	 */
+	private String localPartitionsQuery(TableDTO tableData, String rangeQuery) {
+		@SuppressWarnings("unchecked")
+		CacheConfiguration<Object, Object> cacheConfig = ignite.cache(cacheName).getConfiguration(CacheConfiguration.class);
+		if (!(cacheConfig.getAffinity() instanceof ModuloAffinityFunction)) {
+			return rangeQuery;
+		}
+
+		Affinity<Object> affinity = ignite.affinity(cacheName);
+		int[] localParts = affinity.allPartitions(ignite.cluster().localNode());
+		int parts = affinity.partitions();
+
+		// The node owns all the partitions, nothing to filter
+		if (localParts.length == parts) {
+			return rangeQuery;
+		}
+
+		ColumnDTO partitionColumn = partitionColumn(tableData);
+		if (partitionColumn == null) {
+			return rangeQuery;
+		}
+
+		StringBuilder sb = new StringBuilder(rangeQuery);
+		// The query of the keys that are not split in ranges has no WHERE
+		sb.append(tableData.getStatements().getKeyRangeQuery() != null ? " AND " : " WHERE ");
+		sb.append(ModuloAffinityFunction.partitionExpression(partitionColumn.getColumnName(), parts, dialect instanceof SQLServerDialect));
+		sb.append(" IN (");
+		for (int i = 0; i < localParts.length; i++) {
+			sb.append(i == 0 ? "" : ",").append(localParts[i]);
+		}
+		sb.append(")");
+
+		return sb.toString();
+	}
+
+	/**
+	 * Get the column that chooses the partition of the rows
+	 *
+	 * @param tableData
+	 * @return The key column, the affinity key column if the key has several columns or null if it has no affinity key
+	 */
+	private static ColumnDTO partitionColumn(TableDTO tableData) {
+		ColumnDTO[] keyColumns = tableData.getStatements().getKeyColumns();
+		if (keyColumns.length == 1) {
+			return keyColumns[0];
+		}
+		for (ColumnDTO keyColumn : keyColumns) {
+			if (keyColumn.isAffinityKey()) {
+				return keyColumn;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Split the keys of the table from min to max in up to <code>loadThreads</code> ranges of [lower, upper]
+	 *
+	 * @param tableData
+	 * @return A single null range if the key is not an integer or has several columns
+	 */
+	private List<long[]> keyRanges(TableDTO tableData) {
+		List<long[]> ranges = new ArrayList<>();
+		if (tableData.getStatements().getKeyRangeQuery() == null) {
+			ranges.add(null);
+			return ranges;
+		}
+
+		// On the thread of loadCache, its session already keeps a connection
+		Connection sesConn = sessionConnection();
+		Connection conn = null;
+		Statement st = null;
+		try {
+			conn = sesConn != null ? sesConn : dataSource().getConnection();
+			st = conn.createStatement();
+			ResultSet rs = st.executeQuery(tableData.getStatements().getKeyRangeQuery());
+
+			rs.next();
+			long min = rs.getLong(1);
+			if (rs.wasNull()) {
+				// Empty table
+				return ranges;
+			}
+			long max = rs.getLong(2);
+
+			// Keys minus one, unsigned so the whole long range does not overflow. The bounds wrap back inside [min, max]
+			long span = max - min;
+			int parts = Math.max(1, storeConfig.getLoadThreads());
+			if (Long.compareUnsigned(span, parts - 1) < 0) {
+				parts = (int) span + 1;
+			}
+			long step = Math.max(1, Long.divideUnsigned(span, parts));
+
+			long lower = min;
+			for (int i = 0; i < parts; i++) {
+				long upper = i == parts - 1 ? max : lower + step - 1;
+				ranges.add(new long[] { lower, upper });
+				lower = upper + 1;
+			}
+
+		} catch (SQLException ex) {
+			metrics(tableData).onError("loadCache");
+			throw new CacheLoaderException("Failed to get the key range [table=" + tableData.getTableName() + ']', ex);
+
+		} finally {
+			closeStatement(st);
+			if (conn != sesConn) {
+				closeConnection(conn);
+			}
+		}
+
+		return ranges;
+	}
+
+	/**
+	 * Stream the rows with lower &lt;= key &lt;= upper into the closure
+	 *
+	 * @param tableData
+	 * @param rangeQuery
+	 * @param range
+	 *            Lower and upper key, null to load all the rows
+	 * @param clo
+	 * @throws SQLException
+	 */
+	private void loadRange(TableDTO tableData, String rangeQuery, long[] range, IgniteBiInClosure<Object, Object> clo) throws SQLException {
+		EntityAccessor accessor = accessor(tableData);
+		TableMetrics metrics = metrics(tableData);
+		FingerprintMap known = loadedFingerprints(tableData);
+
+		try (Connection conn = dataSource().getConnection();
+				PreparedStatement ps = conn.prepareStatement(rangeQuery)) {
+
+			ps.setFetchSize(fetchSize());
+			if (range != null) {
+				ps.setLong(1, range[0]);
+				ps.setLong(2, range[1]);
+			}
+
+			long start = System.nanoTime();
+			int rows = 0;
+			try (ResultSet rs = ps.executeQuery()) {
+				metrics.onExecute(System.nanoTime() - start);
+				while (rs.next()) {
+					Object value = accessor.readRow(rs);
+					Object key = accessor.cacheKey(value, binary());
+					clo.apply(key, value);
+					if (known != null) {
+						known.putIfAbsent(Fingerprints.ofKey(accessor, key),
+								Fingerprints.of(tableData.getStatements().getInsertParams(), accessor.getInsertAccessors(), value));
+					}
+					rows++;
+				}
+			} finally {
+				metrics.onLoad(rows);
+			}
+		}
+	}
+
+	/**
+	 * Get the accessors of the table, on keep-binary mode the ones of its binary objects so the values are never deserialized. The caches with
+	 * keys of several columns on any of their tables are always on keep-binary mode
+	 *
+	 * @param tableData
+	 * @return
+	 */
+	private EntityAccessor accessor(TableDTO tableData) {
+		if (!storeConfig.isKeepBinary() && !keyTypes) {
+			return EntityAccessor.forTable(tableData);
+		}
+		return binaryAccessors.computeIfAbsent(tableData.getTypeName(), typeName -> EntityAccessor.forBinary(tableData, ignite.binary()));
+	}
+
+	/**
+	 * Used to build the keys with several columns
+	 *
+	 * @return Null without Ignite instance
+	 */
+	private IgniteBinary binary() {
+		return ignite != null ? ignite.binary() : null;
+	}
+
+	/**
+	 * Get the metrics of the table, if the metrics SPI fails they are disabled for it
+	 *
+	 * @param tableData
+	 * @return
+	 */
+	private TableMetrics metrics(TableDTO tableData) {
+		TableMetrics metrics = tableMetrics.get(tableData.getTableName());
+		if (metrics != null) {
+			return metrics;
+		}
+
+		try {
+			metrics = storeConfig.getMetrics().tableMetrics(tableData.getCacheName(), tableData.getTableName());
+		} catch (Exception ex) {
+			log.warning("Failed to create the metrics of table " + tableData.getTableName() + ", they are disabled", ex);
+			metrics = new NoopStoreMetrics().tableMetrics(tableData.getCacheName(), tableData.getTableName());
+		}
+
+		TableMetrics previous = tableMetrics.putIfAbsent(tableData.getTableName(), metrics);
+		return previous != null ? previous : metrics;
+	}
+
+	/**
+	 * Get the fingerprints of the rows of the table, all of them are dropped when the topology changes
+	 *
+	 * @param tableData
+	 * @return
+	 */
+	private FingerprintMap fingerprints(TableDTO tableData) {
+		long topologyVersion = ignite != null ? ignite.cluster().topologyVersion() : 0;
+		if (topologyVersion != fingerprintsTopology) {
+			synchronized (fingerprintMaps) {
+				if (topologyVersion != fingerprintsTopology) {
+					fingerprintMaps.clear();
+					fingerprintsTopology = topologyVersion;
+				}
+			}
+		}
+		return fingerprintMaps.computeIfAbsent(tableData.getTableName(), tableName -> new FingerprintMap());
+	}
+
+	/**
+	 * Get the fingerprints where the loaded rows are kept
+	 *
+	 * @param tableData
+	 * @return Null if the unchanged writes are not skipped
+	 */
+	private FingerprintMap loadedFingerprints(TableDTO tableData) {
+		return skipsUnchanged(tableData) ? fingerprints(tableData) : null;
+	}
+
+	/**
+	 * Check if the unchanged writes of the table are skipped, only if all its column types have a fingerprint
+	 *
+	 * @param tableData
+	 * @return
+	 */
+	private boolean skipsUnchanged(TableDTO tableData) {
+		if (!storeConfig.isSkipUnchanged()) {
+			return false;
+		}
+		return skippedTables.computeIfAbsent(tableData.getTableName(), tableName -> {
+			for (ColumnDTO column : tableData.getColumns()) {
+				if (!Fingerprints.isSupported(column.getFieldType())) {
+					log.warning("The unchanged writes of table " + tableName + " are not skipped, column " + column.getColumnName() + " of type "
+							+ column.getFieldType().getName() + " has no fingerprint");
+					return false;
+				}
+			}
+			return true;
+		});
+	}
+
+	/**
+	 * JDBC fetch size of the load queries, the configured one or the one of the dialect
+	 *
+	 * @return
+	 */
+	private int fetchSize() {
+		if (storeConfig.getFetchSize() != 0 || dialect == null) {
+			return storeConfig.getFetchSize();
+		}
+		return dialect.getFetchSize();
+	}
+
+	/**
+	 * Get the connection of the store session of the thread, the nested reads of an operation use it instead of borrowing a second pooled
+	 * connection while the session keeps its own
+	 *
+	 * @return Null out of a store session, e.g. on the threads of the parallel loadCache
+	 */
+	private Connection sessionConnection() {
+		return ses == null ? null : ses.attachment();
+	}
+
+	private synchronized DataSource dataSource() {
+		if (dataSource == null) {
+			if (dataSourceFactory == null) {
+				throw new CacheLoaderException("No DataSource factory set for the store of cache " + cacheName);
+			}
+			dataSource = dataSourceFactory.create();
+		}
+		return dataSource;
+	}
+
+	@Override
+	public void write(Entry<?, ?> entry) throws CacheWriterException {
+		List<Entry<?, ?>> entries = new ArrayList<>(1);
+		entries.add(entry);
+		writeAll(entries);
+	}
+
+	/**
+	 * Write the entries, on a transaction of the {@link StoreSessionListener} they are buffered and sent when it commits.<br>
+	 * Written entries are removed from the collection, so on failure only the pending ones remain
+	 */
+	@Override
+	public void writeAll(Collection<Entry<?, ?>> entries) throws CacheWriterException {
+		SessionWrites buffer = StoreSessionListener.buffer(ses, this, SessionWrites::new);
+		if (buffer != null) {
+			for (Entry<?, ?> entry : entries) {
+				buffer.write(entry);
+			}
+			entries.clear();
+			return;
+		}
+
+		WritePipeline pipeline = ses.isWithinTransaction() ? null : pipeline();
+		if (pipeline != null) {
+			Map<TableDTO, List<Entry<?, ?>>> entriesPerTable = new IdentityHashMap<>();
+			for (Entry<?, ?> entry : entries) {
+				entriesPerTable.computeIfAbsent(tableFor(entry.getValue()), t -> new ArrayList<>()).add(entry);
+			}
+
+			Set<Object> queued = Collections.newSetFromMap(new IdentityHashMap<>());
+			try {
+				for (Map.Entry<TableDTO, List<Entry<?, ?>>> tableEntries : entriesPerTable.entrySet()) {
+					TableDTO tableData = tableEntries.getKey();
+					submit(pipeline, tableData, tableEntries.getValue(), Entry::getKey, chunk -> new PipelinedWrites(tableData, chunk, null), queued);
+				}
+			} finally {
+				entries.removeIf(queued::contains);
+			}
+			return;
+		}
+
+		writeEntries(ses.attachment(), entries, action -> StoreSessionListener.afterCommit(ses, action));
+	}
+
+	/**
+	 * Write the entries grouped by table, one prepared statement per table and chunks of <code>batchSize</code> rows per round-trip.<br>
+	 * If the dialect supports it every row is a single upsert, if not each chunk runs first as an UPDATE batch and the rows not found are sent
+	 * as an INSERT batch.<br>
+	 * Written entries are removed from the collection, so on failure only the pending ones remain
+	 *
+	 * @param conn
+	 * @param entries
+	 * @param onCommit
+	 *            Takes the actions to run once the connection commits
+	 */
+	private void writeEntries(Connection conn, Collection<Entry<?, ?>> entries, Consumer<Runnable> onCommit) {
+		Map<TableDTO, List<Entry<?, ?>>> entriesPerTable = new IdentityHashMap<>();
+		for (Entry<?, ?> entry : entries) {
+			entriesPerTable.computeIfAbsent(tableFor(entry.getValue()), t -> new ArrayList<>()).add(entry);
+		}
+
+		Set<Entry<?, ?>> written = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		try {
+			for (Map.Entry<TableDTO, List<Entry<?, ?>>> tableEntries : entriesPerTable.entrySet()) {
+				if (skipsUnchanged(tableEntries.getKey())) {
+					writeChanged(conn, tableEntries.getKey(), tableEntries.getValue(), written, onCommit);
+				} else {
+					writeTable(conn, tableEntries.getKey(), tableEntries.getValue(), written);
+				}
+			}
+		} finally {
+			entries.removeIf(written::contains);
+		}
+	}
+
+	/**
+	 * Write the entries of a single table with the merge query of the dialect if it has one
+	 *
+	 * @param conn
+	 * @param tableData
+	 * @param pending
+	 * @param written
+	 */
+	private void writeTable(Connection conn, TableDTO tableData, List<Entry<?, ?>> pending, Set<Entry<?, ?>> written) {
+		if (tableData.getStatements().getMergeQuery() != null) {
+			mergeTable(conn, tableData, pending, written);
+		} else {
+			updateTable(conn, tableData, pending, written);
+		}
+	}
+
+	/**
+	 * Write only the entries whose fingerprint changed since the key was last written or loaded, the unchanged ones are taken as written.<br>
+	 * The new fingerprints are kept once the connection commits, if the session is not managed by the {@link StoreSessionListener} the commit
+	 * can not be known so they are not kept
+	 *
+	 * @param conn
+	 * @param tableData
+	 * @param pending
+	 *            Entries of the table to be written
+	 * @param written
+	 *            Entries already sent to the DB
+	 * @param onCommit
+	 */
+	private void writeChanged(Connection conn, TableDTO tableData, List<Entry<?, ?>> pending, Set<Entry<?, ?>> written,
+			Consumer<Runnable> onCommit) {
+		FingerprintMap known = fingerprints(tableData);
+		ColumnDTO[] params = tableData.getStatements().getInsertParams();
+		EntityAccessor accessor = accessor(tableData);
+		FieldAccessor[] accessors = accessor.getInsertAccessors();
+
+		List<Entry<?, ?>> changed = new ArrayList<>(pending.size());
+		long[] keys = new long[pending.size()];
+		long[] fingerprints = new long[pending.size()];
+		for (Entry<?, ?> entry : pending) {
+			long key = Fingerprints.ofKey(accessor, entry.getKey());
+			long fingerprint = Fingerprints.of(params, accessors, entry.getValue());
+			if (known.get(key) == fingerprint) {
+				written.add(entry);
+			} else {
+				keys[changed.size()] = key;
+				fingerprints[changed.size()] = fingerprint;
+				changed.add(entry);
+			}
+		}
+		metrics(tableData).onSkip(pending.size() - changed.size());
+
+		if (changed.isEmpty()) {
+			return;
+		}
+		writeTable(conn, tableData, changed, written);
+
+		int count = changed.size();
+		onCommit.accept(() -> {
+			for (int i = 0; i < count; i++) {
+				known.put(keys[i], fingerprints[i]);
+			}
+		});
+	}
+
+	/**
+	 * Upsert the entries of a single table with the merge query of the dialect, one statement per row
+	 *
+	 * @param conn
+	 * @param tableData
+	 * @param pending
+	 *            Entries of the table to be written
+	 * @param written
+	 *            Entries already sent to the DB
+	 */
+	private void mergeTable(Connection conn, TableDTO tableData, List<Entry<?, ?>> pending, Set<Entry<?, ?>> written) {
+		TableStatementsDTO statements = tableData.getStatements();
+		EntityAccessor accessor = accessor(tableData);
+		TableMetrics metrics = metrics(tableData);
+		metrics.onFlush(pending.size());
+		PreparedStatement mergePs = null;
+
+		try {
+			long start = System.nanoTime();
+			mergePs = conn.prepareStatement(statements.getMergeQuery());
+			metrics.onPrepare(System.nanoTime() - start);
+
+			for (int from = 0; from < pending.size(); from += storeConfig.getBatchSize()) {
+				List<Entry<?, ?>> chunk = pending.subList(from, Math.min(from + storeConfig.getBatchSize(), pending.size()));
+
+				start = System.nanoTime();
+				for (Entry<?, ?> entry : chunk) {
+					bind(mergePs, statements.getInsertParams(), accessor.getInsertAccessors(), accessor, entry.getKey(), entry.getValue());
+					mergePs.addBatch();
+				}
+				metrics.onBind(chunk.size(), System.nanoTime() - start);
+
+				start = System.nanoTime();
+				mergePs.executeBatch();
+				metrics.onExecute(System.nanoTime() - start);
+
+				written.addAll(chunk);
+				metrics.onWrite(chunk.size(), 0);
+			}
+
+		} catch (Exception ex) {
+			metrics.onError("write");
+			throw new CacheWriterException("Failed to merge objects [table=" + tableData.getTableName() + ", written=" + written.size() + ']', ex);
+
+		} finally {
+			closeStatement(mergePs);
+		}
+	}
+
+	/**
+	 * Write the entries of a single table as UPDATE batches followed by INSERT batches of the missing rows, reusing the same prepared
+	 * statements for every chunk
+	 *
+	 * @param conn
+	 * @param tableData
+	 * @param pending
+	 *            Entries of the table to be written
+	 * @param written
+	 *            Entries already sent to the DB
+	 */
+	private void updateTable(Connection conn, TableDTO tableData, List<Entry<?, ?>> pending, Set<Entry<?, ?>> written) {
+		TableStatementsDTO statements = tableData.getStatements();
+		EntityAccessor accessor = accessor(tableData);
+		TableMetrics metrics = metrics(tableData);
+		metrics.onFlush(pending.size());
+		PreparedStatement updatePs = null;
+		PreparedStatement insertPs = null;
+
+		try {
+			long start = System.nanoTime();
+			updatePs = conn.prepareStatement(statements.getUpdateQuery());
+			metrics.onPrepare(System.nanoTime() - start);
+
+			for (int from = 0; from < pending.size(); from += storeConfig.getBatchSize()) {
+				List<Entry<?, ?>> chunk = pending.subList(from, Math.min(from + storeConfig.getBatchSize(), pending.size()));
+
+				start = System.nanoTime();
+				for (Entry<?, ?> entry : chunk) {
+					bind(updatePs, statements.getUpdateParams(), accessor.getUpdateAccessors(), accessor, entry.getKey(), entry.getValue());
+					updatePs.addBatch();
+				}
+				metrics.onBind(chunk.size(), System.nanoTime() - start);
+
+				start = System.nanoTime();
+				int[] updated = updatePs.executeBatch();
+				metrics.onExecute(System.nanoTime() - start);
+
+				if (updated.length != chunk.size()) {
+					throw new SQLException("The UPDATE batch returned " + updated.length + " counts for " + chunk.size() + " rows");
+				}
+
+				// Rows that do not exist yet are inserted in a second batch
+				List<Entry<?, ?>> missing = new ArrayList<>();
+				for (int i = 0; i < updated.length; i++) {
+					// The driver did not count the rows of the batch, the row is updated again on its own to know if it exists
+					int count = updated[i] == Statement.SUCCESS_NO_INFO ? updateRow(updatePs, statements, accessor, chunk.get(i), metrics) : updated[i];
+					if (count == 0) {
+						missing.add(chunk.get(i));
+					} else if (count < 0) {
+						throw new SQLException("The UPDATE batch returned the count " + count + " for the key " + chunk.get(i).getKey());
+					}
+				}
+
+				if (!missing.isEmpty()) {
+					if (insertPs == null) {
+						start = System.nanoTime();
+						insertPs = conn.prepareStatement(statements.getInsertQuery());
+						metrics.onPrepare(System.nanoTime() - start);
+					}
+
+					start = System.nanoTime();
+					for (Entry<?, ?> entry : missing) {
+						bind(insertPs, statements.getInsertParams(), accessor.getInsertAccessors(), accessor, entry.getKey(), entry.getValue());
+						insertPs.addBatch();
+					}
+					metrics.onBind(missing.size(), System.nanoTime() - start);
+
+					start = System.nanoTime();
+					insertPs.executeBatch();
+					metrics.onExecute(System.nanoTime() - start);
+				}
+
+				written.addAll(chunk);
+				metrics.onWrite(chunk.size(), missing.size());
+			}
+
+		} catch (Exception ex) {
+			metrics.onError("write");
+			throw new CacheWriterException("Failed to put objects [table=" + tableData.getTableName() + ", written=" + written.size() + ']', ex);
+
+		} finally {
+			closeStatement(updatePs);
+			closeStatement(insertPs);
+		}
+	}
+
+	/**
+	 * Run again the UPDATE of a row whose batch count is SUCCESS_NO_INFO, as some Oracle and MySQL drivers return for all the rows of a batch.
+	 * It sets the same values so running it twice is harmless
+	 *
+	 * @param updatePs
+	 * @param statements
+	 * @param accessor
+	 * @param entry
+	 * @param metrics
+	 * @return Rows updated, 0 if the row does not exist
+	 * @throws SQLException
+	 */
+	private int updateRow(PreparedStatement updatePs, TableStatementsDTO statements, EntityAccessor accessor, Entry<?, ?> entry,
+			TableMetrics metrics) throws SQLException {
+		bind(updatePs, statements.getUpdateParams(), accessor.getUpdateAccessors(), accessor, entry.getKey(), entry.getValue());
+
+		long start = System.nanoTime();
+		int updated = updatePs.executeUpdate();
+		metrics.onExecute(System.nanoTime() - start);
+		return updated;
+	}
+
+	@Override
+	public void delete(Object key) throws CacheWriterException {
+		List<Object> keys = new ArrayList<>(1);
+		keys.add(key);
+		deleteAll(keys);
+	}
+
+	/**
+	 * Delete the keys, on a transaction of the {@link StoreSessionListener} they are buffered and deleted when it commits.<br>
+	 * Deleted keys are removed from the collection, so on failure only the pending ones remain
+	 */
+	@Override
+	public void deleteAll(Collection<?> keys) throws CacheWriterException {
+		if (keys.isEmpty()) {
+			return;
+		}
+
+		SessionWrites buffer = StoreSessionListener.buffer(ses, this, SessionWrites::new);
+		if (buffer != null) {
+			for (Object key : keys) {
+				buffer.delete(key);
+			}
+			keys.clear();
+			return;
+		}
+
+		WritePipeline pipeline = ses.isWithinTransaction() ? null : pipeline();
+		if (pipeline != null) {
+			Map<TableDTO, List<Object>> keysPerTable = new IdentityHashMap<>();
+			for (Object key : keys) {
+				keysPerTable.computeIfAbsent(tableForKey(key), t -> new ArrayList<>()).add(key);
+			}
+
+			Set<Object> queued = new HashSet<>();
+			try {
+				for (Map.Entry<TableDTO, List<Object>> tableKeys : keysPerTable.entrySet()) {
+					TableDTO tableData = tableKeys.getKey();
+					submit(pipeline, tableData, tableKeys.getValue(), Function.identity(), chunk -> new PipelinedWrites(tableData, null, chunk),
+							queued);
+				}
+			} finally {
+				keys.removeIf(queued::contains);
+			}
+			return;
+		}
+
+		deleteKeys(ses.attachment(), keys);
+	}
+
+	/**
+	 * Queue the writes or deletes of a table on the pipeline, one batch per worker.<br>
+	 * If the queue of a worker is still full after the timeout the write fails, the write-behind keeps the rows not queued and retries them
+	 *
+	 * @param pipeline
+	 * @param tableData
+	 * @param items
+	 *            Entries or keys
+	 * @param keyOf
+	 * @param batchOf
+	 * @param queued
+	 *            Items already queued
+	 */
+	private <T> void submit(WritePipeline pipeline, TableDTO tableData, Collection<? extends T> items, Function<? super T, Object> keyOf,
+			Function<List<T>, PipelineBatch> batchOf, Set<Object> queued) {
+		List<List<T>> perWorker = new ArrayList<>(pipeline.getWorkers());
+		for (int i = 0; i < pipeline.getWorkers(); i++) {
+			perWorker.add(new ArrayList<>());
+		}
+		for (T item : items) {
+			perWorker.get(pipeline.worker(keyOf.apply(item))).add(item);
+		}
+
+		TableMetrics metrics = metrics(tableData);
+		try {
+			for (int i = 0; i < perWorker.size(); i++) {
+				List<T> chunk = perWorker.get(i);
+				if (chunk.isEmpty()) {
+					continue;
+				}
+
+				if (!pipeline.submit(i, batchOf.apply(chunk), storeConfig.getPipelineQueueTimeout())) {
+					metrics.onError("pipeline");
+					throw new CacheWriterException("Write pipeline full [table=" + tableData.getTableName() + ", queued=" + queued.size() + ']');
+				}
+				metrics.onEnqueue(chunk.size());
+				queued.addAll(chunk);
+			}
+
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CacheWriterException("Interrupted while queuing the writes [table=" + tableData.getTableName() + ']', ex);
+		}
+	}
+
+	/**
+	 * Check on the configuration of the started cache if it has write-behind, the caches started on demand are not on the IgniteConfiguration
+	 *
+	 * @return
+	 */
+	private boolean writeBehindEnabled() {
+		// The class literal of the generic configuration can only be raw
+		@SuppressWarnings("unchecked")
+		CacheConfiguration<Object, Object> cacheConfig = ignite.cache(cacheName).getConfiguration(CacheConfiguration.class);
+		return cacheConfig.isWriteBehindEnabled();
+	}
+
+	/**
+	 * Get the pipeline of the write-behind flushes, created on the first one
+	 *
+	 * @return Null if the writes are not pipelined or the cache has no write-behind
+	 */
+	private synchronized WritePipeline pipeline() {
+		if (!pipelineChecked) {
+			pipelineChecked = true;
+			if (storeConfig.isPipelinedWrites() && ignite != null && writeBehindEnabled()) {
+				pipeline = new WritePipeline("store-pipeline-" + cacheName, storeConfig.getPipelineWorkers(),
+						storeConfig.getPipelineQueueSize(), log);
+			}
+		}
+		return pipeline;
+	}
+
+	@Override
+	public void start() {
+		// The pipeline is started by the first flush
+	}
+
+	/**
+	 * Drop the pending child loads, wait until the pipeline writes the queued batches, then release the DataSource
+	 */
+	@Override
+	public void stop() {
+		WritePipeline pipeline;
+		synchronized (this) {
+			pipeline = this.pipeline;
+			this.pipeline = null;
+			if (childLoader != null) {
+				childLoader.shutdownNow();
+				childLoader = null;
+			}
+		}
+
+		if (pipeline != null) {
+			try {
+				pipeline.close();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				log.warning("Interrupted while closing the write pipeline of cache " + cacheName + ", " + pipeline.getQueuedBatches()
+						+ " batches not written");
+			}
+		}
+
+		DataSource dataSource;
+		synchronized (this) {
+			dataSource = this.dataSource;
+			this.dataSource = null;
+		}
+		PooledDataSourceFactory.release(dataSourceFactory, dataSource);
+	}
+
+	/**
+	 * Delete the keys grouped by table, in chunks of <code>batchSize</code> rows per round-trip.<br>
+	 * Deleted keys are removed from the collection, so on failure only the pending ones remain
+	 *
+	 * @param conn
+	 * @param keys
+	 */
+	private void deleteKeys(Connection conn, Collection<?> keys) {
+		Map<TableDTO, List<Object>> keysPerTable = new IdentityHashMap<>();
+		for (Object key : keys) {
+			keysPerTable.computeIfAbsent(tableForKey(key), t -> new ArrayList<>()).add(key);
+		}
+
+		Set<Object> deleted = new HashSet<>();
+		try {
+			for (Map.Entry<TableDTO, List<Object>> tableKeys : keysPerTable.entrySet()) {
+				deleteTable(conn, tableKeys.getKey(), tableKeys.getValue(), deleted);
+			}
+		} finally {
+			keys.removeIf(deleted::contains);
+		}
+	}
+
+	/**
+	 * Delete the keys of a single table
+	 *
+	 * @param conn
+	 * @param tableData
+	 * @param pending
+	 *            Keys of the table to be deleted
+	 * @param deleted
+	 *            Keys already deleted
+	 */
+	private void deleteTable(Connection conn, TableDTO tableData, List<Object> pending, Set<Object> deleted) {
+		EntityAccessor accessor = accessor(tableData);
+		TableMetrics metrics = metrics(tableData);
+		PreparedStatement ps = null;
+
+		try {
+			long start = System.nanoTime();
+			ps = conn.prepareStatement(tableData.getStatements().getDeleteQuery());
+			metrics.onPrepare(System.nanoTime() - start);
+
+			for (int from = 0; from < pending.size(); from += storeConfig.getBatchSize()) {
+				List<Object> chunk = pending.subList(from, Math.min(from + storeConfig.getBatchSize(), pending.size()));
+
+				start = System.nanoTime();
+				for (Object key : chunk) {
+					bindKey(ps, 0, accessor, key);
+					ps.addBatch();
+				}
+				metrics.onBind(chunk.size(), System.nanoTime() - start);
+
+				start = System.nanoTime();
+				ps.executeBatch();
+				metrics.onExecute(System.nanoTime() - start);
+
+				deleted.addAll(chunk);
+				metrics.onDelete(chunk.size());
+
+				if (skipsUnchanged(tableData)) {
+					FingerprintMap known = fingerprints(tableData);
+					for (Object key : chunk) {
+						known.remove(Fingerprints.ofKey(accessor, key));
+					}
+				}
+			}
+
+		} catch (Exception ex) {
+			metrics.onError("delete");
+			throw new CacheWriterException("Failed to remove objects [table=" + tableData.getTableName() + ", deleted=" + deleted.size() + ']', ex);
+
+		} finally {
+			closeStatement(ps);
+		}
+	}
+
+	/**
+	 * Get the table mapped for the value to be written, by the class of the value or the type name of its binary object
+	 *
+	 * @param value
+	 * @return
+	 */
+	private TableDTO tableFor(Object value) {
+		if (tables.length == 1) {
+			return tables[0];
+		}
+
+		String typeName = value instanceof BinaryObject ? ((BinaryObject) value).type().typeName() : null;
+		TableDTO tableData = typeName != null ? binaryTables.get(typeName) : valueTables.get(value.getClass());
+		if (tableData == null) {
+			throw new CacheWriterException("No table of cache " + cacheName + " maps the values of type " + (typeName != null ? typeName
+					: value.getClass().getName()));
+		}
+		return tableData;
+	}
+
+	/**
+	 * Get the table of the key to be loaded or deleted, by the class of the key or the type name of the binary keys with several columns.
+	 * The tables of a cache have keys of different types
+	 *
+	 * @param key
+	 * @return
+	 */
+	private TableDTO tableForKey(Object key) {
+		if (tables.length == 1) {
+			return tables[0];
+		}
+
+		String typeName = key instanceof BinaryObject ? ((BinaryObject) key).type().typeName() : null;
+		TableDTO tableData = typeName != null ? binaryTables.get(typeName) : keyTables.get(key.getClass());
+		if (tableData == null) {
+			throw new CacheException("No table of cache " + cacheName + " has keys of type " + (typeName != null ? typeName : key.getClass()
+					.getName()));
+		}
+		return tableData;
+	}
+
+	/**
+	 * Set the parameters of the statement in the order of the columns, the key columns take the cache key
+	 *
+	 * @param ps
+	 * @param params
+	 * @param accessors
+	 *            Field accessors aligned with the params
+	 * @param entity
+	 *            Accessors of the key columns on the cache key
+	 * @param key
+	 * @param value
+	 * @throws SQLException
+	 */
+	private void bind(PreparedStatement ps, ColumnDTO[] params, FieldAccessor[] accessors, EntityAccessor entity, Object key, Object value)
+			throws SQLException {
+		// The key params are in the order of the key columns
+		int keyColumn = 0;
+		for (int i = 0; i < params.length; i++) {
+			if (params[i].isKey()) {
+				accessors[i].bindValue(ps, i + 1, entity.keyColumn(key, keyColumn++));
+			} else {
+				accessors[i].bind(ps, i + 1, value);
+			}
+		}
+	}
+
+	/**
+	 * Set the key columns of the cache key as the parameters after the offset
+	 *
+	 * @param ps
+	 * @param offset
+	 *            Parameters before the first key column
+	 * @param accessor
+	 * @param key
+	 * @throws SQLException
+	 */
+	private void bindKey(PreparedStatement ps, int offset, EntityAccessor accessor, Object key) throws SQLException {
+		for (int i = 0; i < accessor.getKeyAccessors().length; i++) {
+			accessor.getKeyAccessors()[i].bindValue(ps, offset + i + 1, accessor.keyColumn(key, i));
+		}
+	}
+
+	/**
+	 * Close statement
+	 *
+	 * @param ps
+	 */
+	private void closeConnection(Connection conn) {
+		try {
+			if (conn != null) {
+				conn.close();
+			}
+		} catch (SQLException e) {
+			log.warning("Failed to close connection", e);
+		}
+	}
+
+	private void closeStatement(Statement ps) {
+		try {
+			if (ps != null) {
+				ps.close();
+			}
+		} catch (SQLException e) {
+			log.warning("Failed to close statement", e);
+		}
+	}
+
+	/**
+	 * Writes and deletes of the store on a transaction, only the last operation of each key is sent
+	 */
+	private class SessionWrites implements SessionBuffer {
+
+		private final Map<Object, Entry<?, ?>> writes = new LinkedHashMap<>();
+		private final Set<Object> deletes = new LinkedHashSet<>();
+
+		void write(Entry<?, ?> entry) {
+			deletes.remove(entry.getKey());
+			writes.put(entry.getKey(), entry);
+		}
+
+		void delete(Object key) {
+			writes.remove(key);
+			deletes.add(key);
+		}
+
+		@Override
+		public void flush(Connection conn) {
+			if (!deletes.isEmpty()) {
+				deleteKeys(conn, new ArrayList<>(deletes));
+			}
+			if (!writes.isEmpty()) {
+				writeEntries(conn, new ArrayList<>(writes.values()), action -> StoreSessionListener.afterCommit(ses, action));
+			}
+		}
+	}
+
+	/**
+	 * Writes or deletes of a table queued on the pipeline, each attempt runs on its own connection and transaction
+	 */
+	private class PipelinedWrites implements PipelineBatch {
+
+		private final TableDTO tableData;
+		private final List<Entry<?, ?>> writes;
+		private final List<Object> deletes;
+		private final long queuedAt = System.nanoTime();
+		private boolean dequeued;
+
+		PipelinedWrites(TableDTO tableData, List<Entry<?, ?>> writes, List<Object> deletes) {
+			this.tableData = tableData;
+			this.writes = writes;
+			this.deletes = deletes;
+		}
+
+		@Override
+		public void write() throws Exception {
+			if (!dequeued) {
+				dequeued = true;
+				metrics(tableData).onDequeue(size(), System.nanoTime() - queuedAt);
+			}
+
+			List<Runnable> afterCommit = new ArrayList<>();
+			try (Connection conn = dataSource().getConnection()) {
+				conn.setAutoCommit(false);
+				try {
+					// A failed attempt is rolled back, so the next one writes all the rows again
+					if (writes != null) {
+						writeEntries(conn, new ArrayList<>(writes), afterCommit::add);
+					} else {
+						deleteKeys(conn, new ArrayList<>(deletes));
+					}
+					conn.commit();
+
+				} catch (Exception ex) {
+					conn.rollback();
+					throw ex;
+				}
+			}
+
+			for (Runnable action : afterCommit) {
+				action.run();
+			}
+		}
+
+		@Override
+		public int size() {
+			return writes != null ? writes.size() : deletes.size();
+		}
+
+		@Override
+		public void onDrop(Exception ex) {
+			metrics(tableData).onError("pipeline");
+		}
+	}
+
+	/**
+	 * Set the only table of the cache
+	 *
+	 * @param table
+	 */
+	public void setTable(TableDTO table) {
+		setTables(Collections.singletonList(table));
+	}
+
+	/**
+	 * Set the tables of the cache and index them by the types of their values and keys
+	 *
+	 * @param tables
+	 */
+	public void setTables(List<TableDTO> tables) {
+		Map<String, TableDTO> binaryTables = new HashMap<>();
+		Map<Class<?>, TableDTO> keyTables = new IdentityHashMap<>();
+		boolean keyTypes = false;
+
+		for (TableDTO tableData : tables) {
+			binaryTables.put(tableData.getTypeName(), tableData);
+			if (tableData.getKeyTypeName() != null) {
+				binaryTables.put(tableData.getKeyTypeName(), tableData);
+				keyTypes = true;
+			} else {
+				Class<?> keyType = tableData.getStatements().getKeyColumns()[0].getFieldType();
+				keyTables.put(MethodType.methodType(keyType).wrap().returnType(), tableData);
+			}
+		}
+
+		this.tables = tables.toArray(new TableDTO[tables.size()]);
+		this.cacheName = tables.isEmpty() ? null : tables.get(0).getCacheName();
+		this.binaryTables = binaryTables;
+		this.keyTables = keyTables;
+		this.keyTypes = keyTypes;
+	}
+
+	/**
+	 * Set the dialect, used for the default fetch size
+	 *
+	 * @param dialect
+	 */
+	public void setDialect(JdbcDialect dialect) {
+		this.dialect = dialect;
+	}
+
+	/**
+	 * Set the batch, fetch and load settings of the store
+	 *
+	 * @param storeConfig
+	 */
+	public void setStoreConfig(StoreConfigDTO storeConfig) {
+		this.storeConfig = storeConfig;
+	}
+
+	/**
+	 * Set the factory of the DataSource used by loadCache to open one connection per key range
+	 *
+	 * @param dataSourceFactory
+	 */
+	public void setDataSourceFactory(Factory<DataSource> dataSourceFactory) {
+		this.dataSourceFactory = dataSourceFactory;
+	}
+}
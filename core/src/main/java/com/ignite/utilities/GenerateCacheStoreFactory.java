@@ -0,0 +1,83 @@
+package com.ignite.utilities;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.cache.configuration.Factory;
+import javax.sql.DataSource;
+
+import org.apache.ignite.cache.store.jdbc.dialect.JdbcDialect;
+
+import com.ignite.utilities.dto.StoreConfigDTO;
+import com.ignite.utilities.dto.TableDTO;
+
+/**
+ * Factory set on the cacheConfiguration to create the {@link GenerateCacheStore} of each cache on the server nodes
+ */
+public class GenerateCacheStoreFactory implements Factory<GenerateCacheStore> {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 4031905346307437561L;
+
+	private List<TableDTO> tables;
+	private JdbcDialect dialect;
+	private StoreConfigDTO storeConfig = new StoreConfigDTO();
+	private Factory<DataSource> dataSourceFactory;
+
+	@Override
+	public GenerateCacheStore create() {
+		GenerateCacheStore store = new GenerateCacheStore();
+		store.setTables(tables);
+		store.setDialect(dialect);
+		store.setStoreConfig(storeConfig);
+		store.setDataSourceFactory(dataSourceFactory);
+		return store;
+	}
+
+	/**
+	 * Set the only table of the cache
+	 *
+	 * @param table
+	 */
+	public void setTable(TableDTO table) {
+		this.tables = Collections.singletonList(table);
+	}
+
+	/**
+	 * Set the tables of the cache, a single store writes the entries of all of them
+	 *
+	 * @param tables
+	 */
+	public void setTables(List<TableDTO> tables) {
+		this.tables = tables;
+	}
+
+	/**
+	 * Set the dialect of the DB
+	 *
+	 * @param dialect
+	 */
+	public void setDialect(JdbcDialect dialect) {
+		this.dialect = dialect;
+	}
+
+	/**
+	 * Set the batch, fetch and load settings of the store
+	 *
+	 * @param storeConfig
+	 */
+	public void setStoreConfig(StoreConfigDTO storeConfig) {
+		this.storeConfig = storeConfig;
+	}
+
+	/**
+	 * Set the factory of the DataSource used by the store
+	 *
+	 * @param dataSourceFactory
+	 */
+	public void setDataSourceFactory(Factory<DataSource> dataSourceFactory) {
+		this.dataSourceFactory = dataSourceFactory;
+	}
+}
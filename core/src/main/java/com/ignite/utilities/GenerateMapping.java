@@ -1,10 +1,5 @@
 package com.ignite.utilities;
 
-import java.sql.Timestamp;
-import java.sql.Types;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -12,11 +7,15 @@ import java.util.Set;
 import java.util.TreeSet;
 
 import org.apache.ignite.cache.QueryEntity;
+import org.apache.ignite.cache.QueryIndex;
+import org.apache.ignite.cache.QueryIndexType;
 import org.apache.ignite.cache.store.jdbc.JdbcType;
 import org.apache.ignite.cache.store.jdbc.JdbcTypeField;
 
 import com.ignite.utilities.dto.ColumnDTO;
+import com.ignite.utilities.dto.IndexDTO;
 import com.ignite.utilities.dto.TableDTO;
+import com.ignite.utilities.types.ColumnTypes;
 
 public class GenerateMapping {
 
@@ -57,12 +56,15 @@ public class GenerateMapping {
 
 			// If is Id Key
 			if (isKey) {
-				jdbcType.setKeyType(column.getFieldType());
 				jdbcKeys.add(
 						new JdbcTypeField(getSQLType(column.getFieldType()), column.getColumnName(), column.getFieldType(), column.getFieldName()));
 
-				queryEntity.setKeyType(column.getFieldType().getName());
-				queryEntity.setKeyFieldName(column.getFieldName());
+				// A single key column is the key itself
+				if (tableData.getKeyTypeName() == null) {
+					jdbcType.setKeyType(column.getFieldType());
+					queryEntity.setKeyType(column.getFieldType().getName());
+					queryEntity.setKeyFieldName(column.getFieldName());
+				}
 
 				entityKeys.add(column.getFieldName());
 			}
@@ -75,32 +77,37 @@ public class GenerateMapping {
 			entityFields.put(column.getFieldName(), column.getFieldType().getName());
 		}
 
+		// The keys with several columns are binary objects of the key type with all of them
+		if (tableData.getKeyTypeName() != null) {
+			jdbcType.setKeyType(tableData.getKeyTypeName());
+			queryEntity.setKeyType(tableData.getKeyTypeName());
+		}
+
 		jdbcType.setKeyFields(jdbcKeys.toArray(new JdbcTypeField[jdbcKeys.size()]));
 		jdbcType.setValueFields(jdbcValues.toArray(new JdbcTypeField[jdbcKeys.size()]));
 
 		queryEntity.setKeyFields(entityKeys);
 		queryEntity.setFields(entityFields);
+
+		// Sorted indexes declared with @IgniteIndex and @IgniteCompositeIndex, the key field is the alias of _KEY so it uses the primary key index
+		List<QueryIndex> entityIndexes = new ArrayList<>();
+		for (IndexDTO index : tableData.getIndexes()) {
+			QueryIndex queryIndex = new QueryIndex(index.getFields(), QueryIndexType.SORTED);
+			queryIndex.setName(index.getIndexName());
+			queryIndex.setInlineSize(index.getInlineSize());
+			entityIndexes.add(queryIndex);
+		}
+		queryEntity.setIndexes(entityIndexes);
 	}
 
 	/**
-	 * Get the SQL type for the main table types * Default Type is varchar
+	 * Get the SQL type of the column of the field, the same one the generated store binds its nulls with
 	 * 
 	 * @param type
 	 * @return
 	 */
 	private int getSQLType(Class<?> type) {
-		if (type == Long.class) {
-			return Types.BIGINT;
-		} else if (type == Integer.class) {
-			return Types.INTEGER;
-		} else if (type == Double.class) {
-			return Types.DOUBLE;
-		} else if (type == String.class) {
-			return Types.VARCHAR;
-		} else if (type == LocalDate.class || type == LocalDateTime.class || type == LocalTime.class || type == Timestamp.class) {
-			return Types.TIMESTAMP;
-		}
-		return Types.VARCHAR;
+		return ColumnTypes.of(type).sqlType();
 	}
 
 	/**
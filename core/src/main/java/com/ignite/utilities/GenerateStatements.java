@@ -0,0 +1,136 @@
+package com.ignite.utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ignite.cache.store.jdbc.dialect.BasicJdbcDialect;
+import org.apache.ignite.cache.store.jdbc.dialect.JdbcDialect;
+
+import com.ignite.utilities.dto.ColumnDTO;
+import com.ignite.utilities.dto.StoreConfigDTO;
+import com.ignite.utilities.dto.TableDTO;
+import com.ignite.utilities.dto.TableStatementsDTO;
+import com.ignite.utilities.types.ColumnTypes;
+
+/**
+ * Builds once per table the SQL used by the {@link GenerateCacheStore}, so the write path only binds parameters
+ */
+public class GenerateStatements {
+
+	/** ANSI queries, the dialect is only known when the cache configuration is generated */
+	private static final JdbcDialect BASIC_DIALECT = new BasicJdbcDialect();
+
+	/**
+	 * Create the insert, update, select and delete statements of the table
+	 *
+	 * @param tableData
+	 * @return
+	 */
+	public static TableStatementsDTO createStatements(TableDTO tableData) {
+		List<ColumnDTO> keys = new ArrayList<>();
+		List<ColumnDTO> values = new ArrayList<>();
+
+		for (ColumnDTO column : tableData.getColumns()) {
+			if (column.isKey()) {
+				keys.add(column);
+			} else {
+				values.add(column);
+			}
+		}
+
+		List<String> keyNames = columnNames(keys);
+		List<String> valueNames = columnNames(values);
+		List<String> allNames = columnNames(tableData.getColumns());
+		String tableName = tableData.getTableName();
+
+		TableStatementsDTO statements = new TableStatementsDTO();
+		statements.setInsertQuery(BASIC_DIALECT.insertQuery(tableName, keyNames, valueNames));
+		statements.setUpdateQuery(BASIC_DIALECT.updateQuery(tableName, keyNames, valueNames));
+		statements.setSelectQuery(BASIC_DIALECT.loadQuery(tableName, keyNames, allNames, 1));
+		statements.setDeleteQuery(BASIC_DIALECT.removeQuery(tableName, keyNames));
+		if (keys.size() == 1 && ColumnTypes.isIntegral(keys.get(0).getFieldType())) {
+			String keyName = keyNames.get(0);
+			statements.setLoadRangeQuery(BASIC_DIALECT.loadCacheQuery(tableName, allNames) + " WHERE " + keyName + " >= ? AND " + keyName + " <= ?");
+			statements.setKeyRangeQuery("SELECT MIN(" + keyName + "), MAX(" + keyName + ") FROM " + tableName);
+		} else {
+			// Only the integer keys can be split in ranges, the table is loaded with a single query
+			statements.setLoadRangeQuery(BASIC_DIALECT.loadCacheQuery(tableName, allNames));
+		}
+
+		// Changed rows, the pages are bounded by the max rows of the statement
+		for (ColumnDTO column : values) {
+			if (column.isVersion()) {
+				String versionName = column.getColumnName();
+				String selectAll = BASIC_DIALECT.loadCacheQuery(tableName, allNames);
+				statements.setRefreshQuery(selectAll + " WHERE " + versionName + " > ? ORDER BY " + versionName);
+				statements.setRefreshAllQuery(selectAll + " WHERE " + versionName + " IS NOT NULL ORDER BY " + versionName);
+				statements.setRefreshVersionQuery(selectAll + " WHERE " + versionName + " = ?");
+				statements.setMaxVersionQuery("SELECT MAX(" + versionName + ") FROM " + tableName);
+			}
+		}
+
+		List<ColumnDTO> insertParams = new ArrayList<>(keys);
+		insertParams.addAll(values);
+		List<ColumnDTO> updateParams = new ArrayList<>(values);
+		updateParams.addAll(keys);
+
+		statements.setKeyColumns(keys.toArray(new ColumnDTO[keys.size()]));
+		statements.setValueColumns(values.toArray(new ColumnDTO[values.size()]));
+		statements.setInsertParams(insertParams.toArray(new ColumnDTO[insertParams.size()]));
+		statements.setUpdateParams(updateParams.toArray(new ColumnDTO[updateParams.size()]));
+		statements.setSelectColumns(tableData.getColumns().toArray(new ColumnDTO[tableData.getColumns().size()]));
+
+		return statements;
+	}
+
+	/**
+	 * Set the queries that depend on the dialect and store settings:<br>
+	 * The upsert query (MERGE, ON CONFLICT or ON DUPLICATE KEY), null if the dialect does not support it. Its parameters are the same as the
+	 * insert query.<br>
+	 * The loadAll query with up to <code>batchSize</code> keys per round-trip, and the query of the children of up to <code>batchSize</code>
+ * parents
+	 *
+	 * @param tableData
+	 * @param dialect
+	 * @param storeConfig
+	 */
+	public static void createDialectQueries(TableDTO tableData, JdbcDialect dialect, StoreConfigDTO storeConfig) {
+		TableStatementsDTO statements = tableData.getStatements();
+		JdbcDialect loadDialect = dialect == null ? BASIC_DIALECT : dialect;
+
+		List<String> keyNames = columnNames(statements.getKeyColumns());
+		int keyCount = Math.max(1, Math.min(storeConfig.getBatchSize(), loadDialect.getMaxParameterCount() / keyNames.size()));
+		statements.setLoadAllQuery(loadDialect.loadQuery(tableData.getTableName(), keyNames, columnNames(statements.getSelectColumns()), keyCount));
+		statements.setLoadAllKeyCount(keyCount);
+
+		// Children of a batch of parents, loaded with the parents
+		for (ColumnDTO column : statements.getKeyColumns()) {
+			if (column.getParentTypeName() != null) {
+				int parentKeyCount = Math.max(1, Math.min(storeConfig.getBatchSize(), loadDialect.getMaxParameterCount()));
+				statements.setParentQuery(loadDialect.loadQuery(tableData.getTableName(), Collections.singletonList(column.getColumnName()),
+						columnNames(statements.getSelectColumns()), parentKeyCount));
+				statements.setParentKeyCount(parentKeyCount);
+			}
+		}
+
+		String mergeQuery = null;
+		if (dialect != null && dialect.hasMerge()) {
+			mergeQuery = dialect.mergeQuery(tableData.getTableName(), keyNames, columnNames(statements.getValueColumns()));
+		}
+
+		statements.setMergeQuery(mergeQuery);
+	}
+
+	private static List<String> columnNames(List<ColumnDTO> columns) {
+		return columnNames(columns.toArray(new ColumnDTO[columns.size()]));
+	}
+
+	private static List<String> columnNames(ColumnDTO[] columns) {
+		List<String> names = new ArrayList<>(columns.length);
+		for (ColumnDTO column : columns) {
+			names.add(column.getColumnName());
+		}
+		return names;
+	}
+}
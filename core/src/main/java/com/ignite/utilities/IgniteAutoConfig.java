@@ -0,0 +1,608 @@
+package com.ignite.utilities;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import javax.cache.configuration.Factory;
+import javax.sql.DataSource;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.cache.QueryEntity;
+import org.apache.ignite.cache.store.jdbc.JdbcType;
+import org.apache.ignite.cache.store.jdbc.dialect.JdbcDialect;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+
+import com.ignite.utilities.accessor.EntityAccessor;
+import com.ignite.utilities.annotations.IgniteTable;
+import com.ignite.utilities.bulk.FileImporter;
+import com.ignite.utilities.dto.ImportConfigDTO;
+import com.ignite.utilities.dto.StoreConfigDTO;
+import com.ignite.utilities.dto.TableDTO;
+import com.ignite.utilities.lazy.LazyCacheRegistry;
+import com.ignite.utilities.metrics.StoreMetricsSpi;
+import com.ignite.utilities.refresh.CacheRefresher;
+import com.ignite.utilities.registry.MappingRegistry;
+import com.ignite.utilities.registry.TableMapping;
+import com.ignite.utilities.scan.ClassPathScanner;
+import com.ignite.utilities.scan.ScanIndex;
+
+/**
+ * Class used to generate the Apache Ignite configuration set.<br>
+ * <br>
+ * * The purpose of this project is to simplify the configuration of the Ignite lib through a few calls and using annotations as
+ * <strong>@IgniteTable</strong>, <strong>@IgniteId</strong> and/or <strong>@IgniteColumn</strong> the last two are optional only if the mapped table
+ * is using the javax.persistence lib which should add <strong>@Id</strong> and <strong>@Column</strong>.
+ * 
+ * @author jcamargos
+ * @date 10/09/2018
+ */
+public class IgniteAutoConfig {
+
+	private static final String CLASSNAME = "[IgniteAutoConfig]";
+
+	private static JdbcType[] jdbcTypes;
+	private static Collection<QueryEntity> entities;
+
+	/** Map Key: cacheName, Value: Tables with that cache */
+	private static Map<String, List<TableDTO>> cacheTables = new ConcurrentHashMap<>();
+
+	/** List of the caches created */
+	private static List<String> cacheNames = new CopyOnWriteArrayList<>();
+
+	/** List of the original classes used to map the schema */
+	private static List<Class<?>> classes = new CopyOnWriteArrayList<>();
+
+	/** Will define if the configuration is based on the CacheStore object */
+	private static boolean isCacheStore;
+
+	/** Directory of the scanPackages index, null to always scan */
+	private static Path scanIndexDirectory;
+
+	/** Settings of the generated CacheStore */
+	private static StoreConfigDTO storeConfig = new StoreConfigDTO();
+
+	/** Last refresher started, null if none */
+	private static CacheRefresher refresher;
+
+	/** Settings of the file imports */
+	private static ImportConfigDTO importConfig = new ImportConfigDTO();
+
+	/**
+	 * Add classes to be processed by
+	 * 
+	 * @param classToAdd
+	 * @throws Exception
+	 */
+	public static void addClass(Class<?> classToAdd) throws Exception {
+		register(mapClass(classToAdd));
+	}
+
+	/**
+	 * Add the @IgniteTable classes of the packages and their subpackages, the class files are read in parallel and only the mapped classes are
+	 * loaded.<br>
+	 * If a scan index directory is set, the tables found are kept there and a restart with the same jars does not scan again.
+	 * 
+	 * @param packages
+	 * @throws Exception
+	 */
+	public static void scanPackages(String... packages) throws Exception {
+		ClassLoader loader = Thread.currentThread().getContextClassLoader() != null ? Thread.currentThread().getContextClassLoader()
+				: IgniteAutoConfig.class.getClassLoader();
+		Set<Path> roots = ClassPathScanner.findRoots(loader, packages);
+
+		long checksum = 0;
+		List<TableDTO> tablesFound = null;
+		if (scanIndexDirectory != null) {
+			checksum = ClassPathScanner.checksum(roots, packages);
+			tablesFound = ScanIndex.read(scanIndexDirectory, checksum, loader);
+		}
+
+		if (tablesFound == null) {
+			ForkJoinPool pool = new ForkJoinPool();
+			try {
+				List<ForkJoinTask<TableDTO>> tasks = new ArrayList<>();
+				for (String className : ClassPathScanner.findCandidates(roots, pool, packages)) {
+					tasks.add(pool.submit(() -> {
+						Class<?> candidate = Class.forName(className, false, loader);
+						// The constant pool could only reference @IgniteTable without being on the class
+						return candidate.isAnnotationPresent(IgniteTable.class) ? mapClass(candidate) : null;
+					}));
+				}
+
+				tablesFound = new ArrayList<>();
+				for (ForkJoinTask<TableDTO> task : tasks) {
+					try {
+						TableDTO tableMapped = task.get();
+						if (tableMapped != null) {
+							tablesFound.add(tableMapped);
+						}
+					} catch (ExecutionException e) {
+						throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+					}
+				}
+			} finally {
+				pool.shutdown();
+			}
+
+			if (scanIndexDirectory != null) {
+				ScanIndex.write(scanIndexDirectory, checksum, tablesFound);
+			}
+		}
+
+		// Added in the order of the class names so the caches are always created the same way
+		synchronized (IgniteAutoConfig.class) {
+			for (TableDTO tableMapped : tablesFound) {
+				if (!classes.contains(tableMapped.getTableType())) {
+					register(tableMapped);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Generates the TableDTO with the info of the class added to be mapped, from the mapping generated at build time if there is one
+	 * 
+	 * @param classToAdd
+	 * @return
+	 * @throws Exception
+	 */
+	private static TableDTO mapClass(Class<?> classToAdd) throws Exception {
+		TableMapping mapping = MappingRegistry.find(classToAdd);
+		TableDTO tableMapped = mapping != null ? mapping.createTable() : new ProcessAnnotationsDTO().loadClassData(classToAdd);
+		// SQL used by the CacheStore, built once per table
+		tableMapped.setStatements(GenerateStatements.createStatements(tableMapped));
+		// The keys with several columns are objects of the key class generated by the processor, or binary objects of its type without it
+		if (tableMapped.getStatements().getKeyColumns().length > 1) {
+			tableMapped.setKeyTypeName(keyTypeName(classToAdd));
+		}
+		return tableMapped;
+	}
+
+	/**
+	 * Name of the key class generated by the processor, <code>&lt;Class&gt;Key</code> in the package of the class
+	 * 
+	 * @param classToAdd
+	 * @return
+	 */
+	private static String keyTypeName(Class<?> classToAdd) {
+		String packageName = classToAdd.getPackage() != null ? classToAdd.getPackage().getName() : "";
+		String simpleName = (packageName.isEmpty() ? classToAdd.getName() : classToAdd.getName().substring(packageName.length() + 1)).replace('$', '_');
+		return (packageName.isEmpty() ? "" : packageName + ".") + simpleName + "Key";
+	}
+
+	/**
+	 * Add the table to the cache of its cacheName, synchronized so the classes can be added from several threads
+	 * 
+	 * @param tableMapped
+	 * @throws Exception
+	 */
+	private static synchronized void register(TableDTO tableMapped) throws Exception {
+		List<TableDTO> tablesIgnite = null;
+		// Verify if the cache name used already exists to add the class to the cache being used to that
+		if (cacheTables.get(tableMapped.getCacheName()) == null) {
+			tablesIgnite = new CopyOnWriteArrayList<>();
+			cacheNames.add(tableMapped.getCacheName());
+		} else {
+			tablesIgnite = cacheTables.get(tableMapped.getCacheName());
+			validateCacheSettings(tableMapped, tablesIgnite);
+		}
+
+		tablesIgnite.add(tableMapped);
+		cacheTables.put(tableMapped.getCacheName(), tablesIgnite);
+		classes.add(tableMapped.getTableType());
+	}
+
+	/**
+	 * Add all the classes mapped at build time by the IgniteAutoConfig-processor, none of them is read by reflection
+	 * 
+	 * @throws Exception
+	 */
+	public static synchronized void addMappedClasses() throws Exception {
+		for (TableMapping mapping : MappingRegistry.all()) {
+			if (!classes.contains(mapping.tableType())) {
+				addClass(mapping.tableType());
+			}
+		}
+	}
+
+	/**
+	 * Remove all the classes added, so the configuration can be generated again from scratch
+	 */
+	public static synchronized void reset() {
+		cacheTables.clear();
+		cacheNames.clear();
+		classes.clear();
+	}
+
+	/**
+	 * The tables that share a cache should not declare different @IgniteCache settings
+	 * 
+	 * @param tableMapped
+	 * @param tablesIgnite
+	 *            Tables already added to the cache
+	 * @throws Exception
+	 */
+	private static void validateCacheSettings(TableDTO tableMapped, List<TableDTO> tablesIgnite) throws Exception {
+		if (tableMapped.getCacheSettings() == null) {
+			return;
+		}
+
+		for (TableDTO table : tablesIgnite) {
+			if (table.getCacheSettings() != null && !table.getCacheSettings().equals(tableMapped.getCacheSettings())) {
+				throw new Exception(CLASSNAME + " [addClass] @IgniteCache of " + tableMapped.getTableType().getName() + " conflicts with the one of "
+						+ table.getTableType().getName() + " for the cache " + tableMapped.getCacheName());
+			}
+		}
+	}
+
+	/**
+	 * Generate the array with the cache Configuration objects for each cache name mapped on each table.<br>
+	 * <br>
+	 * To use it:<br>
+	 * <ol>
+	 * <li>Add each class with the <code>addClass(Class<?>)</code> method</li>
+	 * <li>Call this method (<code>generateCacheConfiguration(...)</code>)</li>
+	 * <li>Set it to the IgniteConfiguration</li>
+	 * <li>Done c:</li>
+	 * </ol>
+	 * 
+	 * @param dataSource
+	 * @param dialect
+	 * @return Map < cacheName, CacheConfiguration>
+	 * @throws Exception
+	 *             If a parent is not added or has several @IgniteId, the parents have cycles or the tables of a cache have different keys
+	 */
+	public static Map<String, CacheConfiguration<?, ?>> generateCacheConfiguration(Factory<DataSource> dataSource, JdbcDialect dialect)
+			throws Exception {
+		GenerateCacheConfiguration.init(isCacheStore, storeConfig, cacheTables, cacheNames);
+		return GenerateCacheConfiguration.generateCacheConfiguration(dataSource, dialect);
+	}
+
+	/**
+	 * Start the caches on demand instead of setting all of them on the IgniteConfiguration. The hot caches are generated and started at once,
+	 * the configuration of each other cache is only generated when it is first asked to the registry.<br>
+	 * The data regions should still be set on the IgniteConfiguration, with <code>generateDataStorageConfiguration()</code>
+	 * 
+	 * @param ignite
+	 * @param dataSource
+	 * @param dialect
+	 * @param hotCaches
+	 *            Caches needed as soon as the node starts
+	 * @return Registry to get the caches, started on the first call
+	 * @throws Exception
+	 *             If a hot cache is not mapped or its configuration can not be generated
+	 */
+	public static LazyCacheRegistry startLazyCaches(Ignite ignite, Factory<DataSource> dataSource, JdbcDialect dialect, String... hotCaches)
+			throws Exception {
+		GenerateCacheConfiguration.init(isCacheStore, storeConfig, cacheTables, cacheNames);
+		GenerateCacheConfiguration.relateTables();
+
+		LazyCacheRegistry registry = new LazyCacheRegistry(ignite, GenerateCacheConfiguration.storeDataSource(dataSource), dialect, cacheTables);
+		registry.start(Arrays.asList(hotCaches));
+		return registry;
+	}
+
+	/**
+	 * Generate the data regions declared with @IgniteCache, to add them to the DataStorageConfiguration already set on the IgniteConfiguration.
+	 * The caches without region use the default one
+	 * 
+	 * @return Map < regionName, DataRegionConfiguration>
+	 * @throws Exception
+	 */
+	public static Map<String, DataRegionConfiguration> generateDataRegionConfigurations() throws Exception {
+		GenerateCacheConfiguration.init(isCacheStore, storeConfig, cacheTables, cacheNames);
+		return GenerateCacheConfiguration.generateDataRegionConfigurations();
+	}
+
+	/**
+	 * Generate the DataStorageConfiguration with the data regions declared with @IgniteCache, to set it to the IgniteConfiguration with the
+	 * caches
+	 * 
+	 * @return
+	 * @throws Exception
+	 */
+	public static DataStorageConfiguration generateDataStorageConfiguration() throws Exception {
+		GenerateCacheConfiguration.init(isCacheStore, storeConfig, cacheTables, cacheNames);
+		return GenerateCacheConfiguration.generateDataStorageConfiguration();
+	}
+
+	/**
+	 * Start polling the tables with @IgniteVersion for the rows changed in the DB, they are streamed into their caches without being written
+	 * back. It should be started on a single node, before the caches are loaded, and closed before the node stops
+	 * 
+	 * @param ignite
+	 * @param dataSource
+	 * @return
+	 * @throws Exception
+	 */
+	public static CacheRefresher startRefresher(Ignite ignite, Factory<DataSource> dataSource) throws Exception {
+		List<TableDTO> tables = new ArrayList<>();
+		for (String cacheName : cacheNames) {
+			tables.addAll(cacheTables.get(cacheName));
+		}
+
+		CacheRefresher started = new CacheRefresher(ignite, dataSource, tables, storeConfig);
+		started.start();
+		refresher = started;
+		return started;
+	}
+
+	/**
+	 * Import the CSV or tab separated export of the table of a mapped class into its cache, without reading the DB. The file has a header with
+	 * the column names, the keys already in the cache are skipped
+	 * 
+	 * @param ignite
+	 * @param tableClass
+	 * @param file
+	 * @return Rows read from the file
+	 * @throws Exception
+	 */
+	public static long importFile(Ignite ignite, Class<?> tableClass, Path file) throws Exception {
+		for (List<TableDTO> tablesIgnite : cacheTables.values()) {
+			for (TableDTO tableData : tablesIgnite) {
+				if (tableData.getTableType() == tableClass) {
+					return new FileImporter(ignite, tableData, importConfig).importFile(file);
+				}
+			}
+		}
+		throw new Exception(CLASSNAME + " [importFile] " + tableClass.getName() + " is not a mapped class");
+	}
+
+	/**
+	 * Create the cache key of a mapped object, the value of its @IgniteId field or, when the table has several, a binary object of the key type
+	 * with all of them
+	 * 
+	 * @param ignite
+	 * @param value
+	 * @return
+	 * @throws Exception
+	 */
+	public static Object createKey(Ignite ignite, Object value) throws Exception {
+		for (List<TableDTO> tablesIgnite : cacheTables.values()) {
+			for (TableDTO tableData : tablesIgnite) {
+				if (tableData.getTableType() == value.getClass()) {
+					return EntityAccessor.forTable(tableData).cacheKey(value, ignite.binary());
+				}
+			}
+		}
+		throw new Exception(CLASSNAME + " [createKey] " + value.getClass().getName() + " is not a mapped class");
+	}
+
+	/**
+	 * Get the created JDBCType data based on the notations <br>
+	 * <strong>* It should have classes added and those cannot be added later</strong>
+	 * 
+	 * @return
+	 * @throws Exception
+	 */
+	public static JdbcType[] getJDBCTypes() throws Exception {
+		return jdbcTypes;
+	}
+
+	/**
+	 * Get the created query entity based on the notations <br>
+	 * <strong>* It should have classes added and those cannot be added later</strong>
+	 * 
+	 * @return
+	 * @throws Exception
+	 */
+	public static Collection<QueryEntity> getQueryEntities() throws Exception {
+		return entities;
+	}
+
+	/**
+	 * Get the list of cacheNames mapped
+	 * 
+	 * @return
+	 */
+	public static List<String> getCacheNames() {
+		return cacheNames;
+	}
+
+	/**
+	 * Set if a cacheStore will be generated per table
+	 * @return
+	 */
+	public static boolean isCacheStore() {
+		return isCacheStore;
+	}
+
+	/**
+	 * Get the value of the variable
+	 * @param isCacheStore
+	 */
+	public static void setCacheStore(boolean isCacheStore) {
+		IgniteAutoConfig.isCacheStore = isCacheStore;
+	}
+
+	/**
+	 * Set the directory where scanPackages keeps the tables found, keyed by the checksum of the scanned jars
+	 * @param scanIndexDirectory
+	 */
+	public static void setScanIndexDirectory(Path scanIndexDirectory) {
+		IgniteAutoConfig.scanIndexDirectory = scanIndexDirectory;
+	}
+
+	/**
+	 * Get the settings of the generated CacheStore
+	 * @return
+	 */
+	public static StoreConfigDTO getStoreConfig() {
+		return storeConfig;
+	}
+
+	/**
+	 * Get the settings of the file imports, as the threads, the chunk size or the buffers of the data streamer
+	 * @return
+	 */
+	public static ImportConfigDTO getImportConfig() {
+		return importConfig;
+	}
+
+	/**
+	 * Set the max number of rows sent per JDBC batch by the generated CacheStore on each write-behind flush, also the max keys per loadAll
+	 * query
+	 * @param storeBatchSize
+	 */
+	public static void setStoreBatchSize(int storeBatchSize) {
+		storeConfig.setBatchSize(storeBatchSize);
+	}
+
+	/**
+	 * Set the JDBC fetch size of the CacheStore load queries, by default the one of the dialect
+	 * @param fetchSize
+	 */
+	public static void setStoreFetchSize(int fetchSize) {
+		storeConfig.setFetchSize(fetchSize);
+	}
+
+	/**
+	 * Set the number of key ranges loaded in parallel per table by the CacheStore loadCache, by default the number of cores. Only the keys of a
+	 * single integer column are split in ranges, the other tables are loaded with a single query
+	 * @param loadThreads
+	 */
+	public static void setStoreLoadThreads(int loadThreads) {
+		storeConfig.setLoadThreads(loadThreads);
+	}
+
+	/**
+	 * Set if on loadCache each node loads only the rows of its own partitions, the caches are generated with the ModuloAffinityFunction so the
+	 * partition of each key can be computed by the DB. Only for integer keys (long, int, short, byte), or an integer affinity key on the keys
+	 * of several columns, generateCacheConfiguration fails for a table with a String, UUID or other key
+	 * @param partitionAwareLoad
+	 */
+	public static void setStorePartitionAwareLoad(boolean partitionAwareLoad) {
+		storeConfig.setPartitionAwareLoad(partitionAwareLoad);
+	}
+
+	/**
+	 * Set if the stores work with the binary objects of the values, the column values are read from the binary fields on write-through and
+	 * the loaded rows are built as binary objects, so the values are never deserialized on the server nodes
+	 * @param keepBinary
+	 */
+	public static void setStoreKeepBinary(boolean keepBinary) {
+		storeConfig.setKeepBinary(keepBinary);
+	}
+
+	/**
+	 * Set the metrics SPI of the stores, by default the metrics of each table are registered as MBeans. Use the NoopStoreMetrics to disable them
+	 * @param metrics
+	 */
+	public static void setStoreMetrics(StoreMetricsSpi metrics) {
+		storeConfig.setMetrics(metrics);
+	}
+
+	/**
+	 * Set if the DataSource factory is wrapped with the built-in connection pool, shared by the stores of all the caches of a node
+	 * @param connectionPool
+	 */
+	public static void setStoreConnectionPool(boolean connectionPool) {
+		storeConfig.setConnectionPool(connectionPool);
+	}
+
+	/**
+	 * Set the max connections of the pool, by default the load threads plus one, the write-behind flush threads and pipeline workers of all
+	 * the caches and a connection per store session, two if there are child caches. It should be at least the load threads plus one, as
+	 * loadCache keeps the connection of its session while its ranges borrow theirs
+	 * @param poolSize
+	 */
+	public static void setStorePoolSize(int poolSize) {
+		storeConfig.setPoolSize(poolSize);
+	}
+
+	/**
+	 * Set the store sessions of read-through and write-through operations expected at once on a node, by default the available processors.
+	 * Only used to size the pool when its size is not set
+	 * @param storeSessions
+	 */
+	public static void setStoreSessions(int storeSessions) {
+		storeConfig.setStoreSessions(storeSessions);
+	}
+
+	/**
+	 * Set the prepared statements cached per pooled connection, 0 to not cache them
+	 * @param statementCacheSize
+	 */
+	public static void setStoreStatementCacheSize(int statementCacheSize) {
+		storeConfig.setStatementCacheSize(statementCacheSize);
+	}
+
+	/**
+	 * Set if the stores skip the writes of the rows that did not change, comparing a 64 bits fingerprint of the column values with the one of the
+	 * last value written or loaded by the node. Only valid if the stores are the only writers of the tables, so not while a refresher runs.<br>
+	 * A changed row with the same fingerprint, about one in 2^64 of them, is skipped without any log. The tables with a column type that has no
+	 * fingerprint (other than the numbers, strings, booleans, chars, byte[], UUIDs, enums, dates and java.time types) are always written
+	 * @param skipUnchanged
+	 * @throws Exception
+	 *             If a refresher is started, its rows would leave stale fingerprints
+	 */
+	public static void setStoreSkipUnchanged(boolean skipUnchanged) throws Exception {
+		if (skipUnchanged && refresher != null && refresher.isStarted()) {
+			throw new Exception(CLASSNAME + " [setStoreSkipUnchanged] The unchanged writes can not be skipped while the refresher runs");
+		}
+		storeConfig.setSkipUnchanged(skipUnchanged);
+	}
+
+	/**
+	 * Set if the write-behind flushes hand their rows to a pipeline of DB workers per cache instead of writing them, so a slow DB fills the
+	 * queues of the pipeline before blocking the flushers
+	 * @param pipelinedWrites
+	 */
+	public static void setStorePipelinedWrites(boolean pipelinedWrites) {
+		storeConfig.setPipelinedWrites(pipelinedWrites);
+	}
+
+	/**
+	 * Set the DB workers of the write pipeline of each cache
+	 * @param pipelineWorkers
+	 */
+	public static void setStorePipelineWorkers(int pipelineWorkers) {
+		storeConfig.setPipelineWorkers(pipelineWorkers);
+	}
+
+	/**
+	 * Set the batches queued per worker of the write pipeline
+	 * @param pipelineQueueSize
+	 */
+	public static void setStorePipelineQueueSize(int pipelineQueueSize) {
+		storeConfig.setPipelineQueueSize(pipelineQueueSize);
+	}
+
+	/**
+	 * Set the max ms a flush waits when the queue of a worker is full, then the flush fails and the write-behind retries it later. 0 to wait
+	 * until there is room.<br>
+	 * A failed flush is handled by the write-behind as a DB failure, its values are lost if the node stops or its buffer overflows meanwhile
+	 * @param pipelineQueueTimeout
+	 */
+	public static void setStorePipelineQueueTimeout(long pipelineQueueTimeout) {
+		storeConfig.setPipelineQueueTimeout(pipelineQueueTimeout);
+	}
+
+	/**
+	 * Set the ms between the polls of the CacheRefresher
+	 * @param refreshInterval
+	 */
+	public static void setStoreRefreshInterval(long refreshInterval) {
+		storeConfig.setRefreshInterval(refreshInterval);
+	}
+
+	/**
+	 * Set the max rows the CacheRefresher reads per query, the rows of the same version are always read together
+	 * @param refreshPageSize
+	 */
+	public static void setStoreRefreshPageSize(int refreshPageSize) {
+		storeConfig.setRefreshPageSize(refreshPageSize);
+	}
+}
@@ -0,0 +1,300 @@
+package com.ignite.utilities;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Version;
+
+import com.ignite.utilities.annotations.IgniteAffinityKey;
+import com.ignite.utilities.annotations.IgniteCache;
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteCompositeIndex;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteIndex;
+import com.ignite.utilities.annotations.IgniteIndexField;
+import com.ignite.utilities.annotations.IgniteParent;
+import com.ignite.utilities.annotations.IgniteTable;
+import com.ignite.utilities.annotations.IgniteVersion;
+import com.ignite.utilities.dto.CacheSettingsDTO;
+import com.ignite.utilities.dto.ColumnDTO;
+import com.ignite.utilities.dto.IndexDTO;
+import com.ignite.utilities.dto.TableDTO;
+
+public class ProcessAnnotationsDTO {
+
+	private boolean isIdDeclared;
+	private boolean isColumnDeclared;
+
+	private static final String CLASSNAME = "[ProcessNotations]";
+
+	/**
+	 * Creates the jdbcType and entity objects for Apache Ignite configuration based on the @IgniteTable, @IgniteId and @IgniteColumn notations
+	 * 
+	 * @param valueClass
+	 *            Class with the notations
+	 * @throws Exception
+	 *             Message for possible notation errors or JdbcType or QueryEntity errors
+	 */
+	public TableDTO loadClassData(Class<?> valueClass) throws Exception {
+		TableDTO tableData = null;
+
+		// Process @IgniteTable
+		if (valueClass.isAnnotationPresent(IgniteTable.class)) {
+			Annotation annotationTable = valueClass.getAnnotation(IgniteTable.class);
+			IgniteTable igniteTable = (IgniteTable) annotationTable;
+
+			String cacheName = igniteTable.cacheName();
+			// If Name not declared then use the class name
+			String tableName = "".equals(igniteTable.name()) ? valueClass.getSimpleName().toUpperCase() : igniteTable.name().toUpperCase();
+
+			// Load table Data into DTO
+			tableData = new TableDTO();
+			tableData.setCacheName(cacheName);
+			tableData.setTableName(tableName);
+			tableData.setTableType(valueClass);
+			tableData.setTypeName(valueClass.getName());
+
+			// Process @IgniteCache
+			if (valueClass.isAnnotationPresent(IgniteCache.class)) {
+				tableData.setCacheSettings(loadCacheSettings(valueClass.getAnnotation(IgniteCache.class)));
+			}
+
+			Field[] fields = valueClass.getDeclaredFields();
+
+			createTableSchema(tableData, fields);
+
+			if (!isIdDeclared || !isColumnDeclared) {
+				throw new Exception(CLASSNAME + " [loadData] @IgniteTable should have @IgniteId and at least one @IgniteColumn");
+			}
+
+			if (tableData.getColumns().stream().filter(ColumnDTO::isAffinityKey).count() > 1) {
+				throw new Exception(CLASSNAME + " [loadData] @IgniteTable should have only one @IgniteAffinityKey");
+			}
+
+			// Process @IgniteCompositeIndex
+			for (IgniteCompositeIndex compositeIndex : valueClass.getAnnotationsByType(IgniteCompositeIndex.class)) {
+				tableData.getIndexes().add(loadCompositeIndex(tableData, compositeIndex));
+			}
+		}
+
+		return tableData;
+	}
+
+	/**
+	 * Load the cache settings declared with @IgniteCache
+	 * 
+	 * @param igniteCache
+	 * @return
+	 */
+	private CacheSettingsDTO loadCacheSettings(IgniteCache igniteCache) {
+		CacheSettingsDTO settings = new CacheSettingsDTO();
+		settings.setAtomicityMode(igniteCache.atomicityMode());
+		settings.setCacheMode(igniteCache.cacheMode());
+		settings.setBackups(igniteCache.backups());
+		settings.setPartitions(igniteCache.partitions());
+
+		settings.setWriteBehindEnabled(igniteCache.writeBehindEnabled());
+		settings.setWriteBehindBatchSize(igniteCache.writeBehindBatchSize());
+		settings.setWriteBehindFlushThreadCount(igniteCache.writeBehindFlushThreadCount());
+		settings.setWriteBehindFlushSize(igniteCache.writeBehindFlushSize());
+		settings.setWriteBehindFlushFrequency(igniteCache.writeBehindFlushFrequency());
+		settings.setWriteBehindCoalescing(igniteCache.writeBehindCoalescing());
+
+		settings.setRebalanceMode(igniteCache.rebalanceMode());
+		settings.setRebalanceBatchSize(igniteCache.rebalanceBatchSize());
+		settings.setRebalanceThrottle(igniteCache.rebalanceThrottle());
+		settings.setRebalanceDelay(igniteCache.rebalanceDelay());
+
+		settings.setDataRegion(igniteCache.dataRegion());
+		settings.setDataRegionInitialSize(igniteCache.dataRegionInitialSize());
+		settings.setDataRegionMaxSize(igniteCache.dataRegionMaxSize());
+		settings.setPageEvictionMode(igniteCache.pageEvictionMode());
+		settings.setPersistenceEnabled(igniteCache.persistenceEnabled());
+
+		settings.setOnheapCacheMaxSize(igniteCache.onheapCacheMaxSize());
+		settings.setNearCacheMaxSize(igniteCache.nearCacheMaxSize());
+		settings.setExpiryTtl(igniteCache.expiryTtl());
+		settings.setExpiryOnAccess(igniteCache.expiryOnAccess());
+		return settings;
+	}
+
+	/**
+	 * Create the ignite objects related to the table and columns mapping defined by the notations
+	 * 
+	 * @param fields
+	 * @param jdbcKeys
+	 * @param jdbcValues
+	 * @param entityKeys
+	 * @param entityFields
+	 * @throws Exception
+	 */
+	private void createTableSchema(TableDTO tableData, Field[] fields) throws Exception {
+		// Load column Data into DTO
+		List<ColumnDTO> columns = new ArrayList<>();
+		List<IndexDTO> indexes = new ArrayList<>();
+		boolean isVersionDeclared = false;
+
+		// Process Fields
+		for (Field field : fields) {
+			boolean isKey = false;
+
+			// If field is annotated with @IgniteId or javax persistence Id
+			if (field.isAnnotationPresent(IgniteId.class) || field.isAnnotationPresent(Id.class)) {
+				isIdDeclared = true;
+				isKey = true;
+			}
+
+			// The key of the parent row is also a key column, so the children are on the partition of their parent
+			Class<?> parentType = loadParentType(field);
+			if (parentType != null) {
+				isKey = true;
+			}
+
+			// If field is annotated with @IgniteColumn, javax persistence Column or JoinColumn
+			boolean hasColumn = field.isAnnotationPresent(IgniteColumn.class) || field.isAnnotationPresent(Column.class) || field.isAnnotationPresent(
+					JoinColumn.class);
+			if (hasColumn) {
+				ColumnDTO columnData = new ColumnDTO();
+
+				Class<?> type = field.getType();
+				String name = field.getName();
+				
+				String columnName = null;
+
+				Annotation annotationField = field.getAnnotation(IgniteColumn.class);
+				if (annotationField == null && field.isAnnotationPresent(JoinColumn.class)) {
+					JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+					columnName = "".equals(joinColumn.name()) ? name : joinColumn.name();
+
+				} else if (annotationField == null) {
+					annotationField = field.getAnnotation(Column.class);
+					Column igniteField = (Column) annotationField;
+					// If Name not declared then use the field name
+					columnName = igniteField == null || "".equals(igniteField.name()) ? name : igniteField.name();
+
+				} else {
+					IgniteColumn igniteField = (IgniteColumn) annotationField;
+					columnName = igniteField == null || "".equals(igniteField.name()) ? name : igniteField.name();
+				}
+
+				isColumnDeclared = true;
+
+
+				columnData.setColumnName(columnName);
+				columnData.setFieldName(name);
+				columnData.setFieldType(type);
+				// If is Id Key
+				columnData.setKey(isKey);
+				columnData.setAffinityKey(field.isAnnotationPresent(IgniteAffinityKey.class) || parentType != null);
+				columnData.setParentTypeName(parentType != null ? parentType.getName() : null);
+
+				// If field is annotated with @IgniteVersion or javax persistence Version
+				if (field.isAnnotationPresent(IgniteVersion.class) || field.isAnnotationPresent(Version.class)) {
+					if (isKey || isVersionDeclared) {
+						throw new Exception(CLASSNAME + " [createTableSchema] @IgniteVersion field " + name
+								+ " should be the only version of the table and not an @IgniteId");
+					}
+					isVersionDeclared = true;
+					columnData.setVersion(true);
+				}
+
+				columns.add(columnData);
+
+				// Process @IgniteIndex, the key does not need it because Ignite uses its primary key index
+				IgniteIndex igniteIndex = field.getAnnotation(IgniteIndex.class);
+				if (igniteIndex != null) {
+					IndexDTO index = createIndex(igniteIndex.name(), igniteIndex.inlineSize());
+					index.getFields().put(name, !igniteIndex.descending());
+					indexes.add(index);
+				}
+			}
+
+			// Each key field needs its own column, the same error the processor reports
+			if (isKey && !hasColumn) {
+				throw new Exception(CLASSNAME + " [createTableSchema] @IgniteId field " + field.getName() + " should have also @IgniteColumn");
+			}
+
+			if (!isKey && field.isAnnotationPresent(IgniteAffinityKey.class)) {
+				throw new Exception(CLASSNAME + " [createTableSchema] @IgniteAffinityKey field " + field.getName() + " should have also @IgniteId");
+			}
+		}
+
+		// Fill columns info for tableData
+		tableData.setColumns(columns);
+		tableData.setIndexes(indexes);
+	}
+
+	/**
+	 * Get the parent table of the field declared with @IgniteParent or javax persistence ManyToOne, the field has the key of the parent row.<br>
+	 * The Ignite keys only have scalar columns, so a relationship to the parent entity itself (<code>@ManyToOne Customer customer</code>) is
+	 * rejected, the field should have the @IgniteId of the parent. Only the ManyToOne side is mapped, the OneToMany collections of the parents
+	 * are not columns and their children are found through the ManyToOne of the child
+	 * 
+	 * @param field
+	 * @return null if the field is not the key of a parent
+	 * @throws Exception
+	 */
+	private Class<?> loadParentType(Field field) throws Exception {
+		boolean isRelationship = field.isAnnotationPresent(IgniteParent.class) || field.isAnnotationPresent(ManyToOne.class) || field
+				.isAnnotationPresent(JoinColumn.class);
+		Class<?> fieldType = field.getType();
+		if (isRelationship && (fieldType.isAnnotationPresent(IgniteTable.class) || fieldType.isAnnotationPresent(Entity.class))) {
+			throw new Exception(CLASSNAME + " [createTableSchema] Field " + field.getName() + " should have the @IgniteId of its parent "
+					+ fieldType.getName() + " instead of the entity, the keys of the children only have scalar columns");
+		}
+
+		Class<?> parentType = null;
+		if (field.isAnnotationPresent(IgniteParent.class)) {
+			parentType = field.getAnnotation(IgniteParent.class).value();
+		} else if (field.isAnnotationPresent(ManyToOne.class)) {
+			parentType = field.getAnnotation(ManyToOne.class).targetEntity();
+			if (parentType == void.class) {
+				throw new Exception(CLASSNAME + " [createTableSchema] @ManyToOne field " + field.getName()
+						+ " should declare the targetEntity, it can not be inferred from its scalar type " + fieldType.getSimpleName());
+			}
+		}
+
+		if (parentType != null && !parentType.isAnnotationPresent(IgniteTable.class)) {
+			throw new Exception(CLASSNAME + " [createTableSchema] Parent " + parentType.getName() + " of field " + field.getName()
+					+ " should have @IgniteTable");
+		}
+		return parentType;
+	}
+
+	/**
+	 * Create the index over several fields, all of them should be mapped with @IgniteColumn
+	 * 
+	 * @param tableData
+	 * @param compositeIndex
+	 * @return
+	 * @throws Exception
+	 */
+	private IndexDTO loadCompositeIndex(TableDTO tableData, IgniteCompositeIndex compositeIndex) throws Exception {
+		IndexDTO index = createIndex(compositeIndex.name(), compositeIndex.inlineSize());
+
+		for (IgniteIndexField indexField : compositeIndex.fields()) {
+			boolean isMapped = tableData.getColumns().stream().anyMatch(c -> c.getFieldName().equals(indexField.name()));
+			if (!isMapped) {
+				throw new Exception(CLASSNAME + " [loadCompositeIndex] @IgniteCompositeIndex field " + indexField.name() + " should have @IgniteColumn");
+			}
+			index.getFields().put(indexField.name(), !indexField.descending());
+		}
+
+		return index;
+	}
+
+	private IndexDTO createIndex(String name, int inlineSize) {
+		IndexDTO index = new IndexDTO();
+		// If Name not declared then Ignite generates it
+		index.setIndexName("".equals(name) ? null : name);
+		index.setInlineSize(inlineSize);
+		return index;
+	}
+}
@@ -0,0 +1,232 @@
+package com.ignite.utilities.accessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.ignite.IgniteBinary;
+import org.apache.ignite.binary.BinaryObjectBuilder;
+
+import com.ignite.utilities.dto.ColumnDTO;
+import com.ignite.utilities.dto.TableDTO;
+import com.ignite.utilities.dto.TableStatementsDTO;
+
+/**
+ * Field accessors of a mapped class, in the same order as the parameters of each statement of the table.<br>
+ * Created once per class and shared by all the stores of the node, or once per store for the binary objects
+ */
+public class EntityAccessor {
+
+	/** Map Key: mapped class, Value: accessors of its columns */
+	private static final ConcurrentMap<Class<?>, EntityAccessor> ACCESSORS = new ConcurrentHashMap<>();
+
+	private final String typeName;
+	/** Null for the binary objects */
+	private final MethodHandle constructor;
+	/** Null for the objects of the class */
+	private final IgniteBinary binary;
+
+	private final FieldAccessor[] keyAccessors;
+	private final FieldAccessor[] insertAccessors;
+	private final FieldAccessor[] updateAccessors;
+	private final FieldAccessor[] selectAccessors;
+
+	/** Binary type of the keys with several columns, null if the key is the value of its key column */
+	private final String keyTypeName;
+	/** Accessors of the key columns on the binary keys, null if the key is the value of its key column */
+	private final FieldAccessor[] cacheKeyAccessors;
+
+	private EntityAccessor(TableDTO tableData) throws Exception {
+		TableStatementsDTO statements = tableData.getStatements();
+		Class<?> type = tableData.getTableType();
+		typeName = type.getName();
+		binary = null;
+
+		Constructor<?> noArgs = type.getDeclaredConstructor();
+		noArgs.setAccessible(true);
+		constructor = MethodHandles.lookup().unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+
+		keyAccessors = createAccessors(type, statements.getKeyColumns());
+		insertAccessors = createAccessors(type, statements.getInsertParams());
+		updateAccessors = createAccessors(type, statements.getUpdateParams());
+		selectAccessors = createAccessors(type, statements.getSelectColumns());
+
+		keyTypeName = tableData.getKeyTypeName();
+		cacheKeyAccessors = keyTypeName == null ? null : createBinaryAccessors(statements.getKeyColumns());
+	}
+
+	private EntityAccessor(TableDTO tableData, IgniteBinary binary) {
+		TableStatementsDTO statements = tableData.getStatements();
+		typeName = tableData.getTypeName();
+		constructor = null;
+		this.binary = binary;
+
+		keyAccessors = createBinaryAccessors(statements.getKeyColumns());
+		insertAccessors = createBinaryAccessors(statements.getInsertParams());
+		updateAccessors = createBinaryAccessors(statements.getUpdateParams());
+		selectAccessors = createBinaryAccessors(statements.getSelectColumns());
+
+		keyTypeName = tableData.getKeyTypeName();
+		cacheKeyAccessors = keyTypeName == null ? null : createBinaryAccessors(statements.getKeyColumns());
+	}
+
+	/**
+	 * Get the accessors of the class mapped by the table, created on the first call
+	 *
+	 * @param tableData
+	 * @return
+	 */
+	public static EntityAccessor forTable(TableDTO tableData) {
+		return ACCESSORS.computeIfAbsent(tableData.getTableType(), type -> {
+			try {
+				return new EntityAccessor(tableData);
+			} catch (Exception e) {
+				throw new IllegalStateException("Failed to create the accessors of " + type.getName(), e);
+			}
+		});
+	}
+
+	/**
+	 * Create the accessors of the binary objects of the table, the class of the table is not needed
+	 *
+	 * @param tableData
+	 * @param binary
+	 *            Binary facade of the local node, used to build the loaded rows
+	 * @return
+	 */
+	public static EntityAccessor forBinary(TableDTO tableData, IgniteBinary binary) {
+		return new EntityAccessor(tableData, binary);
+	}
+
+	private static FieldAccessor[] createBinaryAccessors(ColumnDTO[] columns) {
+		FieldAccessor[] accessors = new FieldAccessor[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			accessors[i] = FieldAccessor.ofBinary(columns[i].getFieldName(), columns[i].getFieldType());
+		}
+		return accessors;
+	}
+
+	private static FieldAccessor[] createAccessors(Class<?> type, ColumnDTO[] columns) throws Exception {
+		FieldAccessor[] accessors = new FieldAccessor[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			accessors[i] = FieldAccessor.of(type, columns[i].getFieldName());
+		}
+		return accessors;
+	}
+
+	/**
+	 * Create an empty instance of the class with its no-args constructor, or a builder for the binary objects
+	 *
+	 * @return
+	 */
+	public Object newInstance() {
+		if (binary != null) {
+			return binary.builder(typeName);
+		}
+
+		try {
+			return (Object) constructor.invokeExact();
+		} catch (Throwable e) {
+			throw new IllegalStateException("Failed to create an instance of " + typeName, e);
+		}
+	}
+
+	/**
+	 * Get the value once its fields are set, the binary object is built from the builder
+	 *
+	 * @param instance
+	 *            Created by newInstance
+	 * @return
+	 */
+	public Object build(Object instance) {
+		return binary != null ? ((BinaryObjectBuilder) instance).build() : instance;
+	}
+
+	/**
+	 * Create the value of the current row, its columns in the order of the select columns
+	 *
+	 * @param rs
+	 * @return
+	 * @throws SQLException
+	 */
+	public Object readRow(ResultSet rs) throws SQLException {
+		Object value = newInstance();
+		for (int i = 0; i < selectAccessors.length; i++) {
+			selectAccessors[i].read(rs, i + 1, value);
+		}
+		return build(value);
+	}
+
+	/**
+	 * Get the cache key of the value, the value of its key field or a binary object of the key type when the table has several key columns
+	 *
+	 * @param value
+	 * @param binary
+	 *            Used to build the keys with several columns
+	 * @return
+	 */
+	public Object cacheKey(Object value, IgniteBinary binary) {
+		if (keyTypeName == null) {
+			return keyAccessors[0].get(value);
+		}
+
+		BinaryObjectBuilder builder = binary.builder(keyTypeName);
+		for (int i = 0; i < keyAccessors.length; i++) {
+			cacheKeyAccessors[i].set(builder, keyAccessors[i].get(value));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Get the value of a key column from the cache key
+	 *
+	 * @param key
+	 * @param column
+	 *            Position of the column in the key columns
+	 * @return
+	 */
+	public Object keyColumn(Object key, int column) {
+		return cacheKeyAccessors == null ? key : cacheKeyAccessors[column].get(key);
+	}
+
+	/**
+	 * Accessors aligned with the key columns
+	 *
+	 * @return
+	 */
+	public FieldAccessor[] getKeyAccessors() {
+		return keyAccessors;
+	}
+
+	/**
+	 * Accessors aligned with the insert and merge parameters
+	 *
+	 * @return
+	 */
+	public FieldAccessor[] getInsertAccessors() {
+		return insertAccessors;
+	}
+
+	/**
+	 * Accessors aligned with the update parameters
+	 *
+	 * @return
+	 */
+	public FieldAccessor[] getUpdateAccessors() {
+		return updateAccessors;
+	}
+
+	/**
+	 * Accessors aligned with the columns of the select query
+	 *
+	 * @return
+	 */
+	public FieldAccessor[] getSelectAccessors() {
+		return selectAccessors;
+	}
+}
@@ -0,0 +1,442 @@
+package com.ignite.utilities.accessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ignite.binary.BinaryField;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.binary.BinaryObjectBuilder;
+
+import com.ignite.utilities.types.ColumnType;
+import com.ignite.utilities.types.ColumnTypes;
+
+/**
+ * Reads and writes a mapped field through method handles resolved once, the primitive fields are bound to the statement without boxing and
+ * the other ones with the typed JDBC calls of their {@link ColumnType}
+ */
+public abstract class FieldAccessor {
+
+	private static final String CLASSNAME = "[FieldAccessor]";
+
+	protected final String fieldName;
+	protected final ColumnType<Object> columnType;
+
+	protected FieldAccessor(String fieldName, Class<?> fieldType) {
+		this.fieldName = fieldName;
+		this.columnType = columnType(fieldType);
+	}
+
+	/**
+	 * Create the accessor of the declared field
+	 *
+	 * @param type
+	 *            Class that declares the field
+	 * @param fieldName
+	 * @return
+	 * @throws Exception
+	 *             If the field does not exist or is not accessible
+	 */
+	public static FieldAccessor of(Class<?> type, String fieldName) throws Exception {
+		Field field = type.getDeclaredField(fieldName);
+		field.setAccessible(true);
+
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		MethodHandle getter = lookup.unreflectGetter(field);
+		MethodHandle setter = lookup.unreflectSetter(field);
+
+		Class<?> fieldType = field.getType();
+		if (!fieldType.isPrimitive()) {
+			return new ObjectAccessor(fieldName, fieldType, erase(getter, Object.class), erase(setter, Object.class));
+		} else if (fieldType == long.class) {
+			return new LongAccessor(fieldName, erase(getter, long.class), erase(setter, long.class));
+		} else if (fieldType == int.class) {
+			return new IntAccessor(fieldName, erase(getter, int.class), erase(setter, int.class));
+		} else if (fieldType == double.class) {
+			return new DoubleAccessor(fieldName, erase(getter, double.class), erase(setter, double.class));
+		} else if (fieldType == boolean.class) {
+			return new BooleanAccessor(fieldName, erase(getter, boolean.class), erase(setter, boolean.class));
+		}
+		// float, short, byte and char are rare enough to go boxed
+		return new ObjectAccessor(fieldName, boxed(fieldType), erase(getter, Object.class), erase(setter, Object.class));
+	}
+
+	/**
+	 * Create the accessor of a field of the binary objects of the table, the entities are {@link BinaryObject} to get the values and
+	 * {@link BinaryObjectBuilder} to set them, so the class is not needed
+	 *
+	 * @param fieldName
+	 * @param fieldType
+	 *            Type of the field in the class, used as the type of the binary field
+	 * @return
+	 */
+	public static FieldAccessor ofBinary(String fieldName, Class<?> fieldType) {
+		return new BinaryAccessor(fieldName, fieldType.isPrimitive() ? boxed(fieldType) : fieldType);
+	}
+
+	private static Class<?> boxed(Class<?> primitive) {
+		return MethodType.methodType(primitive).wrap().returnType();
+	}
+
+	/**
+	 * Change the owner type of the handle to Object so it can be called with <code>invokeExact</code>
+	 */
+	private static MethodHandle erase(MethodHandle handle, Class<?> valueType) {
+		if (handle.type().parameterCount() == 1) {
+			return handle.asType(MethodType.methodType(valueType, Object.class));
+		}
+		return handle.asType(MethodType.methodType(void.class, Object.class, valueType));
+	}
+
+	/**
+	 * Get the value of the field, boxed if primitive
+	 *
+	 * @param entity
+	 * @return
+	 */
+	public abstract Object get(Object entity);
+
+	/**
+	 * Set the value of the field, unboxed if primitive
+	 *
+	 * @param entity
+	 * @param value
+	 */
+	public abstract void set(Object entity, Object value);
+
+	/**
+	 * Set the value of the field as the parameter of the statement
+	 *
+	 * @param ps
+	 * @param index
+	 *            Parameter index, starts in 1
+	 * @param entity
+	 * @throws SQLException
+	 */
+	public abstract void bind(PreparedStatement ps, int index, Object entity) throws SQLException;
+
+	/**
+	 * Set the value of the column of the current row into the field
+	 *
+	 * @param rs
+	 * @param index
+	 *            Column index, starts in 1
+	 * @param entity
+	 * @throws SQLException
+	 */
+	public abstract void read(ResultSet rs, int index, Object entity) throws SQLException;
+
+	/**
+	 * Set a value of the type of the field as the parameter of the statement, used for the values that are not read from an entity like the
+	 * columns of the cache keys
+	 *
+	 * @param ps
+	 * @param index
+	 *            Parameter index, starts in 1
+	 * @param value
+	 * @throws SQLException
+	 */
+	public void bindValue(PreparedStatement ps, int index, Object value) throws SQLException {
+		bind(ps, index, value, columnType);
+	}
+
+	protected IllegalStateException accessError(Throwable e) {
+		return new IllegalStateException(CLASSNAME + " Failed to access field " + fieldName, e);
+	}
+
+	/**
+	 * Set the value as the parameter of the statement, the nulls with the SQL type of the column
+	 */
+	protected static void bind(PreparedStatement ps, int index, Object value, ColumnType<Object> columnType) throws SQLException {
+		if (value == null) {
+			ps.setNull(index, columnType.sqlType());
+		} else {
+			columnType.set(ps, index, value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ColumnType<Object> columnType(Class<?> fieldType) {
+		return (ColumnType<Object>) ColumnTypes.of(fieldType);
+	}
+
+	private static class ObjectAccessor extends FieldAccessor {
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+
+		ObjectAccessor(String fieldName, Class<?> fieldType, MethodHandle getter, MethodHandle setter) {
+			super(fieldName, fieldType);
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		@Override
+		public Object get(Object entity) {
+			try {
+				return (Object) getter.invokeExact(entity);
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+
+		@Override
+		public void set(Object entity, Object value) {
+			try {
+				setter.invokeExact(entity, value);
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+
+		@Override
+		public void bind(PreparedStatement ps, int index, Object entity) throws SQLException {
+			bind(ps, index, get(entity), columnType);
+		}
+
+		@Override
+		public void read(ResultSet rs, int index, Object entity) throws SQLException {
+			set(entity, columnType.get(rs, index));
+		}
+	}
+
+	private static class LongAccessor extends FieldAccessor {
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+
+		LongAccessor(String fieldName, MethodHandle getter, MethodHandle setter) {
+			super(fieldName, long.class);
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		long getLong(Object entity) {
+			try {
+				return (long) getter.invokeExact(entity);
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+
+		@Override
+		public Object get(Object entity) {
+			return getLong(entity);
+		}
+
+		@Override
+		public void set(Object entity, Object value) {
+			try {
+				setter.invokeExact(entity, ((Number) value).longValue());
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+
+		@Override
+		public void bind(PreparedStatement ps, int index, Object entity) throws SQLException {
+			ps.setLong(index, getLong(entity));
+		}
+
+		@Override
+		public void read(ResultSet rs, int index, Object entity) throws SQLException {
+			try {
+				setter.invokeExact(entity, rs.getLong(index));
+			} catch (SQLException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+	}
+
+	private static class IntAccessor extends FieldAccessor {
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+
+		IntAccessor(String fieldName, MethodHandle getter, MethodHandle setter) {
+			super(fieldName, int.class);
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		int getInt(Object entity) {
+			try {
+				return (int) getter.invokeExact(entity);
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+
+		@Override
+		public Object get(Object entity) {
+			return getInt(entity);
+		}
+
+		@Override
+		public void set(Object entity, Object value) {
+			try {
+				setter.invokeExact(entity, ((Number) value).intValue());
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+
+		@Override
+		public void bind(PreparedStatement ps, int index, Object entity) throws SQLException {
+			ps.setInt(index, getInt(entity));
+		}
+
+		@Override
+		public void read(ResultSet rs, int index, Object entity) throws SQLException {
+			try {
+				setter.invokeExact(entity, rs.getInt(index));
+			} catch (SQLException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+	}
+
+	private static class DoubleAccessor extends FieldAccessor {
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+
+		DoubleAccessor(String fieldName, MethodHandle getter, MethodHandle setter) {
+			super(fieldName, double.class);
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		double getDouble(Object entity) {
+			try {
+				return (double) getter.invokeExact(entity);
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+
+		@Override
+		public Object get(Object entity) {
+			return getDouble(entity);
+		}
+
+		@Override
+		public void set(Object entity, Object value) {
+			try {
+				setter.invokeExact(entity, ((Number) value).doubleValue());
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+
+		@Override
+		public void bind(PreparedStatement ps, int index, Object entity) throws SQLException {
+			ps.setDouble(index, getDouble(entity));
+		}
+
+		@Override
+		public void read(ResultSet rs, int index, Object entity) throws SQLException {
+			try {
+				setter.invokeExact(entity, rs.getDouble(index));
+			} catch (SQLException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+	}
+
+	private static class BooleanAccessor extends FieldAccessor {
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+
+		BooleanAccessor(String fieldName, MethodHandle getter, MethodHandle setter) {
+			super(fieldName, boolean.class);
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		boolean getBoolean(Object entity) {
+			try {
+				return (boolean) getter.invokeExact(entity);
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+
+		@Override
+		public Object get(Object entity) {
+			return getBoolean(entity);
+		}
+
+		@Override
+		public void set(Object entity, Object value) {
+			try {
+				setter.invokeExact(entity, ((Boolean) value).booleanValue());
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+
+		@Override
+		public void bind(PreparedStatement ps, int index, Object entity) throws SQLException {
+			ps.setBoolean(index, getBoolean(entity));
+		}
+
+		@Override
+		public void read(ResultSet rs, int index, Object entity) throws SQLException {
+			try {
+				setter.invokeExact(entity, rs.getBoolean(index));
+			} catch (SQLException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw accessError(e);
+			}
+		}
+	}
+
+	private static class BinaryAccessor extends FieldAccessor {
+		private final Class<Object> fieldType;
+		/** Resolved from the first object, it keeps the position of the field in each schema of the type */
+		private volatile BinaryField field;
+
+		@SuppressWarnings("unchecked")
+		BinaryAccessor(String fieldName, Class<?> fieldType) {
+			super(fieldName, fieldType);
+			this.fieldType = (Class<Object>) fieldType;
+		}
+
+		@Override
+		public Object get(Object entity) {
+			BinaryObject binaryObject = (BinaryObject) entity;
+			BinaryField binaryField = field;
+			if (binaryField == null) {
+				binaryField = binaryObject.type().field(fieldName);
+				field = binaryField;
+			}
+			return binaryField.value(binaryObject);
+		}
+
+		@Override
+		public void set(Object entity, Object value) {
+			// The type keeps the binary metadata the same as the one of the class, also for the null values
+			((BinaryObjectBuilder) entity).setField(fieldName, value, fieldType);
+		}
+
+		@Override
+		public void bind(PreparedStatement ps, int index, Object entity) throws SQLException {
+			Object value = get(entity);
+			// The enums and the objects of other classes are binary objects inside the binary object
+			bind(ps, index, value instanceof BinaryObject ? ((BinaryObject) value).deserialize() : value, columnType);
+		}
+
+		@Override
+		public void read(ResultSet rs, int index, Object entity) throws SQLException {
+			set(entity, columnType.get(rs, index));
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.ignite.utilities.affinity;
+
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+
+/**
+ * Rendezvous affinity where the partition of a numeric key is <code>key mod partitions</code>.<br>
+ * The same partition can be computed by the DB with <code>MOD</code>, so each node can select only the rows of its own partitions
+ */
+public class ModuloAffinityFunction extends RendezvousAffinityFunction {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -6329412040675528460L;
+
+	public ModuloAffinityFunction() {
+		super();
+	}
+
+	public ModuloAffinityFunction(boolean excludeNeighbors, int parts) {
+		super(excludeNeighbors, parts);
+	}
+
+	@Override
+	public int partition(Object key) {
+		if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+			return (int) Math.floorMod(((Number) key).longValue(), (long) partitions());
+		}
+		return super.partition(key);
+	}
+
+	/**
+	 * SQL expression with the partition of the key column, the same as {@link #partition(Object)} for numeric keys
+	 *
+	 * @param keyColumn
+	 * @param parts
+	 * @param useModOperator
+	 *            true for the DBs without the MOD function (SQL Server)
+	 * @return
+	 */
+	public static String partitionExpression(String keyColumn, int parts, boolean useModOperator) {
+		if (useModOperator) {
+			return "((" + keyColumn + " % " + parts + ") + " + parts + ") % " + parts;
+		}
+		return "MOD(MOD(" + keyColumn + ", " + parts + ") + " + parts + ", " + parts + ")";
+	}
+}
@@ -0,0 +1,15 @@
+package com.ignite.utilities.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <strong>@IgniteId</strong> field of a key with several columns that chooses the partition of the key, so the rows of the tables with the same
+ * affinity value are on the same node
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface IgniteAffinityKey {
+}
@@ -0,0 +1,112 @@
+package com.ignite.utilities.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cache.CacheMode;
+import org.apache.ignite.cache.CacheRebalanceMode;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataPageEvictionMode;
+
+/**
+ * Optional settings of the cache of an <strong>@IgniteTable</strong>, the tables sharing a cacheName should declare the same values
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface IgniteCache {
+
+	public CacheAtomicityMode atomicityMode() default CacheAtomicityMode.ATOMIC;
+
+	public CacheMode cacheMode() default CacheMode.PARTITIONED;
+
+	public int backups() default 0;
+
+	public int partitions() default RendezvousAffinityFunction.DFLT_PARTITION_COUNT;
+
+	public boolean writeBehindEnabled() default true;
+
+	public int writeBehindBatchSize() default CacheConfiguration.DFLT_WRITE_BEHIND_BATCH_SIZE;
+
+	public int writeBehindFlushThreadCount() default CacheConfiguration.DFLT_WRITE_FROM_BEHIND_FLUSH_THREAD_CNT;
+
+	public int writeBehindFlushSize() default CacheConfiguration.DFLT_WRITE_BEHIND_FLUSH_SIZE;
+
+	public long writeBehindFlushFrequency() default 250;
+
+	public boolean writeBehindCoalescing() default CacheConfiguration.DFLT_WRITE_BEHIND_COALESCING;
+
+	public CacheRebalanceMode rebalanceMode() default CacheRebalanceMode.ASYNC;
+
+	public int rebalanceBatchSize() default CacheConfiguration.DFLT_REBALANCE_BATCH_SIZE;
+
+	public long rebalanceThrottle() default CacheConfiguration.DFLT_REBALANCE_THROTTLE;
+
+	public long rebalanceDelay() default 0;
+
+	/**
+	 * Data region of the cache, empty for the default region. The caches with the same region should declare the same region settings
+	 * 
+	 * @return
+	 */
+	public String dataRegion() default "";
+
+	/**
+	 * Off-heap memory reserved when the region starts, in MB. 0 for the Ignite default, or the max size if it is lower
+	 * 
+	 * @return
+	 */
+	public long dataRegionInitialSize() default 0;
+
+	/**
+	 * Max off-heap memory of the region, in MB. 0 for the Ignite default, 20% of the RAM
+	 * 
+	 * @return
+	 */
+	public long dataRegionMaxSize() default 0;
+
+	/**
+	 * Eviction of the pages of the region when it is full, the evicted rows are read through again. Not used with persistence
+	 * 
+	 * @return
+	 */
+	public DataPageEvictionMode pageEvictionMode() default DataPageEvictionMode.RANDOM_2_LRU;
+
+	/**
+	 * Keep the region on disk with the Ignite native persistence, the cluster should be activated once the nodes start
+	 * 
+	 * @return
+	 */
+	public boolean persistenceEnabled() default false;
+
+	/**
+	 * Max entries of the on-heap LRU cache in front of the off-heap rows, 0 for none
+	 * 
+	 * @return
+	 */
+	public int onheapCacheMaxSize() default 0;
+
+	/**
+	 * Max entries of the LRU near cache of the nodes that are not primary for the keys they read, 0 for none
+	 * 
+	 * @return
+	 */
+	public int nearCacheMaxSize() default 0;
+
+	/**
+	 * Ms an entry lives after it is created or updated, 0 to never expire them. The expired entries are only removed from the cache
+	 * 
+	 * @return
+	 */
+	public long expiryTtl() default 0;
+
+	/**
+	 * Also restart the time to live of an entry when it is read
+	 * 
+	 * @return
+	 */
+	public boolean expiryOnAccess() default false;
+}
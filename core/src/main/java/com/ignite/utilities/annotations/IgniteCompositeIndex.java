@@ -0,0 +1,25 @@
+package com.ignite.utilities.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.apache.ignite.cache.QueryIndex;
+
+/**
+ * Sorted query index over several <strong>@IgniteColumn</strong> fields of the <strong>@IgniteTable</strong>, in the declared order
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(IgniteCompositeIndexes.class)
+public @interface IgniteCompositeIndex {
+
+	/** Index name, generated by Ignite if not declared */
+	public String name() default "";
+
+	public IgniteIndexField[] fields();
+
+	public int inlineSize() default QueryIndex.DFLT_INLINE_SIZE;
+}
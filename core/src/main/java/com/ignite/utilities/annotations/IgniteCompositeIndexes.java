@@ -0,0 +1,16 @@
+package com.ignite.utilities.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container of the repeated <strong>@IgniteCompositeIndex</strong>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface IgniteCompositeIndexes {
+
+	public IgniteCompositeIndex[] value();
+}
@@ -0,0 +1,23 @@
+package com.ignite.utilities.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.apache.ignite.cache.QueryIndex;
+
+/**
+ * Sorted query index over a single <strong>@IgniteColumn</strong> field
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface IgniteIndex {
+
+	/** Index name, generated by Ignite if not declared */
+	public String name() default "";
+
+	public boolean descending() default false;
+
+	public int inlineSize() default QueryIndex.DFLT_INLINE_SIZE;
+}
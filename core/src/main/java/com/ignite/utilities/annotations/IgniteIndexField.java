@@ -0,0 +1,18 @@
+package com.ignite.utilities.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Field of an <strong>@IgniteCompositeIndex</strong>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+public @interface IgniteIndexField {
+
+	/** Name of the mapped field */
+	public String name();
+
+	public boolean descending() default false;
+}
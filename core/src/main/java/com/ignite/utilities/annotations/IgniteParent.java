@@ -0,0 +1,23 @@
+package com.ignite.utilities.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Column with the <strong>@IgniteId</strong> of the parent row, the same as JPA <code>@ManyToOne(targetEntity = Parent.class)</code>.<br>
+ * The column is added to the key of the table as its affinity key, so the children are on the node of their parent and they are loaded with
+ * it
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface IgniteParent {
+
+	/**
+	 * Class of the parent table, it should have a single @IgniteId
+	 * 
+	 * @return
+	 */
+	public Class<?> value();
+}
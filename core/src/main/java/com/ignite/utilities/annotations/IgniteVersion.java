@@ -0,0 +1,15 @@
+package com.ignite.utilities.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <strong>@IgniteColumn</strong> with the version or last-modified time of the row, the same as JPA <code>@Version</code>.<br>
+ * It should increase on each change of the row, the CacheRefresher loads the rows with a greater version than the last one it loaded
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface IgniteVersion {
+}
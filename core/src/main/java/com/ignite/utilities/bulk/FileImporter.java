@@ -0,0 +1,462 @@
+package com.ignite.utilities.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.lang.IgniteBiTuple;
+
+import com.ignite.utilities.accessor.EntityAccessor;
+import com.ignite.utilities.accessor.FieldAccessor;
+import com.ignite.utilities.bulk.ValueParsers.ValueParser;
+import com.ignite.utilities.dto.ColumnDTO;
+import com.ignite.utilities.dto.ImportConfigDTO;
+import com.ignite.utilities.dto.TableDTO;
+
+/**
+ * Imports the CSV or tab separated export of a table into its cache, without going through the DB.<br>
+ * The file has a header with the names of the columns, matched with the column names of the table in any order, the columns that the table
+ * does not map are skipped and the mapped ones missing from the file are null. The file is memory-mapped in chunks cut at line boundaries,
+ * parsed in parallel into the objects of the class with the field accessors and sent with a data streamer that does not overwrite the
+ * existing keys, so it should be imported into an empty cache. The values can not contain raw line breaks, the text exports escape them as
+ * <code>\n</code>
+ */
+public class FileImporter {
+
+	private static final String CLASSNAME = "[FileImporter]";
+
+	/** Bytes read to find the end of a line */
+	private static final int LINE_SCAN_SIZE = 8_192;
+
+	/** Smallest chunk, the small files are parsed by less threads */
+	private static final long MIN_CHUNK_SIZE = 1L << 20;
+
+	/** Biggest chunk, a mapped buffer can not reach 2GB */
+	private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+	private static final byte[] UTF8_BOM = { (byte) 0xef, (byte) 0xbb, (byte) 0xbf };
+
+	private final Ignite ignite;
+	private final TableDTO tableData;
+	private final ImportConfigDTO importConfig;
+	private final IgniteLogger log;
+
+	private final EntityAccessor accessor;
+	private final ColumnDTO[] columns;
+	/** Parsers aligned with the select columns */
+	private final ValueParser[] parsers;
+	/** The primitive fields of the objects of the class keep their default on the NULL values, aligned with the select columns */
+	private final boolean[] primitives;
+
+	/**
+	 *
+	 * @param ignite
+	 * @param tableData
+	 * @param importConfig
+	 * @throws Exception
+	 *             If a column has a type that can not be parsed from text
+	 */
+	public FileImporter(Ignite ignite, TableDTO tableData, ImportConfigDTO importConfig) throws Exception {
+		this.ignite = ignite;
+		this.tableData = tableData;
+		this.importConfig = importConfig;
+		this.log = ignite.log().getLogger(FileImporter.class);
+
+		this.accessor = tableData.getTableType() != null ? EntityAccessor.forTable(tableData) : EntityAccessor.forBinary(tableData, ignite.binary());
+		this.columns = tableData.getStatements().getSelectColumns();
+		this.parsers = new ValueParser[columns.length];
+		this.primitives = new boolean[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			primitives[i] = tableData.getTableType() != null && columns[i].getFieldType().isPrimitive();
+			parsers[i] = ValueParsers.of(columns[i].getFieldType());
+			if (parsers[i] == null) {
+				throw new Exception(CLASSNAME + " [FileImporter] Column " + columns[i].getColumnName() + " of table " + tableData.getTableName()
+						+ " has the type " + columns[i].getFieldType().getName() + ", that can not be imported from text");
+			}
+		}
+	}
+
+	/**
+	 * Import the rows of the file into the cache of the table, the keys already in the cache are skipped
+	 *
+	 * @param file
+	 * @return Rows read from the file
+	 * @throws Exception
+	 *             If the file can not be read or has a value that can not be parsed, the rows of the chunks already parsed stay in the cache
+	 */
+	public long importFile(Path file) throws Exception {
+		long start = System.currentTimeMillis();
+		byte delimiter = delimiter(file);
+		boolean text = delimiter == '\t';
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			long headerEnd = lineEnd(channel, 0, size);
+			int[] fieldColumns = fieldColumns(readHeader(channel, headerEnd, delimiter, text), file);
+
+			List<long[]> chunks = chunks(channel, headerEnd, size);
+			ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(importConfig.getThreads(), chunks.size())), threadFactory());
+			IgniteDataStreamer<Object, Object> streamer = streamer();
+			boolean failed = true;
+			try {
+				List<Future<Long>> parsed = new ArrayList<>();
+				for (long[] chunk : chunks) {
+					parsed.add(executor.submit(() -> new ChunkParser(fieldColumns, delimiter, text, streamer).parse(channel, chunk[0], chunk[1])));
+				}
+
+				long rows = 0;
+				for (Future<Long> chunk : parsed) {
+					rows += chunk.get();
+				}
+				failed = false;
+
+				log.info(CLASSNAME + " Imported " + rows + " rows of " + file + " into " + tableData.getCacheName() + " in " + (System
+						.currentTimeMillis() - start) + " ms [table=" + tableData.getTableName() + ", chunks=" + chunks.size() + ']');
+				return rows;
+
+			} catch (ExecutionException ex) {
+				throw new Exception(CLASSNAME + " [importFile] Failed to import " + file + " into table " + tableData.getTableName(), ex.getCause());
+
+			} finally {
+				executor.shutdownNow();
+				// Waits for the entries already added to be sent, unless the import failed
+				streamer.close(failed);
+			}
+		}
+	}
+
+	/**
+	 * Streamer that only adds the missing keys, without writing them to the DB
+	 *
+	 * @return
+	 */
+	private IgniteDataStreamer<Object, Object> streamer() {
+		IgniteDataStreamer<Object, Object> streamer = ignite.dataStreamer(tableData.getCacheName());
+		streamer.allowOverwrite(false);
+		streamer.skipStore(true);
+		streamer.perNodeBufferSize(importConfig.getPerNodeBufferSize());
+		if (importConfig.getPerNodeParallelOperations() > 0) {
+			streamer.perNodeParallelOperations(importConfig.getPerNodeParallelOperations());
+		}
+		return streamer;
+	}
+
+	private byte delimiter(Path file) {
+		if (importConfig.getDelimiter() != 0) {
+			return (byte) importConfig.getDelimiter();
+		}
+		String fileName = file.getFileName().toString().toLowerCase();
+		return (byte) (fileName.endsWith(".tsv") || fileName.endsWith(".tab") ? '\t' : ',');
+	}
+
+	/**
+	 * Get the column of each field of the header
+	 *
+	 * @param header
+	 * @param file
+	 * @return Position of the column in the select columns, -1 for the fields that are skipped
+	 * @throws Exception
+	 *             If a key column is missing
+	 */
+	private int[] fieldColumns(List<String> header, Path file) throws Exception {
+		int[] fieldColumns = new int[header.size()];
+		boolean[] found = new boolean[columns.length];
+		for (int field = 0; field < fieldColumns.length; field++) {
+			fieldColumns[field] = -1;
+			for (int i = 0; i < columns.length; i++) {
+				if (columns[i].getColumnName().equalsIgnoreCase(header.get(field).trim())) {
+					fieldColumns[field] = i;
+					found[i] = true;
+				}
+			}
+		}
+
+		for (int i = 0; i < columns.length; i++) {
+			if (!found[i] && columns[i].isKey()) {
+				throw new Exception(CLASSNAME + " [fieldColumns] The header of " + file + " has no key column " + columns[i].getColumnName()
+						+ " of table " + tableData.getTableName());
+			}
+		}
+		return fieldColumns;
+	}
+
+	/**
+	 * Read the names of the fields of the first line
+	 *
+	 * @param channel
+	 * @param headerEnd
+	 * @param delimiter
+	 * @param text
+	 * @return
+	 * @throws IOException
+	 */
+	private static List<String> readHeader(FileChannel channel, long headerEnd, byte delimiter, boolean text) throws IOException {
+		ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerEnd);
+		int from = 0;
+		if (headerEnd >= UTF8_BOM.length && header.get(0) == UTF8_BOM[0] && header.get(1) == UTF8_BOM[1] && header.get(2) == UTF8_BOM[2]) {
+			from = UTF8_BOM.length;
+		}
+
+		List<String> names = new ArrayList<>();
+		TextField field = new TextField(text);
+		Records records = new Records(header, from, delimiter, text);
+		while (records.nextField(field)) {
+			names.add(field.toString());
+		}
+		return names;
+	}
+
+	/**
+	 * Cut the file after the header in chunks that end at the end of a line
+	 *
+	 * @param channel
+	 * @param from
+	 * @param size
+	 * @return Start and end of each chunk
+	 * @throws IOException
+	 */
+	private List<long[]> chunks(FileChannel channel, long from, long size) throws IOException {
+		// Several chunks per thread, so a thread that ends early takes the next one
+		long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(Math.min(importConfig.getChunkSize(), MAX_CHUNK_SIZE), (size - from) / (Math.max(1,
+				importConfig.getThreads()) * 4L)));
+
+		List<long[]> chunks = new ArrayList<>();
+		for (long start = from; start < size;) {
+			long end = start + chunkSize >= size ? size : lineEnd(channel, start + chunkSize - 1, size);
+			chunks.add(new long[] { start, end });
+			start = end;
+		}
+		return chunks;
+	}
+
+	/**
+	 * Find the end of the line of the position
+	 *
+	 * @param channel
+	 * @param position
+	 * @param size
+	 * @return Position after its line break, or the size if it is the last line
+	 * @throws IOException
+	 */
+	private static long lineEnd(FileChannel channel, long position, long size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(LINE_SCAN_SIZE);
+		for (long offset = position; offset < size; offset += buffer.limit()) {
+			buffer.clear();
+			channel.read(buffer, offset);
+			buffer.flip();
+			for (int i = 0; i < buffer.limit(); i++) {
+				if (buffer.get(i) == '\n') {
+					return offset + i + 1;
+				}
+			}
+		}
+		return size;
+	}
+
+	private static ThreadFactory threadFactory() {
+		AtomicInteger count = new AtomicInteger();
+		return r -> {
+			Thread thread = new Thread(r, "file-importer-" + count.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Splits the bytes of a mapped chunk into fields, the CSV ones with double quotes and the text ones with backslash escapes
+	 */
+	private static class Records {
+		private final ByteBuffer buffer;
+		private final byte delimiter;
+		private final boolean text;
+		private int position;
+		private boolean lineEnded;
+
+		Records(ByteBuffer buffer, int position, byte delimiter, boolean text) {
+			this.buffer = buffer;
+			this.position = position;
+			this.delimiter = delimiter;
+			this.text = text;
+		}
+
+		/**
+		 * Start the next line, skipping the empty ones
+		 *
+		 * @return False at the end of the chunk
+		 */
+		boolean nextLine() {
+			while (position < buffer.limit() && (buffer.get(position) == '\n' || buffer.get(position) == '\r')) {
+				position++;
+			}
+			lineEnded = false;
+			return position < buffer.limit();
+		}
+
+		/**
+		 * Read the next field of the line
+		 *
+		 * @param field
+		 * @return False at the end of the line
+		 */
+		boolean nextField(TextField field) {
+			int limit = buffer.limit();
+			if (lineEnded || position > limit) {
+				return false;
+			}
+
+			if (!text && position < limit && buffer.get(position) == '"') {
+				int start = ++position;
+				boolean escaped = false;
+				for (;; position++) {
+					if (position >= limit || buffer.get(position) == '\n') {
+						throw new IllegalArgumentException("Quoted value not closed on its line at byte " + start);
+					}
+					if (buffer.get(position) == '"') {
+						if (position + 1 < limit && buffer.get(position + 1) == '"') {
+							escaped = true;
+							position++;
+						} else {
+							break;
+						}
+					}
+				}
+				field.set(buffer, start, position++, true, escaped);
+				if (position < limit && buffer.get(position) == '\r') {
+					position++;
+				}
+				if (position < limit && buffer.get(position) != delimiter && buffer.get(position) != '\n') {
+					throw new IllegalArgumentException("Unexpected character after a quoted value at byte " + position);
+				}
+
+			} else {
+				int start = position;
+				boolean escaped = false;
+				for (; position < limit; position++) {
+					byte b = buffer.get(position);
+					if (b == delimiter || b == '\n') {
+						break;
+					}
+					if (text && b == '\\' && position + 1 < limit && buffer.get(position + 1) != '\n') {
+						escaped = true;
+						position++;
+					}
+				}
+				int end = position > start && buffer.get(position - 1) == '\r' ? position - 1 : position;
+				field.set(buffer, start, end, false, escaped);
+			}
+
+			// Past the delimiter, or past the line break at the end of the line
+			if (position >= limit || buffer.get(position) == '\n') {
+				lineEnded = true;
+			}
+			position++;
+			return true;
+		}
+
+		int getPosition() {
+			return position;
+		}
+	}
+
+	/**
+	 * Parses the lines of a chunk into binary objects and adds them to the streamer in batches
+	 */
+	private class ChunkParser {
+		private final int[] fieldColumns;
+		private final byte delimiter;
+		private final boolean text;
+		private final IgniteDataStreamer<Object, Object> streamer;
+		private final byte[] nullValue;
+
+		ChunkParser(int[] fieldColumns, byte delimiter, boolean text, IgniteDataStreamer<Object, Object> streamer) {
+			this.fieldColumns = fieldColumns;
+			this.delimiter = delimiter;
+			this.text = text;
+			this.streamer = streamer;
+			this.nullValue = importConfig.getNullValue() == null ? new byte[0] : importConfig.getNullValue().getBytes(StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * Parse the lines of the chunk
+		 *
+		 * @param channel
+		 * @param start
+		 * @param end
+		 * @return Rows parsed
+		 * @throws Exception
+		 */
+		long parse(FileChannel channel, long start, long end) throws Exception {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+			FieldAccessor[] accessors = accessor.getSelectAccessors();
+			TextField field = new TextField(text);
+			Records records = new Records(buffer, 0, delimiter, text);
+			boolean[] set = new boolean[columns.length];
+			int batchSize = Math.max(1, importConfig.getBatchSize());
+
+			List<Map.Entry<Object, Object>> batch = new ArrayList<>(batchSize);
+			long rows = 0;
+			while (records.nextLine()) {
+				int lineStart = records.getPosition();
+				Object row = accessor.newInstance();
+				int fields = 0;
+				try {
+					for (; records.nextField(field); fields++) {
+						int column = fields < fieldColumns.length ? fieldColumns[fields] : -1;
+						if (column >= 0) {
+							Object value = field.isNull(nullValue) ? null : parsers[column].parse(field);
+							if (value != null || !primitives[column]) {
+								accessors[column].set(row, value);
+							}
+							set[column] = true;
+						}
+					}
+				} catch (RuntimeException ex) {
+					throw new Exception(CLASSNAME + " [parse] Failed to parse the line at byte " + (start + lineStart) + ", field " + (fields + 1), ex);
+				}
+				if (fields != fieldColumns.length) {
+					throw new Exception(CLASSNAME + " [parse] The line at byte " + (start + lineStart) + " has " + fields + " fields, the header has "
+							+ fieldColumns.length);
+				}
+
+				// All the fields are set, so the imported rows have the same binary schema as the loaded ones
+				for (int i = 0; i < set.length; i++) {
+					if (!set[i] && !primitives[i]) {
+						accessors[i].set(row, null);
+					}
+					set[i] = false;
+				}
+
+				Object value = accessor.build(row);
+				batch.add(new IgniteBiTuple<>(accessor.cacheKey(value, ignite.binary()), value));
+				if (batch.size() == batchSize) {
+					if (Thread.currentThread().isInterrupted()) {
+						throw new InterruptedException(CLASSNAME + " [parse] Import stopped");
+					}
+					streamer.addData(batch);
+					batch = new ArrayList<>(batchSize);
+				}
+				rows++;
+			}
+
+			if (!batch.isEmpty()) {
+				streamer.addData(batch);
+			}
+			return rows;
+		}
+	}
+}
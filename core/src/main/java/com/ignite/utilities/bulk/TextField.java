@@ -0,0 +1,162 @@
+package com.ignite.utilities.bulk;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bytes of a field of the mapped file, reused for all the fields of a chunk so the numbers are parsed without creating Strings
+ */
+final class TextField {
+
+	private ByteBuffer buffer;
+	private int start;
+	private int end;
+	private boolean quoted;
+	/** The field has doubled quotes, or backslash escapes on the text files */
+	private boolean escaped;
+	private final boolean text;
+
+	private byte[] scratch = new byte[64];
+
+	/**
+	 *
+	 * @param text
+	 *            Fields of a tab separated file, with backslash escapes
+	 */
+	TextField(boolean text) {
+		this.text = text;
+	}
+
+	void set(ByteBuffer buffer, int start, int end, boolean quoted, boolean escaped) {
+		this.buffer = buffer;
+		this.start = start;
+		this.end = end;
+		this.quoted = quoted;
+		this.escaped = escaped;
+	}
+
+	/**
+	 * The unquoted empty fields and the ones with the text of the NULL values are null
+	 *
+	 * @param nullValue
+	 * @return
+	 */
+	boolean isNull(byte[] nullValue) {
+		if (quoted) {
+			return false;
+		}
+		if (start == end) {
+			return true;
+		}
+		if (end - start != nullValue.length) {
+			return false;
+		}
+		for (int i = 0; i < nullValue.length; i++) {
+			if (buffer.get(start + i) != nullValue[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Parse the field as a decimal integer
+	 *
+	 * @return
+	 * @throws NumberFormatException
+	 */
+	long toLong() {
+		// Up to 18 digits can not overflow, the longer ones are checked by Long
+		if (escaped || end - start > 18) {
+			return Long.parseLong(toString().trim());
+		}
+
+		int i = start;
+		boolean negative = false;
+		if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+			negative = buffer.get(i++) == '-';
+		}
+		if (i == end) {
+			throw new NumberFormatException("Not a number: " + toString());
+		}
+
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = buffer.get(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return Long.parseLong(toString().trim());
+			}
+			value = value * 10 + digit;
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * First byte of the field, lower case
+	 *
+	 * @return -1 if the field is empty
+	 */
+	int firstByte() {
+		return start == end ? -1 : Character.toLowerCase(buffer.get(start));
+	}
+
+	/**
+	 * Parse the field as hexadecimal bytes, with or without the <code>\x</code> or <code>0x</code> prefix
+	 *
+	 * @return
+	 */
+	byte[] toBytes() {
+		String value = toString();
+		int from = value.startsWith("\\x") || value.startsWith("0x") ? 2 : 0;
+		if ((value.length() - from) % 2 != 0) {
+			throw new IllegalArgumentException("Odd number of hexadecimal digits: " + value);
+		}
+
+		byte[] bytes = new byte[(value.length() - from) / 2];
+		for (int i = 0; i < bytes.length; i++) {
+			int high = Character.digit(value.charAt(from + 2 * i), 16);
+			int low = Character.digit(value.charAt(from + 2 * i + 1), 16);
+			if (high < 0 || low < 0) {
+				throw new IllegalArgumentException("Not hexadecimal: " + value);
+			}
+			bytes[i] = (byte) (high << 4 | low);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Decode the field as UTF-8, without its quotes or escapes
+	 */
+	@Override
+	public String toString() {
+		if (scratch.length < end - start) {
+			scratch = new byte[Math.max(end - start, scratch.length * 2)];
+		}
+
+		int length = 0;
+		for (int i = start; i < end; i++) {
+			byte b = buffer.get(i);
+			if (escaped && text && b == '\\' && i + 1 < end) {
+				b = unescape(buffer.get(++i));
+			} else if (escaped && !text && b == '"') {
+				// The first quote of a doubled one
+				i++;
+			}
+			scratch[length++] = b;
+		}
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+
+	private static byte unescape(byte b) {
+		switch (b) {
+		case 't':
+			return '\t';
+		case 'n':
+			return '\n';
+		case 'r':
+			return '\r';
+		default:
+			return b;
+		}
+	}
+}
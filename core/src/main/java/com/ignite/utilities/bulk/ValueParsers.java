@@ -0,0 +1,157 @@
+package com.ignite.utilities.bulk;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.ignite.utilities.types.ColumnTypes;
+
+/**
+ * Parsers of the text of the fields into the values of each Java type, the same ones the column types read from the DB
+ */
+final class ValueParsers {
+
+	/** Map Key: Java type, Value: its parser */
+	private static final Map<Class<?>, ValueParser> BUILT_IN = builtIn();
+
+	private ValueParsers() {
+	}
+
+	/**
+	 * Get the parser of the Java type. Besides the built-in types, the enums are parsed by name and the other types with their static
+	 * <code>valueOf(String)</code> or their String constructor
+	 *
+	 * @param fieldType
+	 *            Primitive types are parsed as their boxes
+	 * @return null if the type can not be parsed from text
+	 */
+	static ValueParser of(Class<?> fieldType) {
+		Class<?> type = fieldType.isPrimitive() ? MethodType.methodType(fieldType).wrap().returnType() : fieldType;
+		ValueParser parser = BUILT_IN.get(type);
+		if (parser != null) {
+			return parser;
+		}
+		if (type.isEnum()) {
+			return enumParser(type);
+		}
+		return fromString(type);
+	}
+
+	private static Map<Class<?>, ValueParser> builtIn() {
+		Map<Class<?>, ValueParser> parsers = new HashMap<>();
+
+		parsers.put(Long.class, TextField::toLong);
+		parsers.put(Integer.class, field -> Math.toIntExact(field.toLong()));
+		parsers.put(Short.class, field -> {
+			long value = field.toLong();
+			if (value != (short) value) {
+				throw new NumberFormatException("Out of the range of short: " + value);
+			}
+			return (short) value;
+		});
+		parsers.put(Byte.class, field -> {
+			long value = field.toLong();
+			if (value != (byte) value) {
+				throw new NumberFormatException("Out of the range of byte: " + value);
+			}
+			return (byte) value;
+		});
+		parsers.put(Double.class, field -> Double.parseDouble(field.toString()));
+		parsers.put(Float.class, field -> Float.parseFloat(field.toString()));
+		// true, t, yes, y, 1 or false, f, no, n, 0
+		parsers.put(Boolean.class, field -> {
+			int first = field.firstByte();
+			if (first == 't' || first == 'y' || first == '1') {
+				return Boolean.TRUE;
+			} else if (first == 'f' || first == 'n' || first == '0') {
+				return Boolean.FALSE;
+			}
+			throw new IllegalArgumentException("Not a boolean: " + field);
+		});
+		parsers.put(Character.class, field -> field.toString().charAt(0));
+
+		parsers.put(String.class, TextField::toString);
+		parsers.put(BigDecimal.class, field -> new BigDecimal(field.toString()));
+		parsers.put(BigInteger.class, field -> new BigInteger(field.toString()));
+		parsers.put(byte[].class, TextField::toBytes);
+		parsers.put(UUID.class, field -> UUID.fromString(field.toString()));
+
+		// The T of the ISO dates is accepted as the separator of the date and the time
+		parsers.put(Timestamp.class, field -> Timestamp.valueOf(field.toString().replace('T', ' ')));
+		parsers.put(Date.class, field -> Date.valueOf(field.toString()));
+		parsers.put(Time.class, field -> Time.valueOf(field.toString()));
+		parsers.put(java.util.Date.class, field -> new java.util.Date(Timestamp.valueOf(field.toString().replace('T', ' ')).getTime()));
+		parsers.put(LocalDate.class, field -> LocalDate.parse(field.toString()));
+		parsers.put(LocalTime.class, field -> LocalTime.parse(field.toString()));
+		parsers.put(LocalDateTime.class, field -> LocalDateTime.parse(field.toString().replace(' ', 'T')));
+		// With the Z of UTC, or as a local timestamp like the TIMESTAMP columns
+		parsers.put(Instant.class, field -> {
+			String value = field.toString();
+			return value.endsWith("Z") ? Instant.parse(value) : Timestamp.valueOf(value.replace('T', ' ')).toInstant();
+		});
+
+		return parsers;
+	}
+
+	private static ValueParser enumParser(Class<?> type) {
+		Map<String, Enum<?>> constants = ColumnTypes.enumConstants(type);
+		return field -> {
+			Enum<?> constant = constants.get(field.toString());
+			if (constant == null) {
+				throw new IllegalArgumentException("No constant " + field + " in enum " + type.getName());
+			}
+			return constant;
+		};
+	}
+
+	/**
+	 * Parser of the types with a static valueOf(String) or a String constructor
+	 *
+	 * @param type
+	 * @return null if the type has none
+	 */
+	private static ValueParser fromString(Class<?> type) {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		MethodHandle factory;
+		try {
+			factory = lookup.findStatic(type, "valueOf", MethodType.methodType(type, String.class));
+		} catch (ReflectiveOperationException e) {
+			try {
+				factory = lookup.findConstructor(type, MethodType.methodType(void.class, String.class));
+			} catch (ReflectiveOperationException ex) {
+				return null;
+			}
+		}
+
+		MethodHandle handle = factory.asType(MethodType.methodType(Object.class, String.class));
+		return field -> {
+			try {
+				return (Object) handle.invokeExact(field.toString());
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalArgumentException("Failed to create a " + type.getName() + " from " + field, e);
+			}
+		};
+	}
+
+	/**
+	 * Creates the value of a field that is not NULL
+	 */
+	@FunctionalInterface
+	interface ValueParser {
+		Object parse(TextField field);
+	}
+}
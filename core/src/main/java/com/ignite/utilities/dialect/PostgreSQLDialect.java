@@ -0,0 +1,52 @@
+package com.ignite.utilities.dialect;
+
+import java.util.Collection;
+
+import org.apache.ignite.cache.store.jdbc.dialect.BasicJdbcDialect;
+
+/**
+ * PostgreSQL dialect (9.5+), Ignite does not ship one so the upsert is built with <code>INSERT ... ON CONFLICT DO UPDATE</code>
+ */
+public class PostgreSQLDialect extends BasicJdbcDialect {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 2938340817250146391L;
+
+	@Override
+	public boolean hasMerge() {
+		return true;
+	}
+
+	@Override
+	public String mergeQuery(String fullTblName, Collection<String> keyCols, Collection<String> uniqCols) {
+		StringBuilder sb = new StringBuilder();
+
+		sb.append("INSERT INTO " + fullTblName + " (");
+		sb.append(String.join(", ", keyCols));
+		for (String col : uniqCols) {
+			sb.append(", " + col);
+		}
+
+		sb.append(") VALUES (");
+		for (int i = 0; i < keyCols.size() + uniqCols.size(); i++) {
+			sb.append(i == 0 ? "?" : ", ?");
+		}
+
+		sb.append(") ON CONFLICT (" + String.join(", ", keyCols) + ")");
+
+		if (uniqCols.isEmpty()) {
+			sb.append(" DO NOTHING");
+		} else {
+			sb.append(" DO UPDATE SET ");
+			boolean first = true;
+			for (String col : uniqCols) {
+				sb.append((first ? "" : ", ") + col + " = EXCLUDED." + col);
+				first = false;
+			}
+		}
+
+		return sb.toString();
+	}
+}
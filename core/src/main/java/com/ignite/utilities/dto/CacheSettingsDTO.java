@@ -0,0 +1,56 @@
+package com.ignite.utilities.dto;
+
+import java.io.Serializable;
+
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cache.CacheMode;
+import org.apache.ignite.cache.CacheRebalanceMode;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataPageEvictionMode;
+
+import lombok.Data;
+
+/**
+ * Settings of a cache declared with @IgniteCache, the defaults are used by the tables without it
+ */
+@Data
+public class CacheSettingsDTO implements Serializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -2730866251583473381L;
+
+	private CacheAtomicityMode atomicityMode = CacheAtomicityMode.ATOMIC;
+	private CacheMode cacheMode = CacheMode.PARTITIONED;
+	private int backups;
+	private int partitions = RendezvousAffinityFunction.DFLT_PARTITION_COUNT;
+
+	private boolean writeBehindEnabled = true;
+	private int writeBehindBatchSize = CacheConfiguration.DFLT_WRITE_BEHIND_BATCH_SIZE;
+	private int writeBehindFlushThreadCount = CacheConfiguration.DFLT_WRITE_FROM_BEHIND_FLUSH_THREAD_CNT;
+	private int writeBehindFlushSize = CacheConfiguration.DFLT_WRITE_BEHIND_FLUSH_SIZE;
+	private long writeBehindFlushFrequency = 250;
+	private boolean writeBehindCoalescing = CacheConfiguration.DFLT_WRITE_BEHIND_COALESCING;
+
+	private CacheRebalanceMode rebalanceMode = CacheRebalanceMode.ASYNC;
+	private int rebalanceBatchSize = CacheConfiguration.DFLT_REBALANCE_BATCH_SIZE;
+	private long rebalanceThrottle = CacheConfiguration.DFLT_REBALANCE_THROTTLE;
+	private long rebalanceDelay;
+
+	/** Empty for the default region */
+	private String dataRegion = "";
+	/** MB */
+	private long dataRegionInitialSize;
+	/** MB */
+	private long dataRegionMaxSize;
+	private DataPageEvictionMode pageEvictionMode = DataPageEvictionMode.RANDOM_2_LRU;
+	private boolean persistenceEnabled;
+
+	private int onheapCacheMaxSize;
+	private int nearCacheMaxSize;
+	/** Ms */
+	private long expiryTtl;
+	private boolean expiryOnAccess;
+}
@@ -0,0 +1,25 @@
+package com.ignite.utilities.dto;
+
+import java.io.Serializable;
+
+import lombok.Data;
+
+@Data
+public class ColumnDTO implements Serializable {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 4471306588021593622L;
+
+	private boolean isKey;
+	private String columnName;
+	private String fieldName;
+	private Class<?> fieldType;
+	/** Key column that chooses the partition of the keys with several columns */
+	private boolean isAffinityKey;
+	/** Binary type of the parent table when the column has the key of the parent row, null otherwise */
+	private String parentTypeName;
+	/** Column with the version of the row, used to refresh the changed rows */
+	private boolean isVersion;
+}
@@ -0,0 +1,53 @@
+package com.ignite.utilities.dto;
+
+import java.io.Serializable;
+
+import lombok.Data;
+
+/**
+ * Settings of the imports of the table export files into the caches
+ */
+@Data
+public class ImportConfigDTO implements Serializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 5348021579236183904L;
+
+	/** Default max bytes of the file parsed as a single chunk */
+	public static final long DFLT_CHUNK_SIZE = 64L << 20;
+
+	/** Default entries buffered per node by the data streamer before they are sent */
+	public static final int DFLT_PER_NODE_BUFFER_SIZE = 4_096;
+
+	/** Default entries handed to the data streamer at once by each parser */
+	public static final int DFLT_BATCH_SIZE = 1_024;
+
+	/** Default text of the NULL values, the one of the PostgreSQL and MySQL text exports */
+	public static final String DFLT_NULL_VALUE = "\\N";
+
+	/**
+	 * Separator of the columns, 0 to choose it from the extension of the file: tab for .tsv and .tab, comma for the others.<br>
+	 * The tab separated files have the backslash escapes of the text exports, the others the double quotes of CSV
+	 */
+	private char delimiter;
+
+	/** Text of the NULL values besides the empty fields, the quoted empty fields are empty strings */
+	private String nullValue = DFLT_NULL_VALUE;
+
+	/** Chunks of the file parsed in parallel */
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	/** Max bytes of the file parsed as a single chunk, the small files are split so each thread gets several chunks */
+	private long chunkSize = DFLT_CHUNK_SIZE;
+
+	/** Entries buffered per node by the data streamer before they are sent */
+	private int perNodeBufferSize = DFLT_PER_NODE_BUFFER_SIZE;
+
+	/** Buffers being sent at once to each node, 0 for the default of the data streamer */
+	private int perNodeParallelOperations;
+
+	/** Entries handed to the data streamer at once by each parser */
+	private int batchSize = DFLT_BATCH_SIZE;
+}
@@ -0,0 +1,21 @@
+package com.ignite.utilities.dto;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+
+import lombok.Data;
+
+@Data
+public class IndexDTO implements Serializable {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -5230870467541183020L;
+
+	/** Null to let Ignite generate it */
+	private String indexName;
+	/** Key: fieldName, Value: true if ascending */
+	private LinkedHashMap<String, Boolean> fields = new LinkedHashMap<>();
+	private int inlineSize;
+}
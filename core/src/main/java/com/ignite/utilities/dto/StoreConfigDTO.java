@@ -0,0 +1,98 @@
+package com.ignite.utilities.dto;
+
+import java.io.Serializable;
+
+import com.ignite.utilities.metrics.JmxStoreMetrics;
+import com.ignite.utilities.metrics.StoreMetricsSpi;
+
+import lombok.Data;
+
+/**
+ * Settings of the generated CacheStore, shared by all the caches
+ */
+@Data
+public class StoreConfigDTO implements Serializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -3021766481327146108L;
+
+	/** Default max number of rows sent to the DB in a single JDBC batch */
+	public static final int DFLT_BATCH_SIZE = 512;
+
+	/** Default prepared statements cached per pooled connection */
+	public static final int DFLT_STATEMENT_CACHE_SIZE = 64;
+
+	/** Default ms a pooled connection can be idle before being validated, or waited for when all of them are borrowed */
+	public static final long DFLT_POOL_TIMEOUT = 30_000;
+
+	/** Default DB workers of the write pipeline of each cache */
+	public static final int DFLT_PIPELINE_WORKERS = 4;
+
+	/** Default batches queued per worker of the write pipeline */
+	public static final int DFLT_PIPELINE_QUEUE_SIZE = 16;
+
+	/** Default ms between the polls of the CacheRefresher */
+	public static final long DFLT_REFRESH_INTERVAL = 1_000;
+
+	/** Default rows read per page by the CacheRefresher */
+	public static final int DFLT_REFRESH_PAGE_SIZE = 1_000;
+
+	/** Max number of rows sent to the DB in a single JDBC batch, also max keys per loadAll query */
+	private int batchSize = DFLT_BATCH_SIZE;
+
+	/** JDBC fetch size of the load queries, 0 to use the one of the dialect */
+	private int fetchSize;
+
+	/** Number of key ranges loaded in parallel per table on loadCache */
+	private int loadThreads = Runtime.getRuntime().availableProcessors();
+
+	/** On loadCache each node selects only the rows of its partitions, the cache uses the ModuloAffinityFunction */
+	private boolean partitionAwareLoad;
+
+	/** The stores write and load binary objects, so the server nodes do not deserialize the values nor need their classes */
+	private boolean keepBinary;
+
+	/** Creates the metrics of each table of the stores, by default registered as MBeans */
+	private StoreMetricsSpi metrics = new JmxStoreMetrics();
+
+	/** Keep a fingerprint of the last written or loaded values of each key, the writes that do not change them are skipped */
+	private boolean skipUnchanged;
+
+	/** The write-behind flushes only queue their rows, the workers of the write pipeline of each cache write them on their own connections */
+	private boolean pipelinedWrites;
+
+	/** Workers of the write pipeline of each cache, each key is always written by the same one */
+	private int pipelineWorkers = DFLT_PIPELINE_WORKERS;
+
+	/** Batches queued per worker of the write pipeline, when its queue is full the flushes wait */
+	private int pipelineQueueSize = DFLT_PIPELINE_QUEUE_SIZE;
+
+	/** Max ms a flush waits for room on a full queue, then it fails and the write-behind retries its rows. 0 to wait until there is room */
+	private long pipelineQueueTimeout;
+
+	/** Wrap the DataSource factory with the built-in ConnectionPool */
+	private boolean connectionPool;
+
+	/** Max connections of the pool, 0 to size it from the load threads, the write-behind flush threads and the store sessions */
+	private int poolSize;
+
+	/** Store sessions of read-through and write-through operations expected at once on a node, only used to size the pool by default */
+	private int storeSessions = Runtime.getRuntime().availableProcessors();
+
+	/** Prepared statements cached per pooled connection, 0 to not cache them */
+	private int statementCacheSize = DFLT_STATEMENT_CACHE_SIZE;
+
+	/** Pooled connections idle longer than this (ms) are validated before being borrowed */
+	private long poolValidationIdle = DFLT_POOL_TIMEOUT;
+
+	/** Max ms to wait for a pooled connection when all of them are borrowed */
+	private long poolBorrowTimeout = DFLT_POOL_TIMEOUT;
+
+	/** Ms between the end of a poll of the CacheRefresher and the start of the next one */
+	private long refreshInterval = DFLT_REFRESH_INTERVAL;
+
+	/** Max rows of the changed rows read at once by the CacheRefresher */
+	private int refreshPageSize = DFLT_REFRESH_PAGE_SIZE;
+}
@@ -0,0 +1,30 @@
+package com.ignite.utilities.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class TableDTO implements Serializable {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -1450886151145546940L;
+
+	private String tableName;
+	private String cacheName;
+	private Class<?> tableType;
+	/** Name of the binary type, on keep-binary mode it is sent to the server nodes instead of the tableType */
+	private String typeName;
+	/** Type of the cache keys when the table has several key columns, the key class generated by the processor. Null if the key is the value of its key column */
+	private String keyTypeName;
+	/** Caches of the tables whose parent is this table, their rows are loaded with the rows of this table */
+	private List<String> childCaches;
+	private List<ColumnDTO> columns;
+	private List<IndexDTO> indexes;
+	private TableStatementsDTO statements;
+	/** Declared with @IgniteCache, null to use the defaults */
+	private CacheSettingsDTO cacheSettings;
+}
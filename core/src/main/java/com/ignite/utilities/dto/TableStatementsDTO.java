@@ -0,0 +1,52 @@
+package com.ignite.utilities.dto;
+
+import java.io.Serializable;
+
+import lombok.Data;
+
+/**
+ * SQL statements of a table and the columns in the order their parameters are set
+ */
+@Data
+public class TableStatementsDTO implements Serializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -5148297019470635918L;
+
+	private String insertQuery;
+	private String updateQuery;
+	private String mergeQuery;
+	private String selectQuery;
+	private String deleteQuery;
+	/** Select of the rows whose key is in a list of <code>loadAllKeyCount</code> keys */
+	private String loadAllQuery;
+	private int loadAllKeyCount;
+	/** Select of the rows whose parent key is in a list of <code>parentKeyCount</code> keys, null if the table has no parent */
+	private String parentQuery;
+	private int parentKeyCount;
+	/** Select of the rows with lower key &lt;= key &lt;= upper key, of all the rows if the key is not an integer or has several columns */
+	private String loadRangeQuery;
+	/** Select of the min and max key of the table, null if the key is not an integer or has several columns */
+	private String keyRangeQuery;
+
+	/** Select of the rows with a greater version, ordered by version. Null if the table has no version column */
+	private String refreshQuery;
+	/** Select of the rows with any version, ordered by version */
+	private String refreshAllQuery;
+	/** Select of the rows with a version */
+	private String refreshVersionQuery;
+	/** Select of the max version of the table */
+	private String maxVersionQuery;
+	/** Key columns, parameters of the delete and select queries */
+	private ColumnDTO[] keyColumns;
+	/** Non key columns */
+	private ColumnDTO[] valueColumns;
+	/** Keys followed by values, parameters of the insert and merge queries */
+	private ColumnDTO[] insertParams;
+	/** Values followed by keys, parameters of the update query */
+	private ColumnDTO[] updateParams;
+	/** All the columns in the mapped order, result of the select query */
+	private ColumnDTO[] selectColumns;
+}
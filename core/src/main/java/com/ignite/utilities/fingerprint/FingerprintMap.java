@@ -0,0 +1,185 @@
+package com.ignite.utilities.fingerprint;
+
+/**
+ * Map of primitive long keys to their fingerprints, with open addressing on two long arrays so each key takes 16 bytes plus the free slots and
+ * no objects are created per key.<br>
+ * It is split in segments with their own lock, so the flusher threads of a cache rarely wait for each other
+ */
+public class FingerprintMap {
+
+	/** Returned for the keys without fingerprint, {@link Fingerprints} never creates it */
+	public static final long NONE = 0;
+
+	private static final int SEGMENTS = 64;
+
+	private final Segment[] segments = new Segment[SEGMENTS];
+
+	public FingerprintMap() {
+		for (int i = 0; i < SEGMENTS; i++) {
+			segments[i] = new Segment();
+		}
+	}
+
+	/**
+	 * Get the fingerprint of the key
+	 *
+	 * @param key
+	 * @return {@link #NONE} if there is none
+	 */
+	public long get(long key) {
+		long hash = mix(key);
+		return segment(hash).get(key, hash);
+	}
+
+	public void put(long key, long fingerprint) {
+		long hash = mix(key);
+		segment(hash).put(key, hash, fingerprint, true);
+	}
+
+	/**
+	 * Set the fingerprint only if the key has none, used for the loaded rows so they never replace the one of a newer write
+	 *
+	 * @param key
+	 * @param fingerprint
+	 */
+	public void putIfAbsent(long key, long fingerprint) {
+		long hash = mix(key);
+		segment(hash).put(key, hash, fingerprint, false);
+	}
+
+	public void remove(long key) {
+		long hash = mix(key);
+		segment(hash).remove(key, hash);
+	}
+
+	public void clear() {
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	public long size() {
+		long size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	private Segment segment(long hash) {
+		// The high bits choose the segment, the low ones the slot inside it
+		return segments[(int) (hash >>> 58)];
+	}
+
+	/**
+	 * Finalizer of MurmurHash3, so consecutive keys are spread over all the segments and slots
+	 *
+	 * @param key
+	 * @return
+	 */
+	static long mix(long key) {
+		long h = key;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * Linear probing table, the slots without fingerprint are free
+	 */
+	private static class Segment {
+
+		private static final int INITIAL_CAPACITY = 64;
+
+		private long[] keys = new long[INITIAL_CAPACITY];
+		private long[] fingerprints = new long[INITIAL_CAPACITY];
+		private int size;
+
+		synchronized long get(long key, long hash) {
+			int mask = keys.length - 1;
+			for (int i = (int) hash & mask; fingerprints[i] != NONE; i = (i + 1) & mask) {
+				if (keys[i] == key) {
+					return fingerprints[i];
+				}
+			}
+			return NONE;
+		}
+
+		synchronized void put(long key, long hash, long fingerprint, boolean replace) {
+			int mask = keys.length - 1;
+			int i = (int) hash & mask;
+			for (; fingerprints[i] != NONE; i = (i + 1) & mask) {
+				if (keys[i] == key) {
+					if (replace) {
+						fingerprints[i] = fingerprint;
+					}
+					return;
+				}
+			}
+
+			keys[i] = key;
+			fingerprints[i] = fingerprint;
+			// Resized at 3/4, so there are always free slots ending the probes
+			if (++size > keys.length * 3 / 4) {
+				resize();
+			}
+		}
+
+		synchronized void remove(long key, long hash) {
+			int mask = keys.length - 1;
+			int i = (int) hash & mask;
+			while (fingerprints[i] != NONE && keys[i] != key) {
+				i = (i + 1) & mask;
+			}
+			if (fingerprints[i] == NONE) {
+				return;
+			}
+
+			// Move back the next keys of the probe so none of them is left after a free slot
+			int free = i;
+			for (int j = (free + 1) & mask; fingerprints[j] != NONE; j = (j + 1) & mask) {
+				int home = (int) mix(keys[j]) & mask;
+				boolean movable = free <= j ? home <= free || home > j : home <= free && home > j;
+				if (movable) {
+					keys[free] = keys[j];
+					fingerprints[free] = fingerprints[j];
+					free = j;
+				}
+			}
+			fingerprints[free] = NONE;
+			size--;
+		}
+
+		synchronized void clear() {
+			keys = new long[INITIAL_CAPACITY];
+			fingerprints = new long[INITIAL_CAPACITY];
+			size = 0;
+		}
+
+		synchronized int size() {
+			return size;
+		}
+
+		private void resize() {
+			long[] oldKeys = keys;
+			long[] oldFingerprints = fingerprints;
+			keys = new long[oldKeys.length * 2];
+			fingerprints = new long[oldKeys.length * 2];
+
+			int mask = keys.length - 1;
+			for (int j = 0; j < oldKeys.length; j++) {
+				if (oldFingerprints[j] != NONE) {
+					int i = (int) mix(oldKeys[j]) & mask;
+					while (fingerprints[i] != NONE) {
+						i = (i + 1) & mask;
+					}
+					keys[i] = oldKeys[j];
+					fingerprints[i] = oldFingerprints[j];
+				}
+			}
+		}
+	}
+}
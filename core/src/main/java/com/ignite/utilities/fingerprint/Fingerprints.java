@@ -0,0 +1,192 @@
+package com.ignite.utilities.fingerprint;
+
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+import org.apache.ignite.binary.BinaryObject;
+
+import com.ignite.utilities.accessor.EntityAccessor;
+import com.ignite.utilities.accessor.FieldAccessor;
+import com.ignite.utilities.dto.ColumnDTO;
+
+/**
+ * 64 bits hash of the column values of a row, two rows with the same fingerprint are taken as equal so the hash of each value uses all its
+ * bits and not its 32 bits hashCode.<br>
+ * Only the types of {@link #isSupported(Class)} have such a hash, the stores do not skip the writes of the tables with other column types
+ */
+public class Fingerprints {
+
+	private static final long PRIME = 0x100000001b3L;
+	private static final long SEED = 0xcbf29ce484222325L;
+	private static final long NULL = 0x9e3779b97f4a7c15L;
+
+	private static final long NANOS_PER_SECOND = 1_000_000_000L;
+	private static final long NANOS_PER_DAY = 86_400L * NANOS_PER_SECOND;
+
+	private Fingerprints() {
+	}
+
+	/**
+	 * Check if the values of the type are hashed from all their bits, without allocating
+	 *
+	 * @param fieldType
+	 * @return
+	 */
+	public static boolean isSupported(Class<?> fieldType) {
+		Class<?> type = MethodType.methodType(fieldType).wrap().returnType();
+		if (Number.class.isAssignableFrom(type)) {
+			return type.getName().startsWith("java.lang.") || type == BigDecimal.class || type == BigInteger.class;
+		}
+		return type == String.class || type == Boolean.class || type == Character.class || type == byte[].class || type == UUID.class
+				|| type.isEnum() || Date.class.isAssignableFrom(type) || type == LocalDate.class || type == LocalTime.class
+				|| type == LocalDateTime.class || type == Instant.class || type == OffsetDateTime.class || type == ZonedDateTime.class;
+	}
+
+	/**
+	 * Fingerprint of the values of the columns that are not keys
+	 *
+	 * @param params
+	 * @param accessors
+	 *            Accessors aligned with the params
+	 * @param value
+	 * @return Never {@link FingerprintMap#NONE}
+	 */
+	public static long of(ColumnDTO[] params, FieldAccessor[] accessors, Object value) {
+		long h = SEED;
+		for (int i = 0; i < params.length; i++) {
+			if (!params[i].isKey()) {
+				h = FingerprintMap.mix((h ^ hash(accessors[i].get(value))) * PRIME);
+			}
+		}
+		return h == FingerprintMap.NONE ? 1 : h;
+	}
+
+	/**
+	 * 64 bits hash of the cache key, used as the key of the {@link FingerprintMap}. Different Long keys never have the same hash
+	 *
+	 * @param accessor
+	 * @param key
+	 * @return
+	 */
+	public static long ofKey(EntityAccessor accessor, Object key) {
+		long h = SEED;
+		for (int i = 0; i < accessor.getKeyAccessors().length; i++) {
+			h = FingerprintMap.mix((h ^ hash(accessor.keyColumn(key, i))) * PRIME);
+		}
+		return h;
+	}
+
+	static long hash(Object value) {
+		if (value == null) {
+			return NULL;
+		}
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).longValue();
+		}
+		if (value instanceof String) {
+			return hash((String) value);
+		}
+		if (value instanceof Double) {
+			return Double.doubleToLongBits((Double) value);
+		}
+		if (value instanceof Float) {
+			return Float.floatToIntBits((Float) value);
+		}
+		if (value instanceof Boolean) {
+			return (Boolean) value ? 1 : 2;
+		}
+		if (value instanceof Character) {
+			return (Character) value;
+		}
+		if (value instanceof BigDecimal) {
+			// 1.0 and 1.00 are different values for the DB columns with a scale
+			BigDecimal decimal = (BigDecimal) value;
+			return FingerprintMap.mix(hash(decimal.unscaledValue()) ^ decimal.scale());
+		}
+		if (value instanceof BigInteger) {
+			BigInteger integer = (BigInteger) value;
+			return integer.bitLength() < 64 ? integer.longValue() : FingerprintMap.mix(integer.longValue()) ^ integer.hashCode();
+		}
+		if (value instanceof java.sql.Timestamp) {
+			java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+			return timestamp.getTime() * 31 + timestamp.getNanos();
+		}
+		if (value instanceof Date) {
+			return ((Date) value).getTime();
+		}
+		if (value instanceof Enum) {
+			return ((Enum<?>) value).ordinal() + 1;
+		}
+		if (value instanceof BinaryObject) {
+			// The enums and the other objects of the caches kept in binary
+			BinaryObject binary = (BinaryObject) value;
+			return binary.type().isEnum() ? binary.enumOrdinal() + 1 : hash((Object) binary.deserialize());
+		}
+		if (value instanceof byte[]) {
+			return hash((byte[]) value);
+		}
+		if (value instanceof UUID) {
+			UUID uuid = (UUID) value;
+			return FingerprintMap.mix(uuid.getMostSignificantBits()) ^ uuid.getLeastSignificantBits();
+		}
+		if (value instanceof LocalDate) {
+			return ((LocalDate) value).toEpochDay();
+		}
+		if (value instanceof LocalTime) {
+			return ((LocalTime) value).toNanoOfDay();
+		}
+		if (value instanceof LocalDateTime) {
+			LocalDateTime dateTime = (LocalDateTime) value;
+			return dateTime.toLocalDate().toEpochDay() * NANOS_PER_DAY + dateTime.toLocalTime().toNanoOfDay();
+		}
+		if (value instanceof Instant) {
+			return hash((Instant) value);
+		}
+		if (value instanceof OffsetDateTime) {
+			OffsetDateTime dateTime = (OffsetDateTime) value;
+			return hash(dateTime.toInstant()) * 31 + dateTime.getOffset().getTotalSeconds();
+		}
+		if (value instanceof ZonedDateTime) {
+			ZonedDateTime dateTime = (ZonedDateTime) value;
+			return hash(dateTime.toInstant()) * 31 + dateTime.getOffset().getTotalSeconds();
+		}
+		// Not reached for the column types of isSupported, the other ones have the 32 bits hashCode only
+		return FingerprintMap.mix(value.hashCode());
+	}
+
+	private static long hash(Instant value) {
+		return value.getEpochSecond() * NANOS_PER_SECOND + value.getNano();
+	}
+
+	/**
+	 * FNV-1a of the chars
+	 *
+	 * @param value
+	 * @return
+	 */
+	private static long hash(String value) {
+		long h = SEED;
+		for (int i = 0; i < value.length(); i++) {
+			h = (h ^ value.charAt(i)) * PRIME;
+		}
+		// The length ends the string, so the values of consecutive columns can not be moved from one to the other
+		return (h ^ value.length()) * PRIME;
+	}
+
+	private static long hash(byte[] value) {
+		long h = SEED;
+		for (byte b : value) {
+			h = (h ^ (b & 0xff)) * PRIME;
+		}
+		return (h ^ value.length) * PRIME;
+	}
+}
@@ -0,0 +1,210 @@
+package com.ignite.utilities.lazy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.configuration.Factory;
+import javax.sql.DataSource;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.cache.store.jdbc.dialect.JdbcDialect;
+import org.apache.ignite.configuration.CacheConfiguration;
+
+import com.ignite.utilities.GenerateCacheConfiguration;
+import com.ignite.utilities.dto.TableDTO;
+
+/**
+ * Starts the caches of the mapped tables on demand, so the node startup and its exchanges only cost the caches that are used.<br>
+ * The configuration of a cache is generated when it is first asked and the cache is started then. The hot caches are started together by a
+ * single <code>getOrCreateCaches</code>, so they cost one exchange instead of one per cache. A cache is always started with the caches of its
+ * child tables, so the children are loaded with their parents
+ */
+public class LazyCacheRegistry {
+
+	private static final String CLASSNAME = "[LazyCacheRegistry]";
+
+	private final Ignite ignite;
+	private final Factory<DataSource> dataSourceFactory;
+	private final JdbcDialect dialect;
+	/** Map Key: cacheName, Value: Tables with that cache */
+	private final Map<String, List<TableDTO>> cacheTables;
+	private final IgniteLogger log;
+
+	/** Map Key: cacheName, Value: the started cache */
+	private final Map<String, IgniteCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+	/** Map Key: cacheName, Value: ms taken to generate and start the caches started on demand, with their child caches */
+	private final Map<String, Long> startTimes = new ConcurrentHashMap<>();
+
+	/** ms taken to generate the configurations of the hot caches */
+	private long configurationTime;
+	/** ms taken to generate and start the hot caches */
+	private long startupTime;
+
+	/**
+	 * The tables should be already related, and the factory be the one given to the stores so all the caches share its pool
+	 *
+	 * @param ignite
+	 * @param dataSourceFactory
+	 * @param dialect
+	 * @param cacheTables
+	 *            Tables of each cache
+	 */
+	public LazyCacheRegistry(Ignite ignite, Factory<DataSource> dataSourceFactory, JdbcDialect dialect, Map<String, List<TableDTO>> cacheTables) {
+		this.ignite = ignite;
+		this.dataSourceFactory = dataSourceFactory;
+		this.dialect = dialect;
+		this.cacheTables = cacheTables;
+		this.log = ignite.log().getLogger(LazyCacheRegistry.class);
+	}
+
+	/**
+	 * Start the hot caches with a single exchange, the others are started when they are first asked
+	 *
+	 * @param hotCaches
+	 * @throws Exception
+	 *             If a cache is not mapped or its configuration can not be generated
+	 */
+	public void start(Collection<String> hotCaches) throws Exception {
+		long start = System.nanoTime();
+		long generated = startCaches(hotCaches);
+		// No configuration was generated if there are no hot caches
+		configurationTime = generated != 0 ? TimeUnit.NANOSECONDS.toMillis(generated - start) : 0;
+		startupTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		log.info(CLASSNAME + " Started " + caches.size() + " of " + cacheTables.size() + " caches in " + startupTime + " ms, "
+				+ configurationTime + " ms to generate their configurations");
+	}
+
+	/**
+	 * Get the cache, started on the first call
+	 *
+	 * @param cacheName
+	 * @return
+	 * @throws Exception
+	 *             If the cache is not mapped or its configuration can not be generated
+	 */
+	@SuppressWarnings("unchecked")
+	public <K, V> IgniteCache<K, V> cache(String cacheName) throws Exception {
+		IgniteCache<?, ?> cache = caches.get(cacheName);
+		if (cache == null) {
+			long start = System.nanoTime();
+			if (startCaches(Collections.singletonList(cacheName)) != 0) {
+				long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				startTimes.put(cacheName, time);
+				log.info(CLASSNAME + " Started cache " + cacheName + " on demand in " + time + " ms");
+			}
+			cache = caches.get(cacheName);
+		}
+		return (IgniteCache<K, V>) cache;
+	}
+
+	/**
+	 * Get the cache of the mapped class, started on the first call
+	 *
+	 * @param tableClass
+	 * @return
+	 * @throws Exception
+	 *             If the class is not mapped or the configuration of its cache can not be generated
+	 */
+	public <K, V> IgniteCache<K, V> cache(Class<?> tableClass) throws Exception {
+		for (Map.Entry<String, List<TableDTO>> tablesPerCache : cacheTables.entrySet()) {
+			for (TableDTO tableData : tablesPerCache.getValue()) {
+				if (tableData.getTableType() == tableClass) {
+					return cache(tablesPerCache.getKey());
+				}
+			}
+		}
+		throw new Exception(CLASSNAME + " [cache] " + tableClass.getName() + " is not a mapped class");
+	}
+
+	/**
+	 * Generate and start the caches not started yet with their child caches, all of them with a single exchange. Synchronized so each cache
+	 * is started once, the caches already started are read without lock
+	 *
+	 * @param cacheNames
+	 * @return System.nanoTime() once the configurations were generated, 0 if all the caches were already started
+	 * @throws Exception
+	 */
+	@SuppressWarnings("rawtypes")
+	private synchronized long startCaches(Collection<String> cacheNames) throws Exception {
+		Set<String> pending = new LinkedHashSet<>();
+		Deque<String> toVisit = new ArrayDeque<>(cacheNames);
+		while (!toVisit.isEmpty()) {
+			String cacheName = toVisit.poll();
+			if (caches.containsKey(cacheName) || !pending.add(cacheName)) {
+				continue;
+			}
+			List<TableDTO> tablesPerCache = cacheTables.get(cacheName);
+			if (tablesPerCache == null) {
+				throw new Exception(CLASSNAME + " [startCaches] No table is mapped to the cache " + cacheName);
+			}
+			for (TableDTO tableData : tablesPerCache) {
+				if (tableData.getChildCaches() != null) {
+					toVisit.addAll(tableData.getChildCaches());
+				}
+			}
+		}
+		if (pending.isEmpty()) {
+			return 0;
+		}
+
+		List<CacheConfiguration> cacheConfigs = new ArrayList<>();
+		for (String cacheName : pending) {
+			cacheConfigs.add(GenerateCacheConfiguration.generateCacheConfiguration(cacheName, dataSourceFactory, dialect));
+		}
+		long generated = System.nanoTime();
+
+		for (IgniteCache<?, ?> cache : ignite.getOrCreateCaches(cacheConfigs)) {
+			caches.put(cache.getName(), cache);
+		}
+		return generated;
+	}
+
+	/**
+	 * Get the names of the caches started, hot or on demand
+	 *
+	 * @return
+	 */
+	public Set<String> getStartedCaches() {
+		return Collections.unmodifiableSet(caches.keySet());
+	}
+
+	/**
+	 * Get the ms taken to generate and start the hot caches
+	 *
+	 * @return
+	 */
+	public long getStartupTime() {
+		return startupTime;
+	}
+
+	/**
+	 * Get the ms taken to generate the configurations of the hot caches, the rest of the startup time is the exchange
+	 *
+	 * @return
+	 */
+	public long getConfigurationTime() {
+		return configurationTime;
+	}
+
+	/**
+	 * Get the ms taken by the caches started on demand, to generate and start each one with its child caches
+	 *
+	 * @return Map Key: cacheName, Value: ms
+	 */
+	public Map<String, Long> getStartTimes() {
+		return Collections.unmodifiableMap(startTimes);
+	}
+}
@@ -0,0 +1,107 @@
+package com.ignite.utilities.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of positive values, each power of two is split in 8 buckets so any percentile is within 12.5% of the real
+ * value, as the HDR histograms do with 1 significant digit. Recording is a few atomic increments, with no allocation
+ */
+public class Histogram {
+
+	/** Sub-buckets per power of two, as bits */
+	private static final int SUB_BITS = 3;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+	/** Up to the highest bit of the positive longs */
+	private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+	/**
+	 * Add a value, the negative ones are recorded as 0
+	 *
+	 * @param value
+	 */
+	public void record(long value) {
+		long positive = Math.max(0, value);
+		counts.incrementAndGet(index(positive));
+		count.increment();
+		sum.add(positive);
+		max.accumulate(positive);
+	}
+
+	/**
+	 * Get the value under which are the given fraction of the recorded ones
+	 *
+	 * @param fraction
+	 *            From 0 to 1, e.g. 0.99 for the 99th percentile
+	 * @return The highest value of the bucket of the percentile, 0 if nothing was recorded
+	 */
+	public long percentile(double fraction) {
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			total += counts.get(i);
+		}
+		if (total == 0) {
+			return 0;
+		}
+
+		long target = Math.max(1, (long) Math.ceil(fraction * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= target) {
+				// The max is more precise than the end of its bucket
+				return Math.min(i == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(i + 1) - 1, getMax());
+			}
+		}
+		return getMax();
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long values = count.sum();
+		return values == 0 ? 0 : (double) sum.sum() / values;
+	}
+
+	/**
+	 * Remove all the recorded values, the ones recorded meanwhile could be partially kept
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		count.reset();
+		sum.reset();
+		max.reset();
+	}
+
+	static int index(long value) {
+		if (value < SUB_COUNT) {
+			return (int) value;
+		}
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+		return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+	}
+
+	static long lowerBound(int index) {
+		if (index < SUB_COUNT) {
+			return index;
+		}
+		int exponent = index / SUB_COUNT + SUB_BITS - 1;
+		int sub = index % SUB_COUNT;
+		return (long) (SUB_COUNT + sub) << (exponent - SUB_BITS);
+	}
+}
@@ -0,0 +1,60 @@
+package com.ignite.utilities.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Default metrics, a {@link StoreTableMetrics} per table registered on the platform MBean server.<br>
+ * The stores of the same table on the nodes of a JVM share its metrics
+ */
+public class JmxStoreMetrics implements StoreMetricsSpi {
+
+	private static final long serialVersionUID = 5182730961148021264L;
+
+	private static final String CLASSNAME = "[JmxStoreMetrics]";
+
+	public static final String DOMAIN = "com.ignite.utilities";
+
+	/** Map Key: MBean name, Value: metrics of the table */
+	private static final ConcurrentMap<ObjectName, StoreTableMetrics> METRICS = new ConcurrentHashMap<>();
+
+	@Override
+	public TableMetrics tableMetrics(String cacheName, String tableName) throws Exception {
+		ObjectName name = objectName(cacheName, tableName);
+
+		StoreTableMetrics metrics = METRICS.get(name);
+		if (metrics != null) {
+			return metrics;
+		}
+
+		synchronized (METRICS) {
+			metrics = METRICS.get(name);
+			if (metrics == null) {
+				metrics = new StoreTableMetrics();
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				if (server.isRegistered(name)) {
+					throw new Exception(CLASSNAME + " [tableMetrics] MBean already registered by another class loader " + name);
+				}
+				server.registerMBean(metrics, name);
+				METRICS.put(name, metrics);
+			}
+			return metrics;
+		}
+	}
+
+	/**
+	 * Name of the MBean of a table
+	 *
+	 * @param cacheName
+	 * @param tableName
+	 * @return
+	 * @throws Exception
+	 */
+	public static ObjectName objectName(String cacheName, String tableName) throws Exception {
+		return new ObjectName(DOMAIN + ":type=StoreMetrics,cache=" + ObjectName.quote(cacheName) + ",table=" + ObjectName.quote(tableName));
+	}
+}
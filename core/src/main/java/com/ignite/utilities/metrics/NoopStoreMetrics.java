@@ -0,0 +1,49 @@
+package com.ignite.utilities.metrics;
+
+/**
+ * Metrics disabled, all the events are ignored
+ */
+public class NoopStoreMetrics implements StoreMetricsSpi {
+
+	private static final long serialVersionUID = -1394715042846412267L;
+
+	private static final TableMetrics NOOP = new TableMetrics() {
+
+		@Override
+		public void onPrepare(long nanos) {
+		}
+
+		@Override
+		public void onBind(int rows, long nanos) {
+		}
+
+		@Override
+		public void onExecute(long nanos) {
+		}
+
+		@Override
+		public void onLoad(int rows) {
+		}
+
+		@Override
+		public void onWrite(int rows, int inserted) {
+		}
+
+		@Override
+		public void onDelete(int rows) {
+		}
+
+		@Override
+		public void onFlush(int rows) {
+		}
+
+		@Override
+		public void onError(String operation) {
+		}
+	};
+
+	@Override
+	public TableMetrics tableMetrics(String cacheName, String tableName) {
+		return NOOP;
+	}
+}
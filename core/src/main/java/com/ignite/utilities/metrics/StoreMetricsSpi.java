@@ -0,0 +1,20 @@
+package com.ignite.utilities.metrics;
+
+import java.io.Serializable;
+
+/**
+ * Creates the metrics of each table written by the generated CacheStore.<br>
+ * Set on the StoreConfigDTO, so it is serialized with the store factory to the server nodes. {@link JmxStoreMetrics} by default
+ */
+public interface StoreMetricsSpi extends Serializable {
+
+	/**
+	 * Get the metrics of a table, called once per table by each store
+	 *
+	 * @param cacheName
+	 * @param tableName
+	 * @return
+	 * @throws Exception
+	 */
+	TableMetrics tableMetrics(String cacheName, String tableName) throws Exception;
+}
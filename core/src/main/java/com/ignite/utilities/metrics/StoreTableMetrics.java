@@ -0,0 +1,190 @@
+package com.ignite.utilities.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and histograms of a table, recording an event costs a few atomic increments so they can stay enabled on production
+ */
+public class StoreTableMetrics implements TableMetrics, StoreTableMetricsMXBean {
+
+	private final LongAdder loads = new LongAdder();
+	private final LongAdder writes = new LongAdder();
+	private final LongAdder deletes = new LongAdder();
+	private final LongAdder fallbackInserts = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+	/** Rows on the write pipeline, not reset */
+	private final LongAdder queuedRows = new LongAdder();
+
+	/** Map Key: operation, Value: failures */
+	private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+	private final Histogram prepareNanos = new Histogram();
+	private final Histogram bindNanos = new Histogram();
+	private final Histogram executeNanos = new Histogram();
+	private final Histogram batchSizes = new Histogram();
+	private final Histogram rowsPerFlush = new Histogram();
+	private final Histogram queueWaitNanos = new Histogram();
+
+	@Override
+	public void onPrepare(long nanos) {
+		prepareNanos.record(nanos);
+	}
+
+	@Override
+	public void onBind(int rows, long nanos) {
+		bindNanos.record(nanos);
+		batchSizes.record(rows);
+	}
+
+	@Override
+	public void onExecute(long nanos) {
+		executeNanos.record(nanos);
+	}
+
+	@Override
+	public void onLoad(int rows) {
+		loads.add(rows);
+	}
+
+	@Override
+	public void onWrite(int rows, int inserted) {
+		writes.add(rows);
+		fallbackInserts.add(inserted);
+	}
+
+	@Override
+	public void onSkip(int rows) {
+		skipped.add(rows);
+	}
+
+	@Override
+	public void onDelete(int rows) {
+		deletes.add(rows);
+	}
+
+	@Override
+	public void onFlush(int rows) {
+		rowsPerFlush.record(rows);
+	}
+
+	@Override
+	public void onEnqueue(int rows) {
+		queuedRows.add(rows);
+	}
+
+	@Override
+	public void onDequeue(int rows, long waitNanos) {
+		queuedRows.add(-rows);
+		queueWaitNanos.record(waitNanos);
+	}
+
+	@Override
+	public void onError(String operation) {
+		errors.computeIfAbsent(operation, o -> new LongAdder()).increment();
+	}
+
+	@Override
+	public long getLoads() {
+		return loads.sum();
+	}
+
+	@Override
+	public long getWrites() {
+		return writes.sum();
+	}
+
+	@Override
+	public long getDeletes() {
+		return deletes.sum();
+	}
+
+	@Override
+	public long getFallbackInserts() {
+		return fallbackInserts.sum();
+	}
+
+	@Override
+	public long getSkippedWrites() {
+		return skipped.sum();
+	}
+
+	@Override
+	public long getQueuedRows() {
+		return queuedRows.sum();
+	}
+
+	@Override
+	public double getFallbackInsertRatio() {
+		long written = writes.sum();
+		return written == 0 ? 0 : (double) fallbackInserts.sum() / written;
+	}
+
+	@Override
+	public Map<String, Long> getErrors() {
+		Map<String, Long> counts = new TreeMap<>();
+		errors.forEach((operation, count) -> counts.put(operation, count.sum()));
+		return counts;
+	}
+
+	@Override
+	public Map<String, Long> getPrepareNanos() {
+		return summary(prepareNanos);
+	}
+
+	@Override
+	public Map<String, Long> getBindNanos() {
+		return summary(bindNanos);
+	}
+
+	@Override
+	public Map<String, Long> getExecuteNanos() {
+		return summary(executeNanos);
+	}
+
+	@Override
+	public Map<String, Long> getBatchSizes() {
+		return summary(batchSizes);
+	}
+
+	@Override
+	public Map<String, Long> getRowsPerFlush() {
+		return summary(rowsPerFlush);
+	}
+
+	@Override
+	public Map<String, Long> getQueueWaitNanos() {
+		return summary(queueWaitNanos);
+	}
+
+	@Override
+	public void resetMetrics() {
+		loads.reset();
+		writes.reset();
+		deletes.reset();
+		fallbackInserts.reset();
+		skipped.reset();
+		errors.clear();
+		prepareNanos.reset();
+		bindNanos.reset();
+		executeNanos.reset();
+		batchSizes.reset();
+		rowsPerFlush.reset();
+		queueWaitNanos.reset();
+	}
+
+	private static Map<String, Long> summary(Histogram histogram) {
+		Map<String, Long> summary = new LinkedHashMap<>();
+		summary.put("count", histogram.getCount());
+		summary.put("mean", Math.round(histogram.getMean()));
+		summary.put("p50", histogram.percentile(0.5));
+		summary.put("p90", histogram.percentile(0.9));
+		summary.put("p99", histogram.percentile(0.99));
+		summary.put("max", histogram.getMax());
+		return summary;
+	}
+}
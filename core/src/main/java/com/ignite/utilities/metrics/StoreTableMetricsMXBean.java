@@ -0,0 +1,86 @@
+package com.ignite.utilities.metrics;
+
+import java.util.Map;
+
+/**
+ * Metrics of the generated CacheStore on a table, registered as
+ * <code>com.ignite.utilities:type=StoreMetrics,cache=&lt;cache&gt;,table=&lt;table&gt;</code>.<br>
+ * The distributions are maps with the keys count, mean, p50, p90, p99 and max
+ */
+public interface StoreTableMetricsMXBean {
+
+	long getLoads();
+
+	long getWrites();
+
+	long getDeletes();
+
+	/**
+	 * Rows inserted because the UPDATE did not find them
+	 *
+	 * @return
+	 */
+	long getFallbackInserts();
+
+	/**
+	 * Rows not written because they had not changed
+	 *
+	 * @return
+	 */
+	long getSkippedWrites();
+
+	/**
+	 * Rows of the write-behind flushes waiting on the write pipeline, or being written by its workers
+	 *
+	 * @return
+	 */
+	long getQueuedRows();
+
+	/**
+	 * Fraction of the written rows that needed the INSERT after the UPDATE
+	 *
+	 * @return
+	 */
+	double getFallbackInsertRatio();
+
+	/**
+	 * Map Key: operation, Value: number of failures
+	 *
+	 * @return
+	 */
+	Map<String, Long> getErrors();
+
+	Map<String, Long> getPrepareNanos();
+
+	/**
+	 * Time to set the parameters of each batch
+	 *
+	 * @return
+	 */
+	Map<String, Long> getBindNanos();
+
+	Map<String, Long> getExecuteNanos();
+
+	/**
+	 * Rows per JDBC batch
+	 *
+	 * @return
+	 */
+	Map<String, Long> getBatchSizes();
+
+	/**
+	 * Entries per writeAll
+	 *
+	 * @return
+	 */
+	Map<String, Long> getRowsPerFlush();
+
+	/**
+	 * Time the rows waited on the write pipeline
+	 *
+	 * @return
+	 */
+	Map<String, Long> getQueueWaitNanos();
+
+	void resetMetrics();
+}
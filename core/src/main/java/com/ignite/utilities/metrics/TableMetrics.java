@@ -0,0 +1,94 @@
+package com.ignite.utilities.metrics;
+
+/**
+ * Events of the generated CacheStore on a table, called from the threads of the store so the implementations must be thread safe and should
+ * not block. The times are per statement or per JDBC batch, never per row
+ */
+public interface TableMetrics {
+
+	/**
+	 * Statement prepared
+	 *
+	 * @param nanos
+	 */
+	void onPrepare(long nanos);
+
+	/**
+	 * Parameters set for a JDBC batch of writes or deletes
+	 *
+	 * @param rows
+	 * @param nanos
+	 */
+	void onBind(int rows, long nanos);
+
+	/**
+	 * Query or JDBC batch executed
+	 *
+	 * @param nanos
+	 */
+	void onExecute(long nanos);
+
+	/**
+	 * Rows read by load, loadAll or loadCache
+	 *
+	 * @param rows
+	 */
+	void onLoad(int rows);
+
+	/**
+	 * Rows written by a batch
+	 *
+	 * @param rows
+	 * @param inserted
+	 *            Rows inserted because the UPDATE did not find them, always 0 with the merge queries
+	 */
+	void onWrite(int rows, int inserted);
+
+	/**
+	 * Rows not written because they did not change since they were last written or loaded
+	 *
+	 * @param rows
+	 */
+	default void onSkip(int rows) {
+	}
+
+	/**
+	 * Rows deleted by a batch
+	 *
+	 * @param rows
+	 */
+	void onDelete(int rows);
+
+	/**
+	 * Entries of the table received on a writeAll, usually a write-behind flush
+	 *
+	 * @param rows
+	 */
+	void onFlush(int rows);
+
+	/**
+	 * Rows of a write-behind flush queued on the write pipeline
+	 *
+	 * @param rows
+	 */
+	default void onEnqueue(int rows) {
+	}
+
+	/**
+	 * Rows taken from the write pipeline by its worker
+	 *
+	 * @param rows
+	 * @param waitNanos
+	 *            Time they were queued
+	 */
+	default void onDequeue(int rows, long waitNanos) {
+	}
+
+	/**
+	 * Operation failed
+	 *
+	 * @param operation
+	 *            load, loadAll, loadCache, write, delete or pipeline, the last one when the pipeline is full or drops a batch
+	 */
+	void onError(String operation);
+}
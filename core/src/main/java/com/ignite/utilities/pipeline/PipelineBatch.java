@@ -0,0 +1,28 @@
+package com.ignite.utilities.pipeline;
+
+/**
+ * Writes queued on a {@link WritePipeline}, written by its worker on its own connection and transaction
+ */
+public interface PipelineBatch {
+
+	/**
+	 * Write and commit the batch, called again if it fails
+	 *
+	 * @throws Exception
+	 */
+	void write() throws Exception;
+
+	/**
+	 * Rows of the batch
+	 *
+	 * @return
+	 */
+	int size();
+
+	/**
+	 * Called when the pipeline is closed and the last attempt failed, the batch is dropped
+	 *
+	 * @param ex
+	 */
+	void onDrop(Exception ex);
+}
@@ -0,0 +1,213 @@
+package com.ignite.utilities.pipeline;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ignite.IgniteLogger;
+
+/**
+ * Bounded queues of write batches drained by dedicated DB workers, so a write-behind flush only waits for the DB when the queues are full.<br>
+ * Each key always goes to the same worker, so the writes of a key reach the DB in the order they were queued while the batches of different
+ * workers run in parallel. The workers are virtual threads when the JVM has them.<br>
+ * A failed batch is retried with a capped exponential backoff until it is written, meanwhile the queue of its worker fills and the flushes
+ * wait for room. Only once the pipeline is closed a batch that keeps failing is dropped
+ */
+public class WritePipeline {
+
+	private static final String CLASSNAME = "[WritePipeline]";
+
+	/** Delay before the second attempt of a batch, doubled on each failure up to the max */
+	private static final long RETRY_DELAY_MILLIS = 100;
+	private static final long MAX_RETRY_DELAY_MILLIS = 5_000;
+
+	/** Attempts of a batch once the pipeline is closed, before it is dropped */
+	private static final int CLOSED_ATTEMPTS = 3;
+
+	/** Queued after the last batch of each worker when the pipeline is closed */
+	private static final PipelineBatch STOP = new PipelineBatch() {
+
+		@Override
+		public void write() {
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		@Override
+		public void onDrop(Exception ex) {
+		}
+	};
+
+	private final String name;
+	private final IgniteLogger log;
+	private final Worker[] workers;
+	private volatile boolean closed;
+
+	/**
+	 * Create the pipeline and start its workers
+	 *
+	 * @param name
+	 *            Prefix of the worker threads
+	 * @param workers
+	 * @param queueSize
+	 *            Batches queued per worker
+	 * @param log
+	 */
+	public WritePipeline(String name, int workers, int queueSize, IgniteLogger log) {
+		this.name = name;
+		this.log = log;
+		this.workers = new Worker[Math.max(1, workers)];
+
+		ThreadFactory threadFactory = threadFactory(name);
+		for (int i = 0; i < this.workers.length; i++) {
+			this.workers[i] = new Worker(Math.max(1, queueSize));
+			this.workers[i].thread = threadFactory.newThread(this.workers[i]);
+			this.workers[i].thread.start();
+		}
+	}
+
+	/**
+	 * Get the worker of the key
+	 *
+	 * @param key
+	 * @return
+	 */
+	public int worker(Object key) {
+		int h = key.hashCode() * 0x9e3779b9;
+		return Math.floorMod(h ^ (h >>> 16), workers.length);
+	}
+
+	public int getWorkers() {
+		return workers.length;
+	}
+
+	/**
+	 * Queue the batch on the worker, waiting for room if its queue is full
+	 *
+	 * @param worker
+	 * @param batch
+	 * @param timeoutMillis
+	 *            0 to wait until there is room
+	 * @return False if the queue was still full after the timeout
+	 * @throws InterruptedException
+	 */
+	public boolean submit(int worker, PipelineBatch batch, long timeoutMillis) throws InterruptedException {
+		if (closed) {
+			throw new IllegalStateException(CLASSNAME + " [submit] Pipeline " + name + " already closed");
+		}
+
+		BlockingQueue<PipelineBatch> queue = workers[worker].queue;
+		if (timeoutMillis == 0) {
+			queue.put(batch);
+			return true;
+		}
+		return queue.offer(batch, timeoutMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Batches waiting on the queues, without the ones being written
+	 *
+	 * @return
+	 */
+	public int getQueuedBatches() {
+		int queued = 0;
+		for (Worker worker : workers) {
+			queued += worker.queue.size();
+		}
+		return queued;
+	}
+
+	/**
+	 * Stop accepting batches and wait until the workers write the queued ones, from now on a batch that keeps failing is dropped
+	 *
+	 * @throws InterruptedException
+	 */
+	public void close() throws InterruptedException {
+		closed = true;
+		for (Worker worker : workers) {
+			worker.queue.put(STOP);
+		}
+		for (Worker worker : workers) {
+			worker.thread.join();
+		}
+	}
+
+	/**
+	 * Factory of virtual threads on Java 21 or later, of daemon platform threads before it
+	 *
+	 * @param name
+	 * @return
+	 */
+	private static ThreadFactory threadFactory(String name) {
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+		} catch (ReflectiveOperationException e) {
+			AtomicInteger count = new AtomicInteger();
+			return r -> {
+				Thread thread = new Thread(r, name + "-" + count.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			};
+		}
+	}
+
+	/**
+	 * Writes the batches of its queue one after the other
+	 */
+	private class Worker implements Runnable {
+
+		private final BlockingQueue<PipelineBatch> queue;
+		private Thread thread;
+
+		Worker(int queueSize) {
+			this.queue = new ArrayBlockingQueue<>(queueSize);
+		}
+
+		@Override
+		public void run() {
+			try {
+				for (PipelineBatch batch = queue.take(); batch != STOP; batch = queue.take()) {
+					write(batch);
+				}
+			} catch (InterruptedException e) {
+				log.warning(CLASSNAME + " [run] Worker interrupted, " + queue.size() + " batches not written [pipeline=" + name + ']');
+			}
+		}
+
+		private void write(PipelineBatch batch) throws InterruptedException {
+			long delay = RETRY_DELAY_MILLIS;
+			int closedAttempts = 0;
+			for (int attempt = 1;; attempt++) {
+				try {
+					batch.write();
+					if (attempt > 1) {
+						log.info(CLASSNAME + " [write] Wrote a batch of " + batch.size() + " rows after " + attempt + " attempts [pipeline=" + name
+								+ ']');
+					}
+					return;
+
+				} catch (Exception ex) {
+					if (closed && ++closedAttempts == CLOSED_ATTEMPTS) {
+						log.error(CLASSNAME + " [write] Dropped a batch of " + batch.size() + " rows after " + attempt
+								+ " attempts, the pipeline is closed [pipeline=" + name + ']', ex);
+						batch.onDrop(ex);
+						return;
+					}
+					log.warning(CLASSNAME + " [write] Failed to write a batch of " + batch.size() + " rows, attempt " + attempt + ", retrying in "
+							+ delay + " ms [pipeline=" + name + ']', ex);
+					Thread.sleep(delay);
+					delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+				}
+			}
+		}
+	}
+}
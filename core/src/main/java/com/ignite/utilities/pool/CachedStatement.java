@@ -0,0 +1,770 @@
+package com.ignite.utilities.pool;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * Statement kept open on the cache of a {@link PooledConnection}, closing it only resets it.<br>
+ * A plain delegate instead of a dynamic proxy, so the typed binders of the stores reach the driver without reflection nor boxing
+ */
+class CachedStatement implements PreparedStatement {
+
+	private static final String CLASSNAME = "[CachedStatement]";
+
+	private final PooledConnection owner;
+	private final PreparedStatement physicalStatement;
+	private boolean inUse;
+	/** Rows added to the batch and not executed yet */
+	private boolean batched;
+	/** Removed from the cache while in use, closed when released */
+	private boolean evicted;
+
+	CachedStatement(PooledConnection owner, PreparedStatement physicalStatement) {
+		this.owner = owner;
+		this.physicalStatement = physicalStatement;
+	}
+
+	boolean isInUse() {
+		return inUse;
+	}
+
+	/**
+	 * Give the statement to a caller
+	 *
+	 * @return
+	 */
+	CachedStatement use() {
+		inUse = true;
+		return this;
+	}
+
+	/**
+	 * Leave the statement ready for the next caller, or close it if it was evicted
+	 *
+	 * @throws SQLException
+	 */
+	void release() throws SQLException {
+		inUse = false;
+		if (evicted) {
+			physicalStatement.close();
+			return;
+		}
+		if (batched) {
+			physicalStatement.clearBatch();
+			batched = false;
+		}
+		physicalStatement.clearParameters();
+	}
+
+	/**
+	 * Removed from the cache, closed now or once the caller closes it
+	 */
+	void evict() {
+		evicted = true;
+		if (!inUse) {
+			try {
+				physicalStatement.close();
+			} catch (SQLException e) {
+				// Only the cache uses it
+			}
+		}
+	}
+
+	private void checkInUse(String method) throws SQLException {
+		if (!inUse) {
+			throw new SQLException(CLASSNAME + " [" + method + "] Statement already closed");
+		}
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if (inUse) {
+			release();
+		}
+	}
+
+	@Override
+	public boolean isClosed() {
+		return !inUse;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		checkInUse("getConnection");
+		return owner.getCurrent();
+	}
+
+	@Override
+	public void addBatch() throws SQLException {
+		checkInUse("addBatch");
+		batched = true;
+		physicalStatement.addBatch();
+	}
+
+	@Override
+	public void addBatch(String sql) throws SQLException {
+		checkInUse("addBatch");
+		batched = true;
+		physicalStatement.addBatch(sql);
+	}
+
+	@Override
+	public int[] executeBatch() throws SQLException {
+		checkInUse("executeBatch");
+		batched = false;
+		return physicalStatement.executeBatch();
+	}
+
+	@Override
+	public long[] executeLargeBatch() throws SQLException {
+		checkInUse("executeLargeBatch");
+		batched = false;
+		return physicalStatement.executeLargeBatch();
+	}
+
+	@Override
+	public void clearBatch() throws SQLException {
+		checkInUse("clearBatch");
+		batched = false;
+		physicalStatement.clearBatch();
+	}
+
+	@Override
+	public String toString() {
+		return CLASSNAME + " " + physicalStatement;
+	}
+
+	@Override
+	public ResultSet executeQuery(String sql) throws SQLException {
+		checkInUse("executeQuery");
+		return physicalStatement.executeQuery(sql);
+	}
+
+	@Override
+	public int executeUpdate(String sql) throws SQLException {
+		checkInUse("executeUpdate");
+		return physicalStatement.executeUpdate(sql);
+	}
+
+	@Override
+	public int getMaxFieldSize() throws SQLException {
+		checkInUse("getMaxFieldSize");
+		return physicalStatement.getMaxFieldSize();
+	}
+
+	@Override
+	public void setMaxFieldSize(int max) throws SQLException {
+		checkInUse("setMaxFieldSize");
+		physicalStatement.setMaxFieldSize(max);
+	}
+
+	@Override
+	public int getMaxRows() throws SQLException {
+		checkInUse("getMaxRows");
+		return physicalStatement.getMaxRows();
+	}
+
+	@Override
+	public void setMaxRows(int max) throws SQLException {
+		checkInUse("setMaxRows");
+		physicalStatement.setMaxRows(max);
+	}
+
+	@Override
+	public void setEscapeProcessing(boolean enable) throws SQLException {
+		checkInUse("setEscapeProcessing");
+		physicalStatement.setEscapeProcessing(enable);
+	}
+
+	@Override
+	public int getQueryTimeout() throws SQLException {
+		checkInUse("getQueryTimeout");
+		return physicalStatement.getQueryTimeout();
+	}
+
+	@Override
+	public void setQueryTimeout(int seconds) throws SQLException {
+		checkInUse("setQueryTimeout");
+		physicalStatement.setQueryTimeout(seconds);
+	}
+
+	@Override
+	public void cancel() throws SQLException {
+		checkInUse("cancel");
+		physicalStatement.cancel();
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		checkInUse("getWarnings");
+		return physicalStatement.getWarnings();
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+		checkInUse("clearWarnings");
+		physicalStatement.clearWarnings();
+	}
+
+	@Override
+	public void setCursorName(String name) throws SQLException {
+		checkInUse("setCursorName");
+		physicalStatement.setCursorName(name);
+	}
+
+	@Override
+	public boolean execute(String sql) throws SQLException {
+		checkInUse("execute");
+		return physicalStatement.execute(sql);
+	}
+
+	@Override
+	public ResultSet getResultSet() throws SQLException {
+		checkInUse("getResultSet");
+		return physicalStatement.getResultSet();
+	}
+
+	@Override
+	public int getUpdateCount() throws SQLException {
+		checkInUse("getUpdateCount");
+		return physicalStatement.getUpdateCount();
+	}
+
+	@Override
+	public boolean getMoreResults() throws SQLException {
+		checkInUse("getMoreResults");
+		return physicalStatement.getMoreResults();
+	}
+
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		checkInUse("setFetchDirection");
+		physicalStatement.setFetchDirection(direction);
+	}
+
+	@Override
+	public int getFetchDirection() throws SQLException {
+		checkInUse("getFetchDirection");
+		return physicalStatement.getFetchDirection();
+	}
+
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		checkInUse("setFetchSize");
+		physicalStatement.setFetchSize(rows);
+	}
+
+	@Override
+	public int getFetchSize() throws SQLException {
+		checkInUse("getFetchSize");
+		return physicalStatement.getFetchSize();
+	}
+
+	@Override
+	public int getResultSetConcurrency() throws SQLException {
+		checkInUse("getResultSetConcurrency");
+		return physicalStatement.getResultSetConcurrency();
+	}
+
+	@Override
+	public int getResultSetType() throws SQLException {
+		checkInUse("getResultSetType");
+		return physicalStatement.getResultSetType();
+	}
+
+	@Override
+	public boolean getMoreResults(int current) throws SQLException {
+		checkInUse("getMoreResults");
+		return physicalStatement.getMoreResults(current);
+	}
+
+	@Override
+	public ResultSet getGeneratedKeys() throws SQLException {
+		checkInUse("getGeneratedKeys");
+		return physicalStatement.getGeneratedKeys();
+	}
+
+	@Override
+	public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		checkInUse("executeUpdate");
+		return physicalStatement.executeUpdate(sql, autoGeneratedKeys);
+	}
+
+	@Override
+	public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		checkInUse("executeUpdate");
+		return physicalStatement.executeUpdate(sql, columnIndexes);
+	}
+
+	@Override
+	public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+		checkInUse("executeUpdate");
+		return physicalStatement.executeUpdate(sql, columnNames);
+	}
+
+	@Override
+	public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+		checkInUse("execute");
+		return physicalStatement.execute(sql, autoGeneratedKeys);
+	}
+
+	@Override
+	public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+		checkInUse("execute");
+		return physicalStatement.execute(sql, columnIndexes);
+	}
+
+	@Override
+	public boolean execute(String sql, String[] columnNames) throws SQLException {
+		checkInUse("execute");
+		return physicalStatement.execute(sql, columnNames);
+	}
+
+	@Override
+	public int getResultSetHoldability() throws SQLException {
+		checkInUse("getResultSetHoldability");
+		return physicalStatement.getResultSetHoldability();
+	}
+
+	@Override
+	public void setPoolable(boolean poolable) throws SQLException {
+		checkInUse("setPoolable");
+		physicalStatement.setPoolable(poolable);
+	}
+
+	@Override
+	public boolean isPoolable() throws SQLException {
+		checkInUse("isPoolable");
+		return physicalStatement.isPoolable();
+	}
+
+	@Override
+	public void closeOnCompletion() throws SQLException {
+		checkInUse("closeOnCompletion");
+		physicalStatement.closeOnCompletion();
+	}
+
+	@Override
+	public boolean isCloseOnCompletion() throws SQLException {
+		checkInUse("isCloseOnCompletion");
+		return physicalStatement.isCloseOnCompletion();
+	}
+
+	@Override
+	public long getLargeUpdateCount() throws SQLException {
+		checkInUse("getLargeUpdateCount");
+		return physicalStatement.getLargeUpdateCount();
+	}
+
+	@Override
+	public void setLargeMaxRows(long max) throws SQLException {
+		checkInUse("setLargeMaxRows");
+		physicalStatement.setLargeMaxRows(max);
+	}
+
+	@Override
+	public long getLargeMaxRows() throws SQLException {
+		checkInUse("getLargeMaxRows");
+		return physicalStatement.getLargeMaxRows();
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql) throws SQLException {
+		checkInUse("executeLargeUpdate");
+		return physicalStatement.executeLargeUpdate(sql);
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		checkInUse("executeLargeUpdate");
+		return physicalStatement.executeLargeUpdate(sql, autoGeneratedKeys);
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		checkInUse("executeLargeUpdate");
+		return physicalStatement.executeLargeUpdate(sql, columnIndexes);
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+		checkInUse("executeLargeUpdate");
+		return physicalStatement.executeLargeUpdate(sql, columnNames);
+	}
+
+	@Override
+	public ResultSet executeQuery() throws SQLException {
+		checkInUse("executeQuery");
+		return physicalStatement.executeQuery();
+	}
+
+	@Override
+	public int executeUpdate() throws SQLException {
+		checkInUse("executeUpdate");
+		return physicalStatement.executeUpdate();
+	}
+
+	@Override
+	public void setNull(int parameterIndex, int sqlType) throws SQLException {
+		checkInUse("setNull");
+		physicalStatement.setNull(parameterIndex, sqlType);
+	}
+
+	@Override
+	public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+		checkInUse("setBoolean");
+		physicalStatement.setBoolean(parameterIndex, x);
+	}
+
+	@Override
+	public void setByte(int parameterIndex, byte x) throws SQLException {
+		checkInUse("setByte");
+		physicalStatement.setByte(parameterIndex, x);
+	}
+
+	@Override
+	public void setShort(int parameterIndex, short x) throws SQLException {
+		checkInUse("setShort");
+		physicalStatement.setShort(parameterIndex, x);
+	}
+
+	@Override
+	public void setInt(int parameterIndex, int x) throws SQLException {
+		checkInUse("setInt");
+		physicalStatement.setInt(parameterIndex, x);
+	}
+
+	@Override
+	public void setLong(int parameterIndex, long x) throws SQLException {
+		checkInUse("setLong");
+		physicalStatement.setLong(parameterIndex, x);
+	}
+
+	@Override
+	public void setFloat(int parameterIndex, float x) throws SQLException {
+		checkInUse("setFloat");
+		physicalStatement.setFloat(parameterIndex, x);
+	}
+
+	@Override
+	public void setDouble(int parameterIndex, double x) throws SQLException {
+		checkInUse("setDouble");
+		physicalStatement.setDouble(parameterIndex, x);
+	}
+
+	@Override
+	public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+		checkInUse("setBigDecimal");
+		physicalStatement.setBigDecimal(parameterIndex, x);
+	}
+
+	@Override
+	public void setString(int parameterIndex, String x) throws SQLException {
+		checkInUse("setString");
+		physicalStatement.setString(parameterIndex, x);
+	}
+
+	@Override
+	public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+		checkInUse("setBytes");
+		physicalStatement.setBytes(parameterIndex, x);
+	}
+
+	@Override
+	public void setDate(int parameterIndex, Date x) throws SQLException {
+		checkInUse("setDate");
+		physicalStatement.setDate(parameterIndex, x);
+	}
+
+	@Override
+	public void setTime(int parameterIndex, Time x) throws SQLException {
+		checkInUse("setTime");
+		physicalStatement.setTime(parameterIndex, x);
+	}
+
+	@Override
+	public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+		checkInUse("setTimestamp");
+		physicalStatement.setTimestamp(parameterIndex, x);
+	}
+
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		checkInUse("setAsciiStream");
+		physicalStatement.setAsciiStream(parameterIndex, x, length);
+	}
+
+	@Override
+	@Deprecated
+	public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		checkInUse("setUnicodeStream");
+		physicalStatement.setUnicodeStream(parameterIndex, x, length);
+	}
+
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		checkInUse("setBinaryStream");
+		physicalStatement.setBinaryStream(parameterIndex, x, length);
+	}
+
+	@Override
+	public void clearParameters() throws SQLException {
+		checkInUse("clearParameters");
+		physicalStatement.clearParameters();
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+		checkInUse("setObject");
+		physicalStatement.setObject(parameterIndex, x, targetSqlType);
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x) throws SQLException {
+		checkInUse("setObject");
+		physicalStatement.setObject(parameterIndex, x);
+	}
+
+	@Override
+	public boolean execute() throws SQLException {
+		checkInUse("execute");
+		return physicalStatement.execute();
+	}
+
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+		checkInUse("setCharacterStream");
+		physicalStatement.setCharacterStream(parameterIndex, reader, length);
+	}
+
+	@Override
+	public void setRef(int parameterIndex, Ref x) throws SQLException {
+		checkInUse("setRef");
+		physicalStatement.setRef(parameterIndex, x);
+	}
+
+	@Override
+	public void setBlob(int parameterIndex, Blob x) throws SQLException {
+		checkInUse("setBlob");
+		physicalStatement.setBlob(parameterIndex, x);
+	}
+
+	@Override
+	public void setClob(int parameterIndex, Clob x) throws SQLException {
+		checkInUse("setClob");
+		physicalStatement.setClob(parameterIndex, x);
+	}
+
+	@Override
+	public void setArray(int parameterIndex, Array x) throws SQLException {
+		checkInUse("setArray");
+		physicalStatement.setArray(parameterIndex, x);
+	}
+
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		checkInUse("getMetaData");
+		return physicalStatement.getMetaData();
+	}
+
+	@Override
+	public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+		checkInUse("setDate");
+		physicalStatement.setDate(parameterIndex, x, cal);
+	}
+
+	@Override
+	public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+		checkInUse("setTime");
+		physicalStatement.setTime(parameterIndex, x, cal);
+	}
+
+	@Override
+	public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+		checkInUse("setTimestamp");
+		physicalStatement.setTimestamp(parameterIndex, x, cal);
+	}
+
+	@Override
+	public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+		checkInUse("setNull");
+		physicalStatement.setNull(parameterIndex, sqlType, typeName);
+	}
+
+	@Override
+	public void setURL(int parameterIndex, URL x) throws SQLException {
+		checkInUse("setURL");
+		physicalStatement.setURL(parameterIndex, x);
+	}
+
+	@Override
+	public ParameterMetaData getParameterMetaData() throws SQLException {
+		checkInUse("getParameterMetaData");
+		return physicalStatement.getParameterMetaData();
+	}
+
+	@Override
+	public void setRowId(int parameterIndex, RowId x) throws SQLException {
+		checkInUse("setRowId");
+		physicalStatement.setRowId(parameterIndex, x);
+	}
+
+	@Override
+	public void setNString(int parameterIndex, String value) throws SQLException {
+		checkInUse("setNString");
+		physicalStatement.setNString(parameterIndex, value);
+	}
+
+	@Override
+	public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
+		checkInUse("setNCharacterStream");
+		physicalStatement.setNCharacterStream(parameterIndex, value, length);
+	}
+
+	@Override
+	public void setNClob(int parameterIndex, NClob value) throws SQLException {
+		checkInUse("setNClob");
+		physicalStatement.setNClob(parameterIndex, value);
+	}
+
+	@Override
+	public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+		checkInUse("setClob");
+		physicalStatement.setClob(parameterIndex, reader, length);
+	}
+
+	@Override
+	public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+		checkInUse("setBlob");
+		physicalStatement.setBlob(parameterIndex, inputStream, length);
+	}
+
+	@Override
+	public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+		checkInUse("setNClob");
+		physicalStatement.setNClob(parameterIndex, reader, length);
+	}
+
+	@Override
+	public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+		checkInUse("setSQLXML");
+		physicalStatement.setSQLXML(parameterIndex, xmlObject);
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+		checkInUse("setObject");
+		physicalStatement.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+	}
+
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+		checkInUse("setAsciiStream");
+		physicalStatement.setAsciiStream(parameterIndex, x, length);
+	}
+
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+		checkInUse("setBinaryStream");
+		physicalStatement.setBinaryStream(parameterIndex, x, length);
+	}
+
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+		checkInUse("setCharacterStream");
+		physicalStatement.setCharacterStream(parameterIndex, reader, length);
+	}
+
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+		checkInUse("setAsciiStream");
+		physicalStatement.setAsciiStream(parameterIndex, x);
+	}
+
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+		checkInUse("setBinaryStream");
+		physicalStatement.setBinaryStream(parameterIndex, x);
+	}
+
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+		checkInUse("setCharacterStream");
+		physicalStatement.setCharacterStream(parameterIndex, reader);
+	}
+
+	@Override
+	public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+		checkInUse("setNCharacterStream");
+		physicalStatement.setNCharacterStream(parameterIndex, value);
+	}
+
+	@Override
+	public void setClob(int parameterIndex, Reader reader) throws SQLException {
+		checkInUse("setClob");
+		physicalStatement.setClob(parameterIndex, reader);
+	}
+
+	@Override
+	public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+		checkInUse("setBlob");
+		physicalStatement.setBlob(parameterIndex, inputStream);
+	}
+
+	@Override
+	public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+		checkInUse("setNClob");
+		physicalStatement.setNClob(parameterIndex, reader);
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+		checkInUse("setObject");
+		physicalStatement.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+		checkInUse("setObject");
+		physicalStatement.setObject(parameterIndex, x, targetSqlType);
+	}
+
+	@Override
+	public long executeLargeUpdate() throws SQLException {
+		checkInUse("executeLargeUpdate");
+		return physicalStatement.executeLargeUpdate();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		checkInUse("unwrap");
+		return physicalStatement.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		checkInUse("isWrapperFor");
+		return physicalStatement.isWrapperFor(iface);
+	}
+}
@@ -0,0 +1,209 @@
+package com.ignite.utilities.pool;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * Bounded pool of the connections of a DataSource.<br>
+ * Borrowing and returning are lock-free while there are free connections, the idle ones are kept on a LIFO deque so the most recently used
+ * are reused first. Only when all the connections are borrowed the threads wait for one to be returned. Each connection caches its prepared
+ * statements by SQL, the generated stores always use the same statements
+ */
+public class ConnectionPool implements DataSource {
+
+	private static final String CLASSNAME = "[ConnectionPool]";
+
+	/** Seconds to wait for a connection to answer when it is validated */
+	private static final int VALIDATION_TIMEOUT = 5;
+
+	private final DataSource dataSource;
+	private final int statementCacheSize;
+	private final long validationIdleNanos;
+	private final long borrowTimeoutMillis;
+
+	private final Semaphore permits;
+	private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+	private final AtomicInteger opened = new AtomicInteger();
+	/** Stores and listeners using the pool, only changed by {@link PooledDataSourceFactory} */
+	private int users;
+	private volatile boolean closed;
+
+	/**
+	 * Create the pool, the connections are opened when they are needed
+	 *
+	 * @param dataSource
+	 * @param maxSize
+	 *            Max connections opened at the same time
+	 * @param statementCacheSize
+	 *            Prepared statements cached per connection, 0 to not cache them
+	 * @param validationIdleMillis
+	 *            The connections idle longer than this are validated before being borrowed
+	 * @param borrowTimeoutMillis
+	 *            Max time to wait for a connection when all of them are borrowed
+	 */
+	public ConnectionPool(DataSource dataSource, int maxSize, int statementCacheSize, long validationIdleMillis, long borrowTimeoutMillis) {
+		this.dataSource = dataSource;
+		this.statementCacheSize = statementCacheSize;
+		this.validationIdleNanos = TimeUnit.MILLISECONDS.toNanos(validationIdleMillis);
+		this.borrowTimeoutMillis = borrowTimeoutMillis;
+		this.permits = new Semaphore(maxSize);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (closed) {
+			throw new SQLException(CLASSNAME + " [getConnection] Pool already closed");
+		}
+		try {
+			if (!permits.tryAcquire() && !permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				throw new SQLException(CLASSNAME + " [getConnection] No connection returned in " + borrowTimeoutMillis + " ms, all of them are in use");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLException(CLASSNAME + " [getConnection] Interrupted while waiting for a connection", ex);
+		}
+
+		try {
+			PooledConnection conn = borrowIdle();
+			if (conn == null) {
+				conn = new PooledConnection(this, dataSource.getConnection(), statementCacheSize);
+				opened.incrementAndGet();
+			}
+			return conn.borrow();
+
+		} catch (SQLException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Get the most recently used idle connection that is still valid
+	 *
+	 * @return Null if there are no idle connections
+	 */
+	private PooledConnection borrowIdle() {
+		PooledConnection conn;
+		while ((conn = idle.pollFirst()) != null) {
+			if (System.nanoTime() - conn.getReturnedAt() < validationIdleNanos || conn.isValid(VALIDATION_TIMEOUT)) {
+				return conn;
+			}
+			discard(conn);
+		}
+		return null;
+	}
+
+	/**
+	 * Called by the connections when they are closed
+	 *
+	 * @param conn
+	 * @param reusable
+	 *            False if the connection could not be reset, then it is closed
+	 */
+	void giveBack(PooledConnection conn, boolean reusable) {
+		if (reusable) {
+			idle.offerFirst(conn);
+		} else {
+			discard(conn);
+		}
+		permits.release();
+		// Returned after the pool was closed
+		if (closed) {
+			close();
+		}
+	}
+
+	private void discard(PooledConnection conn) {
+		opened.decrementAndGet();
+		conn.closePhysical();
+	}
+
+	void retain() {
+		users++;
+	}
+
+	/**
+	 * @return Users left
+	 */
+	int release() {
+		return --users;
+	}
+
+	/**
+	 * Close the idle connections and stop lending them, the borrowed ones are closed when they are returned
+	 */
+	public void close() {
+		closed = true;
+		PooledConnection conn;
+		while ((conn = idle.pollFirst()) != null) {
+			discard(conn);
+		}
+	}
+
+	/**
+	 * Number of physical connections open, borrowed or idle
+	 *
+	 * @return
+	 */
+	public int getOpened() {
+		return opened.get();
+	}
+
+	/**
+	 * Number of connections that can be borrowed without waiting
+	 *
+	 * @return
+	 */
+	public int getAvailable() {
+		return permits.availablePermits();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		throw new SQLFeatureNotSupportedException(CLASSNAME + " [getConnection] The pooled connections use the credentials of the DataSource");
+	}
+
+	@Override
+	public PrintWriter getLogWriter() throws SQLException {
+		return dataSource.getLogWriter();
+	}
+
+	@Override
+	public void setLogWriter(PrintWriter out) throws SQLException {
+		dataSource.setLogWriter(out);
+	}
+
+	@Override
+	public void setLoginTimeout(int seconds) throws SQLException {
+		dataSource.setLoginTimeout(seconds);
+	}
+
+	@Override
+	public int getLoginTimeout() throws SQLException {
+		return dataSource.getLoginTimeout();
+	}
+
+	@Override
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		return dataSource.getParentLogger();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		return iface.isInstance(this) ? iface.cast(this) : dataSource.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+	}
+}
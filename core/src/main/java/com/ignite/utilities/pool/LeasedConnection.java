@@ -0,0 +1,379 @@
+package com.ignite.utilities.pool;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * Connection given on each borrow of a {@link PooledConnection}, closing it returns the physical one to the pool and any later call fails.<br>
+ * A plain delegate instead of a dynamic proxy, so the store calls reach the driver without reflection
+ */
+class LeasedConnection implements Connection {
+
+	private static final String CLASSNAME = "[LeasedConnection]";
+
+	private final PooledConnection owner;
+	private final Connection physical;
+	private boolean closed;
+
+	LeasedConnection(PooledConnection owner, Connection physical) {
+		this.owner = owner;
+		this.physical = physical;
+	}
+
+	private void checkOpen(String method) throws SQLException {
+		if (closed) {
+			throw new SQLException(CLASSNAME + " [" + method + "] Connection already returned to the pool");
+		}
+	}
+
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			owner.giveBack(this);
+		}
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return closed || physical.isClosed();
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		checkOpen("prepareStatement");
+		return owner.prepare(sql);
+	}
+
+	@Override
+	public void setAutoCommit(boolean autoCommit) throws SQLException {
+		checkOpen("setAutoCommit");
+		physical.setAutoCommit(autoCommit);
+		owner.setAutoCommit(autoCommit);
+	}
+
+	@Override
+	public String toString() {
+		return CLASSNAME + " " + physical;
+	}
+
+	@Override
+	public Statement createStatement() throws SQLException {
+		checkOpen("createStatement");
+		return physical.createStatement();
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql) throws SQLException {
+		checkOpen("prepareCall");
+		return physical.prepareCall(sql);
+	}
+
+	@Override
+	public String nativeSQL(String sql) throws SQLException {
+		checkOpen("nativeSQL");
+		return physical.nativeSQL(sql);
+	}
+
+	@Override
+	public boolean getAutoCommit() throws SQLException {
+		checkOpen("getAutoCommit");
+		return physical.getAutoCommit();
+	}
+
+	@Override
+	public void commit() throws SQLException {
+		checkOpen("commit");
+		physical.commit();
+	}
+
+	@Override
+	public void rollback() throws SQLException {
+		checkOpen("rollback");
+		physical.rollback();
+	}
+
+	@Override
+	public DatabaseMetaData getMetaData() throws SQLException {
+		checkOpen("getMetaData");
+		return physical.getMetaData();
+	}
+
+	@Override
+	public void setReadOnly(boolean readOnly) throws SQLException {
+		checkOpen("setReadOnly");
+		physical.setReadOnly(readOnly);
+	}
+
+	@Override
+	public boolean isReadOnly() throws SQLException {
+		checkOpen("isReadOnly");
+		return physical.isReadOnly();
+	}
+
+	@Override
+	public void setCatalog(String catalog) throws SQLException {
+		checkOpen("setCatalog");
+		physical.setCatalog(catalog);
+	}
+
+	@Override
+	public String getCatalog() throws SQLException {
+		checkOpen("getCatalog");
+		return physical.getCatalog();
+	}
+
+	@Override
+	public void setTransactionIsolation(int level) throws SQLException {
+		checkOpen("setTransactionIsolation");
+		physical.setTransactionIsolation(level);
+	}
+
+	@Override
+	public int getTransactionIsolation() throws SQLException {
+		checkOpen("getTransactionIsolation");
+		return physical.getTransactionIsolation();
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		checkOpen("getWarnings");
+		return physical.getWarnings();
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+		checkOpen("clearWarnings");
+		physical.clearWarnings();
+	}
+
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+		checkOpen("createStatement");
+		return physical.createStatement(resultSetType, resultSetConcurrency);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+		checkOpen("prepareStatement");
+		return physical.prepareStatement(sql, resultSetType, resultSetConcurrency);
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+		checkOpen("prepareCall");
+		return physical.prepareCall(sql, resultSetType, resultSetConcurrency);
+	}
+
+	@Override
+	public Map<String, Class<?>> getTypeMap() throws SQLException {
+		checkOpen("getTypeMap");
+		return physical.getTypeMap();
+	}
+
+	@Override
+	public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+		checkOpen("setTypeMap");
+		physical.setTypeMap(map);
+	}
+
+	@Override
+	public void setHoldability(int holdability) throws SQLException {
+		checkOpen("setHoldability");
+		physical.setHoldability(holdability);
+	}
+
+	@Override
+	public int getHoldability() throws SQLException {
+		checkOpen("getHoldability");
+		return physical.getHoldability();
+	}
+
+	@Override
+	public Savepoint setSavepoint() throws SQLException {
+		checkOpen("setSavepoint");
+		return physical.setSavepoint();
+	}
+
+	@Override
+	public Savepoint setSavepoint(String name) throws SQLException {
+		checkOpen("setSavepoint");
+		return physical.setSavepoint(name);
+	}
+
+	@Override
+	public void rollback(Savepoint savepoint) throws SQLException {
+		checkOpen("rollback");
+		physical.rollback(savepoint);
+	}
+
+	@Override
+	public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+		checkOpen("releaseSavepoint");
+		physical.releaseSavepoint(savepoint);
+	}
+
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+		checkOpen("createStatement");
+		return physical.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+		checkOpen("prepareStatement");
+		return physical.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+		checkOpen("prepareCall");
+		return physical.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+		checkOpen("prepareStatement");
+		return physical.prepareStatement(sql, autoGeneratedKeys);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+		checkOpen("prepareStatement");
+		return physical.prepareStatement(sql, columnIndexes);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+		checkOpen("prepareStatement");
+		return physical.prepareStatement(sql, columnNames);
+	}
+
+	@Override
+	public Clob createClob() throws SQLException {
+		checkOpen("createClob");
+		return physical.createClob();
+	}
+
+	@Override
+	public Blob createBlob() throws SQLException {
+		checkOpen("createBlob");
+		return physical.createBlob();
+	}
+
+	@Override
+	public NClob createNClob() throws SQLException {
+		checkOpen("createNClob");
+		return physical.createNClob();
+	}
+
+	@Override
+	public SQLXML createSQLXML() throws SQLException {
+		checkOpen("createSQLXML");
+		return physical.createSQLXML();
+	}
+
+	@Override
+	public boolean isValid(int timeout) throws SQLException {
+		checkOpen("isValid");
+		return physical.isValid(timeout);
+	}
+
+	@Override
+	public void setClientInfo(String name, String value) throws SQLClientInfoException {
+		if (closed) {
+			throw new SQLClientInfoException(CLASSNAME + " [setClientInfo] Connection already returned to the pool", null);
+		}
+		physical.setClientInfo(name, value);
+	}
+
+	@Override
+	public void setClientInfo(Properties properties) throws SQLClientInfoException {
+		if (closed) {
+			throw new SQLClientInfoException(CLASSNAME + " [setClientInfo] Connection already returned to the pool", null);
+		}
+		physical.setClientInfo(properties);
+	}
+
+	@Override
+	public String getClientInfo(String name) throws SQLException {
+		checkOpen("getClientInfo");
+		return physical.getClientInfo(name);
+	}
+
+	@Override
+	public Properties getClientInfo() throws SQLException {
+		checkOpen("getClientInfo");
+		return physical.getClientInfo();
+	}
+
+	@Override
+	public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+		checkOpen("createArrayOf");
+		return physical.createArrayOf(typeName, elements);
+	}
+
+	@Override
+	public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+		checkOpen("createStruct");
+		return physical.createStruct(typeName, attributes);
+	}
+
+	@Override
+	public void setSchema(String schema) throws SQLException {
+		checkOpen("setSchema");
+		physical.setSchema(schema);
+	}
+
+	@Override
+	public String getSchema() throws SQLException {
+		checkOpen("getSchema");
+		return physical.getSchema();
+	}
+
+	@Override
+	public void abort(Executor executor) throws SQLException {
+		checkOpen("abort");
+		physical.abort(executor);
+	}
+
+	@Override
+	public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+		checkOpen("setNetworkTimeout");
+		physical.setNetworkTimeout(executor, milliseconds);
+	}
+
+	@Override
+	public int getNetworkTimeout() throws SQLException {
+		checkOpen("getNetworkTimeout");
+		return physical.getNetworkTimeout();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		checkOpen("unwrap");
+		return physical.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		checkOpen("isWrapperFor");
+		return physical.isWrapperFor(iface);
+	}
+}
@@ -0,0 +1,145 @@
+package com.ignite.utilities.pool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Physical connection of the pool with its prepared statements cache.<br>
+ * Each borrow gets its own {@link LeasedConnection}, so a connection closed by the caller can not be used once it is back on the pool. A
+ * connection is only used by one thread at a time, so the cache is not synchronized
+ */
+class PooledConnection {
+
+	private final ConnectionPool pool;
+	private final Connection physical;
+	private final int statementCacheSize;
+
+	/** Map Key: SQL, Value: its statement. In access order, the least used one is closed when the cache is full */
+	private final Map<String, CachedStatement> statements;
+
+	private boolean autoCommit = true;
+	private long returnedAt = System.nanoTime();
+	/** Connection of the current borrow, returned by the statements */
+	private LeasedConnection current;
+
+	PooledConnection(ConnectionPool pool, Connection physical, int statementCacheSize) {
+		this.pool = pool;
+		this.physical = physical;
+		this.statementCacheSize = statementCacheSize;
+		this.statements = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+				if (size() <= statementCacheSize) {
+					return false;
+				}
+				eldest.getValue().evict();
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Create the connection given to the caller
+	 *
+	 * @return
+	 */
+	Connection borrow() {
+		current = new LeasedConnection(this, physical);
+		return current;
+	}
+
+	/**
+	 * Called when the caller closes its connection
+	 *
+	 * @param lease
+	 */
+	void giveBack(LeasedConnection lease) {
+		if (current == lease) {
+			current = null;
+		}
+		pool.giveBack(this, reset());
+	}
+
+	LeasedConnection getCurrent() {
+		return current;
+	}
+
+	void setAutoCommit(boolean autoCommit) {
+		this.autoCommit = autoCommit;
+	}
+
+	/**
+	 * Prepare the statement or get it from the cache. If the cached one is already in use a new one is prepared, closed with the caller's close
+	 *
+	 * @param sql
+	 * @return
+	 * @throws SQLException
+	 */
+	PreparedStatement prepare(String sql) throws SQLException {
+		if (statementCacheSize == 0) {
+			return physical.prepareStatement(sql);
+		}
+
+		CachedStatement cached = statements.get(sql);
+		if (cached == null) {
+			cached = new CachedStatement(this, physical.prepareStatement(sql));
+			statements.put(sql, cached);
+			return cached.use();
+		}
+		if (cached.isInUse()) {
+			return physical.prepareStatement(sql);
+		}
+		return cached.use();
+	}
+
+	/**
+	 * Leave the connection as the DataSource gives it, without a transaction in progress and with auto-commit
+	 *
+	 * @return False if it could not be reset
+	 */
+	private boolean reset() {
+		try {
+			for (CachedStatement statement : statements.values()) {
+				if (statement.isInUse()) {
+					statement.release();
+				}
+			}
+			if (!autoCommit) {
+				physical.rollback();
+				physical.setAutoCommit(true);
+				autoCommit = true;
+			}
+			returnedAt = System.nanoTime();
+			return true;
+
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	boolean isValid(int timeoutSeconds) {
+		try {
+			return physical.isValid(timeoutSeconds);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	long getReturnedAt() {
+		return returnedAt;
+	}
+
+	void closePhysical() {
+		try {
+			physical.close();
+		} catch (SQLException e) {
+			// The connection is discarded anyway
+		}
+	}
+}
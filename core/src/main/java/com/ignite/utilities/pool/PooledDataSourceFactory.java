@@ -0,0 +1,98 @@
+package com.ignite.utilities.pool;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.cache.configuration.Factory;
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource factory given to the configuration with a {@link ConnectionPool}.<br>
+ * The factory is serialized with each cache configuration, all its copies on a JVM create the same pool so the stores and session listeners
+ * of all the caches share it. Each of them releases the pool when it stops, the last one closes it and removes it from the JVM, so the pools
+ * of regenerated configurations do not leak their connections
+ */
+public class PooledDataSourceFactory implements Factory<DataSource> {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -2519483375140931268L;
+
+	/** Map Key: pool id, Value: pool created on this JVM and still used by a store or listener */
+	private static final ConcurrentMap<String, ConnectionPool> POOLS = new ConcurrentHashMap<>();
+
+	private final String poolId = UUID.randomUUID().toString();
+	private final Factory<DataSource> dataSourceFactory;
+	private final int maxSize;
+	private final int statementCacheSize;
+	private final long validationIdleMillis;
+	private final long borrowTimeoutMillis;
+
+	/**
+	 * Create the factory of the pool
+	 *
+	 * @param dataSourceFactory
+	 *            Factory of the DataSource that opens the physical connections
+	 * @param maxSize
+	 * @param statementCacheSize
+	 * @param validationIdleMillis
+	 * @param borrowTimeoutMillis
+	 */
+	public PooledDataSourceFactory(Factory<DataSource> dataSourceFactory, int maxSize, int statementCacheSize, long validationIdleMillis,
+			long borrowTimeoutMillis) {
+		this.dataSourceFactory = dataSourceFactory;
+		this.maxSize = maxSize;
+		this.statementCacheSize = statementCacheSize;
+		this.validationIdleMillis = validationIdleMillis;
+		this.borrowTimeoutMillis = borrowTimeoutMillis;
+	}
+
+	/**
+	 * Get the pool, created by the first call on this JVM. Each call should be paired with a {@link #release(DataSource)}
+	 */
+	@Override
+	public DataSource create() {
+		return POOLS.compute(poolId, (id, pool) -> {
+			ConnectionPool created = pool != null ? pool
+					: new ConnectionPool(dataSourceFactory.create(), maxSize, statementCacheSize, validationIdleMillis, borrowTimeoutMillis);
+			created.retain();
+			return created;
+		});
+	}
+
+	/**
+	 * Release a DataSource created by the factory, the pool is closed once all its users release it.<br>
+	 * Does nothing if the factory is not a pool, the stores and listeners do not know if theirs is pooled
+	 *
+	 * @param dataSourceFactory
+	 * @param dataSource
+	 *            Null if the user never created it
+	 */
+	public static void release(Factory<DataSource> dataSourceFactory, DataSource dataSource) {
+		if (dataSource == null || !(dataSourceFactory instanceof PooledDataSourceFactory)) {
+			return;
+		}
+		POOLS.computeIfPresent(((PooledDataSourceFactory) dataSourceFactory).poolId, (id, pool) -> {
+			if (pool != dataSource || pool.release() > 0) {
+				return pool;
+			}
+			pool.close();
+			return null;
+		});
+	}
+
+	/**
+	 * Number of pools open on this JVM
+	 *
+	 * @return
+	 */
+	public static int getOpenPools() {
+		return POOLS.size();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+}
@@ -0,0 +1,391 @@
+package com.ignite.utilities.refresh;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.configuration.Factory;
+import javax.sql.DataSource;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.IgniteLogger;
+
+import com.ignite.utilities.accessor.EntityAccessor;
+import com.ignite.utilities.dto.ColumnDTO;
+import com.ignite.utilities.dto.StoreConfigDTO;
+import com.ignite.utilities.dto.TableDTO;
+import com.ignite.utilities.dto.TableStatementsDTO;
+import com.ignite.utilities.metrics.NoopStoreMetrics;
+import com.ignite.utilities.metrics.TableMetrics;
+
+/**
+ * Polls the tables with an <strong>@IgniteVersion</strong> column for the rows changed by other systems, and streams them into their caches
+ * without writing them back to the DB.<br>
+ * Each table keeps the version of the last row streamed as its watermark, and is read in pages of <code>refreshPageSize</code> rows ordered
+ * by version, so each poll costs as much as the rows that changed. It should run on a single node of the cluster
+ */
+public class CacheRefresher implements AutoCloseable {
+
+	private static final String CLASSNAME = "[CacheRefresher]";
+
+	/** Watermark of the tables that had no rows with version, the first rows of any version are loaded */
+	private static final Object NO_VERSION = new Object();
+
+	private final Ignite ignite;
+	private final Factory<DataSource> dataSourceFactory;
+	private final List<TableDTO> tables;
+	private final StoreConfigDTO storeConfig;
+	private final IgniteLogger log;
+
+	/** Map Key: table name, Value: version of the last row streamed */
+	private final Map<String, Object> watermarks = new ConcurrentHashMap<>();
+
+	/** Map Key: table name, Value: accessors of its rows */
+	private final Map<String, EntityAccessor> accessors = new ConcurrentHashMap<>();
+
+	private DataSource dataSource;
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 *
+	 * @param ignite
+	 * @param dataSourceFactory
+	 * @param tables
+	 *            Tables of the caches, the ones without version are not refreshed
+	 * @param storeConfig
+	 */
+	public CacheRefresher(Ignite ignite, Factory<DataSource> dataSourceFactory, List<TableDTO> tables, StoreConfigDTO storeConfig) {
+		this.ignite = ignite;
+		this.dataSourceFactory = dataSourceFactory;
+		this.storeConfig = storeConfig;
+		this.log = ignite.log().getLogger(CacheRefresher.class);
+
+		List<TableDTO> versioned = new ArrayList<>();
+		for (TableDTO tableData : tables) {
+			if (tableData.getStatements().getRefreshQuery() != null) {
+				versioned.add(tableData);
+			}
+		}
+		this.tables = Collections.unmodifiableList(versioned);
+	}
+
+	/**
+	 * Start polling the tables every <code>refreshInterval</code> ms. The tables without watermark start from their current max version, so
+	 * the refresher should be started before the caches are loaded
+	 *
+	 * @throws Exception
+	 *             If the max versions can not be read, or the stores skip the unchanged writes
+	 */
+	public synchronized void start() throws Exception {
+		if (scheduler != null) {
+			throw new Exception(CLASSNAME + " [start] Refresher already started");
+		}
+		// The fingerprints of the stores would still have the values before the changes of the other systems
+		if (storeConfig.isSkipUnchanged() && !tables.isEmpty()) {
+			throw new Exception(CLASSNAME + " [start] The refreshed tables have other writers, the stores should not skip the unchanged writes");
+		}
+
+		for (TableDTO tableData : tables) {
+			if (!watermarks.containsKey(tableData.getTableName())) {
+				Object maxVersion = maxVersion(tableData);
+				watermarks.put(tableData.getTableName(), maxVersion != null ? maxVersion : NO_VERSION);
+			}
+		}
+
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "cache-refresher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::refresh, storeConfig.getRefreshInterval(), storeConfig.getRefreshInterval(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Check if it is polling the tables
+	 *
+	 * @return
+	 */
+	public synchronized boolean isStarted() {
+		return scheduler != null;
+	}
+
+	/**
+	 * Stream the changed rows of all the tables, a table that fails is retried from its watermark on the next poll
+	 */
+	public void refresh() {
+		for (TableDTO tableData : tables) {
+			try {
+				refreshTable(tableData);
+			} catch (Exception ex) {
+				metrics(tableData).onError("refresh");
+				log.error(CLASSNAME + " [refresh] Failed to refresh table " + tableData.getTableName() + " from version " + getWatermark(tableData
+						.getTableName()), ex);
+			}
+		}
+	}
+
+	/**
+	 * Stream the rows with a greater version than the watermark, page by page. The watermark moves once the rows of each page are in the cache.
+	 * <br>
+	 * A full page may cut the rows of its last version, then that version is loaded again on the next page, or all its rows at once when the
+	 * whole page has it
+	 *
+	 * @param tableData
+	 * @return Rows streamed
+	 * @throws Exception
+	 */
+	private int refreshTable(TableDTO tableData) throws Exception {
+		TableStatementsDTO statements = tableData.getStatements();
+		EntityAccessor accessor = accessor(tableData);
+		int versionColumn = versionColumn(tableData);
+		int pageSize = Math.max(1, storeConfig.getRefreshPageSize());
+		int streamed = 0;
+
+		IgniteDataStreamer<Object, Object> streamer = null;
+		try {
+			for (;;) {
+				Object watermark = watermarks.get(tableData.getTableName());
+				List<Object> page = watermark == NO_VERSION ? query(tableData, statements.getRefreshAllQuery(), null, pageSize)
+						: query(tableData, statements.getRefreshQuery(), watermark, pageSize);
+				if (page.isEmpty()) {
+					return streamed;
+				}
+
+				boolean isFull = page.size() == pageSize;
+				Object lastVersion = version(accessor, page.get(page.size() - 1), versionColumn);
+				if (isFull && lastVersion.equals(version(accessor, page.get(0), versionColumn))) {
+					page = query(tableData, statements.getRefreshVersionQuery(), lastVersion, 0);
+				} else if (isFull) {
+					while (lastVersion.equals(version(accessor, page.get(page.size() - 1), versionColumn))) {
+						page.remove(page.size() - 1);
+					}
+					lastVersion = version(accessor, page.get(page.size() - 1), versionColumn);
+				}
+
+				if (streamer == null) {
+					streamer = ignite.dataStreamer(tableData.getCacheName());
+					// The rows come from the DB, they update the cache without being written back
+					streamer.allowOverwrite(true);
+					streamer.skipStore(true);
+					streamer.keepBinary(true);
+				}
+				for (Object value : page) {
+					streamer.addData(accessor.cacheKey(value, ignite.binary()), value);
+				}
+				streamer.flush();
+
+				streamed += page.size();
+				watermarks.put(tableData.getTableName(), lastVersion);
+				if (!isFull) {
+					return streamed;
+				}
+			}
+		} finally {
+			if (streamer != null) {
+				streamer.close();
+			}
+		}
+	}
+
+	/**
+	 * Read the rows of the query
+	 *
+	 * @param tableData
+	 * @param query
+	 * @param version
+	 *            Parameter of the query, null if it has none
+	 * @param maxRows
+	 *            0 for all the rows
+	 * @return
+	 * @throws SQLException
+	 */
+	private List<Object> query(TableDTO tableData, String query, Object version, int maxRows) throws SQLException {
+		EntityAccessor accessor = accessor(tableData);
+		TableMetrics metrics = metrics(tableData);
+		List<Object> rows = new ArrayList<>();
+
+		try (Connection conn = dataSource().getConnection();
+				PreparedStatement ps = conn.prepareStatement(query)) {
+
+			ps.setMaxRows(maxRows);
+			ps.setFetchSize(maxRows);
+			if (version != null) {
+				accessor.getSelectAccessors()[versionColumn(tableData)].bindValue(ps, 1, version);
+			}
+
+			long start = System.nanoTime();
+			try (ResultSet rs = ps.executeQuery()) {
+				metrics.onExecute(System.nanoTime() - start);
+				while (rs.next()) {
+					rows.add(accessor.readRow(rs));
+				}
+			}
+		}
+
+		metrics.onLoad(rows.size());
+		return rows;
+	}
+
+	/**
+	 * Read the max version of the table
+	 *
+	 * @param tableData
+	 * @return null if no row has version
+	 * @throws SQLException
+	 */
+	private Object maxVersion(TableDTO tableData) throws SQLException {
+		try (Connection conn = dataSource().getConnection();
+				PreparedStatement ps = conn.prepareStatement(tableData.getStatements().getMaxVersionQuery());
+				ResultSet rs = ps.executeQuery()) {
+			rs.next();
+			Object maxVersion = rs.getObject(1);
+			// The same type the version field reads, to compare it with the versions of the rows
+			return maxVersion != null ? versionOf(tableData, rs) : null;
+		}
+	}
+
+	/**
+	 * Read the first column of the row as the version field of the table
+	 *
+	 * @param tableData
+	 * @param rs
+	 * @return
+	 * @throws SQLException
+	 */
+	private Object versionOf(TableDTO tableData, ResultSet rs) throws SQLException {
+		EntityAccessor accessor = accessor(tableData);
+		int versionColumn = versionColumn(tableData);
+		Object value = accessor.newInstance();
+		accessor.getSelectAccessors()[versionColumn].read(rs, 1, value);
+		return version(accessor, accessor.build(value), versionColumn);
+	}
+
+	private static Object version(EntityAccessor accessor, Object value, int versionColumn) {
+		return accessor.getSelectAccessors()[versionColumn].get(value);
+	}
+
+	/**
+	 * Position of the version in the select columns
+	 *
+	 * @param tableData
+	 * @return
+	 */
+	private static int versionColumn(TableDTO tableData) {
+		ColumnDTO[] columns = tableData.getStatements().getSelectColumns();
+		for (int i = 0; i < columns.length; i++) {
+			if (columns[i].isVersion()) {
+				return i;
+			}
+		}
+		throw new IllegalStateException(CLASSNAME + " [versionColumn] Table " + tableData.getTableName() + " has no @IgniteVersion");
+	}
+
+	/**
+	 * Get the accessors of the table, the ones of its binary objects on keep-binary mode or when the key has several columns, the same values
+	 * the store loads
+	 *
+	 * @param tableData
+	 * @return
+	 */
+	private EntityAccessor accessor(TableDTO tableData) {
+		if (!storeConfig.isKeepBinary() && tableData.getKeyTypeName() == null) {
+			return EntityAccessor.forTable(tableData);
+		}
+		return accessors.computeIfAbsent(tableData.getTableName(), tableName -> EntityAccessor.forBinary(tableData, ignite.binary()));
+	}
+
+	/**
+	 * Get the metrics of the table, shared with its store on the default metrics
+	 *
+	 * @param tableData
+	 * @return
+	 */
+	private TableMetrics metrics(TableDTO tableData) {
+		try {
+			return storeConfig.getMetrics().tableMetrics(tableData.getCacheName(), tableData.getTableName());
+		} catch (Exception ex) {
+			return new NoopStoreMetrics().tableMetrics(tableData.getCacheName(), tableData.getTableName());
+		}
+	}
+
+	private synchronized DataSource dataSource() {
+		if (dataSource == null) {
+			dataSource = dataSourceFactory.create();
+		}
+		return dataSource;
+	}
+
+	/**
+	 * Get the version of the last row streamed of each table
+	 *
+	 * @return Map Key: table name, Value: version, null if the table had no rows with version
+	 */
+	public Map<String, Object> getWatermarks() {
+		Map<String, Object> versions = new HashMap<>();
+		for (String tableName : watermarks.keySet()) {
+			versions.put(tableName, getWatermark(tableName));
+		}
+		return versions;
+	}
+
+	/**
+	 * Get the version of the last row streamed of the table
+	 *
+	 * @param tableName
+	 * @return null if the table had no rows with version
+	 */
+	public Object getWatermark(String tableName) {
+		Object watermark = watermarks.get(tableName);
+		return watermark == NO_VERSION ? null : watermark;
+	}
+
+	/**
+	 * Set the version the table is refreshed from, e.g. the one kept by a previous refresher
+	 *
+	 * @param tableName
+	 * @param version
+	 *            null to load the rows of any version
+	 */
+	public void setWatermark(String tableName, Object version) {
+		watermarks.put(tableName, version != null ? version : NO_VERSION);
+	}
+
+	/**
+	 * Tables refreshed, the ones with @IgniteVersion
+	 *
+	 * @return
+	 */
+	public List<TableDTO> getTables() {
+		return tables;
+	}
+
+	/**
+	 * Stop polling, waiting for the current poll to end
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		ScheduledExecutorService stopped;
+		synchronized (this) {
+			stopped = scheduler;
+			scheduler = null;
+		}
+
+		// Out of the lock, the poll takes it to open the DataSource
+		if (stopped != null) {
+			stopped.shutdown();
+			stopped.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		}
+	}
+}
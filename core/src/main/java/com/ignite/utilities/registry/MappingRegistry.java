@@ -0,0 +1,49 @@
+package com.ignite.utilities.registry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of the mappings generated at build time, loaded once with the ServiceLoader of the context class loader
+ */
+public class MappingRegistry {
+
+	/** Map Key: class annotated with @IgniteTable, Value: its generated mapping */
+	private static Map<Class<?>, TableMapping> mappings;
+
+	private MappingRegistry() {
+	}
+
+	/**
+	 * Get the generated mapping of the class
+	 * 
+	 * @param tableType
+	 * @return null if the class was not compiled with the processor
+	 */
+	public static TableMapping find(Class<?> tableType) {
+		return mappings().get(tableType);
+	}
+
+	/**
+	 * Get all the generated mappings found in the classpath
+	 * 
+	 * @return
+	 */
+	public static Collection<TableMapping> all() {
+		return mappings().values();
+	}
+
+	private static synchronized Map<Class<?>, TableMapping> mappings() {
+		if (mappings == null) {
+			Map<Class<?>, TableMapping> loaded = new HashMap<>();
+			for (TableMapping mapping : ServiceLoader.load(TableMapping.class)) {
+				loaded.put(mapping.tableType(), mapping);
+			}
+			mappings = Collections.unmodifiableMap(loaded);
+		}
+		return mappings;
+	}
+}
@@ -0,0 +1,104 @@
+package com.ignite.utilities.registry;
+
+import com.ignite.utilities.dto.ColumnDTO;
+import com.ignite.utilities.dto.IndexDTO;
+import com.ignite.utilities.dto.TableDTO;
+
+/**
+ * Mapping of an <strong>@IgniteTable</strong> class generated at build time by the IgniteAutoConfig-processor, so the annotations are not read
+ * by reflection when the node starts.<br>
+ * The implementations are registered in <code>META-INF/services/com.ignite.utilities.registry.TableMapping</code>
+ */
+public interface TableMapping {
+
+	/**
+	 * Class annotated with @IgniteTable
+	 * 
+	 * @return
+	 */
+	Class<?> tableType();
+
+	/**
+	 * Create the table data with the same values ProcessAnnotationsDTO would read from the annotations, without the statements
+	 * 
+	 * @return
+	 */
+	TableDTO createTable();
+
+	/**
+	 * Used by the generated code to create each column
+	 * 
+	 * @param fieldName
+	 * @param columnName
+	 * @param fieldType
+	 * @param isKey
+	 * @return
+	 */
+	static ColumnDTO column(String fieldName, String columnName, Class<?> fieldType, boolean isKey) {
+		return column(fieldName, columnName, fieldType, isKey, false);
+	}
+
+	/**
+	 * Used by the generated code to create each column
+	 * 
+	 * @param fieldName
+	 * @param columnName
+	 * @param fieldType
+	 * @param isKey
+	 * @param isAffinityKey
+	 * @return
+	 */
+	static ColumnDTO column(String fieldName, String columnName, Class<?> fieldType, boolean isKey, boolean isAffinityKey) {
+		ColumnDTO column = new ColumnDTO();
+		column.setFieldName(fieldName);
+		column.setColumnName(columnName);
+		column.setFieldType(fieldType);
+		column.setKey(isKey);
+		column.setAffinityKey(isAffinityKey);
+		return column;
+	}
+
+	/**
+	 * Used by the generated code to create the column with the key of the parent row, a key column that is also the affinity key
+	 * 
+	 * @param fieldName
+	 * @param columnName
+	 * @param fieldType
+	 * @param parentTypeName
+	 * @return
+	 */
+	static ColumnDTO parentColumn(String fieldName, String columnName, Class<?> fieldType, String parentTypeName) {
+		ColumnDTO column = column(fieldName, columnName, fieldType, true, true);
+		column.setParentTypeName(parentTypeName);
+		return column;
+	}
+
+	/**
+	 * Used by the generated code to create the column with the version of the row
+	 * 
+	 * @param fieldName
+	 * @param columnName
+	 * @param fieldType
+	 * @return
+	 */
+	static ColumnDTO versionColumn(String fieldName, String columnName, Class<?> fieldType) {
+		ColumnDTO column = column(fieldName, columnName, fieldType, false);
+		column.setVersion(true);
+		return column;
+	}
+
+	/**
+	 * Used by the generated code to create each index, the fields are added after
+	 * 
+	 * @param indexName
+	 *            Null to let Ignite generate it
+	 * @param inlineSize
+	 * @return
+	 */
+	static IndexDTO index(String indexName, int inlineSize) {
+		IndexDTO index = new IndexDTO();
+		index.setIndexName(indexName);
+		index.setInlineSize(inlineSize);
+		return index;
+	}
+}
@@ -0,0 +1,255 @@
+package com.ignite.utilities.scan;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import com.ignite.utilities.annotations.IgniteTable;
+
+/**
+ * Finds the <strong>@IgniteTable</strong> classes of some packages reading the class files bytes, so the classes that are not mapped are never
+ * loaded
+ */
+public class ClassPathScanner {
+
+	private static final String CLASSNAME = "[ClassPathScanner]";
+
+	/** How @IgniteTable is written in the constant pool of the classes that use it */
+	private static final String TABLE_DESCRIPTOR = "L" + IgniteTable.class.getName().replace('.', '/') + ";";
+
+	private static final String CLASS_SUFFIX = ".class";
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private ClassPathScanner() {
+	}
+
+	/**
+	 * Get the jars and directories of the class loader that contain the packages
+	 *
+	 * @param loader
+	 * @param packages
+	 * @return
+	 * @throws Exception
+	 */
+	public static Set<Path> findRoots(ClassLoader loader, String... packages) throws Exception {
+		Set<Path> roots = new TreeSet<>();
+		for (String packageName : packages) {
+			String packagePath = packageName.replace('.', '/');
+			Enumeration<URL> urls = loader.getResources(packagePath);
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				if ("jar".equals(url.getProtocol())) {
+					String jar = url.getPath().substring(0, url.getPath().indexOf("!/"));
+					roots.add(Paths.get(new URL(jar).toURI()));
+				} else if ("file".equals(url.getProtocol())) {
+					Path dir = Paths.get(url.toURI());
+					// Remove the package folders to get the root of the classpath entry
+					for (int i = packagePath.split("/").length; i > 0; i--) {
+						dir = dir.getParent();
+					}
+					roots.add(dir);
+				} else {
+					throw new Exception(CLASSNAME + " [findRoots] Classpath entry not supported " + url);
+				}
+			}
+		}
+		return roots;
+	}
+
+	/**
+	 * Read in parallel the class files of the packages and get the names of the ones declaring @IgniteTable
+	 *
+	 * @param roots
+	 * @param pool
+	 * @param packages
+	 * @return Class names sorted, so the tables are always added in the same order
+	 * @throws Exception
+	 */
+	public static List<String> findCandidates(Set<Path> roots, ForkJoinPool pool, String... packages) throws Exception {
+		List<ForkJoinTask<String>> tasks = new ArrayList<>();
+		List<JarFile> jars = new ArrayList<>();
+		try {
+			for (Path root : roots) {
+				if (Files.isDirectory(root)) {
+					for (Path file : listClassFiles(root, packages)) {
+						String className = className(root.relativize(file).toString().replace(root.getFileSystem().getSeparator(), "/"));
+						tasks.add(pool.submit(() -> declaresTable(Files.readAllBytes(file)) ? className : null));
+					}
+				} else {
+					// ZipFile reads are synchronized, so the entries of a jar can be read by several threads
+					JarFile jar = new JarFile(root.toFile());
+					jars.add(jar);
+					for (JarEntry entry : listClassEntries(jar, packages)) {
+						tasks.add(pool.submit(() -> {
+							try (InputStream in = jar.getInputStream(entry)) {
+								return declaresTable(in) ? className(entry.getName()) : null;
+							}
+						}));
+					}
+				}
+			}
+
+			Set<String> candidates = new TreeSet<>();
+			for (ForkJoinTask<String> task : tasks) {
+				String className = task.get();
+				if (className != null) {
+					candidates.add(className);
+				}
+			}
+			return new ArrayList<>(candidates);
+		} finally {
+			for (JarFile jar : jars) {
+				jar.close();
+			}
+		}
+	}
+
+	/**
+	 * Checksum of the packages contents, it changes when a jar is replaced or a class file of the directories is modified
+	 *
+	 * @param roots
+	 * @param packages
+	 * @return
+	 * @throws Exception
+	 */
+	public static long checksum(Set<Path> roots, String... packages) throws Exception {
+		CRC32 crc = new CRC32();
+		for (String packageName : packages) {
+			crc.update(packageName.getBytes("UTF-8"));
+		}
+
+		byte[] buffer = new byte[8192];
+		for (Path root : roots) {
+			crc.update(root.toString().getBytes("UTF-8"));
+			if (Files.isDirectory(root)) {
+				for (Path file : listClassFiles(root, packages)) {
+					crc.update(file.toString().getBytes("UTF-8"));
+					crc.update(Long.toString(Files.size(file)).getBytes("UTF-8"));
+					crc.update(Long.toString(Files.getLastModifiedTime(file).toMillis()).getBytes("UTF-8"));
+				}
+			} else {
+				try (InputStream in = new CheckedInputStream(Files.newInputStream(root), crc)) {
+					while (in.read(buffer) != -1) {
+						// Only read to update the checksum
+					}
+				}
+			}
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Check if the class file has @IgniteTable in its constant pool, the class should be loaded later to confirm it is on the class and not
+	 * only used by it
+	 *
+	 * @param bytes
+	 * @return
+	 * @throws IOException
+	 */
+	static boolean declaresTable(byte[] bytes) throws IOException {
+		return declaresTable(new ByteArrayInputStream(bytes));
+	}
+
+	static boolean declaresTable(InputStream classFile) throws IOException {
+		DataInputStream in = new DataInputStream(classFile);
+		if (in.readInt() != MAGIC) {
+			return false;
+		}
+		// Minor and major versions
+		in.skipBytes(4);
+
+		int poolCount = in.readUnsignedShort();
+		for (int i = 1; i < poolCount; i++) {
+			int tag = in.readUnsignedByte();
+			switch (tag) {
+			case 1: // Utf8
+				if (TABLE_DESCRIPTOR.equals(in.readUTF())) {
+					return true;
+				}
+				break;
+			case 7: // Class
+			case 8: // String
+			case 16: // MethodType
+			case 19: // Module
+			case 20: // Package
+				in.skipBytes(2);
+				break;
+			case 15: // MethodHandle
+				in.skipBytes(3);
+				break;
+			case 3: // Integer
+			case 4: // Float
+			case 9: // Fieldref
+			case 10: // Methodref
+			case 11: // InterfaceMethodref
+			case 12: // NameAndType
+			case 17: // Dynamic
+			case 18: // InvokeDynamic
+				in.skipBytes(4);
+				break;
+			case 5: // Long
+			case 6: // Double, they use two entries
+				in.skipBytes(8);
+				i++;
+				break;
+			default:
+				throw new IOException(CLASSNAME + " [declaresTable] Unknown constant pool tag " + tag);
+			}
+		}
+		return false;
+	}
+
+	private static List<Path> listClassFiles(Path root, String... packages) throws IOException {
+		List<Path> files = new ArrayList<>();
+		for (String packageName : packages) {
+			Path dir = root.resolve(packageName.replace('.', '/'));
+			if (!Files.isDirectory(dir)) {
+				continue;
+			}
+			try (Stream<Path> walk = Files.walk(dir)) {
+				files.addAll(walk.filter(f -> isClassFile(f.getFileName().toString())).sorted().collect(Collectors.toList()));
+			}
+		}
+		return files;
+	}
+
+	private static List<JarEntry> listClassEntries(JarFile jar, String... packages) {
+		List<JarEntry> entries = new ArrayList<>();
+		for (JarEntry entry : Collections.list(jar.entries())) {
+			for (String packageName : packages) {
+				if (entry.getName().startsWith(packageName.replace('.', '/') + "/") && isClassFile(entry.getName())) {
+					entries.add(entry);
+					break;
+				}
+			}
+		}
+		return entries;
+	}
+
+	private static boolean isClassFile(String name) {
+		return name.endsWith(CLASS_SUFFIX) && !name.endsWith("package-info.class") && !name.endsWith("module-info.class");
+	}
+
+	private static String className(String classFile) {
+		return classFile.substring(0, classFile.length() - CLASS_SUFFIX.length()).replace('/', '.');
+	}
+}
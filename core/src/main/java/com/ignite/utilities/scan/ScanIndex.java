@@ -0,0 +1,82 @@
+package com.ignite.utilities.scan;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ignite.utilities.dto.TableDTO;
+
+/**
+ * On-disk index with the tables found by a package scan, the file is named with the checksum of the scanned jars so a restart with the same
+ * jars reads it instead of scanning again
+ */
+public class ScanIndex {
+
+	private static final String PREFIX = "ignite-scan-";
+	private static final String SUFFIX = ".idx";
+
+	private ScanIndex() {
+	}
+
+	/**
+	 * Read the tables of the index
+	 *
+	 * @param directory
+	 * @param checksum
+	 * @param loader
+	 *            Class loader of the mapped classes
+	 * @return null if there is no index for the checksum or it was written by another version of the classes
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<TableDTO> read(Path directory, long checksum, ClassLoader loader) {
+		Path file = indexFile(directory, checksum);
+		if (!Files.exists(file)) {
+			return null;
+		}
+
+		try (ObjectInputStream in = new ObjectInputStream(Files.newInputStream(file)) {
+			@Override
+			protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+				try {
+					return Class.forName(desc.getName(), false, loader);
+				} catch (ClassNotFoundException e) {
+					// Primitive types as the int fields
+					return super.resolveClass(desc);
+				}
+			}
+		}) {
+			return (List<TableDTO>) in.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			// The classes changed without changing the checksum (e.g. the library itself) or the file is damaged, then scan again
+			return null;
+		}
+	}
+
+	/**
+	 * Write the tables of the index
+	 *
+	 * @param directory
+	 * @param checksum
+	 * @param tables
+	 * @throws IOException
+	 */
+	public static void write(Path directory, long checksum, List<TableDTO> tables) throws IOException {
+		Files.createDirectories(directory);
+		Path file = indexFile(directory, checksum);
+		Path temp = Files.createTempFile(directory, PREFIX, ".tmp");
+		try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(temp))) {
+			out.writeObject(new ArrayList<>(tables));
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static Path indexFile(Path directory, long checksum) {
+		return directory.resolve(PREFIX + Long.toHexString(checksum) + SUFFIX);
+	}
+}
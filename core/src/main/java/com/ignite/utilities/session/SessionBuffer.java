@@ -0,0 +1,19 @@
+package com.ignite.utilities.session;
+
+import java.sql.Connection;
+
+/**
+ * Writes of a store kept on the session of a transaction, sent to the DB by the {@link StoreSessionListener} on the commit, before the
+ * connection commits
+ */
+public interface SessionBuffer {
+
+	/**
+	 * Send the buffered writes
+	 *
+	 * @param conn
+	 *            Connection of the session
+	 * @throws Exception
+	 */
+	void flush(Connection conn) throws Exception;
+}
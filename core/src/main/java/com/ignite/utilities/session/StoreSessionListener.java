@@ -0,0 +1,194 @@
+package com.ignite.utilities.session;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.cache.configuration.Factory;
+import javax.cache.integration.CacheWriterException;
+import javax.sql.DataSource;
+
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.cache.store.CacheStoreSession;
+import org.apache.ignite.cache.store.CacheStoreSessionListener;
+import org.apache.ignite.lifecycle.LifecycleAware;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.resources.LoggerResource;
+
+import com.ignite.utilities.pool.PooledDataSourceFactory;
+
+/**
+ * Opens a connection per store session with auto-commit disabled and attaches it to the session, the session of a transaction keeps the same
+ * connection for all its operations.<br>
+ * On transactions the stores buffer their writes on the session, when it ends they are sent in batches and committed together, so a
+ * TRANSACTIONAL cache commit is a single DB transaction. Out of transactions, e.g. a write-behind flush, each operation commits once
+ */
+public class StoreSessionListener implements CacheStoreSessionListener, LifecycleAware {
+
+	/** Session property with the buffers of the stores, Map Key: store, Value: its buffer. Only set on transactions */
+	public static final String BUFFERS = StoreSessionListener.class.getName() + ".buffers";
+
+	/** Session property with the actions to run once the connection commits */
+	public static final String AFTER_COMMIT = StoreSessionListener.class.getName() + ".afterCommit";
+
+	@LoggerResource
+	private IgniteLogger log = new NullLogger();
+
+	private final Factory<DataSource> dataSourceFactory;
+	private DataSource dataSource;
+
+	public StoreSessionListener(Factory<DataSource> dataSourceFactory) {
+		this.dataSourceFactory = dataSourceFactory;
+	}
+
+	@Override
+	public void onSessionStart(CacheStoreSession ses) {
+		// The session of a transaction over several caches is started by the listener of each one
+		if (ses.attachment() != null) {
+			return;
+		}
+
+		try {
+			Connection conn = dataSource().getConnection();
+			conn.setAutoCommit(false);
+			ses.attach(conn);
+		} catch (SQLException ex) {
+			throw new CacheWriterException("Failed to start the store session [cache=" + ses.cacheName() + ']', ex);
+		}
+
+		if (ses.isWithinTransaction()) {
+			ses.<String, Map<Object, SessionBuffer>> properties().put(BUFFERS, new LinkedHashMap<>());
+		}
+		ses.<String, List<Runnable>> properties().put(AFTER_COMMIT, new ArrayList<>());
+	}
+
+	@Override
+	public void onSessionEnd(CacheStoreSession ses, boolean commit) {
+		Connection conn = ses.attach(null);
+		Map<Object, SessionBuffer> buffers = ses.<String, Map<Object, SessionBuffer>> properties().remove(BUFFERS);
+		// Kept on the session while the buffers are flushed, they can add actions
+		List<Runnable> afterCommit = ses.<String, List<Runnable>> properties().get(AFTER_COMMIT);
+		if (conn == null) {
+			ses.properties().remove(AFTER_COMMIT);
+			return;
+		}
+
+		try {
+			if (commit) {
+				if (buffers != null) {
+					for (SessionBuffer buffer : buffers.values()) {
+						buffer.flush(conn);
+					}
+				}
+				conn.commit();
+				runAll(afterCommit);
+			} else {
+				conn.rollback();
+			}
+
+		} catch (Exception ex) {
+			rollback(conn);
+			throw new CacheWriterException("Failed to end the store session [cache=" + ses.cacheName() + ", commit=" + commit + ']', ex);
+
+		} finally {
+			ses.properties().remove(AFTER_COMMIT);
+			close(conn);
+		}
+	}
+
+	/**
+	 * Get the buffer of a store on the session, created on its first write
+	 *
+	 * @param ses
+	 * @param store
+	 * @param create
+	 * @return Null if the session is not of a transaction started by this listener, so the writes are not buffered
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends SessionBuffer> T buffer(CacheStoreSession ses, Object store, Supplier<T> create) {
+		if (!ses.isWithinTransaction()) {
+			return null;
+		}
+		Map<Object, SessionBuffer> buffers = ses.<String, Map<Object, SessionBuffer>> properties().get(BUFFERS);
+		return buffers == null ? null : (T) buffers.computeIfAbsent(store, s -> create.get());
+	}
+
+	/**
+	 * Run the action once the session commits, e.g. to remember what is already on the DB
+	 *
+	 * @param ses
+	 * @param action
+	 * @return False if the session was not started by this listener, then the action is not run
+	 */
+	public static boolean afterCommit(CacheStoreSession ses, Runnable action) {
+		List<Runnable> actions = ses.<String, List<Runnable>> properties().get(AFTER_COMMIT);
+		if (actions == null) {
+			return false;
+		}
+		actions.add(action);
+		return true;
+	}
+
+	/**
+	 * Run the actions of a committed session, a failure does not undo the commit
+	 *
+	 * @param actions
+	 */
+	private void runAll(List<Runnable> actions) {
+		if (actions == null) {
+			return;
+		}
+		for (Runnable action : actions) {
+			try {
+				action.run();
+			} catch (RuntimeException e) {
+				log.warning("Failed to run an action after the commit of the store session", e);
+			}
+		}
+	}
+
+	@Override
+	public void start() {
+		// The DataSource is created by the first session
+	}
+
+	/**
+	 * Release the DataSource, the pool is closed once the stores and listeners of all its caches stop
+	 */
+	@Override
+	public void stop() {
+		DataSource dataSource;
+		synchronized (this) {
+			dataSource = this.dataSource;
+			this.dataSource = null;
+		}
+		PooledDataSourceFactory.release(dataSourceFactory, dataSource);
+	}
+
+	private synchronized DataSource dataSource() {
+		if (dataSource == null) {
+			dataSource = dataSourceFactory.create();
+		}
+		return dataSource;
+	}
+
+	private void rollback(Connection conn) {
+		try {
+			conn.rollback();
+		} catch (SQLException e) {
+			log.warning("Failed to rollback the store session", e);
+		}
+	}
+
+	private void close(Connection conn) {
+		try {
+			conn.close();
+		} catch (SQLException e) {
+			log.warning("Failed to close the connection of the store session", e);
+		}
+	}
+}
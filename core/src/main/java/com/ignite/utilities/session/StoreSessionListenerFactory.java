@@ -0,0 +1,28 @@
+package com.ignite.utilities.session;
+
+import javax.cache.configuration.Factory;
+import javax.sql.DataSource;
+
+import org.apache.ignite.cache.store.CacheStoreSessionListener;
+
+/**
+ * Factory set on the cacheConfiguration to create the {@link StoreSessionListener} of the generated CacheStore on the server nodes
+ */
+public class StoreSessionListenerFactory implements Factory<CacheStoreSessionListener> {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -6102458127725130946L;
+
+	private final Factory<DataSource> dataSourceFactory;
+
+	public StoreSessionListenerFactory(Factory<DataSource> dataSourceFactory) {
+		this.dataSourceFactory = dataSourceFactory;
+	}
+
+	@Override
+	public CacheStoreSessionListener create() {
+		return new StoreSessionListener(dataSourceFactory);
+	}
+}
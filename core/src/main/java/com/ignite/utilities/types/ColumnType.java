@@ -0,0 +1,44 @@
+package com.ignite.utilities.types;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mapping of a Java type to its SQL type, with the typed JDBC calls that set and read its values so the driver does not convert them
+ *
+ * @param <T>
+ *            Java type, the boxed one for the primitives
+ */
+public interface ColumnType<T> {
+
+	/**
+	 * SQL type of the column, from {@link java.sql.Types}. Also used to set the null values
+	 *
+	 * @return
+	 */
+	int sqlType();
+
+	/**
+	 * Set the value as the parameter of the statement
+	 *
+	 * @param ps
+	 * @param index
+	 *            Parameter index, starts in 1
+	 * @param value
+	 *            Never null
+	 * @throws SQLException
+	 */
+	void set(PreparedStatement ps, int index, T value) throws SQLException;
+
+	/**
+	 * Get the value of the column of the current row
+	 *
+	 * @param rs
+	 * @param index
+	 *            Column index, starts in 1
+	 * @return null if the column is NULL
+	 * @throws SQLException
+	 */
+	T get(ResultSet rs, int index) throws SQLException;
+}
@@ -0,0 +1,18 @@
+package com.ignite.utilities.types;
+
+/**
+ * SPI of the column types of the Java types that the built-in ones do not map, or map in another way than the DB needs.<br>
+ * The implementations are registered in <code>META-INF/services/com.ignite.utilities.types.ColumnTypeProvider</code> on all the nodes, and
+ * they are asked before the built-in types
+ */
+public interface ColumnTypeProvider {
+
+	/**
+	 * Get the column type of the Java type
+	 *
+	 * @param fieldType
+	 *            Type of the field, the boxed one for the primitives
+	 * @return null if the provider does not map it
+	 */
+	<T> ColumnType<T> columnType(Class<T> fieldType);
+}
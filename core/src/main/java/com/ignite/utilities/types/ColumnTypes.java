@@ -0,0 +1,380 @@
+package com.ignite.utilities.types;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the column type of each Java type, resolved once per field when its accessor is created.<br>
+ * The types are looked for in the ones registered on the JVM, then in the {@link ColumnTypeProvider} found with the ServiceLoader, then in the
+ * built-in ones: the primitives and their boxes, String, BigDecimal, BigInteger, byte[], UUID, the enums (by name), the java.sql and
+ * java.util dates and LocalDate, LocalTime, LocalDateTime and Instant. Any other type is set and read as an object of a VARCHAR column.<br>
+ * byte[] is a VARBINARY column set with setBytes, the BLOB and CLOB columns of the drivers that limit it have the stream based
+ * {@link #blob()} and {@link #clob()} to be registered
+ */
+public class ColumnTypes {
+
+	/** Map Key: Java type, Value: its column type */
+	private static final ConcurrentMap<Class<?>, ColumnType<?>> RESOLVED = new ConcurrentHashMap<>();
+
+	/** Map Key: Java type, Value: column type registered on the JVM */
+	private static final ConcurrentMap<Class<?>, ColumnType<?>> REGISTERED = new ConcurrentHashMap<>();
+
+	/** Map Key: Java type, Value: built-in column type */
+	private static final Map<Class<?>, ColumnType<?>> BUILT_IN = builtIn();
+
+	/** Chars or bytes read at once from the LOB streams */
+	private static final int LOB_BUFFER = 8192;
+
+	private static List<ColumnTypeProvider> providers;
+
+	private ColumnTypes() {
+	}
+
+	/**
+	 * Get the column type of the Java type
+	 *
+	 * @param fieldType
+	 *            Primitive types are resolved as their boxes
+	 * @return Never null
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> ColumnType<T> of(Class<T> fieldType) {
+		Class<T> type = fieldType.isPrimitive() ? (Class<T>) MethodType.methodType(fieldType).wrap().returnType() : fieldType;
+		ColumnType<?> columnType = RESOLVED.get(type);
+		if (columnType == null) {
+			// Not computed inside the map, the providers can look for other types
+			columnType = resolve(type);
+			ColumnType<?> previous = RESOLVED.putIfAbsent(type, columnType);
+			columnType = previous != null ? previous : columnType;
+		}
+		return (ColumnType<T>) columnType;
+	}
+
+	/**
+	 * Check if the Java type is an integer that fits in a long, the keys that can be split in ranges and mapped to partitions with
+	 * <code>MOD</code>
+	 *
+	 * @param fieldType
+	 * @return
+	 */
+	public static boolean isIntegral(Class<?> fieldType) {
+		Class<?> type = MethodType.methodType(fieldType).wrap().returnType();
+		return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class;
+	}
+
+	/**
+	 * Register the column type of a Java type on this JVM, replacing the one of the providers or the built-in one. It should be registered on
+	 * all the nodes before the caches start, the ColumnTypeProvider does it on its own
+	 *
+	 * @param fieldType
+	 * @param columnType
+	 */
+	public static <T> void register(Class<T> fieldType, ColumnType<T> columnType) {
+		REGISTERED.put(fieldType, columnType);
+		RESOLVED.remove(fieldType);
+	}
+
+	/**
+	 * Column type of the byte[] of a BLOB column, set and read as a stream for the drivers that limit the size of setBytes. Registered with
+	 * <code>register(byte[].class, ColumnTypes.blob())</code>
+	 *
+	 * @return
+	 */
+	public static ColumnType<byte[]> blob() {
+		return new SimpleType<byte[]>(Types.BLOB, (ps, i, v) -> ps.setBinaryStream(i, new ByteArrayInputStream(v), v.length), (rs, i) -> {
+			try (InputStream in = rs.getBinaryStream(i)) {
+				if (in == null) {
+					return null;
+				}
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				byte[] buffer = new byte[LOB_BUFFER];
+				for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+					out.write(buffer, 0, read);
+				}
+				return out.toByteArray();
+
+			} catch (IOException e) {
+				throw new SQLException("Failed to read the BLOB of column " + i, e);
+			}
+		});
+	}
+
+	/**
+	 * Column type of the String of a CLOB column, set and read as a stream for the drivers that limit the size of setString. Registered with
+	 * <code>register(String.class, ColumnTypes.clob())</code> it maps all the Strings, the drivers also stream the VARCHAR columns
+	 *
+	 * @return
+	 */
+	public static ColumnType<String> clob() {
+		return new SimpleType<String>(Types.CLOB, (ps, i, v) -> ps.setCharacterStream(i, new StringReader(v), v.length()), (rs, i) -> {
+			try (Reader in = rs.getCharacterStream(i)) {
+				if (in == null) {
+					return null;
+				}
+				StringBuilder out = new StringBuilder();
+				char[] buffer = new char[LOB_BUFFER];
+				for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+					out.append(buffer, 0, read);
+				}
+				return out.toString();
+
+			} catch (IOException e) {
+				throw new SQLException("Failed to read the CLOB of column " + i, e);
+			}
+		});
+	}
+
+	private static ColumnType<?> resolve(Class<?> type) {
+		ColumnType<?> columnType = REGISTERED.get(type);
+		if (columnType != null) {
+			return columnType;
+		}
+
+		for (ColumnTypeProvider provider : providers()) {
+			columnType = provider.columnType(type);
+			if (columnType != null) {
+				return columnType;
+			}
+		}
+
+		columnType = BUILT_IN.get(type);
+		if (columnType != null) {
+			return columnType;
+		}
+		if (type.isEnum()) {
+			return enumType(type);
+		}
+		return objectType(type);
+	}
+
+	private static synchronized List<ColumnTypeProvider> providers() {
+		if (providers == null) {
+			List<ColumnTypeProvider> loaded = new ArrayList<>();
+			for (ColumnTypeProvider provider : ServiceLoader.load(ColumnTypeProvider.class)) {
+				loaded.add(provider);
+			}
+			providers = Collections.unmodifiableList(loaded);
+		}
+		return providers;
+	}
+
+	private static Map<Class<?>, ColumnType<?>> builtIn() {
+		Map<Class<?>, ColumnType<?>> types = new HashMap<>();
+
+		types.put(Long.class, new SimpleType<Long>(Types.BIGINT, (ps, i, v) -> ps.setLong(i, v), (rs, i) -> {
+			long value = rs.getLong(i);
+			return rs.wasNull() ? null : value;
+		}));
+		types.put(Integer.class, new SimpleType<Integer>(Types.INTEGER, (ps, i, v) -> ps.setInt(i, v), (rs, i) -> {
+			int value = rs.getInt(i);
+			return rs.wasNull() ? null : value;
+		}));
+		types.put(Short.class, new SimpleType<Short>(Types.SMALLINT, (ps, i, v) -> ps.setShort(i, v), (rs, i) -> {
+			short value = rs.getShort(i);
+			return rs.wasNull() ? null : value;
+		}));
+		types.put(Byte.class, new SimpleType<Byte>(Types.TINYINT, (ps, i, v) -> ps.setByte(i, v), (rs, i) -> {
+			byte value = rs.getByte(i);
+			return rs.wasNull() ? null : value;
+		}));
+		types.put(Double.class, new SimpleType<Double>(Types.DOUBLE, (ps, i, v) -> ps.setDouble(i, v), (rs, i) -> {
+			double value = rs.getDouble(i);
+			return rs.wasNull() ? null : value;
+		}));
+		types.put(Float.class, new SimpleType<Float>(Types.REAL, (ps, i, v) -> ps.setFloat(i, v), (rs, i) -> {
+			float value = rs.getFloat(i);
+			return rs.wasNull() ? null : value;
+		}));
+		types.put(Boolean.class, new SimpleType<Boolean>(Types.BOOLEAN, (ps, i, v) -> ps.setBoolean(i, v), (rs, i) -> {
+			boolean value = rs.getBoolean(i);
+			return rs.wasNull() ? null : value;
+		}));
+		types.put(Character.class, new SimpleType<Character>(Types.CHAR, (ps, i, v) -> ps.setString(i, String.valueOf(v)), (rs, i) -> {
+			String value = rs.getString(i);
+			return value == null || value.isEmpty() ? null : value.charAt(0);
+		}));
+
+		types.put(String.class, new SimpleType<String>(Types.VARCHAR, (ps, i, v) -> ps.setString(i, v), (rs, i) -> rs.getString(i)));
+		types.put(BigDecimal.class, new SimpleType<BigDecimal>(Types.DECIMAL, (ps, i, v) -> ps.setBigDecimal(i, v), (rs, i) -> rs.getBigDecimal(i)));
+		types.put(BigInteger.class, new SimpleType<BigInteger>(Types.DECIMAL, (ps, i, v) -> ps.setBigDecimal(i, new BigDecimal(v)), (rs, i) -> {
+			BigDecimal value = rs.getBigDecimal(i);
+			return value == null ? null : value.toBigInteger();
+		}));
+		types.put(byte[].class, new SimpleType<byte[]>(Types.VARBINARY, (ps, i, v) -> ps.setBytes(i, v), (rs, i) -> rs.getBytes(i)));
+		// UUID columns of the DBs that have them, a provider can map them to CHAR(36) or BINARY(16) for the others
+		types.put(UUID.class, new SimpleType<UUID>(Types.OTHER, (ps, i, v) -> ps.setObject(i, v), (rs, i) -> {
+			Object value = rs.getObject(i);
+			return value == null || value instanceof UUID ? (UUID) value : UUID.fromString(value.toString());
+		}));
+
+		types.put(Timestamp.class, new SimpleType<Timestamp>(Types.TIMESTAMP, (ps, i, v) -> ps.setTimestamp(i, v), (rs, i) -> rs.getTimestamp(i)));
+		types.put(Date.class, new SimpleType<Date>(Types.DATE, (ps, i, v) -> ps.setDate(i, v), (rs, i) -> rs.getDate(i)));
+		types.put(Time.class, new SimpleType<Time>(Types.TIME, (ps, i, v) -> ps.setTime(i, v), (rs, i) -> rs.getTime(i)));
+		types.put(java.util.Date.class, new SimpleType<java.util.Date>(Types.TIMESTAMP, (ps, i, v) -> ps.setTimestamp(i, new Timestamp(v.getTime())),
+				(rs, i) -> {
+					Timestamp value = rs.getTimestamp(i);
+					return value == null ? null : new java.util.Date(value.getTime());
+				}));
+
+		types.put(LocalDate.class, new JavaTimeType<LocalDate>(Types.DATE, LocalDate.class, (ps, i, v) -> ps.setDate(i, Date.valueOf(v)), (rs, i) -> {
+			Date value = rs.getDate(i);
+			return value == null ? null : value.toLocalDate();
+		}));
+		types.put(LocalTime.class, new JavaTimeType<LocalTime>(Types.TIME, LocalTime.class, (ps, i, v) -> ps.setTime(i, Time.valueOf(v)), (rs, i) -> {
+			Time value = rs.getTime(i);
+			return value == null ? null : value.toLocalTime();
+		}));
+		types.put(LocalDateTime.class, new JavaTimeType<LocalDateTime>(Types.TIMESTAMP, LocalDateTime.class, (ps, i, v) -> ps.setTimestamp(i,
+				Timestamp.valueOf(v)), (rs, i) -> {
+					Timestamp value = rs.getTimestamp(i);
+					return value == null ? null : value.toLocalDateTime();
+				}));
+		types.put(Instant.class, new JavaTimeType<Instant>(Types.TIMESTAMP, Instant.class, (ps, i, v) -> ps.setTimestamp(i, Timestamp.from(v)), (rs,
+				i) -> {
+					Timestamp value = rs.getTimestamp(i);
+					return value == null ? null : value.toInstant();
+				}));
+
+		return types;
+	}
+
+	/**
+	 * Enum kept by its name in a VARCHAR column
+	 *
+	 * @param type
+	 *            Class of the enum
+	 * @return
+	 */
+	private static ColumnType<Enum<?>> enumType(Class<?> type) {
+		Map<String, Enum<?>> constants = enumConstants(type);
+		return new SimpleType<Enum<?>>(Types.VARCHAR, (ps, i, v) -> ps.setString(i, v.name()), (rs, i) -> {
+			String value = rs.getString(i);
+			if (value == null) {
+				return null;
+			}
+			Enum<?> constant = constants.get(value);
+			if (constant == null) {
+				throw new SQLException("No constant " + value + " in enum " + type.getName());
+			}
+			return constant;
+		});
+	}
+
+	/**
+	 * Get the constants of the enum by name, without the generic bound that Enum.valueOf needs
+	 *
+	 * @param type
+	 * @return
+	 */
+	public static Map<String, Enum<?>> enumConstants(Class<?> type) {
+		Map<String, Enum<?>> constants = new HashMap<>();
+		for (Object constant : type.getEnumConstants()) {
+			constants.put(((Enum<?>) constant).name(), (Enum<?>) constant);
+		}
+		return constants;
+	}
+
+	/**
+	 * Type without a specific mapping, converted by the driver
+	 *
+	 * @param type
+	 * @return
+	 */
+	private static ColumnType<Object> objectType(Class<?> type) {
+		return new SimpleType<Object>(Types.VARCHAR, (ps, i, v) -> ps.setObject(i, v), (rs, i) -> rs.getObject(i, type));
+	}
+
+	@FunctionalInterface
+	private interface Setter<T> {
+		void set(PreparedStatement ps, int index, T value) throws SQLException;
+	}
+
+	@FunctionalInterface
+	private interface Getter<T> {
+		T get(ResultSet rs, int index) throws SQLException;
+	}
+
+	private static class SimpleType<T> implements ColumnType<T> {
+		private final int sqlType;
+		private final Setter<T> setter;
+		private final Getter<T> getter;
+
+		SimpleType(int sqlType, Setter<T> setter, Getter<T> getter) {
+			this.sqlType = sqlType;
+			this.setter = setter;
+			this.getter = getter;
+		}
+
+		@Override
+		public int sqlType() {
+			return sqlType;
+		}
+
+		@Override
+		public void set(PreparedStatement ps, int index, T value) throws SQLException {
+			setter.set(ps, index, value);
+		}
+
+		@Override
+		public T get(ResultSet rs, int index) throws SQLException {
+			return getter.get(rs, index);
+		}
+	}
+
+	/**
+	 * java.time type set through its java.sql type, and read with the <code>getObject(index, type)</code> of JDBC 4.2 that does not convert
+	 * the java.sql value through the time zone. Once a driver fails to read it that way, it is read through the java.sql type
+	 */
+	private static class JavaTimeType<T> extends SimpleType<T> {
+		private final Class<T> type;
+		private volatile boolean getObject = true;
+
+		JavaTimeType(int sqlType, Class<T> type, Setter<T> setter, Getter<T> getter) {
+			super(sqlType, setter, getter);
+			this.type = type;
+		}
+
+		@Override
+		public T get(ResultSet rs, int index) throws SQLException {
+			if (getObject) {
+				try {
+					return rs.getObject(index, type);
+
+				} catch (SQLException | AbstractMethodError | UnsupportedOperationException e) {
+					// Kept on getObject if the java.sql type fails too, the column is the problem and not the driver
+					T value = super.get(rs, index);
+					getObject = false;
+					return value;
+				}
+			}
+			return super.get(rs, index);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.ignite.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.store.jdbc.dialect.H2Dialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ignite.utilities.model.Product;
+import com.ignite.utilities.refresh.CacheRefresher;
+
+/**
+ * Refresh of the rows changed in the DB by other systems, which the fingerprints of the skipped writes can not know about
+ */
+public class CacheRefresherTest {
+
+	private H2DataSourceFactory dataSource;
+	private Ignite ignite;
+
+	@Before
+	public void startNode() throws Exception {
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+		IgniteAutoConfig.setStoreSkipUnchanged(false);
+		IgniteAutoConfig.addClass(Product.class);
+
+		dataSource = new H2DataSourceFactory("refresh");
+		dataSource.execute("DROP TABLE IF EXISTS PRODUCT", Product.CREATE_TABLE, "INSERT INTO PRODUCT VALUES (1, 100, 1)");
+		ignite = TestNodes.start("refresh", IgniteAutoConfig.generateCacheConfiguration(dataSource, new H2Dialect()));
+	}
+
+	@After
+	public void stopNodes() {
+		TestNodes.stopAll();
+	}
+
+	@Test
+	public void streamsTheChangedRows() throws Exception {
+		IgniteCache<Long, Product> cache = ignite.cache("productCache");
+		try (CacheRefresher refresher = IgniteAutoConfig.startRefresher(ignite, dataSource)) {
+			cache.loadCache(null);
+			assertEquals(100, cache.get(1L).getPrice());
+
+			dataSource.execute("UPDATE PRODUCT SET PRICE = 120, VERSION = 2 WHERE ID = 1");
+			refresher.refresh();
+			assertEquals(120, cache.get(1L).getPrice());
+			assertEquals(2L, refresher.getWatermark("PRODUCT"));
+		}
+	}
+
+	@Test
+	public void notStartedWithTheUnchangedWritesSkipped() throws Exception {
+		IgniteAutoConfig.setStoreSkipUnchanged(true);
+		try {
+			IgniteAutoConfig.startRefresher(ignite, dataSource).close();
+			fail("The refresher should not start while the stores skip the unchanged writes");
+		} catch (Exception ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().endsWith("the stores should not skip the unchanged writes"));
+		}
+	}
+
+	@Test
+	public void unchangedWritesNotSkippedWhileItRuns() throws Exception {
+		CacheRefresher refresher = IgniteAutoConfig.startRefresher(ignite, dataSource);
+		try {
+			IgniteAutoConfig.setStoreSkipUnchanged(true);
+			fail("The unchanged writes should not be skipped while the refresher runs");
+		} catch (Exception ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().endsWith("can not be skipped while the refresher runs"));
+		}
+
+		refresher.close();
+		IgniteAutoConfig.setStoreSkipUnchanged(true);
+		assertTrue(IgniteAutoConfig.getStoreConfig().isSkipUnchanged());
+	}
+}
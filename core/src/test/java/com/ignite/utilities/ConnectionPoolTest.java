@@ -0,0 +1,158 @@
+package com.ignite.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.store.jdbc.dialect.H2Dialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ignite.utilities.model.Customer;
+import com.ignite.utilities.model.Purchase;
+import com.ignite.utilities.pool.ConnectionPool;
+import com.ignite.utilities.pool.PooledDataSourceFactory;
+
+/**
+ * Stores on a pool with the smallest size allowed, the nested operations should not wait for connections held by their own sessions
+ */
+public class ConnectionPoolTest {
+
+	private H2DataSourceFactory dataSource;
+
+	@Before
+	public void addClasses() throws Exception {
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+		IgniteAutoConfig.setStoreConnectionPool(true);
+		IgniteAutoConfig.setStoreLoadThreads(1);
+		// A borrow that waits fails the test instead of hanging it
+		IgniteAutoConfig.getStoreConfig().setPoolBorrowTimeout(2_000);
+		IgniteAutoConfig.addClass(Customer.class);
+		IgniteAutoConfig.addClass(Purchase.class);
+
+		dataSource = new H2DataSourceFactory("pool");
+		dataSource.execute("DROP TABLE IF EXISTS CUSTOMER", "DROP TABLE IF EXISTS PURCHASE", Customer.CREATE_TABLE, Purchase.CREATE_TABLE,
+				"INSERT INTO CUSTOMER SELECT X, 'customer' || X FROM SYSTEM_RANGE(1, 10)",
+				"INSERT INTO PURCHASE SELECT X, MOD(X, 10) + 1, X * 10 FROM SYSTEM_RANGE(1, 30)");
+	}
+
+	@After
+	public void stopNodes() {
+		TestNodes.stopAll();
+	}
+
+	@Test
+	public void poolBelowTheLoadConnections() {
+		IgniteAutoConfig.setStorePoolSize(1);
+		try {
+			IgniteAutoConfig.generateCacheConfiguration(dataSource, new H2Dialect());
+			fail("A pool without a connection for the session of loadCache should be rejected");
+		} catch (Exception ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().endsWith("should be at least the load threads plus one, 2"));
+		}
+	}
+
+	@Test
+	public void nestedOperationsOnTheSmallestPool() throws Exception {
+		IgniteAutoConfig.setStorePoolSize(2);
+		Ignite ignite = TestNodes.start("pool", IgniteAutoConfig.generateCacheConfiguration(dataSource, new H2Dialect()));
+		IgniteCache<Long, Customer> customers = ignite.cache("customerCache");
+		IgniteCache<Object, Purchase> purchases = ignite.cache("purchaseCache");
+
+		// The session of loadCache and its single range
+		customers.loadCache(null);
+		assertEquals(10, customers.size(CachePeekMode.PRIMARY));
+
+		// The session of the parent, then the one of the child cache on the loader of the parent store
+		customers.clear();
+		dataSource.takePrepared();
+		assertEquals("customer1", customers.get(1L).getName());
+		awaitSize(purchases, 3);
+		assertEquals(2, customers.getAll(new HashSet<>(Arrays.asList(2L, 3L))).size());
+		awaitSize(purchases, 9);
+		// Queries per batch of parents, no read-through per child. The pool prepares each statement once per connection
+		assertTrue(dataSource.takePrepared().stream().filter(sql -> sql.contains("FROM PURCHASE")).allMatch(sql -> sql.contains("CUSTOMER_ID IN")));
+	}
+
+	private static void awaitSize(IgniteCache<?, ?> cache, int size) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (cache.size(CachePeekMode.PRIMARY) < size) {
+			assertTrue("The children were not loaded", System.currentTimeMillis() < deadline);
+			Thread.sleep(20);
+		}
+		assertEquals(size, cache.size(CachePeekMode.PRIMARY));
+	}
+
+	@Test
+	public void poolsClosedWhenTheCachesStop() throws Exception {
+		IgniteAutoConfig.setStorePoolSize(4);
+		int openPools = PooledDataSourceFactory.getOpenPools();
+		for (int restart = 0; restart < 3; restart++) {
+			// Each configuration generated has a pool of its own
+			Ignite ignite = TestNodes.start("pool", IgniteAutoConfig.generateCacheConfiguration(dataSource, new H2Dialect()));
+			IgniteCache<Long, Customer> customers = ignite.cache("customerCache");
+			customers.put(11L, new Customer(11, "customer11"));
+			assertEquals("customer1", customers.get(1L).getName());
+			assertEquals(openPools + 1, PooledDataSourceFactory.getOpenPools());
+
+			TestNodes.stopAll();
+			assertEquals(openPools, PooledDataSourceFactory.getOpenPools());
+		}
+	}
+
+	@Test
+	public void cachedStatementsOfPlainDelegates() throws Exception {
+		ConnectionPool pool = new ConnectionPool(dataSource.create(), 1, 8, 60_000, 2_000);
+		String sql = "SELECT NAME FROM CUSTOMER WHERE ID = ?";
+
+		Connection conn = pool.getConnection();
+		PreparedStatement ps = conn.prepareStatement(sql);
+		assertFalse(Proxy.isProxyClass(conn.getClass()));
+		assertFalse(Proxy.isProxyClass(ps.getClass()));
+		assertSame(conn, ps.getConnection());
+		ps.setLong(1, 3);
+		try (ResultSet rs = ps.executeQuery()) {
+			assertTrue(rs.next());
+			assertEquals("customer3", rs.getString(1));
+		}
+		ps.close();
+		conn.close();
+
+		// The same physical connection and statement on the next borrow, the returned connection can not be used
+		Connection next = pool.getConnection();
+		assertSame(ps, next.prepareStatement(sql));
+		assertEquals(1, pool.getOpened());
+		try {
+			conn.prepareStatement(sql);
+			fail("A returned connection should not be usable");
+		} catch (SQLException ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().endsWith("Connection already returned to the pool"));
+		}
+		next.close();
+		pool.close();
+	}
+
+	@Test
+	public void defaultSizeCountsTheSessions() throws Exception {
+		IgniteAutoConfig.setStoreSessions(3);
+		IgniteAutoConfig.setStorePoolSize(0);
+		IgniteAutoConfig.generateCacheConfiguration(dataSource, new H2Dialect());
+		// The load thread and the session of loadCache, one connection per session and the loader of the children of customerCache
+		assertEquals(2 + 3 + 1, ((PooledDataSourceFactory) GenerateCacheConfiguration.storeDataSource(dataSource)).getMaxSize());
+	}
+}
@@ -0,0 +1,153 @@
+package com.ignite.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+
+import org.apache.ignite.cache.store.jdbc.dialect.H2Dialect;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteTable;
+import com.ignite.utilities.model.Customer;
+import com.ignite.utilities.model.Manager;
+import com.ignite.utilities.model.Person;
+import com.ignite.utilities.model.Purchase;
+
+/**
+ * Validations of the mapped classes done when the cache configurations are generated, their errors should reach the caller
+ */
+public class GenerateCacheConfigurationTest {
+
+	@Before
+	public void reset() {
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+	}
+
+	@Test
+	public void childrenGetTheAffinityOfTheirParent() throws Exception {
+		IgniteAutoConfig.addClass(Customer.class);
+		IgniteAutoConfig.addClass(Purchase.class);
+
+		Map<String, CacheConfiguration<?, ?>> cacheConfigs = generate();
+		assertEquals(2, cacheConfigs.size());
+		assertEquals(cacheConfigs.get("customerCache").getAffinity().partitions(), cacheConfigs.get("purchaseCache").getAffinity().partitions());
+	}
+
+	@Test
+	public void childWithoutItsParent() throws Exception {
+		IgniteAutoConfig.addClass(Purchase.class);
+		assertError("Parent " + Customer.class.getName() + " of " + Purchase.class.getName() + " should be added too");
+	}
+
+	@Test
+	public void tablesOfACacheWithTheSameKeyType() throws Exception {
+		IgniteAutoConfig.addClass(Person.class);
+		IgniteAutoConfig.addClass(Manager.class);
+		assertError(Person.class.getName() + " and " + Manager.class.getName() + " share cache personCache with keys of the same type "
+				+ Long.class.getName());
+	}
+
+	@Test
+	public void keyFieldWithoutColumn() {
+		try {
+			IgniteAutoConfig.addClass(KeyWithoutColumn.class);
+			fail("A key field without column should be rejected");
+		} catch (Exception ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().endsWith("@IgniteId field region should have also @IgniteColumn"));
+		}
+	}
+
+	@Test
+	public void manyToOneOfTheParentEntity() {
+		try {
+			IgniteAutoConfig.addClass(PurchaseOfEntity.class);
+			fail("A relationship to the parent entity should be rejected");
+		} catch (Exception ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().endsWith("Field customer should have the @IgniteId of its parent " + Customer.class
+					.getName() + " instead of the entity, the keys of the children only have scalar columns"));
+		}
+	}
+
+	@Test
+	public void manyToOneWithoutTargetEntity() {
+		try {
+			IgniteAutoConfig.addClass(PurchaseWithoutTarget.class);
+			fail("A scalar relationship without targetEntity should be rejected");
+		} catch (Exception ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().endsWith(
+					"@ManyToOne field customerId should declare the targetEntity, it can not be inferred from its scalar type Long"));
+		}
+	}
+
+	private static Map<String, CacheConfiguration<?, ?>> generate() throws Exception {
+		return IgniteAutoConfig.generateCacheConfiguration(new H2DataSourceFactory("configuration"), new H2Dialect());
+	}
+
+	/**
+	 * Check that generating the configurations fails with the message
+	 *
+	 * @param message
+	 */
+	private static void assertError(String message) {
+		try {
+			generate();
+			fail("The configurations should not be generated: " + message);
+		} catch (Exception ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().endsWith(message));
+		}
+	}
+
+	/**
+	 * Composite key whose first field has a column and the second one does not
+	 */
+	@IgniteTable(cacheName = "keyCache", name = "KEY_WITHOUT_COLUMN")
+	public static class KeyWithoutColumn {
+
+		@IgniteId
+		@IgniteColumn(name = "ID")
+		private Long id;
+
+		@IgniteId
+		private String region;
+	}
+
+	/**
+	 * Child mapped as a JPA entity, with the parent entity instead of its key
+	 */
+	@IgniteTable(cacheName = "purchaseCache", name = "PURCHASE")
+	public static class PurchaseOfEntity {
+
+		@IgniteId
+		@IgniteColumn(name = "ID")
+		private Long id;
+
+		@ManyToOne
+		@JoinColumn(name = "CUSTOMER_ID")
+		private Customer customer;
+	}
+
+	/**
+	 * Child with the key of the parent but without the parent type
+	 */
+	@IgniteTable(cacheName = "purchaseCache", name = "PURCHASE")
+	public static class PurchaseWithoutTarget {
+
+		@IgniteId
+		@IgniteColumn(name = "ID")
+		private Long id;
+
+		@ManyToOne
+		@JoinColumn(name = "CUSTOMER_ID")
+		private Long customerId;
+	}
+}
@@ -0,0 +1,224 @@
+package com.ignite.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.store.jdbc.dialect.BasicJdbcDialect;
+import org.apache.ignite.cache.store.jdbc.dialect.H2Dialect;
+import org.apache.ignite.cache.store.jdbc.dialect.JdbcDialect;
+import org.apache.ignite.cache.store.jdbc.dialect.MySQLDialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ignite.utilities.dialect.PostgreSQLDialect;
+import com.ignite.utilities.dto.StoreConfigDTO;
+import com.ignite.utilities.dto.TableDTO;
+import com.ignite.utilities.model.Country;
+import com.ignite.utilities.model.Person;
+
+/**
+ * Writes of the generated CacheStore against an embedded H2 DB
+ */
+public class GenerateCacheStoreTest {
+
+	@Before
+	public void addClasses() throws Exception {
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+		IgniteAutoConfig.addClass(Person.class);
+	}
+
+	@After
+	public void stopNodes() {
+		TestNodes.stopAll();
+	}
+
+	@Test
+	public void upsertQueryOfEachDialect() throws Exception {
+		assertTrue(mergeQuery(new H2Dialect()).startsWith("MERGE INTO PERSON"));
+		assertTrue(mergeQuery(new MySQLDialect()).endsWith("ON DUPLICATE KEY UPDATE NAME = VALUES(NAME), AGE = VALUES(AGE)"));
+		assertTrue(mergeQuery(new PostgreSQLDialect()).endsWith("ON CONFLICT (ID) DO UPDATE SET NAME = EXCLUDED.NAME, AGE = EXCLUDED.AGE"));
+		// Without upsert the store updates first and inserts the missing rows
+		assertNull(mergeQuery(new BasicJdbcDialect()));
+	}
+
+	@Test
+	public void eachWriteIsASingleMerge() throws Exception {
+		H2DataSourceFactory dataSource = new H2DataSourceFactory("merge");
+		dataSource.execute(Person.CREATE_TABLE);
+		IgniteCache<Long, Person> cache = startNode(dataSource, new H2Dialect());
+		String mergeQuery = mergeQuery(new H2Dialect());
+
+		dataSource.takePrepared();
+		cache.put(1L, new Person(1, "Ann", 30));
+		assertEquals(Collections.singletonList(mergeQuery), dataSource.takePrepared());
+		assertRow(dataSource, 1, "Ann", 30);
+
+		cache.put(1L, new Person(1, "Ann", 31));
+		assertEquals(Collections.singletonList(mergeQuery), dataSource.takePrepared());
+		assertRow(dataSource, 1, "Ann", 31);
+		assertEquals(1L, dataSource.queryValue("SELECT COUNT(*) FROM PERSON"));
+	}
+
+	@Test
+	public void upsertOnDuplicateKey() throws Exception {
+		H2DataSourceFactory dataSource = new H2DataSourceFactory("duplicateKey", ";MODE=MySQL", false);
+		dataSource.execute(Person.CREATE_TABLE);
+		IgniteCache<Long, Person> cache = startNode(dataSource, new MySQLDialect());
+
+		cache.put(1L, new Person(1, "Ann", 30));
+		cache.put(1L, new Person(1, "Bob", 40));
+		assertRow(dataSource, 1, "Bob", 40);
+		assertEquals(1L, dataSource.queryValue("SELECT COUNT(*) FROM PERSON"));
+
+		String mergeQuery = mergeQuery(new MySQLDialect());
+		List<String> prepared = dataSource.takePrepared();
+		assertEquals(2, prepared.size());
+		assertTrue(prepared.stream().allMatch(mergeQuery::equals));
+	}
+
+	@Test
+	public void updateBatchInsertsTheMissingRows() throws Exception {
+		H2DataSourceFactory dataSource = new H2DataSourceFactory("updateInsert");
+		dataSource.execute(Person.CREATE_TABLE, "INSERT INTO PERSON VALUES (1, 'Ann', 30)");
+		IgniteCache<Long, Person> cache = startNode(dataSource, new BasicJdbcDialect());
+
+		dataSource.takePrepared();
+		cache.putAll(people(1, 2, 3));
+		assertEquals(2, dataSource.takePrepared().size());
+		for (long id = 1; id <= 3; id++) {
+			assertRow(dataSource, id, "name" + id, (int) id);
+		}
+		assertEquals(3L, dataSource.queryValue("SELECT COUNT(*) FROM PERSON"));
+	}
+
+	@Test
+	public void batchWithoutCountsChecksEachRow() throws Exception {
+		H2DataSourceFactory dataSource = new H2DataSourceFactory("noCounts", "", true);
+		dataSource.execute(Person.CREATE_TABLE, "INSERT INTO PERSON VALUES (1, 'Ann', 30)");
+		IgniteCache<Long, Person> cache = startNode(dataSource, new BasicJdbcDialect());
+
+		// Each row is updated again on its own, the missing ones are inserted
+		cache.putAll(people(1, 2, 3));
+		for (long id = 1; id <= 3; id++) {
+			assertRow(dataSource, id, "name" + id, (int) id);
+		}
+		assertEquals(3L, dataSource.queryValue("SELECT COUNT(*) FROM PERSON"));
+
+		cache.put(2L, new Person(2, "Bob", 40));
+		assertRow(dataSource, 2, "Bob", 40);
+		assertEquals(3L, dataSource.queryValue("SELECT COUNT(*) FROM PERSON"));
+	}
+
+	@Test
+	public void readThroughOfSingleKeysAndBatches() throws Exception {
+		H2DataSourceFactory dataSource = new H2DataSourceFactory("readThrough");
+		dataSource.execute(Person.CREATE_TABLE, "INSERT INTO PERSON SELECT X, 'name' || X, X FROM SYSTEM_RANGE(1, 10)");
+		IgniteCache<Long, Person> cache = startNode(dataSource, new H2Dialect());
+
+		assertEquals("name3", cache.get(3L).getName());
+		assertNull(cache.get(11L));
+
+		Map<Long, Person> loaded = cache.getAll(new HashSet<>(Arrays.asList(4L, 5L, 6L, 11L)));
+		assertEquals(new HashSet<>(Arrays.asList(4L, 5L, 6L)), loaded.keySet());
+		assertEquals(5, loaded.get(5L).getAge());
+	}
+
+	@Test
+	public void loadCacheOfTheWholeLongRange() throws Exception {
+		IgniteAutoConfig.setStoreLoadThreads(4);
+		H2DataSourceFactory dataSource = new H2DataSourceFactory("longRange");
+		dataSource.execute(Person.CREATE_TABLE, "INSERT INTO PERSON VALUES (" + Long.MIN_VALUE + ", 'min', 1)",
+				"INSERT INTO PERSON VALUES (-1, 'minusOne', 2)", "INSERT INTO PERSON VALUES (0, 'zero', 3)",
+				"INSERT INTO PERSON VALUES (" + Long.MAX_VALUE + ", 'max', 4)");
+		IgniteCache<Long, Person> cache = startNode(dataSource, new H2Dialect());
+
+		dataSource.takePrepared();
+		cache.loadCache(null);
+		assertEquals(4, cache.size(CachePeekMode.PRIMARY));
+		assertEquals("min", cache.localPeek(Long.MIN_VALUE).getName());
+		assertEquals("max", cache.localPeek(Long.MAX_VALUE).getName());
+		// One query per range, the min and max are read on a plain statement
+		assertEquals(4, dataSource.takePrepared().stream().filter(sql -> sql.contains("ID >= ? AND ID <= ?")).count());
+	}
+
+	@Test
+	public void loadCacheOfAStringKey() throws Exception {
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+		IgniteAutoConfig.setStoreLoadThreads(4);
+		IgniteAutoConfig.addClass(Country.class);
+		H2DataSourceFactory dataSource = new H2DataSourceFactory("stringKey");
+		dataSource.execute(Country.CREATE_TABLE, "INSERT INTO COUNTRY VALUES ('ES', 'Spain')", "INSERT INTO COUNTRY VALUES ('FR', 'France')",
+				"INSERT INTO COUNTRY VALUES ('PT', 'Portugal')");
+		Ignite ignite = TestNodes.start("store", IgniteAutoConfig.generateCacheConfiguration(dataSource, new H2Dialect()));
+		IgniteCache<String, Country> cache = ignite.cache("countryCache");
+
+		dataSource.takePrepared();
+		cache.loadCache(null);
+		assertEquals(3, cache.size(CachePeekMode.PRIMARY));
+		assertEquals(Collections.singletonList("SELECT CODE,NAME FROM COUNTRY"), dataSource.takePrepared());
+
+		cache.clear();
+		assertEquals("France", cache.get("FR").getName());
+		assertEquals(2, cache.getAll(new HashSet<>(Arrays.asList("ES", "PT", "IT"))).size());
+	}
+
+	/**
+	 * People with the ids, named after them
+	 *
+	 * @param ids
+	 * @return
+	 */
+	static Map<Long, Person> people(long... ids) {
+		Map<Long, Person> people = new TreeMap<>();
+		for (long id : ids) {
+			people.put(id, new Person(id, "name" + id, (int) id));
+		}
+		return people;
+	}
+
+	/**
+	 * Start a node with the cache of {@link Person}
+	 *
+	 * @param dataSource
+	 * @param dialect
+	 * @return
+	 */
+	static IgniteCache<Long, Person> startNode(H2DataSourceFactory dataSource, JdbcDialect dialect) throws Exception {
+		Ignite ignite = TestNodes.start("store", IgniteAutoConfig.generateCacheConfiguration(dataSource, dialect));
+		return ignite.cache("personCache");
+	}
+
+	/**
+	 * Check the columns of the row
+	 *
+	 * @param dataSource
+	 * @param id
+	 * @param name
+	 * @param age
+	 */
+	static void assertRow(H2DataSourceFactory dataSource, long id, String name, int age) throws Exception {
+		assertEquals(name, dataSource.queryValue("SELECT NAME FROM PERSON WHERE ID = " + id));
+		assertEquals(age, dataSource.queryValue("SELECT AGE FROM PERSON WHERE ID = " + id));
+	}
+
+	private static String mergeQuery(JdbcDialect dialect) throws Exception {
+		TableDTO table = new ProcessAnnotationsDTO().loadClassData(Person.class);
+		table.setStatements(GenerateStatements.createStatements(table));
+		GenerateStatements.createDialectQueries(table, dialect, new StoreConfigDTO());
+		return table.getStatements().getMergeQuery();
+	}
+}
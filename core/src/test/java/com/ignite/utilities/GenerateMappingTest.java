@@ -0,0 +1,79 @@
+package com.ignite.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.QueryEntity;
+import org.apache.ignite.cache.QueryIndex;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.cache.store.jdbc.dialect.H2Dialect;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ignite.utilities.model.Employee;
+
+/**
+ * Query indexes generated from the annotations, checked with the plans of the queries on an embedded node
+ */
+public class GenerateMappingTest {
+
+	private IgniteCache<Long, Employee> cache;
+
+	@Before
+	public void startNode() throws Exception {
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+		IgniteAutoConfig.addClass(Employee.class);
+
+		H2DataSourceFactory dataSource = new H2DataSourceFactory("mapping");
+		dataSource.execute("DROP TABLE IF EXISTS EMPLOYEE", Employee.CREATE_TABLE);
+		cache = TestNodes.start("mapping", IgniteAutoConfig.generateCacheConfiguration(dataSource, new H2Dialect())).cache("employeeCache");
+		for (long id = 1; id <= 100; id++) {
+			cache.put(id, new Employee(id, "name" + id, "dept" + id % 5, (int) id * 100));
+		}
+	}
+
+	@After
+	public void stopNodes() {
+		TestNodes.stopAll();
+	}
+
+	@Test
+	public void indexesOfTheAnnotations() {
+		@SuppressWarnings("unchecked")
+		CacheConfiguration<Long, Employee> cacheConfig = cache.getConfiguration(CacheConfiguration.class);
+		QueryEntity entity = cacheConfig.getQueryEntities().iterator().next();
+		assertEquals(2, entity.getIndexes().size());
+		for (QueryIndex index : entity.getIndexes()) {
+			if (index.getName().equals("EMPLOYEE_DEPT_SALARY_IDX")) {
+				LinkedHashMap<String, Boolean> fields = new LinkedHashMap<>();
+				fields.put("dept", true);
+				fields.put("salary", false);
+				assertEquals(fields, index.getFields());
+			} else {
+				assertEquals("EMPLOYEE_NAME_IDX", index.getName());
+			}
+		}
+	}
+
+	@Test
+	public void queriesUseTheIndexes() {
+		assertTrue(plan("SELECT * FROM Employee WHERE name = 'name7'").contains("EMPLOYEE_NAME_IDX"));
+		assertTrue(plan("SELECT * FROM Employee WHERE dept = 'dept1' ORDER BY salary DESC").contains("EMPLOYEE_DEPT_SALARY_IDX"));
+		// The key field is the alias of _KEY
+		assertTrue(plan("SELECT * FROM Employee WHERE id = 7").contains("_KEY_PK"));
+
+		List<List<?>> rows = cache.query(new SqlFieldsQuery("SELECT id FROM Employee WHERE name = ?").setArgs("name7")).getAll();
+		assertEquals(7L, rows.get(0).get(0));
+	}
+
+	private String plan(String query) {
+		return cache.query(new SqlFieldsQuery("EXPLAIN " + query)).getAll().get(0).get(0).toString().toUpperCase();
+	}
+}
@@ -0,0 +1,155 @@
+package com.ignite.utilities;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.cache.configuration.Factory;
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+/**
+ * DataSource of an in-memory H2 DB, kept until the JVM stops. The SQL of the statements prepared through it is recorded, so the tests can
+ * check what the stores send to the DB
+ */
+public class H2DataSourceFactory implements Factory<DataSource> {
+
+	private static final long serialVersionUID = -4270213866389851436L;
+
+	/** Map Key: url, Value: SQL prepared on its connections. The factory is serialized with the cache configurations, its copies share it */
+	private static final ConcurrentMap<String, Queue<String>> PREPARED = new ConcurrentHashMap<>();
+
+	private final String url;
+	private final boolean batchWithoutCounts;
+
+	/**
+	 *
+	 * @param dbName
+	 *            Name of the in-memory DB
+	 */
+	public H2DataSourceFactory(String dbName) {
+		this(dbName, "", false);
+	}
+
+	/**
+	 *
+	 * @param dbName
+	 *            Name of the in-memory DB
+	 * @param settings
+	 *            Settings added to the url, e.g. <code>;MODE=MySQL</code>
+	 * @param batchWithoutCounts
+	 *            The batches return {@link Statement#SUCCESS_NO_INFO} for every row, as some Oracle and MySQL drivers do
+	 */
+	public H2DataSourceFactory(String dbName, String settings, boolean batchWithoutCounts) {
+		this.url = "jdbc:h2:mem:" + dbName + ";DB_CLOSE_DELAY=-1" + settings;
+		this.batchWithoutCounts = batchWithoutCounts;
+	}
+
+	@Override
+	public DataSource create() {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL(url);
+		return proxy(DataSource.class, (method, args) -> {
+			Object result = method.invoke(dataSource, args);
+			return result instanceof Connection ? connection((Connection) result) : result;
+		});
+	}
+
+	/**
+	 * Run the statements on a connection of its own
+	 *
+	 * @param sql
+	 * @throws SQLException
+	 */
+	public void execute(String... sql) throws SQLException {
+		try (Connection conn = create().getConnection();
+				Statement st = conn.createStatement()) {
+			for (String statement : sql) {
+				st.execute(statement);
+			}
+		}
+	}
+
+	/**
+	 * Read the first column of the first row of the query
+	 *
+	 * @param query
+	 * @return
+	 * @throws SQLException
+	 */
+	public Object queryValue(String query) throws SQLException {
+		try (Connection conn = create().getConnection();
+				Statement st = conn.createStatement();
+				ResultSet rs = st.executeQuery(query)) {
+			return rs.next() ? rs.getObject(1) : null;
+		}
+	}
+
+	/**
+	 * Get the SQL prepared since the last call, in order
+	 *
+	 * @return
+	 */
+	public List<String> takePrepared() {
+		Queue<String> prepared = prepared();
+		List<String> taken = new ArrayList<>();
+		for (String sql; (sql = prepared.poll()) != null;) {
+			taken.add(sql);
+		}
+		return taken;
+	}
+
+	private Queue<String> prepared() {
+		return PREPARED.computeIfAbsent(url, u -> new ConcurrentLinkedQueue<>());
+	}
+
+	private Connection connection(Connection conn) {
+		return proxy(Connection.class, (method, args) -> {
+			Object result = method.invoke(conn, args);
+			if (!method.getName().equals("prepareStatement")) {
+				return result;
+			}
+			prepared().add((String) args[0]);
+			return batchWithoutCounts ? statement((PreparedStatement) result) : result;
+		});
+	}
+
+	private static PreparedStatement statement(PreparedStatement ps) {
+		return proxy(PreparedStatement.class, (method, args) -> {
+			Object result = method.invoke(ps, args);
+			if (method.getName().equals("executeBatch")) {
+				Arrays.fill((int[]) result, Statement.SUCCESS_NO_INFO);
+			}
+			return result;
+		});
+	}
+
+	private static <T> T proxy(Class<T> type, Invocation invocation) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			try {
+				return invocation.invoke(method, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		};
+		return type.cast(Proxy.newProxyInstance(H2DataSourceFactory.class.getClassLoader(), new Class<?>[] { type }, handler));
+	}
+
+	private interface Invocation {
+		Object invoke(Method method, Object[] args) throws Exception;
+	}
+}
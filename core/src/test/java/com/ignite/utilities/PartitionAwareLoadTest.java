@@ -0,0 +1,123 @@
+package com.ignite.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.JMX;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cache.store.jdbc.dialect.H2Dialect;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.junit.After;
+import org.junit.Test;
+
+import com.ignite.utilities.affinity.ModuloAffinityFunction;
+import com.ignite.utilities.metrics.JmxStoreMetrics;
+import com.ignite.utilities.metrics.StoreTableMetricsMXBean;
+import com.ignite.utilities.model.Country;
+import com.ignite.utilities.model.Person;
+
+/**
+ * loadCache of an embedded cluster of several nodes, each one should read from the DB only the rows of its own partitions
+ */
+public class PartitionAwareLoadTest {
+
+	private static final int NODES = 3;
+	private static final int ROWS = 1000;
+
+	@After
+	public void stopNodes() {
+		TestNodes.stopAll();
+	}
+
+	@Test
+	public void eachNodeLoadsOnlyItsPartitions() throws Exception {
+		H2DataSourceFactory dataSource = new H2DataSourceFactory("partitionAware");
+		dataSource.execute(Person.CREATE_TABLE, "INSERT INTO PERSON SELECT X, 'name' || X, MOD(X, 100) FROM SYSTEM_RANGE(1, " + ROWS + ")");
+
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+		IgniteAutoConfig.setStorePartitionAwareLoad(true);
+		IgniteAutoConfig.addClass(Person.class);
+		Map<String, CacheConfiguration<?, ?>> cacheConfigs = IgniteAutoConfig.generateCacheConfiguration(dataSource, new H2Dialect());
+		assertTrue(cacheConfigs.get("personCache").getAffinity() instanceof ModuloAffinityFunction);
+
+		List<Ignite> nodes = new ArrayList<>();
+		for (int i = 0; i < NODES; i++) {
+			nodes.add(TestNodes.start("node" + i, cacheConfigs));
+		}
+		awaitPartitionOwners(nodes, "personCache");
+		IgniteCache<Long, Person> cache = nodes.get(0).cache("personCache");
+
+		dataSource.takePrepared();
+		cache.loadCache(null);
+		assertEquals(ROWS, cache.size(CachePeekMode.PRIMARY));
+
+		// The nodes of the JVM share the metrics of the table, they add up to the rows of the table only if no row was read twice
+		StoreTableMetricsMXBean metrics = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(), JmxStoreMetrics.objectName(
+				"personCache", "PERSON"), StoreTableMetricsMXBean.class);
+		assertEquals(ROWS, metrics.getLoads());
+		assertTrue(dataSource.takePrepared().stream().filter(sql -> sql.startsWith("SELECT")).allMatch(sql -> sql.contains(" IN (")));
+
+		// Each row is on the node its partition maps to
+		Affinity<Long> affinity = nodes.get(0).affinity("personCache");
+		for (long id = 1; id <= ROWS; id++) {
+			ClusterNode primary = affinity.mapKeyToNode(id);
+			for (Ignite node : nodes) {
+				if (node.cluster().localNode().equals(primary)) {
+					Person person = node.<Long, Person> cache("personCache").localPeek(id, CachePeekMode.PRIMARY);
+					assertNotNull("Key " + id + " is not on its primary node", person);
+					assertEquals("name" + id, person.getName());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void stringKeysCanNotBePartitionedByTheDb() throws Exception {
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+		IgniteAutoConfig.setStorePartitionAwareLoad(true);
+		IgniteAutoConfig.addClass(Country.class);
+		try {
+			IgniteAutoConfig.generateCacheConfiguration(new H2DataSourceFactory("partitionAwareString"), new H2Dialect());
+			fail("The partitions of a String key can not be computed with MOD");
+		} catch (Exception ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().endsWith("are chosen by column CODE of type String"));
+		}
+	}
+
+	/**
+	 * Wait until the rebalancing after the joins ends, while it runs the old owners of the moving partitions keep them besides their new
+	 * owners and would load their rows too
+	 *
+	 * @param nodes
+	 * @param cacheName
+	 * @throws InterruptedException
+	 */
+	private static void awaitPartitionOwners(List<Ignite> nodes, String cacheName) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 30_000;
+		while (true) {
+			int owned = 0;
+			for (Ignite node : nodes) {
+				owned += node.affinity(cacheName).allPartitions(node.cluster().localNode()).length;
+			}
+			if (owned == nodes.get(0).affinity(cacheName).partitions()) {
+				return;
+			}
+			assertTrue("The partitions of " + cacheName + " were not rebalanced", System.currentTimeMillis() < deadline);
+			Thread.sleep(100);
+		}
+	}
+}
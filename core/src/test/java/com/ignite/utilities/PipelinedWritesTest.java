@@ -0,0 +1,62 @@
+package com.ignite.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.store.jdbc.dialect.H2Dialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ignite.utilities.model.Reading;
+
+/**
+ * Write-behind flushes handed to the write pipeline while the DB is down for longer than the first retries
+ */
+public class PipelinedWritesTest {
+
+	private static final int ROWS = 50;
+
+	private H2DataSourceFactory dataSource;
+
+	@Before
+	public void addClasses() throws Exception {
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+		IgniteAutoConfig.setStorePipelinedWrites(true);
+		IgniteAutoConfig.setStorePipelineWorkers(2);
+		IgniteAutoConfig.addClass(Reading.class);
+
+		dataSource = new H2DataSourceFactory("pipeline");
+		dataSource.execute("DROP TABLE IF EXISTS READING", Reading.CREATE_TABLE);
+	}
+
+	@After
+	public void stopNodes() {
+		TestNodes.stopAll();
+	}
+
+	@Test
+	public void rowsWrittenOnceTheDbIsBack() throws Exception {
+		Ignite ignite = TestNodes.start("pipeline", IgniteAutoConfig.generateCacheConfiguration(dataSource, new H2Dialect()));
+		IgniteCache<Long, Reading> cache = ignite.cache("readingCache");
+
+		// The table is missing for 2 s, the flushes of the meantime fail on the workers
+		dataSource.execute("ALTER TABLE READING RENAME TO READING_DOWN");
+		for (long id = 1; id <= ROWS; id++) {
+			cache.put(id, new Reading(id, "sensor" + id, (int) id));
+		}
+		Thread.sleep(2_000);
+		assertEquals(0L, dataSource.queryValue("SELECT COUNT(*) FROM READING_DOWN"));
+		dataSource.execute("ALTER TABLE READING_DOWN RENAME TO READING");
+
+		long deadline = System.currentTimeMillis() + 15_000;
+		while ((Long) dataSource.queryValue("SELECT COUNT(*) FROM READING") < ROWS) {
+			assertTrue("The rows of the failed batches were not written", System.currentTimeMillis() < deadline);
+			Thread.sleep(100);
+		}
+		assertEquals(ROWS * (ROWS + 1L) / 2, ((Number) dataSource.queryValue("SELECT SUM(TEMPERATURE) FROM READING")).longValue());
+	}
+}
@@ -0,0 +1,103 @@
+package com.ignite.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.cache.CacheException;
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.store.jdbc.dialect.BasicJdbcDialect;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ignite.utilities.metrics.JmxStoreMetrics;
+import com.ignite.utilities.metrics.StoreTableMetricsMXBean;
+import com.ignite.utilities.model.Person;
+
+/**
+ * Writes of the rows that did not change since the store wrote them, checked on the DB by changing the rows behind the cache
+ */
+public class SkipUnchangedTest {
+
+	private H2DataSourceFactory dataSource;
+	private Map<String, CacheConfiguration<?, ?>> cacheConfigs;
+	private IgniteCache<Long, Person> cache;
+	private StoreTableMetricsMXBean metrics;
+
+	@Before
+	public void startNode() throws Exception {
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+		IgniteAutoConfig.setStoreSkipUnchanged(true);
+		IgniteAutoConfig.addClass(Person.class);
+
+		dataSource = new H2DataSourceFactory("skip");
+		dataSource.execute("DROP TABLE IF EXISTS PERSON", Person.CREATE_TABLE, "INSERT INTO PERSON VALUES (1, 'Ann', 30)");
+		// Without upsert, so a failed INSERT comes after the UPDATE of the other rows
+		cacheConfigs = IgniteAutoConfig.generateCacheConfiguration(dataSource, new BasicJdbcDialect());
+		Ignite ignite = TestNodes.start("skip", cacheConfigs);
+		cache = ignite.cache("personCache");
+
+		cache.put(1L, new Person(1, "Bob", 40));
+		metrics = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(), JmxStoreMetrics.objectName("personCache", "PERSON"),
+				StoreTableMetricsMXBean.class);
+		metrics.resetMetrics();
+	}
+
+	@After
+	public void stopNodes() throws Exception {
+		TestNodes.stopAll();
+		IgniteAutoConfig.setStoreSkipUnchanged(false);
+	}
+
+	@Test
+	public void unchangedRowsAreSkipped() throws Exception {
+		dataSource.execute("UPDATE PERSON SET NAME = 'changed on the DB' WHERE ID = 1");
+
+		cache.put(1L, new Person(1, "Bob", 40));
+		assertEquals(1, metrics.getSkippedWrites());
+		GenerateCacheStoreTest.assertRow(dataSource, 1, "changed on the DB", 40);
+
+		cache.put(1L, new Person(1, "Bob", 41));
+		assertEquals(1, metrics.getWrites());
+		GenerateCacheStoreTest.assertRow(dataSource, 1, "Bob", 41);
+	}
+
+	@Test
+	public void rolledBackRowsAreWrittenAgain() throws Exception {
+		Map<Long, Person> people = new TreeMap<>();
+		people.put(1L, new Person(1, "Carl", 50));
+		// Longer than the NAME column, so its INSERT fails after the UPDATE of the key 1
+		people.put(2L, new Person(2, String.format("%65s", "Dave"), 20));
+		try {
+			cache.putAll(people);
+			fail("The INSERT of a too long name should fail");
+		} catch (CacheException ex) {
+			GenerateCacheStoreTest.assertRow(dataSource, 1, "Bob", 40);
+		}
+
+		cache.put(1L, new Person(1, "Carl", 50));
+		assertEquals(0, metrics.getSkippedWrites());
+		GenerateCacheStoreTest.assertRow(dataSource, 1, "Carl", 50);
+	}
+
+	@Test
+	public void fingerprintsDroppedWhenTheTopologyChanges() throws Exception {
+		TestNodes.start("skip2", cacheConfigs);
+		dataSource.execute("UPDATE PERSON SET NAME = 'changed on the DB' WHERE ID = 1");
+
+		// Whichever node is the primary of the key, none of them has its fingerprint on the new topology
+		cache.put(1L, new Person(1, "Bob", 40));
+		assertEquals(0, metrics.getSkippedWrites());
+		GenerateCacheStoreTest.assertRow(dataSource, 1, "Bob", 40);
+	}
+}
@@ -0,0 +1,101 @@
+package com.ignite.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import javax.cache.CacheException;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.store.jdbc.dialect.BasicJdbcDialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ignite.utilities.metrics.JmxStoreMetrics;
+import com.ignite.utilities.metrics.StoreTableMetricsMXBean;
+import com.ignite.utilities.model.Person;
+
+/**
+ * Counters of the table metrics MBean after a workload of the store against an embedded H2 DB
+ */
+public class StoreMetricsTest {
+
+	private H2DataSourceFactory dataSource;
+	private IgniteCache<Long, Person> cache;
+	private StoreTableMetricsMXBean metrics;
+
+	@Before
+	public void startNode() throws Exception {
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+		IgniteAutoConfig.addClass(Person.class);
+
+		dataSource = new H2DataSourceFactory("metrics");
+		dataSource.execute("DROP TABLE IF EXISTS PERSON", Person.CREATE_TABLE, "INSERT INTO PERSON VALUES (1, 'Ann', 30)");
+		// Without upsert the rows that the UPDATE does not find are inserted
+		cache = GenerateCacheStoreTest.startNode(dataSource, new BasicJdbcDialect());
+
+		// The MBean is registered by the first operation on the table, the tests of the class share it
+		ObjectName name = JmxStoreMetrics.objectName("personCache", "PERSON");
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		metrics = JMX.newMXBeanProxy(server, name, StoreTableMetricsMXBean.class);
+		if (server.isRegistered(name)) {
+			metrics.resetMetrics();
+		}
+	}
+
+	@After
+	public void stopNodes() {
+		TestNodes.stopAll();
+	}
+
+	@Test
+	public void countersOfTheWorkload() throws Exception {
+		cache.putAll(GenerateCacheStoreTest.people(1, 2, 3));
+		assertEquals(3, metrics.getWrites());
+		assertEquals(2, metrics.getFallbackInserts());
+		assertEquals(2.0 / 3, metrics.getFallbackInsertRatio(), 1e-9);
+		// The UPDATE batch of the 3 rows and the INSERT batch of the missing 2
+		assertEquals(Long.valueOf(2), metrics.getBatchSizes().get("count"));
+		assertTrue(metrics.getBatchSizes().get("max") >= 3);
+		assertTrue(metrics.getExecuteNanos().get("count") >= 2);
+
+		cache.remove(2L);
+		assertEquals(1, metrics.getDeletes());
+		assertEquals(2L, dataSource.queryValue("SELECT COUNT(*) FROM PERSON"));
+
+		// Read-through of the rows evicted from the cache
+		cache.clear();
+		assertEquals("name1", cache.get(1L).getName());
+		assertEquals(1, metrics.getLoads());
+		// The key 1 is already cached, only the key 3 is read
+		assertEquals(2, cache.getAll(new HashSet<>(Arrays.asList(1L, 3L))).size());
+		assertEquals(2, metrics.getLoads());
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		assertEquals(3L, server.getAttribute(JmxStoreMetrics.objectName("personCache", "PERSON"), "Writes"));
+		assertTrue(metrics.getErrors().isEmpty());
+	}
+
+	@Test
+	public void failedWritesAreCounted() throws Exception {
+		dataSource.execute("DROP TABLE PERSON");
+		try {
+			cache.put(1L, new Person(1, "Ann", 31));
+			fail("The write of a dropped table should fail");
+		} catch (CacheException ex) {
+			assertNotNull(ex.getMessage());
+		}
+		assertEquals(Long.valueOf(1), metrics.getErrors().get("write"));
+		assertEquals(0, metrics.getWrites());
+	}
+}
@@ -0,0 +1,64 @@
+package com.ignite.utilities;
+
+import java.util.Map;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+/**
+ * Embedded nodes of the tests, the nodes started on the same JVM join the same cluster
+ */
+public class TestNodes {
+
+	/** Shared by the nodes of the JVM so they find each other without multicast */
+	private static final TcpDiscoveryVmIpFinder IP_FINDER = new TcpDiscoveryVmIpFinder(true);
+
+	private TestNodes() {
+	}
+
+	/**
+	 * Configuration of a node with a small default region, the tests only keep a few rows
+	 *
+	 * @param name
+	 * @return
+	 */
+	public static IgniteConfiguration configuration(String name) {
+		IgniteConfiguration cfg = new IgniteConfiguration();
+		cfg.setIgniteInstanceName(name);
+		cfg.setGridLogger(new NullLogger());
+		cfg.setLocalHost("127.0.0.1");
+		cfg.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(IP_FINDER));
+
+		DataStorageConfiguration storage = new DataStorageConfiguration();
+		storage.getDefaultDataRegionConfiguration().setInitialSize(64L << 20).setMaxSize(256L << 20);
+		cfg.setDataStorageConfiguration(storage);
+		return cfg;
+	}
+
+	/**
+	 * Start a node with the caches
+	 *
+	 * @param name
+	 * @param cacheConfigs
+	 *            Map Key: cacheName, Value: its configuration, as generated by IgniteAutoConfig
+	 * @return
+	 */
+	public static Ignite start(String name, Map<String, CacheConfiguration<?, ?>> cacheConfigs) {
+		IgniteConfiguration cfg = configuration(name);
+		cfg.setCacheConfiguration(cacheConfigs.values().toArray(new CacheConfiguration[cacheConfigs.size()]));
+		return Ignition.start(cfg);
+	}
+
+	/**
+	 * Stop all the nodes of the JVM
+	 */
+	public static void stopAll() {
+		Ignition.stopAll(true);
+	}
+}
@@ -0,0 +1,117 @@
+package com.ignite.utilities.bulk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.store.jdbc.dialect.H2Dialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.ignite.utilities.H2DataSourceFactory;
+import com.ignite.utilities.IgniteAutoConfig;
+import com.ignite.utilities.TestNodes;
+import com.ignite.utilities.model.Shipment;
+import com.ignite.utilities.model.Shipment.Status;
+
+/**
+ * Import of generated export files into the cache of an embedded node
+ */
+public class FileImporterTest {
+
+	/** Enough rows for a file of several chunks */
+	private static final int ROWS = 100_000;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Ignite ignite;
+	private IgniteCache<Long, Shipment> cache;
+
+	@Before
+	public void startNode() throws Exception {
+		IgniteAutoConfig.reset();
+		IgniteAutoConfig.setCacheStore(true);
+		IgniteAutoConfig.addClass(Shipment.class);
+
+		H2DataSourceFactory dataSource = new H2DataSourceFactory("import");
+		dataSource.execute("DROP TABLE IF EXISTS SHIPMENT", Shipment.CREATE_TABLE);
+		ignite = TestNodes.start("import", IgniteAutoConfig.generateCacheConfiguration(dataSource, new H2Dialect()));
+		cache = ignite.cache("shipmentCache");
+	}
+
+	@After
+	public void stopNodes() {
+		TestNodes.stopAll();
+	}
+
+	@Test
+	public void importCsvOfSeveralChunks() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("shipment.csv");
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			// Other order than the table, with a column the table does not map
+			writer.write("WEIGHT,COMMENTS,STATUS,DESTINATION,ID\n");
+			for (int id = 1; id <= ROWS; id++) {
+				String destination = id % 10 == 0 ? "\\N" : "\"Town " + id + ", \"\"north\"\"\"";
+				writer.write(id % 7 + ",comment " + id + "," + Status.values()[id % 3] + "," + destination + "," + id + "\n");
+			}
+		}
+		assertTrue(Files.size(file) > 2L << 20);
+
+		// The keys already in the cache are not overwritten
+		cache.put(1L, new Shipment(1, "Kept", Status.DELIVERED, 99));
+
+		assertEquals(ROWS, IgniteAutoConfig.importFile(ignite, Shipment.class, file));
+		assertEquals(ROWS, cache.size(CachePeekMode.PRIMARY));
+		assertEquals("Kept", cache.get(1L).getDestination());
+
+		Shipment shipment = cache.get(12_345L);
+		assertEquals("Town 12345, \"north\"", shipment.getDestination());
+		assertEquals(Status.values()[12_345 % 3], shipment.getStatus());
+		assertEquals(12_345 % 7, shipment.getWeight());
+		assertNull(cache.get(ROWS + 0L).getDestination());
+	}
+
+	@Test
+	public void importTsvWithEscapes() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("shipment.tsv");
+		Files.write(file, ("ID\tSTATUS\tDESTINATION\n" + "1\tNEW\tTab\\there\n" + "2\t\\N\tLine\\nbreak\n").getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(2, IgniteAutoConfig.importFile(ignite, Shipment.class, file));
+		assertEquals("Tab\there", cache.get(1L).getDestination());
+		assertEquals(Status.NEW, cache.get(1L).getStatus());
+		// Missing from the file, the primitive keeps its default
+		assertEquals(0, cache.get(1L).getWeight());
+		assertEquals("Line\nbreak", cache.get(2L).getDestination());
+		assertNull(cache.get(2L).getStatus());
+	}
+
+	@Test
+	public void unknownEnumConstant() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("shipment.csv");
+		Files.write(file, "ID,STATUS\n1,LOST\n".getBytes(StandardCharsets.UTF_8));
+		try {
+			IgniteAutoConfig.importFile(ignite, Shipment.class, file);
+			fail("A status out of the enum should not be imported");
+		} catch (Exception ex) {
+			assertTrue(ex.getMessage(), ex.getMessage().contains("shipment.csv"));
+			Throwable cause = ex;
+			while (cause.getCause() != null) {
+				cause = cause.getCause();
+			}
+			assertEquals("No constant LOST in enum " + Status.class.getName(), cause.getMessage());
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.ignite.utilities.fingerprint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Hash of the column values, equal values have the same one and the values that only differ in the bits dropped by their toString or
+ * hashCode do not
+ */
+public class FingerprintsTest {
+
+	@Test
+	public void decimalsDifferInTheirScale() {
+		assertEquals(Fingerprints.hash(new BigDecimal("1.50")), Fingerprints.hash(new BigDecimal("1.50")));
+		assertNotEquals(Fingerprints.hash(new BigDecimal("1.5")), Fingerprints.hash(new BigDecimal("1.50")));
+		BigInteger big = BigInteger.ONE.shiftLeft(100);
+		assertNotEquals(Fingerprints.hash(new BigDecimal(big)), Fingerprints.hash(new BigDecimal(big.add(BigInteger.ONE))));
+	}
+
+	@Test
+	public void enumsAreHashedByOrdinal() {
+		assertEquals(Fingerprints.hash(TimeUnit.SECONDS), Fingerprints.hash(TimeUnit.SECONDS));
+		assertNotEquals(Fingerprints.hash(TimeUnit.SECONDS), Fingerprints.hash(TimeUnit.MINUTES));
+		assertNotEquals(Fingerprints.hash(TimeUnit.NANOSECONDS), Fingerprints.hash(null));
+	}
+
+	@Test
+	public void temporalsDifferInTheirNanos() {
+		LocalDateTime dateTime = LocalDateTime.of(2020, 1, 1, 12, 0);
+		assertEquals(Fingerprints.hash(dateTime), Fingerprints.hash(LocalDateTime.of(2020, 1, 1, 12, 0)));
+		assertNotEquals(Fingerprints.hash(dateTime), Fingerprints.hash(dateTime.plusNanos(1)));
+		assertNotEquals(Fingerprints.hash(dateTime), Fingerprints.hash(dateTime.plus(1, ChronoUnit.DAYS)));
+
+		OffsetDateTime utc = dateTime.atOffset(ZoneOffset.UTC);
+		// The same instant on another offset is another value of a TIMESTAMP WITH TIME ZONE column
+		assertNotEquals(Fingerprints.hash(utc), Fingerprints.hash(utc.withOffsetSameInstant(ZoneOffset.ofHours(2))));
+
+		UUID uuid = UUID.randomUUID();
+		assertEquals(Fingerprints.hash(uuid), Fingerprints.hash(new UUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())));
+	}
+
+	@Test
+	public void supportedColumnTypes() {
+		assertTrue(Fingerprints.isSupported(int.class));
+		assertTrue(Fingerprints.isSupported(BigDecimal.class));
+		assertTrue(Fingerprints.isSupported(java.sql.Timestamp.class));
+		assertTrue(Fingerprints.isSupported(TimeUnit.class));
+		assertTrue(Fingerprints.isSupported(OffsetDateTime.class));
+		assertFalse(Fingerprints.isSupported(AtomicLong.class));
+		assertFalse(Fingerprints.isSupported(Object.class));
+	}
+}
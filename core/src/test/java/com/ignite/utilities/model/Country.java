@@ -0,0 +1,40 @@
+package com.ignite.utilities.model;
+
+import com.ignite.utilities.annotations.IgniteCache;
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteTable;
+
+/**
+ * Table with a String key, loaded by the store tests with a single query as its key range can not be split
+ */
+@IgniteTable(cacheName = "countryCache", name = "COUNTRY")
+@IgniteCache(writeBehindEnabled = false)
+public class Country {
+
+	/** DDL of the table in H2 */
+	public static final String CREATE_TABLE = "CREATE TABLE COUNTRY (CODE VARCHAR(2) PRIMARY KEY, NAME VARCHAR(64))";
+
+	@IgniteId
+	@IgniteColumn(name = "CODE")
+	private String code;
+
+	@IgniteColumn(name = "NAME")
+	private String name;
+
+	public Country() {
+	}
+
+	public Country(String code, String name) {
+		this.code = code;
+		this.name = name;
+	}
+
+	public String getCode() {
+		return code;
+	}
+
+	public String getName() {
+		return name;
+	}
+}
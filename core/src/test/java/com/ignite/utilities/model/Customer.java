@@ -0,0 +1,40 @@
+package com.ignite.utilities.model;
+
+import com.ignite.utilities.annotations.IgniteCache;
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteTable;
+
+/**
+ * Parent table, its purchases are loaded with it
+ */
+@IgniteTable(cacheName = "customerCache", name = "CUSTOMER")
+@IgniteCache(writeBehindEnabled = false)
+public class Customer {
+
+	/** DDL of the table in H2 */
+	public static final String CREATE_TABLE = "CREATE TABLE CUSTOMER (ID BIGINT PRIMARY KEY, NAME VARCHAR(64))";
+
+	@IgniteId
+	@IgniteColumn(name = "ID")
+	private Long id;
+
+	@IgniteColumn(name = "NAME")
+	private String name;
+
+	public Customer() {
+	}
+
+	public Customer(long id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,62 @@
+package com.ignite.utilities.model;
+
+import com.ignite.utilities.annotations.IgniteCache;
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteCompositeIndex;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteIndex;
+import com.ignite.utilities.annotations.IgniteIndexField;
+import com.ignite.utilities.annotations.IgniteTable;
+
+/**
+ * Table with a single and a composite query index, queried by the index tests
+ */
+@IgniteTable(cacheName = "employeeCache", name = "EMPLOYEE")
+@IgniteCompositeIndex(name = "EMPLOYEE_DEPT_SALARY_IDX", fields = { @IgniteIndexField(name = "dept"), @IgniteIndexField(name = "salary",
+		descending = true) })
+@IgniteCache(writeBehindEnabled = false)
+public class Employee {
+
+	/** DDL of the table in H2 */
+	public static final String CREATE_TABLE = "CREATE TABLE EMPLOYEE (ID BIGINT PRIMARY KEY, NAME VARCHAR(64), DEPT VARCHAR(64), SALARY INT)";
+
+	@IgniteId
+	@IgniteColumn(name = "ID")
+	private Long id;
+
+	@IgniteIndex(name = "EMPLOYEE_NAME_IDX")
+	@IgniteColumn(name = "NAME")
+	private String name;
+
+	@IgniteColumn(name = "DEPT")
+	private String dept;
+
+	@IgniteColumn(name = "SALARY")
+	private int salary;
+
+	public Employee() {
+	}
+
+	public Employee(long id, String name, String dept, int salary) {
+		this.id = id;
+		this.name = name;
+		this.dept = dept;
+		this.salary = salary;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getDept() {
+		return dept;
+	}
+
+	public int getSalary() {
+		return salary;
+	}
+}
@@ -0,0 +1,27 @@
+package com.ignite.utilities.model;
+
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteTable;
+
+/**
+ * Table on the cache of {@link Person} with a key of the same type, so the store can not tell the table of a key
+ */
+@IgniteTable(cacheName = "personCache", name = "MANAGER")
+public class Manager {
+
+	@IgniteId
+	@IgniteColumn(name = "ID")
+	private Long id;
+
+	@IgniteColumn(name = "NAME")
+	private String name;
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,48 @@
+package com.ignite.utilities.model;
+
+import com.ignite.utilities.annotations.IgniteCache;
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteTable;
+
+/**
+ * Table written through by the store tests, without write-behind so each cache operation reaches the DB before it returns
+ */
+@IgniteTable(cacheName = "personCache", name = "PERSON")
+@IgniteCache(writeBehindEnabled = false)
+public class Person {
+
+	/** DDL of the table in H2 */
+	public static final String CREATE_TABLE = "CREATE TABLE PERSON (ID BIGINT PRIMARY KEY, NAME VARCHAR(64), AGE INT)";
+
+	@IgniteId
+	@IgniteColumn(name = "ID")
+	private Long id;
+
+	@IgniteColumn(name = "NAME")
+	private String name;
+
+	@IgniteColumn(name = "AGE")
+	private int age;
+
+	public Person() {
+	}
+
+	public Person(long id, String name, int age) {
+		this.id = id;
+		this.name = name;
+		this.age = age;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getAge() {
+		return age;
+	}
+}
@@ -0,0 +1,44 @@
+package com.ignite.utilities.model;
+
+import com.ignite.utilities.annotations.IgniteCache;
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteTable;
+import com.ignite.utilities.annotations.IgniteVersion;
+
+/**
+ * Table changed by other systems, each change increases its version
+ */
+@IgniteTable(cacheName = "productCache", name = "PRODUCT")
+@IgniteCache(writeBehindEnabled = false)
+public class Product {
+
+	/** DDL of the table in H2 */
+	public static final String CREATE_TABLE = "CREATE TABLE PRODUCT (ID BIGINT PRIMARY KEY, PRICE INT, VERSION BIGINT)";
+
+	@IgniteId
+	@IgniteColumn(name = "ID")
+	private Long id;
+
+	@IgniteColumn(name = "PRICE")
+	private int price;
+
+	@IgniteVersion
+	@IgniteColumn(name = "VERSION")
+	private Long version;
+
+	public Product() {
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public int getPrice() {
+		return price;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+}
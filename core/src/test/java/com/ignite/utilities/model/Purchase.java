@@ -0,0 +1,44 @@
+package com.ignite.utilities.model;
+
+import com.ignite.utilities.annotations.IgniteCache;
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteParent;
+import com.ignite.utilities.annotations.IgniteTable;
+
+/**
+ * Child table of {@link Customer}, its key is the id and the customer id
+ */
+@IgniteTable(cacheName = "purchaseCache", name = "PURCHASE")
+@IgniteCache(writeBehindEnabled = false)
+public class Purchase {
+
+	/** DDL of the table in H2 */
+	public static final String CREATE_TABLE = "CREATE TABLE PURCHASE (ID BIGINT, CUSTOMER_ID BIGINT, AMOUNT INT, PRIMARY KEY (ID, CUSTOMER_ID))";
+
+	@IgniteId
+	@IgniteColumn(name = "ID")
+	private Long id;
+
+	@IgniteParent(Customer.class)
+	@IgniteColumn(name = "CUSTOMER_ID")
+	private Long customerId;
+
+	@IgniteColumn(name = "AMOUNT")
+	private int amount;
+
+	public Purchase() {
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getCustomerId() {
+		return customerId;
+	}
+
+	public int getAmount() {
+		return amount;
+	}
+}
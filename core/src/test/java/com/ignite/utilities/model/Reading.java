@@ -0,0 +1,48 @@
+package com.ignite.utilities.model;
+
+import com.ignite.utilities.annotations.IgniteCache;
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteTable;
+
+/**
+ * Table written behind by the pipeline and change detection tests, flushed every 100 ms
+ */
+@IgniteTable(cacheName = "readingCache", name = "READING")
+@IgniteCache(writeBehindFlushFrequency = 100)
+public class Reading {
+
+	/** DDL of the table in H2 */
+	public static final String CREATE_TABLE = "CREATE TABLE READING (ID BIGINT PRIMARY KEY, SENSOR VARCHAR(64), TEMPERATURE INT)";
+
+	@IgniteId
+	@IgniteColumn(name = "ID")
+	private Long id;
+
+	@IgniteColumn(name = "SENSOR")
+	private String sensor;
+
+	@IgniteColumn(name = "TEMPERATURE")
+	private int temperature;
+
+	public Reading() {
+	}
+
+	public Reading(long id, String sensor, int temperature) {
+		this.id = id;
+		this.sensor = sensor;
+		this.temperature = temperature;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getSensor() {
+		return sensor;
+	}
+
+	public int getTemperature() {
+		return temperature;
+	}
+}
@@ -0,0 +1,60 @@
+package com.ignite.utilities.model;
+
+import com.ignite.utilities.annotations.IgniteCache;
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteTable;
+
+/**
+ * Table imported from its export files by the import tests
+ */
+@IgniteTable(cacheName = "shipmentCache", name = "SHIPMENT")
+@IgniteCache(writeBehindEnabled = false)
+public class Shipment {
+
+	/** DDL of the table in H2 */
+	public static final String CREATE_TABLE = "CREATE TABLE SHIPMENT (ID BIGINT PRIMARY KEY, DESTINATION VARCHAR(64), STATUS VARCHAR(16), WEIGHT INT)";
+
+	public enum Status {
+		NEW, SENT, DELIVERED
+	}
+
+	@IgniteId
+	@IgniteColumn(name = "ID")
+	private Long id;
+
+	@IgniteColumn(name = "DESTINATION")
+	private String destination;
+
+	@IgniteColumn(name = "STATUS")
+	private Status status;
+
+	@IgniteColumn(name = "WEIGHT")
+	private int weight;
+
+	public Shipment() {
+	}
+
+	public Shipment(long id, String destination, Status status, int weight) {
+		this.id = id;
+		this.destination = destination;
+		this.status = status;
+		this.weight = weight;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public int getWeight() {
+		return weight;
+	}
+}
@@ -0,0 +1,84 @@
+package com.ignite.utilities.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.ignite.logger.NullLogger;
+import org.junit.Test;
+
+/**
+ * Retries of the batches of the pipeline while it is open and once it is closed
+ */
+public class WritePipelineTest {
+
+	@Test
+	public void failedBatchIsRetriedUntilWritten() throws Exception {
+		WritePipeline pipeline = new WritePipeline("retry", 1, 1, new NullLogger());
+		// Fails for longer than the first retries add up to
+		long failUntil = System.currentTimeMillis() + 1_500;
+		FailingBatch batch = new FailingBatch(failUntil);
+		assertTrue(pipeline.submit(0, batch, 0));
+
+		// Closing the pipeline would give up on the batch, so it stays open until the batch is written
+		long deadline = failUntil + 10_000;
+		while (batch.written.get() == 0) {
+			assertTrue("The batch was not retried", System.currentTimeMillis() < deadline);
+			Thread.sleep(50);
+		}
+		pipeline.close();
+		assertTrue(batch.written.get() >= failUntil);
+		assertTrue(batch.attempts.get() > 3);
+		assertNull(batch.dropped.get());
+	}
+
+	@Test
+	public void closedPipelineDropsAFailingBatch() throws Exception {
+		WritePipeline pipeline = new WritePipeline("drop", 1, 1, new NullLogger());
+		FailingBatch batch = new FailingBatch(Long.MAX_VALUE);
+		assertTrue(pipeline.submit(0, batch, 0));
+
+		pipeline.close();
+		assertEquals(0, batch.written.get());
+		assertEquals("DB down", batch.dropped.get().getMessage());
+	}
+
+	/**
+	 * Batch that fails until the time
+	 */
+	private static class FailingBatch implements PipelineBatch {
+
+		private final long failUntil;
+		private final AtomicInteger attempts = new AtomicInteger();
+		private final AtomicLong written = new AtomicLong();
+		private final AtomicReference<Exception> dropped = new AtomicReference<>();
+
+		FailingBatch(long failUntil) {
+			this.failUntil = failUntil;
+		}
+
+		@Override
+		public void write() throws Exception {
+			attempts.incrementAndGet();
+			long now = System.currentTimeMillis();
+			if (now < failUntil) {
+				throw new Exception("DB down");
+			}
+			written.set(now);
+		}
+
+		@Override
+		public int size() {
+			return 1;
+		}
+
+		@Override
+		public void onDrop(Exception ex) {
+			dropped.set(ex);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.ignite.utilities.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Test;
+
+/**
+ * Enums bound and read by name and LOBs streamed through an embedded H2 DB
+ */
+public class ColumnTypesTest {
+
+	@Test
+	public void enumByName() throws Exception {
+		ColumnType<TimeUnit> type = ColumnTypes.of(TimeUnit.class);
+		assertEquals(Types.VARCHAR, type.sqlType());
+
+		try (Connection conn = connection()) {
+			try (PreparedStatement ps = conn.prepareStatement("INSERT INTO UNITS VALUES (?)")) {
+				type.set(ps, 1, TimeUnit.SECONDS);
+				ps.executeUpdate();
+				ps.setNull(1, type.sqlType());
+				ps.executeUpdate();
+			}
+			conn.createStatement().execute("INSERT INTO UNITS VALUES ('WEEKS')");
+
+			try (ResultSet rs = conn.createStatement().executeQuery("SELECT UNIT FROM UNITS ORDER BY UNIT NULLS FIRST")) {
+				rs.next();
+				assertNull(type.get(rs, 1));
+				rs.next();
+				assertEquals(TimeUnit.SECONDS, type.get(rs, 1));
+				rs.next();
+				try {
+					type.get(rs, 1);
+					fail("A name out of the enum should not be read");
+				} catch (SQLException ex) {
+					assertEquals("No constant WEEKS in enum " + TimeUnit.class.getName(), ex.getMessage());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void lobsAsStreams() throws Exception {
+		ColumnType<byte[]> blob = ColumnTypes.blob();
+		ColumnType<String> clob = ColumnTypes.clob();
+		assertEquals(Types.BLOB, blob.sqlType());
+		assertEquals(Types.CLOB, clob.sqlType());
+
+		// Larger than the buffer of the streams
+		byte[] bytes = new byte[100_000];
+		Arrays.fill(bytes, (byte) 7);
+		char[] chars = new char[100_000];
+		Arrays.fill(chars, 'x');
+		String text = new String(chars);
+
+		try (Connection conn = connection()) {
+			try (PreparedStatement ps = conn.prepareStatement("INSERT INTO LOBS VALUES (?, ?, ?)")) {
+				ps.setInt(1, 1);
+				blob.set(ps, 2, bytes);
+				clob.set(ps, 3, text);
+				ps.executeUpdate();
+				ps.setInt(1, 2);
+				ps.setNull(2, blob.sqlType());
+				ps.setNull(3, clob.sqlType());
+				ps.executeUpdate();
+			}
+
+			try (ResultSet rs = conn.createStatement().executeQuery("SELECT DATA, TEXT FROM LOBS ORDER BY ID")) {
+				rs.next();
+				assertArrayEquals(bytes, blob.get(rs, 1));
+				assertEquals(text, clob.get(rs, 2));
+				rs.next();
+				assertNull(blob.get(rs, 1));
+				assertNull(clob.get(rs, 2));
+			}
+		}
+	}
+
+	private static Connection connection() throws SQLException {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:columnTypes");
+		Connection conn = dataSource.getConnection();
+		conn.createStatement().execute("CREATE TABLE UNITS (UNIT VARCHAR(16))");
+		conn.createStatement().execute("CREATE TABLE LOBS (ID INT, DATA BLOB, TEXT CLOB)");
+		return conn;
+	}
+}
@@ -0,0 +1,514 @@
+package com.ignite.utilities.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Version;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import com.ignite.utilities.annotations.IgniteAffinityKey;
+import com.ignite.utilities.annotations.IgniteCache;
+import com.ignite.utilities.annotations.IgniteColumn;
+import com.ignite.utilities.annotations.IgniteCompositeIndex;
+import com.ignite.utilities.annotations.IgniteId;
+import com.ignite.utilities.annotations.IgniteIndex;
+import com.ignite.utilities.annotations.IgniteIndexField;
+import com.ignite.utilities.annotations.IgniteParent;
+import com.ignite.utilities.annotations.IgniteTable;
+import com.ignite.utilities.annotations.IgniteVersion;
+import com.ignite.utilities.registry.TableMapping;
+
+/**
+ * Generates at build time a <code>&lt;Class&gt;_IgniteMapping</code> implementation of TableMapping for each class with
+ * <strong>@IgniteTable</strong>, with the same rules of ProcessAnnotationsDTO, and registers them for the MappingRegistry. The classes with
+ * several @IgniteId fields also get a <code>&lt;Class&gt;Key</code> class with them, the class of their cache keys.<br>
+ * The errors of the notations are reported on compilation instead of on the node startup.
+ */
+@SupportedAnnotationTypes("com.ignite.utilities.annotations.IgniteTable")
+public class IgniteTableProcessor extends AbstractProcessor {
+
+	private static final String SERVICE_FILE = "META-INF/services/" + TableMapping.class.getName();
+	private static final String SUFFIX = "_IgniteMapping";
+	private static final String KEY_SUFFIX = "Key";
+
+	/** Generated mappings, written to the service file on the last round */
+	private final Set<String> mappings = new TreeSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			if (!mappings.isEmpty()) {
+				writeServiceFile();
+			}
+			return false;
+		}
+
+		for (Element element : roundEnv.getElementsAnnotatedWith(IgniteTable.class)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				error(element, "@IgniteTable should be on a class");
+				continue;
+			}
+			TypeElement type = (TypeElement) element;
+			if (type.getModifiers().contains(Modifier.PRIVATE)) {
+				error(type, "@IgniteTable class should not be private");
+				continue;
+			}
+
+			List<VariableElement> keyFields = new ArrayList<>();
+			List<String> body = createTable(type, keyFields);
+			if (body != null) {
+				writeMapping(type, body);
+				if (keyFields.size() > 1) {
+					writeKey(type, keyFields);
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Create the statements of the createTable method
+	 *
+	 * @param type
+	 * @param keyFields
+	 *            Filled with the @IgniteId fields
+	 * @return null if the notations have errors, already reported
+	 */
+	private List<String> createTable(TypeElement type, List<VariableElement> keyFields) {
+		Types types = processingEnv.getTypeUtils();
+		IgniteTable igniteTable = type.getAnnotation(IgniteTable.class);
+		String tableType = type.getQualifiedName() + ".class";
+		// If Name not declared then use the class name
+		String tableName = "".equals(igniteTable.name()) ? type.getSimpleName().toString().toUpperCase() : igniteTable.name().toUpperCase();
+
+		List<String> body = new ArrayList<>();
+		body.add("TableDTO table = new TableDTO();");
+		body.add("table.setCacheName(" + literal(igniteTable.cacheName()) + ");");
+		body.add("table.setTableName(" + literal(tableName) + ");");
+		body.add("table.setTableType(" + tableType + ");");
+		body.add("table.setTypeName(" + literal(processingEnv.getElementUtils().getBinaryName(type).toString()) + ");");
+
+		boolean isValid = true;
+		boolean isIdDeclared = false;
+		int affinityKeys = 0;
+		int versions = 0;
+		Set<String> fieldNames = new TreeSet<>();
+		List<String> indexes = new ArrayList<>();
+
+		body.add("List<ColumnDTO> columns = new ArrayList<>();");
+		for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			boolean isKey = field.getAnnotation(IgniteId.class) != null || field.getAnnotation(Id.class) != null;
+			boolean isAffinityKey = field.getAnnotation(IgniteAffinityKey.class) != null;
+			if (isAffinityKey && !isKey) {
+				error(field, "@IgniteAffinityKey should have also @IgniteId");
+				isValid = false;
+			}
+
+			// The keys only have scalar columns, the relationship should have the key of the parent and not the entity
+			boolean isRelationship = field.getAnnotation(IgniteParent.class) != null || field.getAnnotation(ManyToOne.class) != null || field
+					.getAnnotation(JoinColumn.class) != null;
+			Element fieldElement = types.asElement(field.asType());
+			if (isRelationship && fieldElement != null && (fieldElement.getAnnotation(IgniteTable.class) != null || fieldElement.getAnnotation(
+					Entity.class) != null)) {
+				error(field, "@ManyToOne, @JoinColumn and @IgniteParent should be on the @IgniteId of the parent instead of the entity");
+				isValid = false;
+				continue;
+			}
+
+			// The key of the parent row is a key column and the affinity key
+			TypeMirror parentType = parentType(field);
+			String parentTypeName = null;
+			if (parentType != null) {
+				Element parent = types.asElement(parentType);
+				if (parentType.getKind() != TypeKind.DECLARED || parent.getAnnotation(IgniteTable.class) == null) {
+					error(field, "@IgniteParent and @ManyToOne should have the targetEntity with @IgniteTable");
+					isValid = false;
+				} else {
+					parentTypeName = processingEnv.getElementUtils().getBinaryName((TypeElement) parent).toString();
+				}
+				isKey = true;
+				isAffinityKey = true;
+			}
+
+			IgniteColumn igniteColumn = field.getAnnotation(IgniteColumn.class);
+			Column column = field.getAnnotation(Column.class);
+			JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+
+			if (igniteColumn == null && column == null && joinColumn == null) {
+				if (isKey) {
+					error(field, "@IgniteId should have also @IgniteColumn");
+					isValid = false;
+				}
+				continue;
+			}
+
+			String name = field.getSimpleName().toString();
+			String declaredName = igniteColumn != null ? igniteColumn.name() : column != null ? column.name() : joinColumn.name();
+			// If Name not declared then use the field name
+			String columnName = "".equals(declaredName) ? name : declaredName;
+			String fieldType = types.erasure(field.asType()).toString() + ".class";
+
+			isIdDeclared |= isKey;
+			if (isKey) {
+				keyFields.add(field);
+			}
+			affinityKeys += isAffinityKey ? 1 : 0;
+			fieldNames.add(name);
+			boolean isVersion = field.getAnnotation(IgniteVersion.class) != null || field.getAnnotation(Version.class) != null;
+			if (isVersion && isKey) {
+				error(field, "@IgniteVersion should not be an @IgniteId");
+				isValid = false;
+			}
+			versions += isVersion ? 1 : 0;
+
+			if (isVersion) {
+				body.add("columns.add(TableMapping.versionColumn(" + literal(name) + ", " + literal(columnName) + ", " + fieldType + "));");
+			} else if (parentTypeName != null) {
+				body.add("columns.add(TableMapping.parentColumn(" + literal(name) + ", " + literal(columnName) + ", " + fieldType + ", "
+						+ literal(parentTypeName) + "));");
+			} else {
+				body.add("columns.add(TableMapping.column(" + literal(name) + ", " + literal(columnName) + ", " + fieldType + ", " + isKey + ", "
+						+ isAffinityKey + "));");
+			}
+
+			// The key does not need an index because Ignite uses its primary key index
+			IgniteIndex igniteIndex = field.getAnnotation(IgniteIndex.class);
+			if (igniteIndex != null) {
+				indexes.add("index = TableMapping.index(" + indexName(igniteIndex.name()) + ", " + igniteIndex.inlineSize() + ");");
+				indexes.add("index.getFields().put(" + literal(name) + ", " + !igniteIndex.descending() + ");");
+				indexes.add("indexes.add(index);");
+			}
+		}
+		body.add("table.setColumns(columns);");
+
+		if (!isIdDeclared || fieldNames.isEmpty()) {
+			error(type, "@IgniteTable should have @IgniteId and at least one @IgniteColumn");
+			isValid = false;
+		}
+
+		if (versions > 1) {
+			error(type, "@IgniteTable should have only one @IgniteVersion");
+			isValid = false;
+		}
+
+		if (affinityKeys > 1) {
+			error(type, "@IgniteTable should have only one @IgniteAffinityKey");
+			isValid = false;
+		}
+
+		for (IgniteCompositeIndex compositeIndex : type.getAnnotationsByType(IgniteCompositeIndex.class)) {
+			indexes.add("index = TableMapping.index(" + indexName(compositeIndex.name()) + ", " + compositeIndex.inlineSize() + ");");
+			for (IgniteIndexField indexField : compositeIndex.fields()) {
+				if (!fieldNames.contains(indexField.name())) {
+					error(type, "@IgniteCompositeIndex field " + indexField.name() + " should have @IgniteColumn");
+					isValid = false;
+				}
+				indexes.add("index.getFields().put(" + literal(indexField.name()) + ", " + !indexField.descending() + ");");
+			}
+			indexes.add("indexes.add(index);");
+		}
+
+		body.add("List<IndexDTO> indexes = new ArrayList<>();");
+		if (!indexes.isEmpty()) {
+			body.add("IndexDTO index;");
+			body.addAll(indexes);
+		}
+		body.add("table.setIndexes(indexes);");
+
+		IgniteCache igniteCache = type.getAnnotation(IgniteCache.class);
+		if (igniteCache != null) {
+			body.addAll(createCacheSettings(igniteCache));
+			body.add("table.setCacheSettings(settings);");
+		}
+		body.add("return table;");
+		return isValid ? body : null;
+	}
+
+	/**
+	 * Get the parent table of the field declared with @IgniteParent or javax persistence ManyToOne, the class values of the annotations are
+	 * only available as mirrors on compilation
+	 *
+	 * @param field
+	 * @return null if the field is not the key of a parent, a VOID type if @ManyToOne has no targetEntity
+	 */
+	private TypeMirror parentType(VariableElement field) {
+		IgniteParent igniteParent = field.getAnnotation(IgniteParent.class);
+		ManyToOne manyToOne = field.getAnnotation(ManyToOne.class);
+		try {
+			if (igniteParent != null) {
+				igniteParent.value();
+			} else if (manyToOne != null) {
+				manyToOne.targetEntity();
+			}
+		} catch (MirroredTypeException e) {
+			return e.getTypeMirror();
+		}
+		return null;
+	}
+
+	private List<String> createCacheSettings(IgniteCache igniteCache) {
+		List<String> body = new ArrayList<>();
+		body.add("CacheSettingsDTO settings = new CacheSettingsDTO();");
+		body.add("settings.setAtomicityMode(org.apache.ignite.cache.CacheAtomicityMode." + igniteCache.atomicityMode().name() + ");");
+		body.add("settings.setCacheMode(org.apache.ignite.cache.CacheMode." + igniteCache.cacheMode().name() + ");");
+		body.add("settings.setBackups(" + igniteCache.backups() + ");");
+		body.add("settings.setPartitions(" + igniteCache.partitions() + ");");
+
+		body.add("settings.setWriteBehindEnabled(" + igniteCache.writeBehindEnabled() + ");");
+		body.add("settings.setWriteBehindBatchSize(" + igniteCache.writeBehindBatchSize() + ");");
+		body.add("settings.setWriteBehindFlushThreadCount(" + igniteCache.writeBehindFlushThreadCount() + ");");
+		body.add("settings.setWriteBehindFlushSize(" + igniteCache.writeBehindFlushSize() + ");");
+		body.add("settings.setWriteBehindFlushFrequency(" + igniteCache.writeBehindFlushFrequency() + "L);");
+		body.add("settings.setWriteBehindCoalescing(" + igniteCache.writeBehindCoalescing() + ");");
+
+		body.add("settings.setRebalanceMode(org.apache.ignite.cache.CacheRebalanceMode." + igniteCache.rebalanceMode().name() + ");");
+		body.add("settings.setRebalanceBatchSize(" + igniteCache.rebalanceBatchSize() + ");");
+		body.add("settings.setRebalanceThrottle(" + igniteCache.rebalanceThrottle() + "L);");
+		body.add("settings.setRebalanceDelay(" + igniteCache.rebalanceDelay() + "L);");
+
+		body.add("settings.setDataRegion(" + literal(igniteCache.dataRegion()) + ");");
+		body.add("settings.setDataRegionInitialSize(" + igniteCache.dataRegionInitialSize() + "L);");
+		body.add("settings.setDataRegionMaxSize(" + igniteCache.dataRegionMaxSize() + "L);");
+		body.add("settings.setPageEvictionMode(org.apache.ignite.configuration.DataPageEvictionMode." + igniteCache.pageEvictionMode().name() + ");");
+		body.add("settings.setPersistenceEnabled(" + igniteCache.persistenceEnabled() + ");");
+
+		body.add("settings.setOnheapCacheMaxSize(" + igniteCache.onheapCacheMaxSize() + ");");
+		body.add("settings.setNearCacheMaxSize(" + igniteCache.nearCacheMaxSize() + ");");
+		body.add("settings.setExpiryTtl(" + igniteCache.expiryTtl() + "L);");
+		body.add("settings.setExpiryOnAccess(" + igniteCache.expiryOnAccess() + ");");
+		return body;
+	}
+
+	/**
+	 * Write the source of the mapping in the package of the class
+	 *
+	 * @param type
+	 * @param body
+	 */
+	private void writeMapping(TypeElement type, List<String> body) {
+		String packageName = packageName(type);
+		String simpleName = generatedName(type, SUFFIX);
+		String mappingName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+		try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(mappingName, type).openWriter())) {
+			if (!packageName.isEmpty()) {
+				out.println("package " + packageName + ";");
+				out.println();
+			}
+			out.println("import java.util.ArrayList;");
+			out.println("import java.util.List;");
+			out.println();
+			out.println("import com.ignite.utilities.dto.CacheSettingsDTO;");
+			out.println("import com.ignite.utilities.dto.ColumnDTO;");
+			out.println("import com.ignite.utilities.dto.IndexDTO;");
+			out.println("import com.ignite.utilities.dto.TableDTO;");
+			out.println("import com.ignite.utilities.registry.TableMapping;");
+			out.println();
+			out.println("/**");
+			out.println(" * Generated by " + getClass().getName() + " from " + type.getQualifiedName());
+			out.println(" */");
+			out.println("public final class " + simpleName + " implements TableMapping {");
+			out.println();
+			out.println("\t@Override");
+			out.println("\tpublic Class<?> tableType() {");
+			out.println("\t\treturn " + type.getQualifiedName() + ".class;");
+			out.println("\t}");
+			out.println();
+			out.println("\t@Override");
+			out.println("\tpublic TableDTO createTable() {");
+			for (String line : body) {
+				out.println("\t\t" + line);
+			}
+			out.println("\t}");
+			out.println("}");
+		} catch (IOException e) {
+			error(type, "Could not write " + mappingName + ": " + e.getMessage());
+			return;
+		}
+		mappings.add(mappingName);
+	}
+
+	/**
+	 * Write the source of the key class in the package of the class, with the @IgniteId fields in the same order so its binary objects are the
+	 * same as the keys built by the store
+	 *
+	 * @param type
+	 * @param keyFields
+	 */
+	private void writeKey(TypeElement type, List<VariableElement> keyFields) {
+		String packageName = packageName(type);
+		String simpleName = generatedName(type, KEY_SUFFIX);
+		String keyName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+		try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(keyName, type).openWriter())) {
+			if (!packageName.isEmpty()) {
+				out.println("package " + packageName + ";");
+				out.println();
+			}
+			out.println("import java.io.Serializable;");
+			out.println("import java.util.Objects;");
+			out.println();
+			out.println("/**");
+			out.println(" * Generated by " + getClass().getName() + " from " + type.getQualifiedName() + ", the key of its cache");
+			out.println(" */");
+			out.println("public final class " + simpleName + " implements Serializable {");
+			out.println();
+			out.println("	private static final long serialVersionUID = 1L;");
+			out.println();
+			List<String> params = new ArrayList<>();
+			for (VariableElement field : keyFields) {
+				out.println("	private " + field.asType() + " " + field.getSimpleName() + ";");
+				params.add(field.asType() + " " + field.getSimpleName());
+			}
+			out.println();
+			out.println("	public " + simpleName + "() {");
+			out.println("	}");
+			out.println();
+			out.println("	public " + simpleName + "(" + String.join(", ", params) + ") {");
+			for (VariableElement field : keyFields) {
+				out.println("		this." + field.getSimpleName() + " = " + field.getSimpleName() + ";");
+			}
+			out.println("	}");
+
+			List<String> names = new ArrayList<>();
+			List<String> equals = new ArrayList<>();
+			for (VariableElement field : keyFields) {
+				String name = field.getSimpleName().toString();
+				String accessor = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+				out.println();
+				out.println("	public " + field.asType() + " get" + accessor + "() {");
+				out.println("		return " + name + ";");
+				out.println("	}");
+				names.add(name);
+				equals.add("Objects.equals(" + name + ", other." + name + ")");
+			}
+
+			out.println();
+			out.println("	@Override");
+			out.println("	public boolean equals(Object obj) {");
+			out.println("		if (this == obj) {");
+			out.println("			return true;");
+			out.println("		}");
+			out.println("		if (!(obj instanceof " + simpleName + ")) {");
+			out.println("			return false;");
+			out.println("		}");
+			out.println("		" + simpleName + " other = (" + simpleName + ") obj;");
+			out.println("		return " + String.join(" && ", equals) + ";");
+			out.println("	}");
+			out.println();
+			out.println("	@Override");
+			out.println("	public int hashCode() {");
+			out.println("		return Objects.hash(" + String.join(", ", names) + ");");
+			out.println("	}");
+			out.println();
+			out.println("	@Override");
+			out.println("	public String toString() {");
+			List<String> values = new ArrayList<>();
+			for (String name : names) {
+				values.add("\"" + name + "=\" + " + name);
+			}
+			out.println("		return \"" + simpleName + " [\" + " + String.join(" + \", \" + ", values) + " + \"]\";");
+			out.println("	}");
+			out.println("}");
+		} catch (IOException e) {
+			error(type, "Could not write " + keyName + ": " + e.getMessage());
+		}
+	}
+
+	private String packageName(TypeElement type) {
+		PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+		return pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+	}
+
+	/**
+	 * Name of a class generated from the type, the binary name without the package and with _ instead of $ for the nested classes
+	 *
+	 * @param type
+	 * @param suffix
+	 * @return
+	 */
+	private String generatedName(TypeElement type, String suffix) {
+		String packageName = packageName(type);
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		return (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + suffix;
+	}
+
+	/**
+	 * Register the mappings for the ServiceLoader, keeping the ones of a previous incremental compilation
+	 */
+	private void writeServiceFile() {
+		Filer filer = processingEnv.getFiler();
+		Set<String> entries = new TreeSet<>(mappings);
+		try {
+			FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+			try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (!line.trim().isEmpty()) {
+						entries.add(line.trim());
+					}
+				}
+			}
+		} catch (IOException e) {
+			// First compilation, there is no service file yet
+		}
+
+		try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE).openWriter()) {
+			for (String entry : entries) {
+				writer.write(entry);
+				writer.write('\n');
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "Could not write " + SERVICE_FILE + ": " + e.getMessage());
+		}
+	}
+
+	private String indexName(String name) {
+		// If Name not declared then Ignite generates it
+		return "".equals(name) ? "null" : literal(name);
+	}
+
+	private String literal(String value) {
+		return processingEnv.getElementUtils().getConstantExpression(value);
+	}
+
+	private void error(Element element, String message) {
+		Messager messager = processingEnv.getMessager();
+		messager.printMessage(Kind.ERROR, "[IgniteTableProcessor] " + message, element);
+	}
+}